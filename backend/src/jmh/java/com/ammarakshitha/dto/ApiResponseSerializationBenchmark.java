@@ -0,0 +1,98 @@
+package com.ammarakshitha.dto;
+
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a patient list response, {@code ApiResponse<Page<Patient>>}, with a mapper configured
+ * like the application's (ISO dates, null fields omitted).
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.args=ApiResponseSerializationBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Page<Patient>> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<Patient> patients = new ArrayList<>(pageSize);
+        LocalDate today = LocalDate.of(2026, 6, 1);
+        for (int i = 0; i < pageSize; i++) {
+            LocalDate lmp = today.minusDays(30 + i * 3L);
+            Patient patient = Patient.builder()
+                    .name("Patient " + i)
+                    .age(20 + i % 20)
+                    .husbandName("Husband " + i)
+                    .residence("House " + i + ", Main Road")
+                    .district("Nirmal")
+                    .mandal("Mandal " + i % 7)
+                    .village("Village " + i % 31)
+                    .pincode("504106")
+                    .motherId(String.format("NI-%08d", i))
+                    .aadhaarNumber(String.format("%012d", 400000000000L + i))
+                    .mobileNumber(String.format("9%09d", i))
+                    .lmpDate(lmp)
+                    .eddDate(lmp.plusDays(280))
+                    .gravida(1 + i % 3)
+                    .para(i % 3)
+                    .bloodGroup("B+")
+                    .currentRiskLevel(RiskLevel.values()[i % RiskLevel.values().length])
+                    .currentRiskScore(i % 15)
+                    .status(PatientStatus.ACTIVE)
+                    .hasPreviousComplications(i % 5 == 0)
+                    .registrationDate(lmp.plusDays(40))
+                    .build();
+            patient.setId((long) i + 1);
+            patient.setCreatedAt(LocalDateTime.of(2026, 5, 1, 10, 0).plusMinutes(i));
+            patient.setUpdatedAt(patient.getCreatedAt());
+            patients.add(patient);
+        }
+        response = ApiResponse.success(new PageImpl<>(patients, PageRequest.of(0, pageSize), 5000));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,84 @@
+package com.ammarakshitha.security;
+
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification in {@link JwtService}: signing a new access token, a first
+ * verification that parses and checks the signature, and a repeat verification served from the
+ * verified-token cache.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.args=JwtBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private static final int TOKENS = 4096;
+
+    private JwtService jwtService;
+    private User user;
+    private String[] freshTokens;
+    private String cachedToken;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "YW1tYS1yYWtzaGl0aGEtc2VjcmV0LWtleS1mb3Itand0LXRva2VuLWdlbmVyYXRpb24tMjAyNA==");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        // Small enough that the fresh tokens keep falling out of the cache
+        ReflectionTestUtils.setField(jwtService, "tokenCacheMaxEntries", 16);
+        jwtService.init();
+
+        user = User.builder()
+                .email("helpdesk@ammarakshitha.gov.in")
+                .role(UserRole.HELP_DESK)
+                .tokenVersion(3)
+                .build();
+        user.setId(42L);
+
+        freshTokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            User other = User.builder().email("user" + i + "@ammarakshitha.gov.in").role(UserRole.DOCTOR).build();
+            other.setId((long) i);
+            freshTokens[i] = jwtService.generateToken(other);
+        }
+        cachedToken = jwtService.generateToken(user);
+        jwtService.verify(cachedToken);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyUncached() {
+        return jwtService.verify(freshTokens[next++ & (TOKENS - 1)]);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return jwtService.verify(cachedToken);
+    }
+}
@@ -0,0 +1,148 @@
+package com.ammarakshitha.service;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse stage of the Excel import on a generated 100k-row sheet in the upload template layout:
+ * reading and parsing on one thread versus {@link ParallelSheetParser} with a varying number of
+ * parser threads. No database is involved; parsed chunks go to a blackhole.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.args=ExcelParseBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExcelParseBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Lakshmi", "Saraswathi", "Padma", "Anjali", "Swathi", "Kavitha", "Sunitha", "Radha", "Bhavani", "Manasa"
+    };
+    private static final String[] SURNAMES = {
+            "Devi", "Reddy", "Rao", "Kumari", "Goud", "Naidu", "Yadav", "Sharma"
+    };
+    private static final String[] DISTRICTS = {
+            "Nirmal", "Adilabad", "Nizamabad", "Karimnagar", "Warangal", "Khammam"
+    };
+
+    @State(Scope.Benchmark)
+    public static class SheetState {
+
+        Path sheet;
+
+        @Setup(Level.Trial)
+        public void generate() throws IOException {
+            sheet = Files.createTempFile("excel-parse-benchmark-", ".xlsx");
+            Random random = new Random(42);
+            try (SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+                 OutputStream out = Files.newOutputStream(sheet)) {
+                Sheet data = workbook.createSheet("Patient Registration");
+                CellStyle dateStyle = workbook.createCellStyle();
+                dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy"));
+
+                Row header = data.createRow(0);
+                for (int col = 0; col < 20; col++) {
+                    header.createCell(col).setCellValue("Column " + col);
+                }
+                for (int i = 1; i <= ROWS; i++) {
+                    writeRow(data.createRow(i), i, random, dateStyle);
+                }
+                workbook.write(out);
+                workbook.dispose();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            Files.deleteIfExists(sheet);
+        }
+
+        static void writeRow(Row row, int i, Random random, CellStyle dateStyle) {
+            LocalDate lmp = LocalDate.of(2026, 1, 1).minusDays(random.nextInt(250));
+            row.createCell(0).setCellValue(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + SURNAMES[random.nextInt(SURNAMES.length)]);
+            row.createCell(1).setCellValue(18 + random.nextInt(22));
+            row.createCell(2).setCellValue(SURNAMES[random.nextInt(SURNAMES.length)] + " Kumar");
+            row.createCell(3).setCellValue(100_000_000_000d + i);
+            row.createCell(4).setCellValue(9_000_000_000d + random.nextInt(999_999_999));
+            row.createCell(6).setCellValue("H.No " + random.nextInt(500) + ", Ward " + random.nextInt(30));
+            row.createCell(7).setCellValue(DISTRICTS[random.nextInt(DISTRICTS.length)]);
+            row.createCell(10).setCellValue(504_001 + random.nextInt(100));
+            // Half the dates typed as text, half as date cells, as in real uploads
+            if (i % 2 == 0) {
+                row.createCell(11).setCellValue("15/05/" + (1990 + random.nextInt(15)));
+                row.createCell(12).setCellValue(String.format("%02d/%02d/%d",
+                        lmp.getDayOfMonth(), lmp.getMonthValue(), lmp.getYear()));
+            } else {
+                row.createCell(12).setCellValue(lmp);
+                row.getCell(12).setCellStyle(dateStyle);
+            }
+            row.createCell(13).setCellValue(1 + random.nextInt(4));
+            row.createCell(14).setCellValue(random.nextInt(3));
+            row.createCell(15).setCellValue("B+");
+            row.createCell(16).setCellValue(random.nextInt(10) == 0 ? "Yes" : "No");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"1", "2", "4", "8"})
+        int parallelism;
+
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void start() {
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void sequential(SheetState state, Blackhole blackhole) throws IOException {
+        StreamingSheetReader.read(state.sheet.toFile(), (rowIndex, values) -> {
+            if (rowIndex > 0 && !PatientRowParser.isRowEmpty(values)) {
+                blackhole.consume(PatientRowParser.parseRow(values, rowIndex));
+            }
+        });
+    }
+
+    @Benchmark
+    public void parallel(SheetState state, PoolState poolState, Blackhole blackhole) throws IOException {
+        new ParallelSheetParser(poolState.pool, 4, true).parse(state.sheet, 0, blackhole::consume);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ammarakshitha.service;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding and validating one upload row with {@link PatientRowParser#parseRow}, without any file
+ * reading. Rows are generated in the same layout as {@link ExcelParseBenchmark}.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.args=PatientRowParseBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PatientRowParseBenchmark {
+
+    private static final int ROWS = 1024;
+
+    private ExcelRowValues[] rows;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        rows = new ExcelRowValues[ROWS];
+        Random random = new Random(42);
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("Patient Registration");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy"));
+            for (int i = 0; i < ROWS; i++) {
+                ExcelParseBenchmark.SheetState.writeRow(sheet.createRow(i + 1), i + 1, random, dateStyle);
+                rows[i] = ExcelRowValues.of(sheet.getRow(i + 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public Object parseRow() {
+        int i = next++ & (ROWS - 1);
+        return PatientRowParser.parseRow(rows[i], i + 1);
+    }
+}
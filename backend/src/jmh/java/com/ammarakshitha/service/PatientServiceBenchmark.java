@@ -0,0 +1,53 @@
+package com.ammarakshitha.service;
+
+import org.objenesis.ObjenesisStd;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-registration helpers of {@link PatientService}: EDD calculation and Mother ID
+ * generation. Neither touches a collaborator, so the service is created without them.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.args=PatientServiceBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PatientServiceBenchmark {
+
+    private static final String[] DISTRICTS = {"Nirmal", "Adilabad", "Nizamabad", null, "Kh"};
+
+    private PatientService patientService;
+    private LocalDate lmpDate;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        patientService = new ObjenesisStd().newInstance(PatientService.class);
+        lmpDate = LocalDate.of(2026, 3, 14);
+    }
+
+    @Benchmark
+    public LocalDate calculateEDD() {
+        return patientService.calculateEDD(lmpDate);
+    }
+
+    @Benchmark
+    public String generateMotherId() {
+        return patientService.generateMotherId(DISTRICTS[next++ % DISTRICTS.length]);
+    }
+}
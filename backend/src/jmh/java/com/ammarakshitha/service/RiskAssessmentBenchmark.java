@@ -0,0 +1,80 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RiskAssessmentService#assessRisk} over a fixed set of generated health checks ranging
+ * from normal vitals to several danger signs at once.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.args=RiskAssessmentBenchmark</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RiskAssessmentBenchmark {
+
+    private static final int CHECKS = 1024;
+
+    private RiskAssessmentService service;
+    private HealthCheck[] checks;
+    private Patient[] patients;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        service = new RiskAssessmentService(null);
+        ReflectionTestUtils.setField(service, "rules", RiskRulesBenchmark.standardRules());
+
+        Random random = new Random(42);
+        checks = new HealthCheck[CHECKS];
+        patients = new Patient[CHECKS];
+        for (int i = 0; i < CHECKS; i++) {
+            checks[i] = HealthCheck.builder()
+                    .bpSystolic(100 + random.nextInt(70))
+                    .bpDiastolic(60 + random.nextInt(50))
+                    .hemoglobin(BigDecimal.valueOf(6 + random.nextInt(70) / 10.0))
+                    .bloodSugarFasting(BigDecimal.valueOf(70 + random.nextInt(80)))
+                    .bloodSugarPP(BigDecimal.valueOf(100 + random.nextInt(120)))
+                    .spo2(88 + random.nextInt(12))
+                    .fetalHeartRate(100 + random.nextInt(80))
+                    .fetalMovement(random.nextInt(10) > 0)
+                    .urineAlbumin(random.nextInt(4) == 0 ? "++" : "Nil")
+                    .swellingObserved(random.nextInt(5) == 0)
+                    .bleedingReported(random.nextInt(20) == 0)
+                    .headacheReported(random.nextInt(6) == 0)
+                    .blurredVisionReported(random.nextInt(10) == 0)
+                    .abdominalPainReported(random.nextInt(8) == 0)
+                    .build();
+            patients[i] = Patient.builder()
+                    .motherId("AR-NIR-" + i)
+                    .age(17 + random.nextInt(25))
+                    .hasPreviousComplications(random.nextInt(5) == 0)
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public RiskAssessmentService.RiskAssessmentResult assessRisk() {
+        int i = next++ & (CHECKS - 1);
+        return service.assessRisk(checks[i], patients[i]);
+    }
+}
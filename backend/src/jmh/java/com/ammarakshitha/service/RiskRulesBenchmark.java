@@ -0,0 +1,179 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Risk scoring throughput over a million generated health checks per invocation: the compiled
+ * rule tables alone, the full {@link RiskAssessmentService#assessRisk} call, the call with trends
+ * computed over a five-visit history, and the call plus rendering the factor messages, which
+ * only happens when a check is stored. Run with
+ * {@code -prof gc} to see the allocation rate per check.
+ *
+ * <pre>mvn -Pjmh test-compile exec:exec -Djmh.args="RiskRulesBenchmark -prof gc"</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class RiskRulesBenchmark {
+
+    private static final int CHECKS = 1 << 20;
+    private static final int HISTORIES = 1 << 10;
+    private static final LocalDate CHECK_DATE = LocalDate.of(2024, 6, 1);
+
+    private RiskRules rules;
+    private RiskAssessmentService service;
+    private HealthCheck[] checks;
+    private Patient[] patients;
+    private VitalsWindow[] histories;
+
+    /**
+     * The rules as configured in application.yml.
+     */
+    static RiskRules standardRules() {
+        return RiskRules.builder()
+                .severeThreshold(7)
+                .moderateThreshold(4)
+                .bpSystolicAtLeast(new int[] {160, 140, 130})
+                .bpDiastolicAtLeast(new int[] {110, 90, 85})
+                .bpScores(new int[] {4, 3, 1})
+                .hypotensionSystolicBelow(90)
+                .hypotensionDiastolicBelow(60)
+                .hypotensionScore(2)
+                .hemoglobinBelow(new double[] {7, 9, 11})
+                .hemoglobinScores(new int[] {4, 2, 1})
+                .sugarFastingAtLeast(new double[] {126, 100})
+                .sugarRandomAtLeast(new double[] {200, 140})
+                .sugarPostPrandialAtLeast(new double[] {180, 140})
+                .sugarScores(new int[] {3, 1})
+                .ageBelow(18)
+                .ageAbove(35)
+                .ageScore(2)
+                .previousComplicationsScore(3)
+                .bleedingScore(4)
+                .swellingScore(2)
+                .headacheScore(2)
+                .blurredVisionScore(3)
+                .abdominalPainScore(3)
+                .albuminuriaLevels(new String[] {"++", "+++"})
+                .albuminuriaScore(3)
+                .spo2Below(95)
+                .spo2Score(2)
+                .fetalHeartRateRange(new int[] {110, 160})
+                .fetalHeartRateScore(3)
+                .reducedFetalMovementScore(3)
+                .trendMinVisits(3)
+                .trendMinSpanDays(14)
+                .hemoglobinDeclinePerWeek(0.25)
+                .hemoglobinDeclineScore(2)
+                .bpRisePerWeek(new double[] {3, 2})
+                .bpRiseScore(2)
+                .weightGainPerWeek(1.0)
+                .weightGainScore(2)
+                .fetalHeartRateDrop(20)
+                .fetalHeartRateDropScore(2)
+                .build();
+    }
+
+    @Setup
+    public void setUp() {
+        rules = standardRules();
+        service = new RiskAssessmentService(null);
+        ReflectionTestUtils.setField(service, "rules", rules);
+
+        Random random = new Random(42);
+        checks = new HealthCheck[CHECKS];
+        patients = new Patient[CHECKS];
+        for (int i = 0; i < CHECKS; i++) {
+            checks[i] = HealthCheck.builder()
+                    .checkDate(CHECK_DATE)
+                    .weight(BigDecimal.valueOf(450 + random.nextInt(300), 1))
+                    .bpSystolic(100 + random.nextInt(70))
+                    .bpDiastolic(60 + random.nextInt(50))
+                    .hemoglobin(BigDecimal.valueOf(60 + random.nextInt(70), 1))
+                    .bloodSugarFasting(BigDecimal.valueOf(70 + random.nextInt(80)))
+                    .spo2(90 + random.nextInt(10))
+                    .fetalHeartRate(random.nextBoolean() ? 100 + random.nextInt(80) : null)
+                    .fetalMovement(random.nextInt(10) > 0)
+                    .urineAlbumin(random.nextInt(4) == 0 ? "++" : "Nil")
+                    .swellingObserved(random.nextInt(5) == 0)
+                    .bleedingReported(random.nextInt(20) == 0)
+                    .headacheReported(random.nextInt(6) == 0)
+                    .build();
+            patients[i] = Patient.builder()
+                    .motherId("AR-NIR-" + i)
+                    .age(17 + random.nextInt(25))
+                    .hasPreviousComplications(random.nextInt(5) == 0)
+                    .build();
+        }
+
+        // Five weekly visits before the check date, drifting so some trends trigger
+        histories = new VitalsWindow[HISTORIES];
+        for (int i = 0; i < HISTORIES; i++) {
+            histories[i] = new VitalsWindow(6);
+            int bpDrift = random.nextInt(9) - 2;
+            int hbDrift = random.nextInt(5) - 3;
+            for (int visit = 5; visit >= 1; visit--) {
+                histories[i].append((long) visit, CHECK_DATE.minusWeeks(visit),
+                        120 - bpDrift * visit + random.nextInt(6),
+                        80 - bpDrift * visit / 2 + random.nextInt(4),
+                        BigDecimal.valueOf(105 - hbDrift * visit + random.nextInt(3), 1),
+                        BigDecimal.valueOf(550 - 5 * visit + random.nextInt(10), 1),
+                        140 + random.nextInt(10));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public void evaluate(Blackhole blackhole) {
+        for (int i = 0; i < CHECKS; i++) {
+            blackhole.consume(rules.evaluate(checks[i], patients[i], null));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public void assessRisk(Blackhole blackhole) {
+        for (int i = 0; i < CHECKS; i++) {
+            blackhole.consume(service.assessRisk(checks[i], patients[i]).score());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public void assessRiskWithHistory(Blackhole blackhole) {
+        for (int i = 0; i < CHECKS; i++) {
+            blackhole.consume(service.assessRisk(checks[i], patients[i], histories[i & (HISTORIES - 1)]).score());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHECKS)
+    public void assessRiskAndDescribe(Blackhole blackhole) {
+        for (int i = 0; i < CHECKS; i++) {
+            blackhole.consume(service.assessRisk(checks[i], patients[i]).describeFactors("; "));
+        }
+    }
+}
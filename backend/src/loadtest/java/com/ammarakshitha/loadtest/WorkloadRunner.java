@@ -0,0 +1,440 @@
+package com.ammarakshitha.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scripted workload against a running backend: registrations, patient searches, health checks,
+ * dashboard reads, alert lists and patient detail pages, mixed by weight and issued by a fixed number of concurrent
+ * users for a fixed time. Reports request count, error count, throughput and p50/p95/p99/max
+ * latency per operation, on stdout and as JSON.
+ *
+ * <p>Meant to run against a database filled by the {@code seed} profile, so results are
+ * comparable between runs. Each user sends its next request as soon as the previous one returns
+ * (closed loop), so latencies are measured at the throughput the server sustains rather than at a
+ * fixed arrival rate.</p>
+ *
+ * <pre>mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--users=32 --duration=300"</pre>
+ *
+ * Options, all {@code --name=value}: {@code base-url}, {@code email}, {@code password},
+ * {@code users}, {@code warmup} and {@code duration} (seconds), {@code mix}
+ * (e.g. {@code register:5,search:35,health-check:20,dashboard:20,alerts:20}), {@code out}.
+ *
+ * <p>{@code patient-detail} loads a patient page the way the web app used to, as five concurrent
+ * calls, and {@code patient-timeline} with the single timeline call; compare them with e.g.
+ * {@code --mix=patient-detail:50,patient-timeline:50}.</p>
+ */
+public final class WorkloadRunner {
+
+    private static final String[] FIRST_NAMES = {
+            "Lakshmi", "Sravani", "Anjali", "Kavitha", "Swapna", "Padma", "Sunitha", "Bhavani", "Divya", "Mounika"
+    };
+    private static final String[] DISTRICTS = {"Nirmal", "Adilabad", "Nizamabad", "Mancherial", "Jagtial"};
+    private static final int SAMPLE_PAGES = 20;
+    private static final int SAMPLE_PAGE_SIZE = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<String, String> options;
+
+    private String token;
+    private final List<Long> patientIds = new ArrayList<>();
+    private final List<String> searchTerms = new ArrayList<>();
+
+    private enum Operation {
+        REGISTER("register"),
+        SEARCH("search"),
+        HEALTH_CHECK("health-check"),
+        DASHBOARD("dashboard"),
+        ALERTS("alerts"),
+        PATIENT_DETAIL("patient-detail"),
+        PATIENT_TIMELINE("patient-timeline");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Latencies and errors of one operation as seen by one user; merged after the run.
+     */
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        private void record(long elapsedNanos) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsedNanos;
+        }
+
+        private void addAll(Samples other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+
+    private WorkloadRunner(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080/api");
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        new WorkloadRunner(options).run();
+    }
+
+    private void run() throws Exception {
+        int users = Integer.parseInt(option("users", "32"));
+        long warmupSeconds = Long.parseLong(option("warmup", "60"));
+        long durationSeconds = Long.parseLong(option("duration", "300"));
+        Map<Operation, Integer> mix = parseMix(option("mix", "register:5,search:35,health-check:20,dashboard:20,alerts:20"));
+        Path out = Path.of(option("out", "target/loadtest-result.json"));
+
+        login(option("email", "admin@ammarakshitha.gov.in"), option("password", "Admin@123"));
+        samplePatients();
+        System.out.printf("Sampled %d patients; %d users, %d s warm-up, %d s measured, mix %s%n",
+                patientIds.size(), users, warmupSeconds, durationSeconds, mix);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+
+        List<Map<Operation, Samples>> perUser = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(users);
+        for (int i = 0; i < users; i++) {
+            Map<Operation, Samples> samples = emptySamples();
+            perUser.add(samples);
+            Thread thread = new Thread(() -> {
+                try {
+                    userLoop(mix, samples, measureFrom, end);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-user-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Map<Operation, Samples> merged = emptySamples();
+        for (Map<Operation, Samples> samples : perUser) {
+            samples.forEach((operation, s) -> merged.get(operation).addAll(s));
+        }
+        report(merged, durationSeconds, users, mix, out);
+    }
+
+    private void userLoop(Map<Operation, Integer> mix, Map<Operation, Samples> samples, long measureFrom, long end) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            if (System.nanoTime() >= end) {
+                return;
+            }
+            Operation operation = pick(mix, totalWeight, random);
+            long started = System.nanoTime();
+            boolean ok;
+            try {
+                ok = execute(operation, random);
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long elapsed = System.nanoTime() - started;
+            if (started >= measureFrom) {
+                Samples s = samples.get(operation);
+                s.record(elapsed);
+                if (!ok) {
+                    s.errors++;
+                }
+            }
+        }
+    }
+
+    private boolean execute(Operation operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case REGISTER -> send(post("/v1/patients", registration(random)));
+            case SEARCH -> send(get("/v1/patients/search?size=20&query="
+                    + URLEncoder.encode(searchTerms.get(random.nextInt(searchTerms.size())), StandardCharsets.UTF_8)
+                    + (random.nextInt(5) == 0 ? "&mode=FUZZY" : "")));
+            case HEALTH_CHECK -> send(post("/v1/health-checks", healthCheck(random)));
+            case DASHBOARD -> send(get("/v1/dashboard/overview"));
+            case ALERTS -> send(get("/v1/alerts/unacknowledged?size=20"));
+            case PATIENT_DETAIL -> sendAll(patientDetailCalls(patientIds.get(random.nextInt(patientIds.size()))));
+            case PATIENT_TIMELINE -> send(get("/v1/patients/" + patientIds.get(random.nextInt(patientIds.size())) + "/timeline"));
+        };
+    }
+
+    private List<HttpRequest> patientDetailCalls(long patientId) {
+        return List.of(
+                get("/v1/patients/" + patientId),
+                get("/v1/health-checks/patient/" + patientId),
+                get("/v1/consultations/patient/" + patientId),
+                get("/v1/follow-ups/patient/" + patientId),
+                get("/v1/alerts/patient/" + patientId));
+    }
+
+    /**
+     * Sends the requests concurrently, as a browser page does, and waits for all of them.
+     */
+    private boolean sendAll(List<HttpRequest> requests) throws IOException, InterruptedException {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (HttpRequest request : requests) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        boolean ok = true;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            try {
+                ok &= response.get().statusCode() < 400;
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            }
+        }
+        return ok;
+    }
+
+    private boolean send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() < 400;
+    }
+
+    private ObjectNode registration(ThreadLocalRandom random) {
+        ObjectNode body = objectMapper.createObjectNode();
+        String district = DISTRICTS[random.nextInt(DISTRICTS.length)];
+        body.put("name", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " Loadtest");
+        body.put("age", 18 + random.nextInt(20));
+        body.put("husbandName", "Husband Loadtest");
+        body.put("residence", "H.No " + (1 + random.nextInt(999)) + ", " + district);
+        body.put("district", district);
+        body.put("mobileNumber", "7" + (100_000_000 + random.nextInt(900_000_000)));
+        body.put("lmpDate", LocalDate.now().minusDays(30 + random.nextInt(200)).toString());
+        body.put("gravida", 1 + random.nextInt(3));
+        body.put("para", 0);
+        return body;
+    }
+
+    private ObjectNode healthCheck(ThreadLocalRandom random) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("patientId", patientIds.get(random.nextInt(patientIds.size())));
+        body.put("checkDate", LocalDate.now().toString());
+        body.put("bpSystolic", 105 + random.nextInt(50));
+        body.put("bpDiastolic", 65 + random.nextInt(35));
+        body.put("pulseRate", 70 + random.nextInt(30));
+        body.put("hemoglobin", 8 + random.nextInt(50) / 10.0);
+        body.put("bloodSugarFasting", 70 + random.nextInt(60));
+        body.put("weight", 45 + random.nextInt(25));
+        body.put("fetalHeartRate", 120 + random.nextInt(40));
+        body.put("autoFollowUpEnabled", true);
+        return body;
+    }
+
+    private void login(String email, String password) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("email", email);
+        body.put("password", password);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        JsonNode response = readJson(request);
+        token = response.path("data").path("accessToken").asText(null);
+        if (token == null) {
+            throw new IllegalStateException("Login failed: " + response);
+        }
+    }
+
+    /**
+     * Collects active patient ids for health checks, and names and mother IDs to search for, from
+     * a spread of pages.
+     */
+    private void samplePatients() throws IOException, InterruptedException {
+        JsonNode first = readJson(get("/v1/patients/status/ACTIVE?size=" + SAMPLE_PAGE_SIZE));
+        int totalPages = first.path("data").path("totalPages").asInt(0);
+        if (totalPages == 0) {
+            throw new IllegalStateException("No active patients to run against; seed the database first");
+        }
+        addSample(first);
+        for (int i = 1; i < Math.min(SAMPLE_PAGES, totalPages); i++) {
+            int page = ThreadLocalRandom.current().nextInt(totalPages);
+            addSample(readJson(get("/v1/patients/status/ACTIVE?size=" + SAMPLE_PAGE_SIZE + "&page=" + page)));
+        }
+    }
+
+    private void addSample(JsonNode page) {
+        for (JsonNode patient : page.path("data").path("content")) {
+            patientIds.add(patient.path("id").asLong());
+            String name = patient.path("name").asText("");
+            if (!name.isBlank()) {
+                searchTerms.add(name.split(" ")[0]);
+            }
+            if (patient.hasNonNull("motherId") && patientIds.size() % 5 == 0) {
+                searchTerms.add(patient.get("motherId").asText());
+            }
+        }
+    }
+
+    private JsonNode readJson(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private void report(Map<Operation, Samples> merged, long durationSeconds, int users,
+                        Map<Operation, Integer> mix, Path out) throws IOException {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("timestamp", Instant.now().toString());
+        result.put("baseUrl", baseUrl);
+        result.put("users", users);
+        result.put("durationSeconds", durationSeconds);
+        ObjectNode mixNode = result.putObject("mix");
+        mix.forEach((operation, weight) -> mixNode.put(operation.key, weight));
+        ArrayNode operations = result.putArray("operations");
+
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Samples samples = merged.get(operation);
+            if (samples.count == 0) {
+                continue;
+            }
+            long[] sorted = Arrays.copyOf(samples.nanos, samples.count);
+            Arrays.sort(sorted);
+            double throughput = (double) samples.count / durationSeconds;
+            double p50 = percentileMillis(sorted, 50);
+            double p95 = percentileMillis(sorted, 95);
+            double p99 = percentileMillis(sorted, 99);
+            double max = sorted[sorted.length - 1] / 1_000_000.0;
+            System.out.printf("%-16s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    operation.key, samples.count, samples.errors, throughput, p50, p95, p99, max);
+
+            ObjectNode node = operations.addObject();
+            node.put("operation", operation.key);
+            node.put("requests", samples.count);
+            node.put("errors", samples.errors);
+            node.put("throughput", throughput);
+            node.put("p50Ms", p50);
+            node.put("p95Ms", p95);
+            node.put("p99Ms", p99);
+            node.put("maxMs", max);
+        }
+
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), result);
+        System.out.println("\nResults written to " + out.toAbsolutePath());
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] keyAndWeight = part.trim().split(":");
+            Operation operation = Arrays.stream(Operation.values())
+                    .filter(o -> o.key.equals(keyAndWeight[0]))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + keyAndWeight[0]));
+            int weight = Integer.parseInt(keyAndWeight[1]);
+            if (weight > 0) {
+                mix.put(operation, weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations: " + spec);
+        }
+        return mix;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, int totalWeight, ThreadLocalRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static Map<Operation, Samples> emptySamples() {
+        Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+        }
+        return samples;
+    }
+}
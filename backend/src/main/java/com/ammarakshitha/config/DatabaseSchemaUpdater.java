@@ -1,7 +1,11 @@
 package com.ammarakshitha.config;
 
+import com.ammarakshitha.search.IndianNamePhonetics;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +19,8 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class DatabaseSchemaUpdater implements ApplicationRunner {
 
+    private static final int PHONETIC_BACKFILL_BATCH_SIZE = 1000;
+
     private final JdbcTemplate jdbcTemplate;
     private final DataSource dataSource;
 
@@ -36,6 +42,40 @@ public class DatabaseSchemaUpdater implements ApplicationRunner {
 
         // Fix photo URLs to include /api prefix
         fixPhotoUrls();
+
+        backfillPhoneticKeys();
+    }
+
+    private void backfillPhoneticKeys() {
+        int total = 0;
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, name, husband_name FROM patients WHERE name_phonetic_key IS NULL " +
+                    "ORDER BY id LIMIT " + PHONETIC_BACKFILL_BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                List<Object[]> updates = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    updates.add(new Object[] {
+                        IndianNamePhonetics.encode((String) row.get("name")),
+                        IndianNamePhonetics.encode((String) row.get("husband_name")),
+                        row.get("id")
+                    });
+                }
+                jdbcTemplate.batchUpdate(
+                    "UPDATE patients SET name_phonetic_key = ?, husband_name_phonetic_key = ? WHERE id = ?",
+                    updates);
+                total += rows.size();
+            }
+        } catch (Exception ex) {
+            log.warn("Phonetic key backfill stopped after {} patients", total, ex);
+            return;
+        }
+        if (total > 0) {
+            log.info("Backfilled phonetic name keys for {} patients", total);
+        }
     }
 
     private void fixPhotoUrls() {
@@ -0,0 +1,19 @@
+package com.ammarakshitha.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementTracking(SqlStatementTracker sqlStatementTracker) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementTracker);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    SqlStatementTracker.JdbcTimingListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.ammarakshitha.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller endpoint may run per request. Requests over budget
+ * are counted in the {@code http.server.sql.over-budget} metric and, with
+ * {@code app.query-budget.enforce=true}, fail on the first statement past the budget.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,145 @@
+package com.ammarakshitha.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL statements each controller endpoint runs, serialization included, and records them
+ * as {@code http.server.sql.*} metrics tagged with the handler. Endpoints over their
+ * {@link QueryBudget}, and requests repeating one statement like an N+1 loop, are logged once per
+ * handler and counted on every request. Only the original dispatch is tracked: async, error and
+ * forward dispatches of the same request neither restart nor end its tracking.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * Request attribute holding the {@link SqlStatementTracker.RequestSqlStats} of the request.
+     */
+    public static final String STATS_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".STATS";
+
+    private final SqlStatementTracker sqlStatementTracker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.query-budget.default-statements:0}")
+    private int defaultBudget;
+
+    @Value("${app.query-budget.repeated-statement-threshold:10}")
+    private int repeatedStatementThreshold;
+
+    private final Map<Method, HandlerMeters> meters = new ConcurrentHashMap<>();
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isTracked(request) && handler instanceof HandlerMethod handlerMethod) {
+            request.setAttribute(STATS_ATTRIBUTE, sqlStatementTracker.begin(budgetOf(handlerMethod)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // Only the part that ran on the request thread is tracked
+        afterCompletion(request, response, handler, null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!isTracked(request)) {
+            return;
+        }
+        SqlStatementTracker.RequestSqlStats stats = sqlStatementTracker.end();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        HandlerMeters handlerMeters = meters.computeIfAbsent(handlerMethod.getMethod(),
+                method -> new HandlerMeters(handlerName(handlerMethod)));
+        handlerMeters.statements.record(stats.getStatements());
+        handlerMeters.jdbcTime.record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.isOverBudget()) {
+            handlerMeters.overBudget.increment();
+            if (reported.add(handlerMeters.name + "#budget")) {
+                log.warn("{} ran {} SQL statements, over its budget of {}",
+                        handlerMeters.name, stats.getStatements(), stats.getBudget());
+            }
+        }
+
+        Map.Entry<String, Integer> mostRepeated = stats.getMostRepeated();
+        if (mostRepeated != null && mostRepeated.getValue() >= repeatedStatementThreshold) {
+            handlerMeters.repeated.increment();
+            if (reported.add(handlerMeters.name + "#repeated")) {
+                log.warn("{} ran the same SQL statement {} times in one request, likely an N+1: {}",
+                        handlerMeters.name, mostRepeated.getValue(), mostRepeated.getKey());
+            }
+        }
+    }
+
+    // The async dispatch of a handler was already recorded when concurrent handling started
+    private static boolean isTracked(HttpServletRequest request) {
+        return request.getDispatcherType() == DispatcherType.REQUEST;
+    }
+
+    private int budgetOf(HandlerMethod handlerMethod) {
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget == null) {
+            budget = handlerMethod.getBeanType().getAnnotation(QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+
+    private static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    private final class HandlerMeters {
+        private final String name;
+        private final DistributionSummary statements;
+        private final Timer jdbcTime;
+        private final Counter overBudget;
+        private final Counter repeated;
+
+        private HandlerMeters(String name) {
+            this.name = name;
+            statements = DistributionSummary.builder("http.server.sql.statements")
+                    .description("SQL statements run per request")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+            jdbcTime = Timer.builder("http.server.sql.time")
+                    .description("Time spent executing SQL per request")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+            overBudget = Counter.builder("http.server.sql.over-budget")
+                    .description("Requests that ran more SQL statements than their budget")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+            repeated = Counter.builder("http.server.sql.repeated")
+                    .description("Requests that repeated one SQL statement past the N+1 threshold")
+                    .tag("handler", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.ammarakshitha.config;
 
+import com.ammarakshitha.security.AdaptiveBCryptPasswordEncoder;
+import com.ammarakshitha.security.CustomUserDetailsService;
 import com.ammarakshitha.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,8 +18,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -35,11 +35,14 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
     // Separate security filter chain for uploads - no JWT filter, completely open
     @Bean
     @Order(1)
@@ -83,6 +86,9 @@ public class SecurityConfig {
                 .requestMatchers("/v1/follow-ups/**").authenticated()
                 .requestMatchers("/v1/alerts/**").authenticated()
                 .requestMatchers("/v1/dashboard/**").authenticated()
+                .requestMatchers("/v1/exports/**").authenticated()
+                .requestMatchers("/v1/reports/**").authenticated()
+                .requestMatchers("/v1/risk-assessment/**").hasRole("ADMIN")
 
                 // All other requests need authentication
                 .anyRequest().authenticated()
@@ -116,6 +122,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes on login when the stored cost differs from app.security.bcrypt.strength
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -126,6 +134,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new AdaptiveBCryptPasswordEncoder(bcryptStrength);
     }
 }
@@ -0,0 +1,142 @@
+package com.ammarakshitha.config;
+
+import com.ammarakshitha.exception.QueryBudgetExceededException;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements and JDBC time of the web request bound to the current thread. Hibernate
+ * passes every statement it prepares through {@link #inspect} and reports execution time to
+ * {@link JdbcTimingListener}; work on threads without a bound request is not tracked.
+ */
+@Component
+public class SqlStatementTracker implements StatementInspector {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    // Distinct statements remembered per request for repeated-statement detection
+    private static final int MAX_DISTINCT_STATEMENTS = 256;
+
+    @Value("${app.query-budget.enforce:false}")
+    private boolean enforce;
+
+    /**
+     * Starts tracking for the current thread.
+     *
+     * @param budget maximum statements allowed, 0 for no budget
+     * @return the stats that collect until {@link #end}
+     */
+    public RequestSqlStats begin(int budget) {
+        RequestSqlStats stats = new RequestSqlStats(budget);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops tracking for the current thread and returns what was recorded, or null if nothing was bound.
+     */
+    public RequestSqlStats end() {
+        RequestSqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null && stats.record(sql) && enforce) {
+            throw new QueryBudgetExceededException("Request exceeded its budget of " + stats.getBudget()
+                    + " SQL statements at: " + sql);
+        }
+        return sql;
+    }
+
+    public static final class RequestSqlStats {
+
+        private final int budget;
+        private final Map<String, Integer> countsBySql = new HashMap<>();
+        private int statements;
+        private long jdbcNanos;
+
+        private RequestSqlStats(int budget) {
+            this.budget = budget;
+        }
+
+        /**
+         * Returns true when this statement is the first one past the budget.
+         */
+        private boolean record(String sql) {
+            statements++;
+            if (countsBySql.size() < MAX_DISTINCT_STATEMENTS || countsBySql.containsKey(sql)) {
+                countsBySql.merge(sql, 1, Integer::sum);
+            }
+            return budget > 0 && statements == budget + 1;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        public boolean isOverBudget() {
+            return budget > 0 && statements > budget;
+        }
+
+        /**
+         * The statement run most often in this request, with parameters as placeholders, or null if none ran.
+         */
+        public Map.Entry<String, Integer> getMostRepeated() {
+            return countsBySql.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+        }
+    }
+
+    /**
+     * Registered per session through {@code hibernate.session.events.auto}, so Hibernate creates it.
+     */
+    public static class JdbcTimingListener extends BaseSessionEventListener {
+
+        private long executeStart;
+        private long batchStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executeStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            addJdbcTime(executeStart);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batchStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            addJdbcTime(batchStart);
+        }
+
+        private static void addJdbcTime(long start) {
+            RequestSqlStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.jdbcNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.ammarakshitha.config;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import jakarta.annotation.PostConstruct;
@@ -11,9 +13,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Configuration
+@RequiredArgsConstructor
 @Slf4j
 public class WebConfig implements WebMvcConfigurer {
 
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
 
@@ -31,6 +36,11 @@ public class WebConfig implements WebMvcConfigurer {
         }
     }
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+    }
+
     // Resource handler disabled - using FileController instead
     // @Override
     // public void addResourceHandlers(ResourceHandlerRegistry registry) {
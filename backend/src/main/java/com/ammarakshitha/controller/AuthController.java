@@ -10,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/v1/auth")
 @RequiredArgsConstructor
@@ -29,10 +31,11 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "User login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(
             @Valid @RequestBody AuthRequest request) {
-        AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
+        // Completes on the password hashing pool; the request thread is released meanwhile
+        return authService.login(request)
+                .thenApply(response -> ResponseEntity.ok(ApiResponse.success(response, "Login successful")));
     }
 
     @PostMapping("/refresh")
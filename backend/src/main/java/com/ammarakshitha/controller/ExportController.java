@@ -0,0 +1,98 @@
+package com.ammarakshitha.controller;
+
+import com.ammarakshitha.model.enums.ExportFormat;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.ReportSection;
+import com.ammarakshitha.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/exports")
+@RequiredArgsConstructor
+@Tag(name = "Exports", description = "APIs for downloading report data as Excel, CSV or a printable report")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/patients")
+    @Operation(summary = "Export patients, optionally filtered by status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<StreamingResponseBody> exportPatients(
+            @RequestParam(required = false) PatientStatus status,
+            @RequestParam(defaultValue = "XLSX") ExportFormat format) {
+        return download("patients", format, out -> exportService.exportPatients(status, format, out));
+    }
+
+    @GetMapping("/deliveries")
+    @Operation(summary = "Export deliveries by date range")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<StreamingResponseBody> exportDeliveries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "XLSX") ExportFormat format) {
+        return download("deliveries", format,
+                out -> exportService.exportDeliveries(startDate, endDate, format, out));
+    }
+
+    @GetMapping("/mortality")
+    @Operation(summary = "Export mortality cases by date range")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<StreamingResponseBody> exportMortality(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "XLSX") ExportFormat format) {
+        return download("mortality", format,
+                out -> exportService.exportMortality(startDate, endDate, format, out));
+    }
+
+    @GetMapping("/health-checks")
+    @Operation(summary = "Export health checks by date range")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<StreamingResponseBody> exportHealthChecks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "XLSX") ExportFormat format) {
+        return download("health_checks", format,
+                out -> exportService.exportHealthChecks(startDate, endDate, format, out));
+    }
+
+    @GetMapping("/report")
+    @Operation(summary = "Printable HTML report of the chosen sections, for saving as PDF")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<StreamingResponseBody> printReport(
+            @RequestParam List<ReportSection> sections,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        exportService.validateReport(sections, startDate, endDate);
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "inline")
+                .contentType(MediaType.parseMediaType("text/html; charset=UTF-8"))
+                .body(out -> exportService.printReport(sections, startDate, endDate, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format,
+                                                                  StreamingResponseBody body) {
+        String fileName = name + "_" + LocalDate.now() + (format == ExportFormat.CSV ? ".csv" : ".xlsx");
+        MediaType contentType = format == ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv; charset=UTF-8")
+                : MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=" + fileName)
+                .contentType(contentType)
+                .body(body);
+    }
+}
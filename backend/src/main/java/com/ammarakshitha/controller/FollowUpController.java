@@ -1,9 +1,12 @@
 package com.ammarakshitha.controller;
 
+import com.ammarakshitha.config.QueryBudget;
 import com.ammarakshitha.dto.ApiResponse;
+import com.ammarakshitha.dto.CursorPage;
+import com.ammarakshitha.dto.FollowUpDTO;
 import com.ammarakshitha.dto.FollowUpRequest;
 import com.ammarakshitha.dto.FollowUpUpdateRequest;
-import com.ammarakshitha.model.FollowUp;
+import com.ammarakshitha.model.enums.FollowUpStatus;
 import com.ammarakshitha.service.FollowUpService;
 import com.ammarakshitha.service.StorageService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +16,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -38,105 +42,114 @@ public class FollowUpController {
     @PostMapping
     @Operation(summary = "Create a new follow-up")
     @PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK', 'DOCTOR')")
-    public ResponseEntity<ApiResponse<FollowUp>> createFollowUp(
+    public ResponseEntity<ApiResponse<FollowUpDTO>> createFollowUp(
             @Valid @RequestBody FollowUpRequest request) {
-        FollowUp followUp = followUpService.createFollowUp(request);
+        FollowUpDTO followUp = followUpService.createFollowUp(request);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(followUp, "Follow-up scheduled successfully"));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get follow-up by ID")
-    public ResponseEntity<ApiResponse<FollowUp>> getFollowUpById(@PathVariable Long id) {
-        FollowUp followUp = followUpService.getFollowUpById(id);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<FollowUpDTO>> getFollowUpById(@PathVariable Long id) {
+        FollowUpDTO followUp = followUpService.getFollowUpById(id);
         return ResponseEntity.ok(ApiResponse.success(followUp));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update follow-up after call")
     @PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK')")
-    public ResponseEntity<ApiResponse<FollowUp>> updateFollowUp(
+    public ResponseEntity<ApiResponse<FollowUpDTO>> updateFollowUp(
             @PathVariable Long id,
             @Valid @RequestBody FollowUpUpdateRequest request) {
-        FollowUp followUp = followUpService.updateFollowUp(id, request);
+        FollowUpDTO followUp = followUpService.updateFollowUp(id, request);
         return ResponseEntity.ok(ApiResponse.success(followUp, "Follow-up updated successfully"));
     }
 
     @PatchMapping("/{id}/reschedule")
     @Operation(summary = "Reschedule a follow-up")
     @PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK')")
-    public ResponseEntity<ApiResponse<FollowUp>> rescheduleFollowUp(
+    public ResponseEntity<ApiResponse<FollowUpDTO>> rescheduleFollowUp(
             @PathVariable Long id,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate newDate) {
-        FollowUp followUp = followUpService.rescheduleFollowUp(id, newDate);
+        FollowUpDTO followUp = followUpService.rescheduleFollowUp(id, newDate);
         return ResponseEntity.ok(ApiResponse.success(followUp, "Follow-up rescheduled"));
     }
 
     @PatchMapping("/{id}/reassign")
     @Operation(summary = "Reassign a follow-up to another user")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER')")
-    public ResponseEntity<ApiResponse<FollowUp>> reassignFollowUp(
+    public ResponseEntity<ApiResponse<FollowUpDTO>> reassignFollowUp(
             @PathVariable Long id,
             @RequestParam Long newAssigneeId) {
-        FollowUp followUp = followUpService.reassignFollowUp(id, newAssigneeId);
+        FollowUpDTO followUp = followUpService.reassignFollowUp(id, newAssigneeId);
         return ResponseEntity.ok(ApiResponse.success(followUp, "Follow-up reassigned"));
     }
 
     @GetMapping("/patient/{patientId}")
     @Operation(summary = "Get follow-ups for a patient")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getFollowUpsByPatient(@PathVariable Long patientId) {
-        List<FollowUp> followUps = followUpService.getFollowUpsByPatientId(patientId);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getFollowUpsByPatient(@PathVariable Long patientId) {
+        List<FollowUpDTO> followUps = followUpService.getFollowUpsByPatientId(patientId);
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get follow-ups assigned to a user")
-    public ResponseEntity<ApiResponse<Page<FollowUp>>> getFollowUpsByUser(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<FollowUpDTO>>> getFollowUpsByUser(
             @PathVariable Long userId,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<FollowUp> followUps = followUpService.getFollowUpsByAssignedUser(userId, pageable);
+        Page<FollowUpDTO> followUps = followUpService.getFollowUpsByAssignedUser(userId, pageable);
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/user/{userId}/today")
     @Operation(summary = "Get today's pending follow-ups for a user")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getTodaysPendingForUser(@PathVariable Long userId) {
-        List<FollowUp> followUps = followUpService.getTodaysPendingFollowUps(userId);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getTodaysPendingForUser(@PathVariable Long userId) {
+        List<FollowUpDTO> followUps = followUpService.getTodaysPendingFollowUps(userId);
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/today")
     @Operation(summary = "Get all today's follow-ups")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getTodaysFollowUps() {
-        List<FollowUp> followUps = followUpService.getTodaysFollowUps();
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getTodaysFollowUps() {
+        List<FollowUpDTO> followUps = followUpService.getTodaysFollowUps();
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/overdue")
     @Operation(summary = "Get all overdue follow-ups")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getOverdueFollowUps() {
-        List<FollowUp> followUps = followUpService.getOverdueFollowUps();
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getOverdueFollowUps() {
+        List<FollowUpDTO> followUps = followUpService.getOverdueFollowUps();
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/upcoming")
     @Operation(summary = "Get all upcoming follow-ups (scheduled for future dates)")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getUpcomingFollowUps() {
-        List<FollowUp> followUps = followUpService.getUpcomingFollowUps();
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getUpcomingFollowUps() {
+        List<FollowUpDTO> followUps = followUpService.getUpcomingFollowUps();
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/user/{userId}/overdue")
     @Operation(summary = "Get overdue follow-ups for a user")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getOverdueFollowUpsForUser(@PathVariable Long userId) {
-        List<FollowUp> followUps = followUpService.getOverdueFollowUpsForUser(userId);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getOverdueFollowUpsForUser(@PathVariable Long userId) {
+        List<FollowUpDTO> followUps = followUpService.getOverdueFollowUpsForUser(userId);
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/requiring-doctor")
     @Operation(summary = "Get follow-ups requiring doctor consultation")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getFollowUpsRequiringDoctor() {
-        List<FollowUp> followUps = followUpService.getFollowUpsRequiringDoctorConsultation();
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getFollowUpsRequiringDoctor() {
+        List<FollowUpDTO> followUps = followUpService.getFollowUpsRequiringDoctorConsultation();
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
@@ -156,24 +169,48 @@ public class FollowUpController {
 
     @GetMapping("/range")
     @Operation(summary = "Get follow-ups by date range for calendar view")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getFollowUpsByDateRange(
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getFollowUpsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<FollowUp> followUps = followUpService.getFollowUpsByDateRange(startDate, endDate);
+        List<FollowUpDTO> followUps = followUpService.getFollowUpsByDateRange(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/all")
-    @Operation(summary = "Get all follow-ups")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getAllFollowUps() {
-        List<FollowUp> followUps = followUpService.getAllFollowUps();
+    @Operation(summary = "Get all follow-ups, capped at app.pagination.max-results")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getAllFollowUps(
+            @RequestParam(required = false) FollowUpStatus status) {
+        Page<FollowUpDTO> followUps = followUpService.getAllFollowUps(status);
+        return ResponseEntity.ok(ApiResponse.capped(followUps));
+    }
+
+    @GetMapping(value = "/all", params = "page")
+    @Operation(summary = "Get all follow-ups with pagination")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<FollowUpDTO>>> getAllFollowUpsPaged(
+            @RequestParam(required = false) FollowUpStatus status,
+            @PageableDefault(size = 20, sort = {"scheduledDate", "id"}, direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<FollowUpDTO> followUps = followUpService.getAllFollowUps(status, pageable);
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
     @GetMapping("/past")
-    @Operation(summary = "Get all past/completed follow-ups")
-    public ResponseEntity<ApiResponse<List<FollowUp>>> getPastFollowUps() {
-        List<FollowUp> followUps = followUpService.getPastFollowUps();
+    @Operation(summary = "Get past/completed follow-ups, capped at app.pagination.max-results")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<FollowUpDTO>>> getPastFollowUps() {
+        Page<FollowUpDTO> followUps = followUpService.getPastFollowUps();
+        return ResponseEntity.ok(ApiResponse.capped(followUps));
+    }
+
+    @GetMapping(value = "/past", params = "cursor")
+    @Operation(summary = "Get past follow-ups latest first by cursor (empty cursor for the first page)")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<CursorPage<FollowUpDTO>>> getPastFollowUpsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<FollowUpDTO> followUps = followUpService.getPastFollowUps(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(followUps));
     }
 
@@ -188,12 +225,12 @@ public class FollowUpController {
     @PostMapping(value = "/{id}/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload photo for a follow-up")
     @PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK', 'DOCTOR')")
-    public ResponseEntity<ApiResponse<FollowUp>> uploadPhoto(
+    public ResponseEntity<ApiResponse<FollowUpDTO>> uploadPhoto(
             @PathVariable Long id,
             @RequestParam("file") MultipartFile file) {
         log.info("Uploading photo for follow-up: {}", id);
         String photoUrl = storageService.uploadFile(file, "follow-ups");
-        FollowUp followUp = followUpService.updatePhotoUrl(id, photoUrl);
+        FollowUpDTO followUp = followUpService.updatePhotoUrl(id, photoUrl);
         return ResponseEntity.ok(ApiResponse.success(followUp, "Photo uploaded successfully"));
     }
 }
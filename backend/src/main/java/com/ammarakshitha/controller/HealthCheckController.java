@@ -1,8 +1,11 @@
 package com.ammarakshitha.controller;
 
+import com.ammarakshitha.config.QueryBudget;
 import com.ammarakshitha.dto.ApiResponse;
+import com.ammarakshitha.dto.CursorPage;
 import com.ammarakshitha.dto.HealthCheckRequest;
 import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.security.CustomUserDetails;
 import com.ammarakshitha.service.HealthCheckService;
 import com.ammarakshitha.service.StorageService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,11 +16,13 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -37,10 +42,10 @@ public class HealthCheckController {
 	@PostMapping
 	@Operation(summary = "Perform a new health check")
 	@PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK', 'DOCTOR')")
-	public ResponseEntity<ApiResponse<HealthCheck>> performHealthCheck(@Valid @RequestBody HealthCheckRequest request) {
+	public ResponseEntity<ApiResponse<HealthCheck>> performHealthCheck(@Valid @RequestBody HealthCheckRequest request,
+			@AuthenticationPrincipal CustomUserDetails principal) {
 		log.info("Received health check request for patient ID: {}", request.getPatientId());
-		// TODO: Get user ID from security context
-		Long userId = 1L; // Placeholder
+		Long userId = principal.getId();
 		HealthCheck healthCheck = healthCheckService.performHealthCheck(request, userId);
 		return ResponseEntity.status(HttpStatus.CREATED).body(
 				ApiResponse.success(healthCheck, "Health check completed. Risk Level: " + healthCheck.getRiskLevel()));
@@ -68,6 +73,18 @@ public class HealthCheckController {
 		return ResponseEntity.ok(ApiResponse.success(healthChecks));
 	}
 
+	@GetMapping(value = "/patient/{patientId}/paginated", params = "cursor")
+	@Operation(summary = "Get a patient's health checks latest first by cursor (empty cursor for the first page)")
+	// The page, then the shared patient's registeredBy, deliveryCompletedBy and babies while serializing
+	@QueryBudget(4)
+	public ResponseEntity<ApiResponse<CursorPage<HealthCheck>>> getHealthChecksByPatientCursor(
+			@PathVariable Long patientId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "10") int size) {
+		CursorPage<HealthCheck> healthChecks = healthCheckService.getHealthChecksByPatientId(patientId, cursor, size);
+		return ResponseEntity.ok(ApiResponse.success(healthChecks));
+	}
+
 	@GetMapping("/patient/{patientId}/latest")
 	@Operation(summary = "Get latest health check for a patient")
 	public ResponseEntity<ApiResponse<HealthCheck>> getLatestHealthCheck(@PathVariable Long patientId) {
@@ -85,9 +102,62 @@ public class HealthCheckController {
 	}
 
 	@GetMapping("/overdue")
-	@Operation(summary = "Get overdue health checks")
+	@Operation(summary = "Get overdue health checks, capped at app.pagination.max-results")
 	public ResponseEntity<ApiResponse<List<HealthCheck>>> getOverdueHealthChecks() {
-		List<HealthCheck> healthChecks = healthCheckService.getOverdueHealthChecks();
+		Page<HealthCheck> healthChecks = healthCheckService.getOverdueHealthChecks();
+		return ResponseEntity.ok(ApiResponse.capped(healthChecks));
+	}
+
+	@GetMapping(value = "/overdue", params = "page")
+	@Operation(summary = "Get overdue health checks with pagination")
+	public ResponseEntity<ApiResponse<Page<HealthCheck>>> getOverdueHealthChecksPaged(
+			@PageableDefault(size = 20, sort = "nextCheckDate") Pageable pageable) {
+		Page<HealthCheck> healthChecks = healthCheckService.getOverdueHealthChecks(pageable);
+		return ResponseEntity.ok(ApiResponse.success(healthChecks));
+	}
+
+	@GetMapping("/high-blood-pressure")
+	@Operation(summary = "Get health checks with high blood pressure, capped at app.pagination.max-results")
+	public ResponseEntity<ApiResponse<List<HealthCheck>>> getHighBloodPressureHealthChecks() {
+		Page<HealthCheck> healthChecks = healthCheckService.getHighBloodPressureHealthChecks();
+		return ResponseEntity.ok(ApiResponse.capped(healthChecks));
+	}
+
+	@GetMapping(value = "/high-blood-pressure", params = "page")
+	@Operation(summary = "Get health checks with high blood pressure with pagination")
+	public ResponseEntity<ApiResponse<Page<HealthCheck>>> getHighBloodPressureHealthChecksPaged(
+			@PageableDefault(size = 20, sort = {"checkDate", "id"}, direction = Sort.Direction.DESC) Pageable pageable) {
+		Page<HealthCheck> healthChecks = healthCheckService.getHighBloodPressureHealthChecks(pageable);
+		return ResponseEntity.ok(ApiResponse.success(healthChecks));
+	}
+
+	@GetMapping("/low-hemoglobin")
+	@Operation(summary = "Get health checks with low hemoglobin, capped at app.pagination.max-results")
+	public ResponseEntity<ApiResponse<List<HealthCheck>>> getLowHemoglobinHealthChecks() {
+		Page<HealthCheck> healthChecks = healthCheckService.getLowHemoglobinHealthChecks();
+		return ResponseEntity.ok(ApiResponse.capped(healthChecks));
+	}
+
+	@GetMapping(value = "/low-hemoglobin", params = "page")
+	@Operation(summary = "Get health checks with low hemoglobin with pagination")
+	public ResponseEntity<ApiResponse<Page<HealthCheck>>> getLowHemoglobinHealthChecksPaged(
+			@PageableDefault(size = 20, sort = {"checkDate", "id"}, direction = Sort.Direction.DESC) Pageable pageable) {
+		Page<HealthCheck> healthChecks = healthCheckService.getLowHemoglobinHealthChecks(pageable);
+		return ResponseEntity.ok(ApiResponse.success(healthChecks));
+	}
+
+	@GetMapping("/high-blood-sugar")
+	@Operation(summary = "Get health checks with high blood sugar, capped at app.pagination.max-results")
+	public ResponseEntity<ApiResponse<List<HealthCheck>>> getHighBloodSugarHealthChecks() {
+		Page<HealthCheck> healthChecks = healthCheckService.getHighBloodSugarHealthChecks();
+		return ResponseEntity.ok(ApiResponse.capped(healthChecks));
+	}
+
+	@GetMapping(value = "/high-blood-sugar", params = "page")
+	@Operation(summary = "Get health checks with high blood sugar with pagination")
+	public ResponseEntity<ApiResponse<Page<HealthCheck>>> getHighBloodSugarHealthChecksPaged(
+			@PageableDefault(size = 20, sort = {"checkDate", "id"}, direction = Sort.Direction.DESC) Pageable pageable) {
+		Page<HealthCheck> healthChecks = healthCheckService.getHighBloodSugarHealthChecks(pageable);
 		return ResponseEntity.ok(ApiResponse.success(healthChecks));
 	}
 
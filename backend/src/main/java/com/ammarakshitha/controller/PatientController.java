@@ -1,30 +1,37 @@
 package com.ammarakshitha.controller;
 
+import com.ammarakshitha.config.QueryBudget;
 import com.ammarakshitha.dto.ApiResponse;
-import com.ammarakshitha.dto.BulkUploadResult;
+import com.ammarakshitha.dto.BulkUploadJobDTO;
+import com.ammarakshitha.dto.CursorPage;
 import com.ammarakshitha.dto.DeliveryCompletionRequest;
 import com.ammarakshitha.dto.PatientDTO;
 import com.ammarakshitha.dto.PatientRegistrationRequest;
+import com.ammarakshitha.dto.PatientTimelineDTO;
 import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.enums.PatientSearchMode;
 import com.ammarakshitha.model.enums.PatientStatus;
 import com.ammarakshitha.model.enums.RiskLevel;
 import java.time.LocalDate;
 import org.springframework.format.annotation.DateTimeFormat;
+import com.ammarakshitha.security.CustomUserDetails;
+import com.ammarakshitha.service.BulkUploadJobService;
 import com.ammarakshitha.service.PatientExcelService;
 import com.ammarakshitha.service.PatientService;
+import com.ammarakshitha.service.PatientTimelineService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -37,16 +44,17 @@ import java.util.List;
 public class PatientController {
 
     private final PatientService patientService;
+    private final PatientTimelineService patientTimelineService;
     private final PatientExcelService patientExcelService;
+    private final BulkUploadJobService bulkUploadJobService;
 
     @PostMapping
     @Operation(summary = "Register a new patient")
     @PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK')")
     public ResponseEntity<ApiResponse<Patient>> registerPatient(
             @Valid @RequestBody PatientRegistrationRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        // TODO: Get user ID from security context
-        Long userId = 1L; // Placeholder
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        Long userId = principal.getId();
         Patient patient = patientService.registerPatient(request, userId);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(patient, "Patient registered successfully"));
@@ -59,6 +67,14 @@ public class PatientController {
         return ResponseEntity.ok(ApiResponse.success(patient));
     }
 
+    @GetMapping("/{id}/timeline")
+    @Operation(summary = "Get a patient with health checks, consultations, follow-ups and alerts in one response")
+    @QueryBudget(5)
+    public ResponseEntity<ApiResponse<PatientTimelineDTO>> getPatientTimeline(@PathVariable Long id) {
+        PatientTimelineDTO timeline = patientTimelineService.getTimeline(id);
+        return ResponseEntity.ok(ApiResponse.success(timeline));
+    }
+
     @GetMapping("/mother-id/{motherId}")
     @Operation(summary = "Get patient by Mother ID")
     public ResponseEntity<ApiResponse<Patient>> getPatientByMotherId(@PathVariable String motherId) {
@@ -76,51 +92,78 @@ public class PatientController {
 
     @GetMapping
     @Operation(summary = "Get all patients with pagination")
-    public ResponseEntity<ApiResponse<Page<Patient>>> getAllPatients(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<PatientDTO>>> getAllPatients(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<Patient> patients = patientService.getAllPatients(pageable);
+        Page<PatientDTO> patients = patientService.getAllPatients(pageable);
+        return ResponseEntity.ok(ApiResponse.success(patients));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get patients newest first by cursor, without a total count (empty cursor for the first page)")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<CursorPage<PatientDTO>>> getPatientsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PatientDTO> patients = patientService.getPatients(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Get patients by status")
-    public ResponseEntity<ApiResponse<Page<Patient>>> getPatientsByStatus(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<PatientDTO>>> getPatientsByStatus(
             @PathVariable PatientStatus status,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<Patient> patients = patientService.getPatientsByStatus(status, pageable);
+        Page<PatientDTO> patients = patientService.getPatientsByStatus(status, pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
     @GetMapping("/risk-level/{riskLevel}")
     @Operation(summary = "Get patients by risk level")
-    public ResponseEntity<ApiResponse<Page<Patient>>> getPatientsByRiskLevel(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<PatientDTO>>> getPatientsByRiskLevel(
             @PathVariable RiskLevel riskLevel,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<Patient> patients = patientService.getPatientsByRiskLevel(riskLevel, pageable);
+        Page<PatientDTO> patients = patientService.getPatientsByRiskLevel(riskLevel, pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
     @GetMapping("/high-risk")
-    @Operation(summary = "Get all high risk patients")
-    public ResponseEntity<ApiResponse<List<Patient>>> getHighRiskPatients() {
-        List<Patient> patients = patientService.getHighRiskPatients();
+    @Operation(summary = "Get all high risk patients, capped at app.pagination.max-results")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<PatientDTO>>> getHighRiskPatients() {
+        Page<PatientDTO> patients = patientService.getHighRiskPatients();
+        return ResponseEntity.ok(ApiResponse.capped(patients));
+    }
+
+    @GetMapping(value = "/high-risk", params = "page")
+    @Operation(summary = "Get high risk patients with pagination")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<PatientDTO>>> getHighRiskPatientsPaged(
+            @PageableDefault(size = 20, sort = "currentRiskScore", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<PatientDTO> patients = patientService.getHighRiskPatients(pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
     @GetMapping("/at-risk")
     @Operation(summary = "Get patients at risk (RED and YELLOW)")
-    public ResponseEntity<ApiResponse<Page<Patient>>> getAtRiskPatients(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<PatientDTO>>> getAtRiskPatients(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<Patient> patients = patientService.getAtRiskPatients(pageable);
+        Page<PatientDTO> patients = patientService.getAtRiskPatients(pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search patients")
+    @Operation(summary = "Search patients (mode=FUZZY matches names by sound)")
     public ResponseEntity<ApiResponse<Page<Patient>>> searchPatients(
             @RequestParam String query,
+            @RequestParam(defaultValue = "STANDARD") PatientSearchMode mode,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<Patient> patients = patientService.searchPatients(query, pageable);
+        Page<Patient> patients = mode == PatientSearchMode.FUZZY
+                ? patientService.fuzzySearchPatients(query, pageable)
+                : patientService.searchPatients(query, pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
@@ -145,17 +188,34 @@ public class PatientController {
     }
 
     @GetMapping("/upcoming-edd")
-    @Operation(summary = "Get patients with upcoming EDD")
+    @Operation(summary = "Get patients with upcoming EDD, capped at app.pagination.max-results")
     public ResponseEntity<ApiResponse<List<Patient>>> getPatientsWithUpcomingEDD(
             @RequestParam(defaultValue = "30") int daysAhead) {
-        List<Patient> patients = patientService.getPatientsWithUpcomingEDD(daysAhead);
+        Page<Patient> patients = patientService.getPatientsWithUpcomingEDD(daysAhead);
+        return ResponseEntity.ok(ApiResponse.capped(patients));
+    }
+
+    @GetMapping(value = "/upcoming-edd", params = "page")
+    @Operation(summary = "Get patients with upcoming EDD with pagination")
+    public ResponseEntity<ApiResponse<Page<Patient>>> getPatientsWithUpcomingEDDPaged(
+            @RequestParam(defaultValue = "30") int daysAhead,
+            @PageableDefault(size = 20, sort = "eddDate") Pageable pageable) {
+        Page<Patient> patients = patientService.getPatientsWithUpcomingEDD(daysAhead, pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
     @GetMapping("/overdue-deliveries")
-    @Operation(summary = "Get patients with overdue deliveries")
+    @Operation(summary = "Get patients with overdue deliveries, capped at app.pagination.max-results")
     public ResponseEntity<ApiResponse<List<Patient>>> getOverdueDeliveries() {
-        List<Patient> patients = patientService.getOverdueDeliveries();
+        Page<Patient> patients = patientService.getOverdueDeliveries();
+        return ResponseEntity.ok(ApiResponse.capped(patients));
+    }
+
+    @GetMapping(value = "/overdue-deliveries", params = "page")
+    @Operation(summary = "Get patients with overdue deliveries with pagination")
+    public ResponseEntity<ApiResponse<Page<Patient>>> getOverdueDeliveriesPaged(
+            @PageableDefault(size = 20, sort = "eddDate") Pageable pageable) {
+        Page<Patient> patients = patientService.getOverdueDeliveries(pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
 
@@ -182,17 +242,22 @@ public class PatientController {
     }
 
     @PostMapping(value = "/bulk-upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @Operation(summary = "Bulk upload patients from Excel file")
+    @Operation(summary = "Bulk upload patients from Excel file; rows are registered in the background")
     @PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK')")
-    public ResponseEntity<ApiResponse<BulkUploadResult>> bulkUploadPatients(
+    public ResponseEntity<ApiResponse<BulkUploadJobDTO>> bulkUploadPatients(
             @RequestParam("file") MultipartFile file,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        // TODO: Get user ID from security context properly
-        Long userId = 1L; // Placeholder
-        BulkUploadResult result = patientExcelService.processExcelUpload(file, userId);
-        return ResponseEntity.ok(ApiResponse.success(result,
-            String.format("Processed %d records: %d successful, %d failed",
-                result.getTotalRecords(), result.getSuccessCount(), result.getFailureCount())));
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        Long userId = principal.getId();
+        BulkUploadJobDTO job = bulkUploadJobService.submit(file, userId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(job, "Upload queued for processing"));
+    }
+
+    @GetMapping("/bulk-upload/jobs/{jobId}")
+    @Operation(summary = "Get bulk upload progress, with the final report once completed")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HELP_DESK')")
+    public ResponseEntity<ApiResponse<BulkUploadJobDTO>> getBulkUploadJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.success(bulkUploadJobService.getJob(jobId)));
     }
 
     @GetMapping("/bulk-upload/template")
@@ -212,9 +277,8 @@ public class PatientController {
     public ResponseEntity<ApiResponse<Patient>> completeDelivery(
             @PathVariable Long id,
             @Valid @RequestBody DeliveryCompletionRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        // TODO: Get user ID from security context properly
-        Long userId = 1L; // Placeholder
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        Long userId = principal.getId();
         Patient patient = patientService.completeDelivery(id, request, userId);
         return ResponseEntity.ok(ApiResponse.success(patient, "Delivery completion recorded successfully"));
     }
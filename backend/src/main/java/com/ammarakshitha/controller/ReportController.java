@@ -0,0 +1,51 @@
+package com.ammarakshitha.controller;
+
+import com.ammarakshitha.dto.ApiResponse;
+import com.ammarakshitha.dto.ReportSummary;
+import com.ammarakshitha.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/v1/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "APIs for aggregated report breakdowns")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    @GetMapping("/active-patients")
+    @Operation(summary = "Active pregnancies by risk level, district and mandal")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<ApiResponse<ReportSummary>> getActivePatientsReport() {
+        return ResponseEntity.ok(ApiResponse.success(reportService.getActivePatientsReport()));
+    }
+
+    @GetMapping("/deliveries")
+    @Operation(summary = "Deliveries by outcome, district, mandal, month and doctor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<ApiResponse<ReportSummary>> getDeliveriesReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(ApiResponse.success(reportService.getDeliveriesReport(startDate, endDate)));
+    }
+
+    @GetMapping("/mortality")
+    @Operation(summary = "Mortality cases by outcome, district, mandal, month and doctor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'MCH_OFFICER')")
+    public ResponseEntity<ApiResponse<ReportSummary>> getMortalityReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(ApiResponse.success(reportService.getMortalityReport(startDate, endDate)));
+    }
+}
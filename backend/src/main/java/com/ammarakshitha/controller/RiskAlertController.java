@@ -1,19 +1,24 @@
 package com.ammarakshitha.controller;
 
 import com.ammarakshitha.dto.AlertAcknowledgeRequest;
+import com.ammarakshitha.config.QueryBudget;
 import com.ammarakshitha.dto.ApiResponse;
-import com.ammarakshitha.model.RiskAlert;
+import com.ammarakshitha.dto.CursorPage;
+import com.ammarakshitha.dto.RiskAlertDTO;
 import com.ammarakshitha.model.enums.AlertType;
 import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.security.CustomUserDetails;
 import com.ammarakshitha.service.RiskAlertService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,117 +33,139 @@ public class RiskAlertController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get alert by ID")
-    public ResponseEntity<ApiResponse<RiskAlert>> getAlertById(@PathVariable Long id) {
-        RiskAlert alert = riskAlertService.getAlertById(id);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<RiskAlertDTO>> getAlertById(@PathVariable Long id) {
+        RiskAlertDTO alert = riskAlertService.getAlertById(id);
         return ResponseEntity.ok(ApiResponse.success(alert));
     }
 
     @GetMapping("/patient/{patientId}")
     @Operation(summary = "Get alerts for a patient")
-    public ResponseEntity<ApiResponse<List<RiskAlert>>> getAlertsByPatient(@PathVariable Long patientId) {
-        List<RiskAlert> alerts = riskAlertService.getAlertsByPatientId(patientId);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<RiskAlertDTO>>> getAlertsByPatient(@PathVariable Long patientId) {
+        List<RiskAlertDTO> alerts = riskAlertService.getAlertsByPatientId(patientId);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/unacknowledged")
     @Operation(summary = "Get all unacknowledged alerts")
-    public ResponseEntity<ApiResponse<Page<RiskAlert>>> getUnacknowledgedAlerts(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<RiskAlertDTO>>> getUnacknowledgedAlerts(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<RiskAlert> alerts = riskAlertService.getUnacknowledgedAlerts(pageable);
+        Page<RiskAlertDTO> alerts = riskAlertService.getUnacknowledgedAlerts(pageable);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/unacknowledged/ordered")
     @Operation(summary = "Get unacknowledged alerts ordered by severity")
-    public ResponseEntity<ApiResponse<List<RiskAlert>>> getUnacknowledgedAlertsBySeverity() {
-        List<RiskAlert> alerts = riskAlertService.getUnacknowledgedAlertsBySeverity();
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<RiskAlertDTO>>> getUnacknowledgedAlertsBySeverity() {
+        List<RiskAlertDTO> alerts = riskAlertService.getUnacknowledgedAlertsBySeverity();
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/critical")
     @Operation(summary = "Get critical unacknowledged alerts")
-    public ResponseEntity<ApiResponse<List<RiskAlert>>> getCriticalAlerts() {
-        List<RiskAlert> alerts = riskAlertService.getCriticalUnacknowledgedAlerts();
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<RiskAlertDTO>>> getCriticalAlerts() {
+        List<RiskAlertDTO> alerts = riskAlertService.getCriticalUnacknowledgedAlerts();
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/high-priority")
     @Operation(summary = "Get high priority (RED and YELLOW) unacknowledged alerts")
-    public ResponseEntity<ApiResponse<Page<RiskAlert>>> getHighPriorityAlerts(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<RiskAlertDTO>>> getHighPriorityAlerts(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<RiskAlert> alerts = riskAlertService.getHighPriorityUnacknowledgedAlerts(pageable);
+        Page<RiskAlertDTO> alerts = riskAlertService.getHighPriorityUnacknowledgedAlerts(pageable);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/unresolved")
-    @Operation(summary = "Get all unresolved alerts")
-    public ResponseEntity<ApiResponse<List<RiskAlert>>> getUnresolvedAlerts() {
-        List<RiskAlert> alerts = riskAlertService.getUnresolvedAlerts();
+    @Operation(summary = "Get all unresolved alerts, capped at app.pagination.max-results")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<List<RiskAlertDTO>>> getUnresolvedAlerts(
+            @RequestParam(required = false) RiskLevel severity) {
+        Page<RiskAlertDTO> alerts = riskAlertService.getUnresolvedAlerts(severity);
+        return ResponseEntity.ok(ApiResponse.capped(alerts));
+    }
+
+    @GetMapping(value = "/unresolved", params = "page")
+    @Operation(summary = "Get unresolved alerts with pagination")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<RiskAlertDTO>>> getUnresolvedAlertsPaged(
+            @RequestParam(required = false) RiskLevel severity,
+            @PageableDefault(size = 20, sort = {"severity", "createdAt"}, direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<RiskAlertDTO> alerts = riskAlertService.getUnresolvedAlerts(severity, pageable);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/patient/{patientId}/unresolved")
     @Operation(summary = "Get unresolved alerts for a patient")
-    public ResponseEntity<ApiResponse<List<RiskAlert>>> getUnresolvedAlertsForPatient(
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<RiskAlertDTO>>> getUnresolvedAlertsForPatient(
             @PathVariable Long patientId) {
-        List<RiskAlert> alerts = riskAlertService.getUnresolvedAlertsForPatient(patientId);
+        List<RiskAlertDTO> alerts = riskAlertService.getUnresolvedAlertsForPatient(patientId);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/severity/{severity}")
     @Operation(summary = "Get alerts by severity")
-    public ResponseEntity<ApiResponse<Page<RiskAlert>>> getAlertsBySeverity(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<RiskAlertDTO>>> getAlertsBySeverity(
             @PathVariable RiskLevel severity,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<RiskAlert> alerts = riskAlertService.getAlertsBySeverity(severity, pageable);
+        Page<RiskAlertDTO> alerts = riskAlertService.getAlertsBySeverity(severity, pageable);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/type/{alertType}")
     @Operation(summary = "Get alerts by type")
-    public ResponseEntity<ApiResponse<List<RiskAlert>>> getAlertsByType(@PathVariable AlertType alertType) {
-        List<RiskAlert> alerts = riskAlertService.getAlertsByType(alertType);
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<List<RiskAlertDTO>>> getAlertsByType(@PathVariable AlertType alertType) {
+        List<RiskAlertDTO> alerts = riskAlertService.getAlertsByType(alertType);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @PostMapping("/{id}/acknowledge")
     @Operation(summary = "Acknowledge an alert")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'DOCTOR', 'HELP_DESK')")
-    public ResponseEntity<ApiResponse<RiskAlert>> acknowledgeAlert(
+    public ResponseEntity<ApiResponse<RiskAlertDTO>> acknowledgeAlert(
             @PathVariable Long id,
-            @RequestBody AlertAcknowledgeRequest request) {
-        // TODO: Get user ID from security context
-        Long userId = 1L; // Placeholder
-        RiskAlert alert = riskAlertService.acknowledgeAlert(id, request, userId);
+            @RequestBody AlertAcknowledgeRequest request,
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        Long userId = principal.getId();
+        RiskAlertDTO alert = riskAlertService.acknowledgeAlert(id, request, userId);
         return ResponseEntity.ok(ApiResponse.success(alert, "Alert acknowledged"));
     }
 
     @PutMapping("/{id}/acknowledgement")
     @Operation(summary = "Update acknowledgement details of an alert")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'DOCTOR')")
-    public ResponseEntity<ApiResponse<RiskAlert>> updateAcknowledgement(
+    public ResponseEntity<ApiResponse<RiskAlertDTO>> updateAcknowledgement(
             @PathVariable Long id,
             @RequestBody AlertAcknowledgeRequest request) {
-        RiskAlert alert = riskAlertService.updateAcknowledgement(id, request);
+        RiskAlertDTO alert = riskAlertService.updateAcknowledgement(id, request);
         return ResponseEntity.ok(ApiResponse.success(alert, "Acknowledgement updated"));
     }
 
     @PostMapping("/{id}/resolve")
     @Operation(summary = "Resolve an alert")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER', 'DOCTOR')")
-    public ResponseEntity<ApiResponse<RiskAlert>> resolveAlert(
+    public ResponseEntity<ApiResponse<RiskAlertDTO>> resolveAlert(
             @PathVariable Long id,
             @RequestParam String resolutionNotes) {
-        RiskAlert alert = riskAlertService.resolveAlert(id, resolutionNotes);
+        RiskAlertDTO alert = riskAlertService.resolveAlert(id, resolutionNotes);
         return ResponseEntity.ok(ApiResponse.success(alert, "Alert resolved"));
     }
 
     @PostMapping("/bulk-acknowledge")
     @Operation(summary = "Bulk acknowledge alerts")
     @PreAuthorize("hasAnyRole('ADMIN', 'MEDICAL_OFFICER')")
-    public ResponseEntity<ApiResponse<Void>> bulkAcknowledge(@RequestBody List<Long> alertIds) {
-        // TODO: Get user ID from security context
-        Long userId = 1L; // Placeholder
+    public ResponseEntity<ApiResponse<Void>> bulkAcknowledge(
+            @RequestBody List<Long> alertIds,
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        Long userId = principal.getId();
         riskAlertService.bulkAcknowledge(alertIds, userId);
         return ResponseEntity.ok(ApiResponse.success(null, "Alerts acknowledged"));
     }
@@ -166,26 +193,39 @@ public class RiskAlertController {
 
     @GetMapping
     @Operation(summary = "Get all alerts with pagination")
-    public ResponseEntity<ApiResponse<Page<RiskAlert>>> getAllAlerts(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<RiskAlertDTO>>> getAllAlerts(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<RiskAlert> alerts = riskAlertService.getAllAlerts(pageable);
+        Page<RiskAlertDTO> alerts = riskAlertService.getAllAlerts(pageable);
+        return ResponseEntity.ok(ApiResponse.success(alerts));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get alerts newest first by cursor, without a total count (empty cursor for the first page)")
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<CursorPage<RiskAlertDTO>>> getAlertsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<RiskAlertDTO> alerts = riskAlertService.getAlerts(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/acknowledged")
     @Operation(summary = "Get all acknowledged alerts")
-    public ResponseEntity<ApiResponse<Page<RiskAlert>>> getAcknowledgedAlerts(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<RiskAlertDTO>>> getAcknowledgedAlerts(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<RiskAlert> alerts = riskAlertService.getAcknowledgedAlerts(pageable);
+        Page<RiskAlertDTO> alerts = riskAlertService.getAcknowledgedAlerts(pageable);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
     @GetMapping("/patient/{patientId}/all")
     @Operation(summary = "Get all alerts for a patient including acknowledgement details")
-    public ResponseEntity<ApiResponse<Page<RiskAlert>>> getAllAlertsForPatient(
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<Page<RiskAlertDTO>>> getAllAlertsForPatient(
             @PathVariable Long patientId,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<RiskAlert> alerts = riskAlertService.getAllAlertsForPatient(patientId, pageable);
+        Page<RiskAlertDTO> alerts = riskAlertService.getAllAlertsForPatient(patientId, pageable);
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 }
@@ -0,0 +1,92 @@
+package com.ammarakshitha.controller;
+
+import com.ammarakshitha.dto.ApiResponse;
+import com.ammarakshitha.dto.RiskRescoreJobDTO;
+import com.ammarakshitha.dto.RiskRuleSetDTO;
+import com.ammarakshitha.dto.RiskRuleSetRequest;
+import com.ammarakshitha.exception.ResourceNotFoundException;
+import com.ammarakshitha.security.CustomUserDetails;
+import com.ammarakshitha.service.RiskRescoreService;
+import com.ammarakshitha.service.RiskRuleSetService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/risk-assessment")
+@RequiredArgsConstructor
+@Tag(name = "Risk Assessment", description = "APIs for risk rule sets and re-assessing patient risk")
+public class RiskAssessmentController {
+
+    private final RiskRescoreService riskRescoreService;
+    private final RiskRuleSetService riskRuleSetService;
+
+    @GetMapping("/rule-sets")
+    @Operation(summary = "All risk rule set versions, newest first")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<RiskRuleSetDTO>>> getRuleSets() {
+        return ResponseEntity.ok(ApiResponse.success(riskRuleSetService.getRuleSets()));
+    }
+
+    @GetMapping("/rule-sets/{version}")
+    @Operation(summary = "Get a risk rule set version")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RiskRuleSetDTO>> getRuleSet(@PathVariable int version) {
+        return ResponseEntity.ok(ApiResponse.success(riskRuleSetService.getRuleSet(version)));
+    }
+
+    @PostMapping("/rule-sets")
+    @Operation(summary = "Publish a new risk rule set version overriding the configured rules")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RiskRuleSetDTO>> createRuleSet(
+            @Valid @RequestBody RiskRuleSetRequest request,
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        RiskRuleSetDTO ruleSet = riskRuleSetService.createRuleSet(request, principal.getId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(ruleSet, "Risk rule set version " + ruleSet.getVersion() + " created"));
+    }
+
+    @PostMapping("/rule-sets/{version}/activate")
+    @Operation(summary = "Activate a risk rule set version, 0 to return to the configured rules")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RiskRuleSetDTO>> activateRuleSet(@PathVariable int version) {
+        RiskRuleSetDTO ruleSet = riskRuleSetService.activateRuleSet(version);
+        return ResponseEntity.ok(ApiResponse.success(ruleSet, "Risk rule set version " + version + " activated"));
+    }
+
+    @PostMapping("/rescore")
+    @Operation(summary = "Re-score the latest health check of every active patient (dry run by default)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RiskRescoreJobDTO>> startRescore(
+            @RequestParam(defaultValue = "true") boolean dryRun,
+            @AuthenticationPrincipal CustomUserDetails principal) {
+        RiskRescoreJobDTO job = riskRescoreService.startJob(dryRun, principal.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(job, dryRun ? "Dry-run re-score started" : "Re-score started"));
+    }
+
+    @GetMapping("/rescore")
+    @Operation(summary = "Progress of the current or last re-score job")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RiskRescoreJobDTO>> getRescoreStatus() {
+        RiskRescoreJobDTO job = riskRescoreService.getCurrentJob();
+        if (job == null) {
+            throw new ResourceNotFoundException("No re-score job has been run");
+        }
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+}
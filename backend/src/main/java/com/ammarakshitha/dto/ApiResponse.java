@@ -5,8 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -18,6 +20,8 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private LocalDateTime timestamp;
+    // Set on capped list responses that left rows out
+    private Boolean truncated;
 
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
@@ -36,6 +40,24 @@ public class ApiResponse<T> {
                 .build();
     }
 
+    /**
+     * The first page of an unpaged list endpoint, marked truncated when more rows matched than the
+     * app.pagination.max-results cap returned.
+     */
+    public static <T> ApiResponse<List<T>> capped(Page<T> firstPage) {
+        if (!firstPage.hasNext()) {
+            return success(firstPage.getContent());
+        }
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .message("Showing the first " + firstPage.getNumberOfElements() + " of "
+                        + firstPage.getTotalElements() + " results; request with page and size for the rest")
+                .data(firstPage.getContent())
+                .truncated(true)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .success(false)
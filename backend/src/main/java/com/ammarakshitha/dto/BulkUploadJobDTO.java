@@ -0,0 +1,28 @@
+package com.ammarakshitha.dto;
+
+import com.ammarakshitha.model.enums.BulkUploadJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUploadJobDTO {
+    private Long id;
+    private String fileName;
+    private BulkUploadJobStatus status;
+    private int processedRows;
+    private int succeededRows;
+    private int failedRows;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    // Final report, present once the job has completed
+    private BulkUploadResult result;
+}
@@ -29,6 +29,7 @@ public class BulkUploadResult {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class UploadedPatient {
+        private int rowNumber;
         private Long id;
         private String name;
         private String motherId;
@@ -0,0 +1,47 @@
+package com.ammarakshitha.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. Pass {@code nextCursor} back as {@code cursor} for the
+ * following page; it is null on the last page. No total count is computed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /**
+     * The first {@code size} rows of a keyset query, capped at {@link #MAX_SIZE}.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.ofSize(Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    public static <T> CursorPage<T> of(Slice<T> slice, Function<T, PageCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        return CursorPage.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(slice.hasNext())
+                .nextCursor(slice.hasNext() ? cursorOf.apply(content.get(content.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -37,6 +37,7 @@ public class FollowUpDTO {
     private Boolean requiresDoctorConsultation;
     private Boolean requiresImmediateAttention;
     private String notes;
+    private String photoUrl;
     private LocalDate nextFollowUpDate;
     private LocalDateTime createdAt;
 }
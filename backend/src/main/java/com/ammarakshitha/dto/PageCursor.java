@@ -0,0 +1,59 @@
+package com.ammarakshitha.dto;
+
+import com.ammarakshitha.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated list: the sort key and id of the last row returned. Encoded as an
+ * opaque URL-safe string, so clients only pass it back.
+ */
+public record PageCursor(String key, long id) {
+
+    public static PageCursor of(Object key, Long id) {
+        return new PageCursor(String.valueOf(key), id);
+    }
+
+    /**
+     * Decodes a cursor from a request, or returns null for the first page.
+     *
+     * @throws BusinessException if the cursor was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = decoded.lastIndexOf('|');
+            return new PageCursor(decoded.substring(0, split), Long.parseLong(decoded.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Invalid page cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid page cursor");
+        }
+    }
+
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid page cursor");
+        }
+    }
+}
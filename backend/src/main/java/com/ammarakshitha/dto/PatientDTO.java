@@ -1,5 +1,6 @@
 package com.ammarakshitha.dto;
 
+import com.ammarakshitha.model.enums.DeliveryOutcome;
 import com.ammarakshitha.model.enums.PatientStatus;
 import com.ammarakshitha.model.enums.RiskLevel;
 import lombok.AllArgsConstructor;
@@ -52,6 +53,8 @@ public class PatientDTO {
     private List<PreviousPregnancyDTO> previousPregnancies;
     private String previousPregnanciesJson;
     private LocalDate registrationDate;
+    private DeliveryOutcome deliveryOutcome;
+    private LocalDate deliveryDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -59,4 +62,44 @@ public class PatientDTO {
     private Long totalHealthChecks;
     private LocalDate lastHealthCheckDate;
     private Long pendingFollowUps;
+
+    // List views - selected by the repository's constructor expression, without the TEXT columns
+    public PatientDTO(Long id, String name, Integer age, String husbandName, String residence,
+                      String district, String mandal, String village, String pincode, String motherId,
+                      String aadhaarNumber, String mobileNumber, String alternateMobile, String email,
+                      LocalDate dateOfBirth, LocalDate lmpDate, LocalDate eddDate, Integer gravida, Integer para,
+                      String bloodGroup, RiskLevel currentRiskLevel, Integer currentRiskScore, PatientStatus status,
+                      Boolean hasPreviousComplications, LocalDate registrationDate,
+                      DeliveryOutcome deliveryOutcome, LocalDate deliveryDate,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.husbandName = husbandName;
+        this.residence = residence;
+        this.district = district;
+        this.mandal = mandal;
+        this.village = village;
+        this.pincode = pincode;
+        this.motherId = motherId;
+        this.aadhaarNumber = aadhaarNumber;
+        this.mobileNumber = mobileNumber;
+        this.alternateMobile = alternateMobile;
+        this.email = email;
+        this.dateOfBirth = dateOfBirth;
+        this.lmpDate = lmpDate;
+        this.eddDate = eddDate;
+        this.gravida = gravida;
+        this.para = para;
+        this.bloodGroup = bloodGroup;
+        this.currentRiskLevel = currentRiskLevel;
+        this.currentRiskScore = currentRiskScore;
+        this.status = status;
+        this.hasPreviousComplications = hasPreviousComplications;
+        this.registrationDate = registrationDate;
+        this.deliveryOutcome = deliveryOutcome;
+        this.deliveryDate = deliveryDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
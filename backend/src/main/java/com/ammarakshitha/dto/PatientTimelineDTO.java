@@ -0,0 +1,30 @@
+package com.ammarakshitha.dto;
+
+import com.ammarakshitha.model.Consultation;
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientTimelineDTO {
+    private Patient patient;
+
+    // The patient is sent once above rather than inside every check and consultation
+    @JsonIgnoreProperties({"patient"})
+    private List<HealthCheck> healthChecks;
+
+    @JsonIgnoreProperties({"patient", "triggeredByHealthCheck"})
+    private List<Consultation> consultations;
+
+    private List<FollowUpDTO> followUps;
+    private List<RiskAlertDTO> alerts;
+}
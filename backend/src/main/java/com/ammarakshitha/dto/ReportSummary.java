@@ -0,0 +1,41 @@
+package com.ammarakshitha.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated counts for one report. {@code counts} splits {@code total} by risk level or delivery
+ * outcome; each breakdown (district, mandal, month, doctor) lists its buckets with the same split.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSummary {
+
+    private String report;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long total;
+    private Map<String, Long> counts;
+    private Map<String, List<Bucket>> breakdowns;
+    private LocalDateTime generatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private String key;
+        private String label;
+        private long total;
+        private Map<String, Long> counts;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ammarakshitha.dto;
+
+import com.ammarakshitha.model.enums.RiskLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskRescoreJobDTO {
+    private String jobId;
+    private boolean dryRun;
+    private Status status;
+    private Long requestedBy;
+    private long totalPatients;
+    private long processedPatients;
+    private long changedPatients;
+    private long escalations;
+    private long alertsCreated;
+    // Changes dropped because the patient or check was edited while the job ran
+    private long skippedConcurrentUpdates;
+    // Counts per "FROM->TO" risk level transition
+    private Map<String, Long> levelTransitions;
+    // First changes found, capped by app.risk-assessment.rescore.diff-limit
+    private List<Change> changes;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Change {
+        private Long patientId;
+        private String motherId;
+        private Long healthCheckId;
+        private int previousScore;
+        private RiskLevel previousLevel;
+        private int newScore;
+        private RiskLevel newLevel;
+        private String riskFactors;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ammarakshitha.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskRuleSetDTO {
+    private Integer version;
+    private String description;
+    private Map<String, String> rules;
+    private boolean active;
+    // Whether this instance is currently scoring with it
+    private boolean inEffect;
+    private Long createdById;
+    private String createdByName;
+    private LocalDateTime createdAt;
+    private LocalDateTime activatedAt;
+}
@@ -0,0 +1,25 @@
+package com.ammarakshitha.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskRuleSetRequest {
+
+    private String description;
+
+    // Rule overrides, e.g. "bp-systolic-at-least": "160,140,130"
+    @NotEmpty(message = "At least one rule is required")
+    private Map<String, String> rules;
+
+    // Activate the new version right away
+    private Boolean activate;
+}
@@ -0,0 +1,8 @@
+package com.ammarakshitha.event;
+
+/**
+ * Published when an upload has been stored and its job queued, so a worker can pick it up as
+ * soon as the transaction commits.
+ */
+public record BulkUploadJobSubmittedEvent(Long jobId) {
+}
@@ -0,0 +1,8 @@
+package com.ammarakshitha.event;
+
+/**
+ * Published after bulk updates that bypass the entity level events, so the in-memory
+ * dashboard counters are recounted from the database on the next read.
+ */
+public record DashboardRecountRequestedEvent(String reason) {
+}
@@ -0,0 +1,20 @@
+package com.ammarakshitha.event;
+
+import com.ammarakshitha.model.FollowUp;
+import com.ammarakshitha.model.enums.FollowUpStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever a follow-up is created, changed or deleted. {@code before} is null for a
+ * new follow-up and {@code after} is null for a deleted one.
+ */
+public record FollowUpChangedEvent(Snapshot before, Snapshot after) {
+
+    public record Snapshot(Long id, LocalDate scheduledDate, FollowUpStatus status) {
+
+        public static Snapshot of(FollowUp followUp) {
+            return new Snapshot(followUp.getId(), followUp.getScheduledDate(), followUp.getStatus());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ammarakshitha.event;
+
+import com.ammarakshitha.model.HealthCheck;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published whenever a health check is recorded, edited or soft deleted. A null side means
+ * the health check did not exist (or was inactive) on that side of the change.
+ */
+public record HealthCheckChangedEvent(Snapshot before, Snapshot after) {
+
+    /**
+     * Carries the vitals the risk trend window keeps, so a new check can be appended to it
+     * without reading it back.
+     */
+    public record Snapshot(Long id, Long patientId, LocalDate checkDate, Integer bpSystolic, Integer bpDiastolic,
+                           BigDecimal hemoglobin, BigDecimal weight, Integer fetalHeartRate) {
+
+        /**
+         * Returns null for soft deleted health checks so they drop out of the counts.
+         */
+        public static Snapshot of(HealthCheck healthCheck) {
+            if (Boolean.FALSE.equals(healthCheck.getIsActive())) {
+                return null;
+            }
+            return new Snapshot(
+                    healthCheck.getId(),
+                    healthCheck.getPatient() != null ? healthCheck.getPatient().getId() : null,
+                    healthCheck.getCheckDate(),
+                    healthCheck.getBpSystolic(),
+                    healthCheck.getBpDiastolic(),
+                    healthCheck.getHemoglobin(),
+                    healthCheck.getWeight(),
+                    healthCheck.getFetalHeartRate());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.ammarakshitha.event;
+
+/**
+ * Published when an outbox event is written, so a worker can pick it up as soon as the
+ * transaction commits.
+ */
+public record OutboxEventEnqueuedEvent(Long outboxEventId) {
+}
@@ -0,0 +1,48 @@
+package com.ammarakshitha.event;
+
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.enums.DeliveryOutcome;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever a patient is created, changed or deleted. {@code before} is null for a
+ * new patient and {@code after} is null for a deleted one.
+ */
+public record PatientChangedEvent(Snapshot before, Snapshot after) {
+
+    public record Snapshot(
+            Long id,
+            String name,
+            String husbandName,
+            String motherId,
+            String mobileNumber,
+            String aadhaarNumber,
+            String district,
+            PatientStatus status,
+            RiskLevel riskLevel,
+            DeliveryOutcome deliveryOutcome,
+            LocalDate registrationDate,
+            LocalDate deliveryDate,
+            LocalDate mortalityDate) {
+
+        public static Snapshot of(Patient patient) {
+            return new Snapshot(
+                    patient.getId(),
+                    patient.getName(),
+                    patient.getHusbandName(),
+                    patient.getMotherId(),
+                    patient.getMobileNumber(),
+                    patient.getAadhaarNumber(),
+                    patient.getDistrict(),
+                    patient.getStatus(),
+                    patient.getCurrentRiskLevel(),
+                    patient.getDeliveryOutcome(),
+                    patient.getRegistrationDate(),
+                    patient.getDeliveryDate(),
+                    patient.getMortalityDate());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ammarakshitha.event;
+
+import com.ammarakshitha.model.RiskAlert;
+import com.ammarakshitha.model.enums.RiskLevel;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever a risk alert is raised, acknowledged or resolved. {@code before} is null
+ * for a new alert.
+ */
+public record RiskAlertChangedEvent(Snapshot before, Snapshot after) {
+
+    public record Snapshot(Long id, RiskLevel severity, boolean acknowledged, LocalDate createdDate) {
+
+        public static Snapshot of(RiskAlert alert) {
+            return new Snapshot(
+                    alert.getId(),
+                    alert.getSeverity(),
+                    Boolean.TRUE.equals(alert.getIsAcknowledged()),
+                    alert.getCreatedAt() != null ? alert.getCreatedAt().toLocalDate() : LocalDate.now());
+        }
+    }
+}
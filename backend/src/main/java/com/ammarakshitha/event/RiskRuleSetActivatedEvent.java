@@ -0,0 +1,8 @@
+package com.ammarakshitha.event;
+
+/**
+ * Published when a different risk rule set is activated, version 0 meaning the configured rules.
+ * Other application instances pick the change up on their next refresh poll.
+ */
+public record RiskRuleSetActivatedEvent(int ruleSetVersion) {
+}
@@ -0,0 +1,8 @@
+package com.ammarakshitha.event;
+
+/**
+ * Published whenever a staff account is updated, activated, deactivated, re-roled, has its
+ * password changed or is deleted, so cached authentication state for {@code email} is dropped.
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
@@ -0,0 +1,63 @@
+package com.ammarakshitha.model;
+
+import com.ammarakshitha.model.enums.BulkUploadJobStatus;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "bulk_upload_jobs", indexes = {
+    @Index(name = "idx_bulk_upload_job_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUploadJob extends BaseEntity {
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    // Location of the stored upload under app.bulk-upload.directory
+    @Column(name = "stored_file", nullable = false)
+    private String storedFile;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private BulkUploadJobStatus status = BulkUploadJobStatus.QUEUED;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "uploaded_by", nullable = false)
+    private User uploadedBy;
+
+    @Column(name = "processed_rows", nullable = false)
+    @Builder.Default
+    private Integer processedRows = 0;
+
+    @Column(name = "succeeded_rows", nullable = false)
+    @Builder.Default
+    private Integer succeededRows = 0;
+
+    @Column(name = "failed_rows", nullable = false)
+    @Builder.Default
+    private Integer failedRows = 0;
+
+    // Last spreadsheet row covered by a committed chunk; a resumed job continues after it
+    @Column(name = "last_committed_row", nullable = false)
+    @Builder.Default
+    private Integer lastCommittedRow = 0;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,44 @@
+package com.ammarakshitha.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Outcome of one spreadsheet row of a {@link BulkUploadJob}: the registered patient, or the
+ * reason the row was rejected.
+ */
+@Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "bulk_upload_job_rows", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_bulk_upload_job_row", columnNames = {"job_id", "sheet_row"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUploadJobRow extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    private BulkUploadJob job;
+
+    @Column(name = "sheet_row", nullable = false)
+    private Integer rowNumber;
+
+    @Column(name = "patient_id")
+    private Long patientId;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "mother_id")
+    private String motherId;
+
+    @Column(name = "aadhaar_number")
+    private String aadhaarNumber;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+}
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_followup_patient", columnList = "patient_id"),
     @Index(name = "idx_followup_assigned", columnList = "assigned_to_id"),
     @Index(name = "idx_followup_date", columnList = "scheduled_date"),
-    @Index(name = "idx_followup_status", columnList = "status")
+    @Index(name = "idx_followup_status", columnList = "status"),
+    @Index(name = "idx_followup_date_id", columnList = "scheduled_date, id")
 })
 @Getter
 @Setter
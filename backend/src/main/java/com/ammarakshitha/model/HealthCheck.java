@@ -15,7 +15,8 @@ import java.time.LocalDate;
 @Table(name = "health_checks", indexes = {
     @Index(name = "idx_health_check_patient", columnList = "patient_id"),
     @Index(name = "idx_health_check_date", columnList = "check_date"),
-    @Index(name = "idx_health_check_risk", columnList = "risk_level")
+    @Index(name = "idx_health_check_risk", columnList = "risk_level"),
+    @Index(name = "idx_health_check_patient_date", columnList = "patient_id, check_date, id")
 })
 @Getter
 @Setter
@@ -119,6 +120,10 @@ public class HealthCheck extends BaseEntity {
     @Column(name = "risk_factors", columnDefinition = "TEXT")
     private String riskFactors;
 
+    // Risk rule set version that produced the score, 0 for the configured rules
+    @Column(name = "risk_rule_set_version")
+    private Integer riskRuleSetVersion;
+
     // Notes
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
@@ -0,0 +1,57 @@
+package com.ammarakshitha.model;
+
+import com.ammarakshitha.model.enums.OutboxEventStatus;
+import com.ammarakshitha.model.enums.OutboxEventType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Work a request hands to the background workers, written in the request's own transaction so it
+ * is recorded if and only if the request commits.
+ */
+@Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_event_status_available", columnList = "status, available_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    // Id of the record the event is about, e.g. the health check
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    // JSON, shaped by the event type
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private OutboxEventStatus status = OutboxEventStatus.PENDING;
+
+    // Incremented on every claim; the claiming worker completes the event only if it still matches
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
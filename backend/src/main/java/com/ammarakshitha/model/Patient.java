@@ -4,6 +4,8 @@ import com.ammarakshitha.model.enums.DeliveryOutcome;
 import com.ammarakshitha.model.enums.DeliveryType;
 import com.ammarakshitha.model.enums.PatientStatus;
 import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.search.IndianNamePhonetics;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -23,7 +25,8 @@ import java.util.Set;
     @Index(name = "idx_patient_aadhaar", columnList = "aadhaar_number"),
     @Index(name = "idx_patient_mobile", columnList = "mobile_number"),
     @Index(name = "idx_patient_risk_level", columnList = "current_risk_level"),
-    @Index(name = "idx_patient_status", columnList = "status")
+    @Index(name = "idx_patient_status", columnList = "status"),
+    @Index(name = "idx_patient_created", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -47,6 +50,15 @@ public class Patient extends BaseEntity {
     @Column(name = "husband_name")
     private String husbandName;
 
+    // Phonetic keys for fuzzy name search, derived from name and husbandName on save
+    @JsonIgnore
+    @Column(name = "name_phonetic_key")
+    private String namePhoneticKey;
+
+    @JsonIgnore
+    @Column(name = "husband_name_phonetic_key")
+    private String husbandNamePhoneticKey;
+
     @NotBlank
     @Size(max = 500)
     @Column(nullable = false)
@@ -246,4 +258,11 @@ public class Patient extends BaseEntity {
     @OrderBy("createdAt DESC")
     @Builder.Default
     private List<RiskAlert> riskAlerts = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    void updatePhoneticKeys() {
+        namePhoneticKey = IndianNamePhonetics.encode(name);
+        husbandNamePhoneticKey = IndianNamePhonetics.encode(husbandName);
+    }
 }
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_alert_patient", columnList = "patient_id"),
     @Index(name = "idx_alert_severity", columnList = "severity"),
     @Index(name = "idx_alert_acknowledged", columnList = "is_acknowledged"),
-    @Index(name = "idx_alert_created", columnList = "created_at")
+    @Index(name = "idx_alert_created", columnList = "created_at"),
+    @Index(name = "idx_alert_created_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -0,0 +1,53 @@
+package com.ammarakshitha.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A published version of the risk scoring rules. Rule sets are never edited once saved; a change
+ * is a new version, so a health check's recorded version always tells which rules scored it.
+ */
+@Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "risk_rule_sets", indexes = {
+    @Index(name = "idx_risk_rule_set_version", columnList = "rule_set_version", unique = true),
+    @Index(name = "idx_risk_rule_set_active", columnList = "is_active")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskRuleSet extends BaseEntity {
+
+    // Version 0 is reserved for the rules in the application configuration
+    @Column(name = "rule_set_version", nullable = false, updatable = false)
+    private Integer ruleSetVersion;
+
+    @Column(name = "description")
+    private String description;
+
+    // Overrides keyed like app.risk-assessment.rules, values in the same format
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "risk_rule_set_values", joinColumns = @JoinColumn(name = "rule_set_id"))
+    @MapKeyColumn(name = "rule_key")
+    @Column(name = "rule_value", nullable = false)
+    @Builder.Default
+    private Map<String, String> rules = new HashMap<>();
+
+    @Column(name = "is_active")
+    @Builder.Default
+    private Boolean isActive = false;
+
+    @Column(name = "activated_at")
+    private LocalDateTime activatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by")
+    private User createdBy;
+}
@@ -12,7 +12,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "passwordHash", "consultations", "assignedFollowUps", "performedHealthChecks"})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "passwordHash", "tokenVersion", "consultations", "assignedFollowUps", "performedHealthChecks"})
 @Table(name = "users", indexes = {
     @Index(name = "idx_user_email", columnList = "email"),
     @Index(name = "idx_user_phone", columnList = "phone")
@@ -61,6 +61,11 @@ public class User extends BaseEntity {
     @Column
     private String profileImageUrl;
 
+    // Bumped to revoke every token issued before; tokens carry the version they were issued with
+    @Column(name = "token_version")
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     // Consultations conducted by this user (if doctor)
     @OneToMany(mappedBy = "doctor", fetch = FetchType.LAZY)
     @Builder.Default
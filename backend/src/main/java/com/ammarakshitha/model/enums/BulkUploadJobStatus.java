@@ -0,0 +1,8 @@
+package com.ammarakshitha.model.enums;
+
+public enum BulkUploadJobStatus {
+    QUEUED,     // Stored, waiting for a worker
+    RUNNING,    // Rows are being registered
+    COMPLETED,  // Every row processed; report available
+    FAILED      // File could not be read
+}
@@ -0,0 +1,6 @@
+package com.ammarakshitha.model.enums;
+
+public enum ExportFormat {
+    XLSX,   // Excel workbook, written with a bounded row window
+    CSV     // UTF-8 comma separated values
+}
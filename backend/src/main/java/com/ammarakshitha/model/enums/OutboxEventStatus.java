@@ -0,0 +1,8 @@
+package com.ammarakshitha.model.enums;
+
+public enum OutboxEventStatus {
+    PENDING,     // Waiting for a worker, possibly until a retry is due
+    PROCESSING,  // Claimed by a worker
+    DONE,        // Side effects committed
+    FAILED       // Gave up after the maximum number of attempts
+}
@@ -0,0 +1,5 @@
+package com.ammarakshitha.model.enums;
+
+public enum OutboxEventType {
+    HEALTH_CHECK_RECORDED  // Risk alert and follow-ups for a recorded health check
+}
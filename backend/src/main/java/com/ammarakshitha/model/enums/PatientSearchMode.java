@@ -0,0 +1,6 @@
+package com.ammarakshitha.model.enums;
+
+public enum PatientSearchMode {
+    STANDARD,  // Name substring or Mother ID / mobile / Aadhaar
+    FUZZY      // Phonetic name match, tolerant of spelling variants
+}
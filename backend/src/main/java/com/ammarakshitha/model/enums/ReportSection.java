@@ -0,0 +1,7 @@
+package com.ammarakshitha.model.enums;
+
+public enum ReportSection {
+    ACTIVE_PATIENTS,   // Active patients whose delivery is still pending
+    DELIVERIES,        // Deliveries in the date range
+    MORTALITY          // Mother and baby mortality in the date range
+}
@@ -0,0 +1,29 @@
+package com.ammarakshitha.repository;
+
+import com.ammarakshitha.model.BulkUploadJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BulkUploadJobRepository extends JpaRepository<BulkUploadJob, Long> {
+
+    @Query("SELECT j.id FROM BulkUploadJob j WHERE j.status = 'QUEUED' ORDER BY j.id")
+    List<Long> findQueuedIds();
+
+    // Succeeds for exactly one worker, even across application instances
+    @Modifying
+    @Query("UPDATE BulkUploadJob j SET j.status = 'RUNNING', j.startedAt = COALESCE(j.startedAt, :now), " +
+           "j.updatedAt = :now, j.version = j.version + 1 WHERE j.id = :id AND j.status = 'QUEUED'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BulkUploadJob j SET j.status = 'QUEUED', j.version = j.version + 1 " +
+           "WHERE j.status = 'RUNNING' AND j.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,13 @@
+package com.ammarakshitha.repository;
+
+import com.ammarakshitha.model.BulkUploadJobRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BulkUploadJobRowRepository extends JpaRepository<BulkUploadJobRow, Long> {
+
+    List<BulkUploadJobRow> findByJobIdOrderByRowNumber(Long jobId);
+}
@@ -5,6 +5,7 @@ import com.ammarakshitha.model.enums.ConsultationStatus;
 import com.ammarakshitha.model.enums.ConsultationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,11 @@ public interface ConsultationRepository extends JpaRepository<Consultation, Long
 
     Page<Consultation> findByPatientId(Long patientId, Pageable pageable);
 
+    // Patient timeline - doctor fetched with the consultations so serializing them loads nothing lazily
+    @EntityGraph(attributePaths = "doctor")
+    @Query("SELECT c FROM Consultation c WHERE c.patient.id = :patientId ORDER BY c.scheduledAt DESC")
+    List<Consultation> findTimelineByPatientId(@Param("patientId") Long patientId);
+
     List<Consultation> findByDoctorId(Long doctorId);
 
     Page<Consultation> findByDoctorId(Long doctorId, Pageable pageable);
@@ -78,6 +84,17 @@ public interface ConsultationRepository extends JpaRepository<Consultation, Long
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
+    @Query("SELECT COUNT(c) FROM Consultation c WHERE c.doctor.id = :doctorId AND c.scheduledAt BETWEEN :start AND :end")
+    long countByDoctorAndScheduledTimeBetween(
+            @Param("doctorId") Long doctorId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Query("SELECT COUNT(c) FROM Consultation c WHERE c.doctor.id = :doctorId AND c.status = 'SCHEDULED' AND c.scheduledAt >= :now")
+    long countUpcomingConsultationsForDoctor(
+            @Param("doctorId") Long doctorId,
+            @Param("now") LocalDateTime now);
+
     //@Query("SELECT COUNT(c) FROM Consultation c WHERE DATE(c.scheduledAt) = CURRENT_DATE")
     @Query("SELECT COUNT(c) FROM Consultation c WHERE CAST(c.scheduledAt AS date) = CURRENT_DATE")
     long countTodaysConsultations();
@@ -1,9 +1,12 @@
 package com.ammarakshitha.repository;
 
+import com.ammarakshitha.dto.FollowUpDTO;
 import com.ammarakshitha.model.FollowUp;
 import com.ammarakshitha.model.enums.FollowUpStatus;
+import com.ammarakshitha.repository.projection.FollowUpOverviewCounts;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FollowUpRepository extends JpaRepository<FollowUp, Long> {
@@ -23,6 +27,28 @@ public interface FollowUpRepository extends JpaRepository<FollowUp, Long> {
 
     Page<FollowUp> findByAssignedToId(Long userId, Pageable pageable);
 
+    // Views - patient and assignee columns joined in, so serializing loads nothing lazily
+    String VIEW = "SELECT new com.ammarakshitha.dto.FollowUpDTO(f.id, p.id, p.name, p.motherId, p.mobileNumber, " +
+            "p.currentRiskLevel, a.id, a.name, f.scheduledDate, f.status, f.callAttemptedAt, f.callCompletedAt, " +
+            "f.callDurationSeconds, f.attemptCount, f.patientCondition, f.symptomsReported, f.medicationCompliance, " +
+            "f.concernsRaised, f.adviceGiven, f.requiresDoctorConsultation, f.requiresImmediateAttention, f.notes, " +
+            "f.photoUrl, f.nextFollowUpDate, f.createdAt) " +
+            "FROM FollowUp f JOIN f.patient p JOIN f.assignedTo a";
+
+    @Query(VIEW + " WHERE f.id = :id")
+    Optional<FollowUpDTO> findViewById(@Param("id") Long id);
+
+    @Query(value = VIEW + " WHERE (:status IS NULL OR f.status = :status)",
+            countQuery = "SELECT COUNT(f) FROM FollowUp f WHERE (:status IS NULL OR f.status = :status)")
+    Page<FollowUpDTO> findViews(@Param("status") FollowUpStatus status, Pageable pageable);
+
+    @Query(VIEW + " WHERE p.id = :patientId")
+    List<FollowUpDTO> findViewsByPatientId(@Param("patientId") Long patientId);
+
+    @Query(value = VIEW + " WHERE a.id = :userId",
+            countQuery = "SELECT COUNT(f) FROM FollowUp f WHERE f.assignedTo.id = :userId")
+    Page<FollowUpDTO> findViewsByAssignedToId(@Param("userId") Long userId, Pageable pageable);
+
     // Status queries
     List<FollowUp> findByStatus(FollowUpStatus status);
 
@@ -42,22 +68,22 @@ public interface FollowUpRepository extends JpaRepository<FollowUp, Long> {
             @Param("date") LocalDate date);
 
     // Today's follow-ups
-    @Query("SELECT f FROM FollowUp f WHERE f.assignedTo.id = :userId AND f.scheduledDate = CURRENT_DATE AND f.status = 'PENDING'")
-    List<FollowUp> findTodaysPendingForUser(@Param("userId") Long userId);
+    @Query(VIEW + " WHERE a.id = :userId AND f.scheduledDate = CURRENT_DATE AND f.status = 'PENDING'")
+    List<FollowUpDTO> findTodaysPendingForUser(@Param("userId") Long userId);
 
-    @Query("SELECT f FROM FollowUp f WHERE f.scheduledDate = CURRENT_DATE ORDER BY f.patient.currentRiskLevel DESC")
-    List<FollowUp> findTodaysFollowUps();
+    @Query(VIEW + " WHERE f.scheduledDate = CURRENT_DATE ORDER BY p.currentRiskLevel DESC")
+    List<FollowUpDTO> findTodaysFollowUps();
 
     // Overdue follow-ups
-    @Query("SELECT f FROM FollowUp f WHERE f.scheduledDate < :date AND f.status = 'PENDING'")
-    List<FollowUp> findOverdue(@Param("date") LocalDate date);
+    @Query(VIEW + " WHERE f.scheduledDate < :date AND f.status = 'PENDING'")
+    List<FollowUpDTO> findOverdue(@Param("date") LocalDate date);
 
     // Upcoming follow-ups (scheduled after today, still pending)
-    @Query("SELECT f FROM FollowUp f WHERE f.scheduledDate > :date AND f.status = 'PENDING' ORDER BY f.scheduledDate ASC, f.patient.currentRiskLevel DESC")
-    List<FollowUp> findUpcoming(@Param("date") LocalDate date);
+    @Query(VIEW + " WHERE f.scheduledDate > :date AND f.status = 'PENDING' ORDER BY f.scheduledDate ASC, p.currentRiskLevel DESC")
+    List<FollowUpDTO> findUpcoming(@Param("date") LocalDate date);
 
-    @Query("SELECT f FROM FollowUp f WHERE f.assignedTo.id = :userId AND f.scheduledDate < :date AND f.status = 'PENDING'")
-    List<FollowUp> findOverdueForUser(
+    @Query(VIEW + " WHERE a.id = :userId AND f.scheduledDate < :date AND f.status = 'PENDING'")
+    List<FollowUpDTO> findOverdueForUser(
             @Param("userId") Long userId,
             @Param("date") LocalDate date);
 
@@ -66,8 +92,8 @@ public interface FollowUpRepository extends JpaRepository<FollowUp, Long> {
     List<FollowUp> findRequiringImmediateAttention();
 
     // Requiring doctor consultation
-    @Query("SELECT f FROM FollowUp f WHERE f.requiresDoctorConsultation = true AND f.status = 'COMPLETED'")
-    List<FollowUp> findRequiringDoctorConsultation();
+    @Query(VIEW + " WHERE f.requiresDoctorConsultation = true AND f.status = 'COMPLETED'")
+    List<FollowUpDTO> findRequiringDoctorConsultation();
 
     // Statistics
     @Query("SELECT f.status, COUNT(f) FROM FollowUp f GROUP BY f.status")
@@ -82,6 +108,24 @@ public interface FollowUpRepository extends JpaRepository<FollowUp, Long> {
     @Query("SELECT COUNT(f) FROM FollowUp f WHERE f.assignedTo.id = :userId AND f.scheduledDate = CURRENT_DATE AND f.status = 'PENDING'")
     long countPendingTodayForUser(@Param("userId") Long userId);
 
+    @Query("SELECT COUNT(f) FROM FollowUp f WHERE f.scheduledDate < :date AND f.status = 'PENDING'")
+    long countOverdue(@Param("date") LocalDate date);
+
+    @Query("SELECT COUNT(f) FROM FollowUp f WHERE f.assignedTo.id = :userId AND f.scheduledDate < :date AND f.status = 'PENDING'")
+    long countOverdueForUser(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date);
+
+    @Query("SELECT COUNT(f) FROM FollowUp f WHERE f.requiresDoctorConsultation = true AND f.status = 'COMPLETED'")
+    long countRequiringDoctorConsultation();
+
+    // Dashboard overview - today's, completed and overdue counts in one scan
+    @Query("SELECT COALESCE(SUM(CASE WHEN f.scheduledDate = :today THEN 1 ELSE 0 END), 0) AS followUpsToday, " +
+            "COALESCE(SUM(CASE WHEN f.scheduledDate = :today AND f.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS followUpsCompleted, " +
+            "COALESCE(SUM(CASE WHEN f.scheduledDate < :today AND f.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS overdueFollowUps " +
+            "FROM FollowUp f WHERE f.scheduledDate <= :today")
+    FollowUpOverviewCounts getOverviewCounts(@Param("today") LocalDate today);
+
     @Query("SELECT COUNT(f) FROM FollowUp f WHERE f.assignedTo.id = :userId AND f.status = 'COMPLETED' AND f.scheduledDate BETWEEN :start AND :end")
     long countCompletedByUserBetween(
             @Param("userId") Long userId,
@@ -89,11 +133,28 @@ public interface FollowUpRepository extends JpaRepository<FollowUp, Long> {
             @Param("end") LocalDate end);
 
     // Date range query for calendar heatmap
-    List<FollowUp> findByScheduledDateBetween(LocalDate startDate, LocalDate endDate);
+    @Query(VIEW + " WHERE f.scheduledDate BETWEEN :startDate AND :endDate")
+    List<FollowUpDTO> findByScheduledDateBetween(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
 
     // Completed/Past follow-ups (status is COMPLETED, NO_ANSWER, RESCHEDULED, or CANCELLED)
-    @Query("SELECT f FROM FollowUp f WHERE f.status IN ('COMPLETED', 'NO_ANSWER', 'RESCHEDULED', 'CANCELLED') ORDER BY f.scheduledDate DESC, f.callCompletedAt DESC")
-    List<FollowUp> findPastFollowUps();
+    @Query(value = VIEW + " WHERE f.status IN ('COMPLETED', 'NO_ANSWER', 'RESCHEDULED', 'CANCELLED') ORDER BY f.scheduledDate DESC, f.callCompletedAt DESC",
+            countQuery = "SELECT COUNT(f) FROM FollowUp f WHERE f.status IN ('COMPLETED', 'NO_ANSWER', 'RESCHEDULED', 'CANCELLED')")
+    Page<FollowUpDTO> findPastFollowUps(Pageable pageable);
+
+    // Keyset pages of past follow-ups, latest scheduled first, served by idx_followup_date_id
+    @Query(VIEW + " WHERE f.status IN ('COMPLETED', 'NO_ANSWER', 'RESCHEDULED', 'CANCELLED') " +
+            "ORDER BY f.scheduledDate DESC, f.id DESC")
+    Slice<FollowUpDTO> findPastFollowUpsFirst(Pageable pageable);
+
+    @Query(VIEW + " WHERE f.status IN ('COMPLETED', 'NO_ANSWER', 'RESCHEDULED', 'CANCELLED') " +
+            "AND f.scheduledDate <= :scheduledDate AND (f.scheduledDate < :scheduledDate OR f.id < :id) " +
+            "ORDER BY f.scheduledDate DESC, f.id DESC")
+    Slice<FollowUpDTO> findPastFollowUpsAfter(
+            @Param("scheduledDate") LocalDate scheduledDate,
+            @Param("id") Long id,
+            Pageable pageable);
 
     // Delete follow-up by ID
     void deleteById(Long id);
@@ -2,14 +2,19 @@ package com.ammarakshitha.repository;
 
 import com.ammarakshitha.model.HealthCheck;
 import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.repository.projection.HealthCheckOverviewCounts;
+import com.ammarakshitha.repository.projection.VitalsReading;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +31,27 @@ public interface HealthCheckRepository extends JpaRepository<HealthCheck, Long>
     @Query("SELECT hc FROM HealthCheck hc WHERE hc.patient.id = :patientId AND (hc.isActive = true OR hc.isActive IS NULL) ORDER BY hc.checkDate DESC")
     List<HealthCheck> findByPatientIdAndIsActiveTrueOrderByCheckDateDesc(@Param("patientId") Long patientId);
 
+    // Patient timeline - performer fetched with the checks so serializing them loads nothing lazily
+    @EntityGraph(attributePaths = "performedBy")
+    @Query("SELECT hc FROM HealthCheck hc WHERE hc.patient.id = :patientId AND (hc.isActive = true OR hc.isActive IS NULL) ORDER BY hc.checkDate DESC")
+    List<HealthCheck> findTimelineByPatientId(@Param("patientId") Long patientId);
+
+    // Keyset pages of a patient's history, latest first, served by idx_health_check_patient_date
+    @EntityGraph(attributePaths = {"patient", "performedBy"})
+    @Query("SELECT hc FROM HealthCheck hc WHERE hc.patient.id = :patientId AND (hc.isActive = true OR hc.isActive IS NULL) " +
+            "ORDER BY hc.checkDate DESC, hc.id DESC")
+    Slice<HealthCheck> findHistoryFirst(@Param("patientId") Long patientId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"patient", "performedBy"})
+    @Query("SELECT hc FROM HealthCheck hc WHERE hc.patient.id = :patientId AND (hc.isActive = true OR hc.isActive IS NULL) " +
+            "AND hc.checkDate <= :checkDate AND (hc.checkDate < :checkDate OR hc.id < :id) " +
+            "ORDER BY hc.checkDate DESC, hc.id DESC")
+    Slice<HealthCheck> findHistoryAfter(
+            @Param("patientId") Long patientId,
+            @Param("checkDate") LocalDate checkDate,
+            @Param("id") Long id,
+            Pageable pageable);
+
     @Query("SELECT hc FROM HealthCheck hc WHERE hc.patient.id = :patientId AND (hc.isActive = true OR hc.isActive IS NULL) ORDER BY hc.checkDate DESC")
     Page<HealthCheck> findActiveByPatientIdOrderByCheckDateDescPaged(@Param("patientId") Long patientId, Pageable pageable);
 
@@ -89,18 +115,19 @@ public interface HealthCheckRepository extends JpaRepository<HealthCheck, Long>
     @Query("SELECT hc FROM HealthCheck hc WHERE hc.nextCheckDate = :date AND (hc.isActive = true OR hc.isActive IS NULL)")
     List<HealthCheck> findByNextCheckDate(@Param("date") LocalDate date);
 
-    @Query("SELECT hc FROM HealthCheck hc WHERE hc.nextCheckDate <= :date AND hc.patient.status = 'ACTIVE' AND (hc.isActive = true OR hc.isActive IS NULL)")
-    List<HealthCheck> findOverdueHealthChecks(@Param("date") LocalDate date);
+    @Query(value = "SELECT hc FROM HealthCheck hc WHERE hc.nextCheckDate <= :date AND hc.patient.status = 'ACTIVE' AND (hc.isActive = true OR hc.isActive IS NULL)",
+            countQuery = "SELECT COUNT(hc) FROM HealthCheck hc WHERE hc.nextCheckDate <= :date AND hc.patient.status = 'ACTIVE' AND (hc.isActive = true OR hc.isActive IS NULL)")
+    Page<HealthCheck> findOverdueHealthChecks(@Param("date") LocalDate date, Pageable pageable);
 
     // Critical vitals queries (active only, treats NULL as active)
     @Query("SELECT hc FROM HealthCheck hc WHERE (hc.bpSystolic >= 140 OR hc.bpDiastolic >= 90) AND (hc.isActive = true OR hc.isActive IS NULL)")
-    List<HealthCheck> findWithHighBloodPressure();
+    Page<HealthCheck> findWithHighBloodPressure(Pageable pageable);
 
     @Query("SELECT hc FROM HealthCheck hc WHERE hc.hemoglobin < 10 AND (hc.isActive = true OR hc.isActive IS NULL)")
-    List<HealthCheck> findWithLowHemoglobin();
+    Page<HealthCheck> findWithLowHemoglobin(Pageable pageable);
 
     @Query("SELECT hc FROM HealthCheck hc WHERE (hc.bloodSugarFasting > 126 OR hc.bloodSugarRandom > 200) AND (hc.isActive = true OR hc.isActive IS NULL)")
-    List<HealthCheck> findWithHighBloodSugar();
+    Page<HealthCheck> findWithHighBloodSugar(Pageable pageable);
 
     // Statistics (active only, treats NULL as active)
     @Query("SELECT hc.riskLevel, COUNT(hc) FROM HealthCheck hc WHERE hc.checkDate = :date AND (hc.isActive = true OR hc.isActive IS NULL) GROUP BY hc.riskLevel")
@@ -114,8 +141,39 @@ public interface HealthCheckRepository extends JpaRepository<HealthCheck, Long>
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    // Dashboard overview - today's and this month's counts in one scan of the month's range
+    @Query("SELECT COALESCE(SUM(CASE WHEN hc.checkDate = :today THEN 1 ELSE 0 END), 0) AS healthChecksToday, " +
+            "COUNT(hc) AS healthChecksThisMonth " +
+            "FROM HealthCheck hc WHERE hc.checkDate BETWEEN :startOfMonth AND :today AND (hc.isActive = true OR hc.isActive IS NULL)")
+    HealthCheckOverviewCounts getOverviewCounts(
+            @Param("startOfMonth") LocalDate startOfMonth,
+            @Param("today") LocalDate today);
+
     @Query("SELECT AVG(hc.hemoglobin) FROM HealthCheck hc WHERE hc.checkDate BETWEEN :startDate AND :endDate AND hc.hemoglobin IS NOT NULL AND (hc.isActive = true OR hc.isActive IS NULL)")
     Double getAverageHemoglobinBetweenDates(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    // Checks on each patient's latest check date, newest first; several only when a day has more than one
+    @Query("SELECT hc FROM HealthCheck hc JOIN FETCH hc.patient p WHERE p.id IN :patientIds " +
+            "AND (hc.isActive = true OR hc.isActive IS NULL) " +
+            "AND hc.checkDate = (SELECT MAX(h2.checkDate) FROM HealthCheck h2 WHERE h2.patient = p " +
+            "AND (h2.isActive = true OR h2.isActive IS NULL)) " +
+            "ORDER BY p.id, hc.id DESC")
+    List<HealthCheck> findLatestActiveByPatientIds(@Param("patientIds") Collection<Long> patientIds);
+
+    // Newest first; the risk trend window keeps the first few per patient
+    @Query("SELECT hc.id AS id, hc.patient.id AS patientId, hc.checkDate AS checkDate, hc.bpSystolic AS bpSystolic, " +
+            "hc.bpDiastolic AS bpDiastolic, hc.hemoglobin AS hemoglobin, hc.weight AS weight, " +
+            "hc.fetalHeartRate AS fetalHeartRate FROM HealthCheck hc " +
+            "WHERE hc.patient.id = :patientId AND (hc.isActive = true OR hc.isActive IS NULL) " +
+            "ORDER BY hc.checkDate DESC, hc.id DESC")
+    List<VitalsReading> findRecentVitals(@Param("patientId") Long patientId, Pageable pageable);
+
+    @Query("SELECT hc.id AS id, hc.patient.id AS patientId, hc.checkDate AS checkDate, hc.bpSystolic AS bpSystolic, " +
+            "hc.bpDiastolic AS bpDiastolic, hc.hemoglobin AS hemoglobin, hc.weight AS weight, " +
+            "hc.fetalHeartRate AS fetalHeartRate FROM HealthCheck hc " +
+            "WHERE hc.patient.id IN :patientIds AND (hc.isActive = true OR hc.isActive IS NULL) " +
+            "ORDER BY hc.patient.id, hc.checkDate DESC, hc.id DESC")
+    List<VitalsReading> findVitalsByPatientIds(@Param("patientIds") Collection<Long> patientIds);
 }
@@ -0,0 +1,49 @@
+package com.ammarakshitha.repository;
+
+import com.ammarakshitha.model.OutboxEvent;
+import com.ammarakshitha.model.enums.OutboxEventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = 'PENDING' AND e.availableAt <= :now ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Succeeds for exactly one worker, even across application instances
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'PROCESSING', e.attempts = e.attempts + 1, e.updatedAt = :now, " +
+           "e.version = e.version + 1 WHERE e.id = :id AND e.status = 'PENDING' AND e.availableAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Fenced by the attempt, so a worker whose claim went stale and was taken over cannot complete
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'DONE', e.processedAt = :now, e.lastError = NULL, e.updatedAt = :now, " +
+           "e.version = e.version + 1 WHERE e.id = :id AND e.status = 'PROCESSING' AND e.attempts = :attempt")
+    int complete(@Param("id") Long id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+
+    // Back to PENDING for a retry at retryAt, or FAILED once out of attempts
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :retryAt, e.lastError = :error, " +
+           "e.updatedAt = :now, e.version = e.version + 1 " +
+           "WHERE e.id = :id AND e.status = 'PROCESSING' AND e.attempts = :attempt")
+    int fail(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") OutboxEventStatus status,
+             @Param("retryAt") LocalDateTime retryAt, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'PENDING', e.version = e.version + 1 " +
+           "WHERE e.status = 'PROCESSING' AND e.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'DONE' AND e.processedAt < :before")
+    int deleteDoneBefore(@Param("before") LocalDateTime before);
+}
@@ -1,11 +1,15 @@
 package com.ammarakshitha.repository;
 
+import com.ammarakshitha.dto.PatientDTO;
 import com.ammarakshitha.model.Patient;
 import com.ammarakshitha.model.enums.DeliveryOutcome;
 import com.ammarakshitha.model.enums.PatientStatus;
 import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.repository.projection.PatientOverviewCounts;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +17,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,10 +27,25 @@ public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpec
 
     Optional<Patient> findByMotherId(String motherId);
 
+    // Patient detail - babies and the users shown on the patient fetched in the same query
+    @EntityGraph(attributePaths = {"babies", "registeredBy", "deliveryCompletedBy"})
+    @Query("SELECT p FROM Patient p WHERE p.id = :id")
+    Optional<Patient> findWithDetailsById(@Param("id") Long id);
+
     Optional<Patient> findByAadhaarNumber(String aadhaarNumber);
 
     boolean existsByMotherId(String motherId);
 
+    // Set-based duplicate checks for bulk registration
+    @Query("SELECT p.aadhaarNumber, p.status FROM Patient p WHERE p.aadhaarNumber IN :aadhaarNumbers")
+    List<Object[]> findStatusByAadhaarNumberIn(@Param("aadhaarNumbers") Collection<String> aadhaarNumbers);
+
+    @Query("SELECT p.mobileNumber, p.lmpDate FROM Patient p WHERE p.status = 'ACTIVE' AND p.lmpDate IS NOT NULL AND p.mobileNumber IN :mobileNumbers")
+    List<Object[]> findActiveMobileAndLmpDateByMobileNumberIn(@Param("mobileNumbers") Collection<String> mobileNumbers);
+
+    @Query("SELECT p.motherId FROM Patient p WHERE p.motherId IN :motherIds")
+    List<String> findExistingMotherIds(@Param("motherIds") Collection<String> motherIds);
+
     boolean existsByAadhaarNumber(String aadhaarNumber);
 
     // Check if an ACTIVE patient exists with the given Aadhaar number
@@ -54,12 +75,42 @@ public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpec
             @Param("levels") List<RiskLevel> levels,
             @Param("status") PatientStatus status);
 
-    // High risk patients
-    @Query("SELECT p FROM Patient p WHERE p.currentRiskLevel = 'RED' AND p.status = 'ACTIVE' ORDER BY p.currentRiskScore DESC")
-    List<Patient> findHighRiskPatients();
+    // List views - summary columns only, so no TEXT columns or lazy associations are loaded
+    String LIST_VIEW = "SELECT new com.ammarakshitha.dto.PatientDTO(p.id, p.name, p.age, p.husbandName, p.residence, " +
+            "p.district, p.mandal, p.village, p.pincode, p.motherId, p.aadhaarNumber, p.mobileNumber, p.alternateMobile, " +
+            "p.email, p.dateOfBirth, p.lmpDate, p.eddDate, p.gravida, p.para, p.bloodGroup, p.currentRiskLevel, " +
+            "p.currentRiskScore, p.status, p.hasPreviousComplications, p.registrationDate, p.deliveryOutcome, p.deliveryDate, p.createdAt, p.updatedAt) " +
+            "FROM Patient p";
+
+    @Query(value = LIST_VIEW, countQuery = "SELECT COUNT(p) FROM Patient p")
+    Page<PatientDTO> findListView(Pageable pageable);
+
+    @Query(value = LIST_VIEW + " WHERE p.status = :status",
+            countQuery = "SELECT COUNT(p) FROM Patient p WHERE p.status = :status")
+    Page<PatientDTO> findListViewByStatus(@Param("status") PatientStatus status, Pageable pageable);
+
+    @Query(value = LIST_VIEW + " WHERE p.currentRiskLevel = :riskLevel",
+            countQuery = "SELECT COUNT(p) FROM Patient p WHERE p.currentRiskLevel = :riskLevel")
+    Page<PatientDTO> findListViewByRiskLevel(@Param("riskLevel") RiskLevel riskLevel, Pageable pageable);
+
+    // Keyset pages, newest first, served by idx_patient_created
+    @Query(LIST_VIEW + " ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PatientDTO> findListViewFirst(Pageable pageable);
+
+    @Query(LIST_VIEW + " WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PatientDTO> findListViewAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(value = LIST_VIEW + " WHERE p.currentRiskLevel = 'RED' AND p.status = 'ACTIVE'",
+            countQuery = "SELECT COUNT(p) FROM Patient p WHERE p.currentRiskLevel = 'RED' AND p.status = 'ACTIVE'")
+    Page<PatientDTO> findHighRiskListView(Pageable pageable);
 
-    @Query("SELECT p FROM Patient p WHERE p.currentRiskLevel IN ('RED', 'YELLOW') AND p.status = 'ACTIVE'")
-    Page<Patient> findAtRiskPatients(Pageable pageable);
+    @Query(value = LIST_VIEW + " WHERE p.currentRiskLevel IN ('RED', 'YELLOW') AND p.status = 'ACTIVE'",
+            countQuery = "SELECT COUNT(p) FROM Patient p WHERE p.currentRiskLevel IN ('RED', 'YELLOW') AND p.status = 'ACTIVE'")
+    Page<PatientDTO> findAtRiskListView(Pageable pageable);
 
     // Status queries
     List<Patient> findByStatus(PatientStatus status);
@@ -77,13 +128,16 @@ public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpec
             @Param("riskLevel") RiskLevel riskLevel);
 
     // EDD based queries
-    @Query("SELECT p FROM Patient p WHERE p.eddDate BETWEEN :startDate AND :endDate AND p.status = 'ACTIVE'")
-    List<Patient> findByEddDateBetween(
+    @Query(value = "SELECT p FROM Patient p WHERE p.eddDate BETWEEN :startDate AND :endDate AND p.status = 'ACTIVE'",
+            countQuery = "SELECT COUNT(p) FROM Patient p WHERE p.eddDate BETWEEN :startDate AND :endDate AND p.status = 'ACTIVE'")
+    Page<Patient> findByEddDateBetween(
             @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
 
-    @Query("SELECT p FROM Patient p WHERE p.eddDate <= :date AND p.status = 'ACTIVE'")
-    List<Patient> findOverdueDeliveries(@Param("date") LocalDate date);
+    @Query(value = "SELECT p FROM Patient p WHERE p.eddDate <= :date AND p.status = 'ACTIVE'",
+            countQuery = "SELECT COUNT(p) FROM Patient p WHERE p.eddDate <= :date AND p.status = 'ACTIVE'")
+    Page<Patient> findOverdueDeliveries(@Param("date") LocalDate date, Pageable pageable);
 
     // Search queries
     @Query("SELECT p FROM Patient p WHERE " +
@@ -93,6 +147,12 @@ public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpec
             "p.aadhaarNumber LIKE CONCAT('%', :search, '%')")
     Page<Patient> searchPatients(@Param("search") String search, Pageable pageable);
 
+    // Exact phonetic word match, used for fuzzy search while the in-memory index loads
+    @Query("SELECT p FROM Patient p WHERE " +
+            "CONCAT(' ', p.namePhoneticKey, ' ') LIKE CONCAT('% ', :key, ' %') OR " +
+            "CONCAT(' ', p.husbandNamePhoneticKey, ' ') LIKE CONCAT('% ', :key, ' %')")
+    Page<Patient> searchByPhoneticKey(@Param("key") String key, Pageable pageable);
+
     // Statistics queries
     @Query("SELECT p.currentRiskLevel, COUNT(p) FROM Patient p WHERE p.status = 'ACTIVE' GROUP BY p.currentRiskLevel")
     List<Object[]> countByRiskLevel();
@@ -109,6 +169,21 @@ public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpec
     @Query("SELECT COUNT(p) FROM Patient p WHERE p.registrationDate = :date")
     long countRegisteredOnDate(@Param("date") LocalDate date);
 
+    long countByCurrentRiskLevel(RiskLevel riskLevel);
+
+    // Dashboard overview - all patient counters in one scan
+    @Query("SELECT COUNT(p) AS totalPatients, " +
+            "COALESCE(SUM(CASE WHEN p.status = 'ACTIVE' THEN 1 ELSE 0 END), 0) AS activePatients, " +
+            "COALESCE(SUM(CASE WHEN p.currentRiskLevel = 'RED' THEN 1 ELSE 0 END), 0) AS highRiskPatients, " +
+            "COALESCE(SUM(CASE WHEN p.currentRiskLevel = 'YELLOW' THEN 1 ELSE 0 END), 0) AS moderateRiskPatients, " +
+            "COALESCE(SUM(CASE WHEN p.currentRiskLevel = 'GREEN' THEN 1 ELSE 0 END), 0) AS stablePatients, " +
+            "COALESCE(SUM(CASE WHEN p.registrationDate = :today THEN 1 ELSE 0 END), 0) AS newRegistrationsToday, " +
+            "COALESCE(SUM(CASE WHEN p.deliveryOutcome = 'SUCCESSFUL' THEN 1 ELSE 0 END), 0) AS successfulDeliveries, " +
+            "COALESCE(SUM(CASE WHEN p.deliveryOutcome IN ('MOTHER_MORTALITY', 'BOTH_MORTALITY') THEN 1 ELSE 0 END), 0) AS motherMortality, " +
+            "COALESCE(SUM(CASE WHEN p.deliveryOutcome IN ('BABY_MORTALITY', 'BOTH_MORTALITY') THEN 1 ELSE 0 END), 0) AS babyMortality " +
+            "FROM Patient p")
+    PatientOverviewCounts getOverviewCounts(@Param("today") LocalDate today);
+
     @Query("SELECT COUNT(p) FROM Patient p WHERE p.registrationDate BETWEEN :startDate AND :endDate")
     long countRegisteredBetween(
             @Param("startDate") LocalDate startDate,
@@ -157,4 +232,56 @@ public interface PatientRepository extends JpaRepository<Patient, Long>, JpaSpec
     long countBabyMortalityBetween(
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    // Report aggregates: each row is (group columns..., split, count)
+    @Query("SELECT p.district, p.mandal, p.currentRiskLevel, COUNT(p) FROM Patient p " +
+            "WHERE p.status = 'ACTIVE' AND (p.deliveryOutcome IS NULL OR p.deliveryOutcome = 'PENDING') " +
+            "GROUP BY p.district, p.mandal, p.currentRiskLevel")
+    List<Object[]> reportActiveByArea();
+
+    @Query("SELECT p.district, p.mandal, p.deliveryOutcome, COUNT(p) FROM Patient p " +
+            "WHERE p.deliveryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY p.district, p.mandal, p.deliveryOutcome")
+    List<Object[]> reportDeliveriesByArea(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT YEAR(p.deliveryDate), MONTH(p.deliveryDate), p.deliveryOutcome, COUNT(p) FROM Patient p " +
+            "WHERE p.deliveryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(p.deliveryDate), MONTH(p.deliveryDate), p.deliveryOutcome")
+    List<Object[]> reportDeliveriesByMonth(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT d.id, d.name, p.deliveryOutcome, COUNT(p) FROM Patient p LEFT JOIN p.deliveryCompletedBy d " +
+            "WHERE p.deliveryDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY d.id, d.name, p.deliveryOutcome")
+    List<Object[]> reportDeliveriesByDoctor(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT p.district, p.mandal, p.deliveryOutcome, COUNT(p) FROM Patient p " +
+            "WHERE p.mortalityDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY p.district, p.mandal, p.deliveryOutcome")
+    List<Object[]> reportMortalityByArea(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT YEAR(p.mortalityDate), MONTH(p.mortalityDate), p.deliveryOutcome, COUNT(p) FROM Patient p " +
+            "WHERE p.mortalityDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(p.mortalityDate), MONTH(p.mortalityDate), p.deliveryOutcome")
+    List<Object[]> reportMortalityByMonth(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT d.id, d.name, p.deliveryOutcome, COUNT(p) FROM Patient p LEFT JOIN p.deliveryCompletedBy d " +
+            "WHERE p.mortalityDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY d.id, d.name, p.deliveryOutcome")
+    List<Object[]> reportMortalityByDoctor(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    // Keyset walk over active patients for bulk re-scoring
+    @Query("SELECT p.id FROM Patient p WHERE p.status = 'ACTIVE' AND p.id > :afterId ORDER BY p.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") long afterId, Pageable pageable);
 }
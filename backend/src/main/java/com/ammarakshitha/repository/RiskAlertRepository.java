@@ -1,10 +1,13 @@
 package com.ammarakshitha.repository;
 
+import com.ammarakshitha.dto.RiskAlertDTO;
 import com.ammarakshitha.model.RiskAlert;
 import com.ammarakshitha.model.enums.AlertType;
 import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.repository.projection.AlertOverviewCounts;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +16,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RiskAlertRepository extends JpaRepository<RiskAlert, Long> {
@@ -30,36 +34,79 @@ public interface RiskAlertRepository extends JpaRepository<RiskAlert, Long> {
 
     Page<RiskAlert> findByPatientIdOrderByCreatedAtDesc(Long patientId, Pageable pageable);
 
-    @Query("SELECT r FROM RiskAlert r WHERE r.isAcknowledged = false ORDER BY r.severity DESC, r.createdAt DESC")
-    List<RiskAlert> findUnacknowledgedOrderedBySeverity();
-
-    @Query("SELECT r FROM RiskAlert r WHERE r.isAcknowledged = false AND r.severity = 'RED' ORDER BY r.createdAt DESC")
-    List<RiskAlert> findCriticalUnacknowledged();
-
     // Severity queries
     List<RiskAlert> findBySeverity(RiskLevel severity);
 
     Page<RiskAlert> findBySeverity(RiskLevel severity, Pageable pageable);
 
-    @Query("SELECT r FROM RiskAlert r WHERE r.severity IN ('RED', 'YELLOW') AND r.isAcknowledged = false")
-    Page<RiskAlert> findHighPriorityUnacknowledged(Pageable pageable);
-
     // Alert type queries
     List<RiskAlert> findByAlertType(AlertType alertType);
 
+    // Views - patient and acknowledging user columns joined in, so serializing loads nothing lazily
+    String VIEW = "SELECT new com.ammarakshitha.dto.RiskAlertDTO(r.id, p.id, p.name, p.motherId, p.mobileNumber, " +
+            "r.healthCheck.id, r.alertType, r.severity, r.title, r.description, r.riskFactors, r.recommendedAction, " +
+            "r.isAcknowledged, ab.name, r.acknowledgedAt, r.acknowledgmentNotes, r.actionTaken, r.isResolved, " +
+            "r.resolvedAt, r.resolutionNotes, r.smsSent, r.smsSentAt, r.createdAt) " +
+            "FROM RiskAlert r JOIN r.patient p LEFT JOIN r.acknowledgedBy ab";
+
+    @Query(VIEW + " WHERE r.id = :id")
+    Optional<RiskAlertDTO> findViewById(@Param("id") Long id);
+
+    @Query(value = VIEW, countQuery = "SELECT COUNT(r) FROM RiskAlert r")
+    Page<RiskAlertDTO> findViews(Pageable pageable);
+
+    // Keyset pages, newest first, served by idx_alert_created_id
+    @Query(VIEW + " ORDER BY r.createdAt DESC, r.id DESC")
+    Slice<RiskAlertDTO> findViewsFirst(Pageable pageable);
+
+    @Query(VIEW + " WHERE r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    Slice<RiskAlertDTO> findViewsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(VIEW + " WHERE p.id = :patientId")
+    List<RiskAlertDTO> findViewsByPatientId(@Param("patientId") Long patientId);
+
+    @Query(value = VIEW + " WHERE p.id = :patientId ORDER BY r.createdAt DESC",
+            countQuery = "SELECT COUNT(r) FROM RiskAlert r WHERE r.patient.id = :patientId")
+    Page<RiskAlertDTO> findViewsByPatientIdNewestFirst(@Param("patientId") Long patientId, Pageable pageable);
+
+    @Query(value = VIEW + " WHERE r.isAcknowledged = :acknowledged",
+            countQuery = "SELECT COUNT(r) FROM RiskAlert r WHERE r.isAcknowledged = :acknowledged")
+    Page<RiskAlertDTO> findViewsByAcknowledged(@Param("acknowledged") boolean acknowledged, Pageable pageable);
+
+    @Query(VIEW + " WHERE r.isAcknowledged = false ORDER BY r.severity DESC, r.createdAt DESC")
+    List<RiskAlertDTO> findUnacknowledgedViewsOrderedBySeverity();
+
+    @Query(VIEW + " WHERE r.isAcknowledged = false AND r.severity = 'RED' ORDER BY r.createdAt DESC")
+    List<RiskAlertDTO> findCriticalUnacknowledgedViews();
+
+    @Query(value = VIEW + " WHERE r.severity IN ('RED', 'YELLOW') AND r.isAcknowledged = false",
+            countQuery = "SELECT COUNT(r) FROM RiskAlert r WHERE r.severity IN ('RED', 'YELLOW') AND r.isAcknowledged = false")
+    Page<RiskAlertDTO> findHighPriorityUnacknowledgedViews(Pageable pageable);
+
+    @Query(value = VIEW + " WHERE r.severity = :severity",
+            countQuery = "SELECT COUNT(r) FROM RiskAlert r WHERE r.severity = :severity")
+    Page<RiskAlertDTO> findViewsBySeverity(@Param("severity") RiskLevel severity, Pageable pageable);
+
+    @Query(VIEW + " WHERE r.alertType = :alertType")
+    List<RiskAlertDTO> findViewsByAlertType(@Param("alertType") AlertType alertType);
+
+    @Query(value = VIEW + " WHERE r.isResolved = false AND (:severity IS NULL OR r.severity = :severity)",
+            countQuery = "SELECT COUNT(r) FROM RiskAlert r WHERE r.isResolved = false AND (:severity IS NULL OR r.severity = :severity)")
+    Page<RiskAlertDTO> findUnresolvedViews(@Param("severity") RiskLevel severity, Pageable pageable);
+
+    @Query(VIEW + " WHERE p.id = :patientId AND r.isResolved = false")
+    List<RiskAlertDTO> findUnresolvedViewsForPatient(@Param("patientId") Long patientId);
+
     // Date range queries
     @Query("SELECT r FROM RiskAlert r WHERE r.createdAt BETWEEN :start AND :end")
     List<RiskAlert> findByCreatedAtBetween(
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
-    // Unresolved alerts
-    @Query("SELECT r FROM RiskAlert r WHERE r.isResolved = false ORDER BY r.severity DESC, r.createdAt DESC")
-    List<RiskAlert> findUnresolved();
-
-    @Query("SELECT r FROM RiskAlert r WHERE r.patient.id = :patientId AND r.isResolved = false")
-    List<RiskAlert> findUnresolvedForPatient(@Param("patientId") Long patientId);
-
     // Acknowledged by user
     List<RiskAlert> findByAcknowledgedById(Long userId);
 
@@ -91,6 +138,15 @@ public interface RiskAlertRepository extends JpaRepository<RiskAlert, Long> {
     @Query("SELECT COUNT(r) FROM RiskAlert r WHERE CAST(r.createdAt AS date) = CURRENT_DATE")
     long countTodaysAlerts();
 
+    // Dashboard overview - unacknowledged, critical and today's counts in one scan
+    @Query("SELECT COALESCE(SUM(CASE WHEN r.isAcknowledged = false THEN 1 ELSE 0 END), 0) AS unacknowledgedAlerts, " +
+            "COALESCE(SUM(CASE WHEN r.isAcknowledged = false AND r.severity = 'RED' THEN 1 ELSE 0 END), 0) AS criticalAlerts, " +
+            "COALESCE(SUM(CASE WHEN r.createdAt >= :startOfDay AND r.createdAt < :endOfDay THEN 1 ELSE 0 END), 0) AS todaysAlerts " +
+            "FROM RiskAlert r WHERE r.isAcknowledged = false OR (r.createdAt >= :startOfDay AND r.createdAt < :endOfDay)")
+    AlertOverviewCounts getOverviewCounts(
+            @Param("startOfDay") LocalDateTime startOfDay,
+            @Param("endOfDay") LocalDateTime endOfDay);
+
     @Query("SELECT COUNT(r) FROM RiskAlert r WHERE r.createdAt BETWEEN :start AND :end")
     long countBetween(
             @Param("start") LocalDateTime start,
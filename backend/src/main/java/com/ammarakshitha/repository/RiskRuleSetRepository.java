@@ -0,0 +1,31 @@
+package com.ammarakshitha.repository;
+
+import com.ammarakshitha.model.RiskRuleSet;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RiskRuleSetRepository extends JpaRepository<RiskRuleSet, Long> {
+
+    Optional<RiskRuleSet> findByRuleSetVersion(Integer ruleSetVersion);
+
+    Optional<RiskRuleSet> findFirstByIsActiveTrue();
+
+    List<RiskRuleSet> findAllByOrderByRuleSetVersionDesc();
+
+    @Query("SELECT COALESCE(MAX(r.ruleSetVersion), 0) FROM RiskRuleSet r")
+    int findMaxRuleSetVersion();
+
+    // Active version only, for the cheap refresh poll
+    @Query("SELECT r.ruleSetVersion FROM RiskRuleSet r WHERE r.isActive = true")
+    List<Integer> findActiveRuleSetVersions();
+
+    @Modifying
+    @Query("UPDATE RiskRuleSet r SET r.isActive = false, r.version = r.version + 1 WHERE r.isActive = true")
+    int deactivateAll();
+}
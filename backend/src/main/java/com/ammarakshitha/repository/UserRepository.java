@@ -17,6 +17,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u.id, u.tokenVersion, u.isActive FROM User u")
+    List<Object[]> findTokenVersions();
+
     Optional<User> findByPhone(String phone);
 
     boolean existsByEmail(String email);
@@ -37,4 +40,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.isActive = true")
     long countByRoleAndActive(@Param("role") UserRole role);
+
+    @Query("SELECT u.role, COUNT(u) FROM User u WHERE u.isActive = true GROUP BY u.role")
+    List<Object[]> countActiveByRole();
 }
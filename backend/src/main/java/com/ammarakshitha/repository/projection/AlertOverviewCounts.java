@@ -0,0 +1,13 @@
+package com.ammarakshitha.repository.projection;
+
+/**
+ * Risk alert counters for the dashboard overview.
+ */
+public interface AlertOverviewCounts {
+
+    Long getUnacknowledgedAlerts();
+
+    Long getCriticalAlerts();
+
+    Long getTodaysAlerts();
+}
@@ -0,0 +1,13 @@
+package com.ammarakshitha.repository.projection;
+
+/**
+ * Follow-up counters for the dashboard overview.
+ */
+public interface FollowUpOverviewCounts {
+
+    Long getFollowUpsToday();
+
+    Long getFollowUpsCompleted();
+
+    Long getOverdueFollowUps();
+}
@@ -0,0 +1,11 @@
+package com.ammarakshitha.repository.projection;
+
+/**
+ * Health check counters for the dashboard overview (active records only).
+ */
+public interface HealthCheckOverviewCounts {
+
+    Long getHealthChecksToday();
+
+    Long getHealthChecksThisMonth();
+}
@@ -0,0 +1,25 @@
+package com.ammarakshitha.repository.projection;
+
+/**
+ * Patient counters for the dashboard overview, computed in a single pass over the patients table.
+ */
+public interface PatientOverviewCounts {
+
+    Long getTotalPatients();
+
+    Long getActivePatients();
+
+    Long getHighRiskPatients();
+
+    Long getModerateRiskPatients();
+
+    Long getStablePatients();
+
+    Long getNewRegistrationsToday();
+
+    Long getSuccessfulDeliveries();
+
+    Long getMotherMortality();
+
+    Long getBabyMortality();
+}
@@ -0,0 +1,26 @@
+package com.ammarakshitha.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The vitals of one health check that risk trends are computed from.
+ */
+public interface VitalsReading {
+
+    Long getId();
+
+    Long getPatientId();
+
+    LocalDate getCheckDate();
+
+    Integer getBpSystolic();
+
+    Integer getBpDiastolic();
+
+    BigDecimal getHemoglobin();
+
+    BigDecimal getWeight();
+
+    Integer getFetalHeartRate();
+}
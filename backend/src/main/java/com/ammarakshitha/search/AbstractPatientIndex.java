@@ -0,0 +1,131 @@
+package com.ammarakshitha.search;
+
+import com.ammarakshitha.event.PatientChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Common loading and synchronisation for the in-memory patient indexes.
+ *
+ * <p>The index is filled on a background thread by streaming {@link #loadSql()} and is then kept
+ * current from {@link PatientChangedEvent}s. Patients changed while the load is still running are
+ * not overwritten by the (older) rows the loader reads afterwards. Subclasses mutate their
+ * structures in {@link #put} and {@link #remove}, which are always called under the write lock,
+ * and read them under the read lock.</p>
+ *
+ * @param <D> the per-patient document the index keeps
+ */
+@Slf4j
+abstract class AbstractPatientIndex<D> {
+
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean ready;
+
+    protected AbstractPatientIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * Query returning one row per patient, including an {@code id} column.
+     */
+    protected abstract String loadSql();
+
+    protected abstract D fromRow(ResultSet rs) throws SQLException;
+
+    protected abstract D fromSnapshot(PatientChangedEvent.Snapshot patient);
+
+    protected abstract void put(long id, D doc);
+
+    protected abstract void remove(long id);
+
+    protected abstract int documentCount();
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    protected void startLoading() {
+        loading = true;
+        Thread loader = new Thread(this::loadAll, getClass().getSimpleName() + "-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void loadAll() {
+        long start = System.currentTimeMillis();
+        try {
+            // Stream the table with a cursor rather than materializing every row at once
+            JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+            cursor.setFetchSize(1000);
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> cursor.query(loadSql(), rs -> {
+                long id = rs.getLong("id");
+                if (changedDuringLoad.contains(id)) {
+                    return;
+                }
+                D doc = fromRow(rs);
+                lock.writeLock().lock();
+                try {
+                    if (!changedDuringLoad.contains(id)) {
+                        put(id, doc);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }));
+            ready = true;
+            log.info("{} loaded {} patients in {} ms", getClass().getSimpleName(), size(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("{} load failed, searches will use the database", getClass().getSimpleName(), e);
+        } finally {
+            loading = false;
+            changedDuringLoad.clear();
+        }
+    }
+
+    protected void apply(PatientChangedEvent event) {
+        PatientChangedEvent.Snapshot after = event.after();
+        Long id = after != null ? after.id() : event.before().id();
+        if (id == null) {
+            return;
+        }
+        if (loading) {
+            changedDuringLoad.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            if (after != null) {
+                put(id, fromSnapshot(after));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ammarakshitha.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Burkhard-Keller tree of strings under Levenshtein distance. A lookup only descends into
+ * children whose edge distance lies within the query radius of the node's distance, so a
+ * bounded-distance search visits a small fraction of the terms. Terms are never removed;
+ * callers keep their own postings and ignore terms that no longer have any.
+ * Not thread safe; callers hold the owning index's lock.
+ */
+final class BkTree {
+
+    /**
+     * Receives a matching term and its distance from the query.
+     */
+    interface Visitor {
+        void accept(String term, int distance);
+    }
+
+    private Node root;
+
+    void add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(term, node.term);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    void search(String query, int maxDistance, Visitor visitor) {
+        if (root != null) {
+            search(root, query, maxDistance, visitor);
+        }
+    }
+
+    private static void search(Node node, String query, int maxDistance, Visitor visitor) {
+        int distance = distance(query, node.term);
+        if (distance <= maxDistance) {
+            visitor.accept(node.term, distance);
+        }
+        for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+            int edge = child.getKey();
+            if (edge >= distance - maxDistance && edge <= distance + maxDistance) {
+                search(child.getValue(), query, maxDistance, visitor);
+            }
+        }
+    }
+
+    private static int distance(String a, String b) {
+        return IndianNamePhonetics.boundedDistance(a, b, a.length() + b.length());
+    }
+
+    private static final class Node {
+
+        private final String term;
+        private final Map<Integer, Node> children = new HashMap<>(4);
+
+        private Node(String term) {
+            this.term = term;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.ammarakshitha.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Phonetic keys for Telugu and other Indian names written in English.
+ *
+ * <p>Transliterations of the same name differ mostly in aspiration (th/t, dh/d, bh/b), sibilants
+ * (sh/s, ksh/x/ks), w/v and vowel length or choice (Lakshmi, Laxmi, Luxmi). The key folds these
+ * together and keeps only the consonant skeleton plus the leading vowel, so "Lakshmi", "Laxmi" and
+ * "Luxmi" all encode to {@code lxm}, and "Shanthi", "Santhi" and "Shanti" to {@code snt}.</p>
+ */
+public final class IndianNamePhonetics {
+
+    private IndianNamePhonetics() {
+    }
+
+    /**
+     * Encodes every word of {@code name}, space separated. Returns an empty string if the name
+     * has no letters.
+     */
+    public static String encode(String name) {
+        return String.join(" ", encodeTokens(name));
+    }
+
+    public static List<String> encodeTokens(String name) {
+        List<String> keys = new ArrayList<>();
+        if (name == null) {
+            return keys;
+        }
+        for (String token : name.toLowerCase(Locale.ROOT).split("[^a-z]+")) {
+            String key = encodeToken(token);
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    static String encodeToken(String token) {
+        if (token.isEmpty()) {
+            return "";
+        }
+        String s = token
+                .replace("ksh", "x")
+                .replace("ks", "x")
+                .replaceAll("c(?!h)", "k")
+                .replace("ch", "c")
+                .replace("sh", "s")
+                .replace("th", "t")
+                .replace("dh", "d")
+                .replace("bh", "b")
+                .replace("gh", "g")
+                .replace("kh", "k")
+                .replace("jh", "j")
+                .replace("ph", "f")
+                .replace('q', 'k')
+                .replace('w', 'v')
+                .replace('z', 'j');
+
+        StringBuilder key = new StringBuilder(s.length());
+        char first = s.charAt(0);
+        if (isVowel(first)) {
+            key.append(vowelClass(first));
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (isVowel(c) || (c == 'y' && i > 0)) {
+                continue;
+            }
+            if (c == 'h' && i > 0) {
+                // Remaining h after a vowel is silent or an aspiration marker (Sneha, Rahim)
+                continue;
+            }
+            if (key.length() > 0 && key.charAt(key.length() - 1) == c) {
+                continue;
+            }
+            key.append(c);
+        }
+        return key.toString();
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+
+    private static char vowelClass(char c) {
+        return switch (c) {
+            case 'e', 'i' -> 'i';
+            case 'o', 'u' -> 'u';
+            default -> 'a';
+        };
+    }
+
+    /**
+     * Levenshtein distance between {@code a} and {@code b}, or {@code max + 1} as soon as it is
+     * known to exceed {@code max}.
+     */
+    public static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+}
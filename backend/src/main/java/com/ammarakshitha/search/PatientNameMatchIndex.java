@@ -0,0 +1,180 @@
+package com.ammarakshitha.search;
+
+import com.ammarakshitha.event.PatientChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fuzzy index over patient and husband names, for spellings that differ from what was
+ * registered ("Laxmi" for "Lakshmi").
+ *
+ * <p>Each name word is reduced to its {@link IndianNamePhonetics} key; the keys are precomputed
+ * and stored on the patient row, so loading never re-encodes names. Query words are encoded the
+ * same way and matched against all known keys through a {@link BkTree} within a small edit
+ * distance that grows with key length. Every query word has to match a word of the patient's or
+ * the husband's name; matches on the patient's own name and closer keys rank higher.</p>
+ */
+@Component
+public class PatientNameMatchIndex extends AbstractPatientIndex<PatientNameMatchIndex.Doc> {
+
+    private static final String[] NO_KEYS = new String[0];
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Postings> nameKeys = new HashMap<>();
+    private final Map<String, Postings> husbandNameKeys = new HashMap<>();
+    private final BkTree keys = new BkTree();
+
+    record Doc(String[] nameKeys, String[] husbandNameKeys) {
+
+        static Doc of(String namePhoneticKey, String husbandNamePhoneticKey) {
+            return new Doc(split(namePhoneticKey), split(husbandNamePhoneticKey));
+        }
+
+        private static String[] split(String phoneticKey) {
+            return phoneticKey == null || phoneticKey.isBlank() ? NO_KEYS : phoneticKey.split(" ");
+        }
+    }
+
+    public PatientNameMatchIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        super(jdbcTemplate, transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            startLoading();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (enabled) {
+            apply(event);
+        }
+    }
+
+    /**
+     * Largest edit distance accepted between phonetic keys of this length. Short keys must match
+     * exactly or almost every name would be within reach.
+     */
+    static int maxDistance(String key) {
+        if (key.length() <= 2) {
+            return 0;
+        }
+        return key.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Returns the ids of matching patients ranked best first, or null while the index is still
+     * loading.
+     */
+    public PatientSearchHits search(String query, int offset, int limit) {
+        if (!isReady()) {
+            return null;
+        }
+        List<String> queryKeys = IndianNamePhonetics.encodeTokens(query);
+        Map<Long, Integer> scores = null;
+
+        lock.readLock().lock();
+        try {
+            for (String queryKey : queryKeys) {
+                Map<Long, Integer> wordScores = new HashMap<>();
+                int maxDistance = maxDistance(queryKey);
+                keys.search(queryKey, maxDistance, (key, distance) -> {
+                    int closeness = maxDistance + 1 - distance;
+                    collect(nameKeys.get(key), 2 * closeness, wordScores);
+                    collect(husbandNameKeys.get(key), closeness, wordScores);
+                });
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((id, score) -> score + wordScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return PatientSearchHits.ranked(scores != null ? scores : Map.of(), offset, limit);
+    }
+
+    private static void collect(Postings postings, int score, Map<Long, Integer> scores) {
+        if (postings == null) {
+            return;
+        }
+        for (int i = 0; i < postings.size; i++) {
+            scores.merge(postings.ids[i], score, Math::max);
+        }
+    }
+
+    @Override
+    protected String loadSql() {
+        return "SELECT id, name_phonetic_key, husband_name_phonetic_key FROM patients";
+    }
+
+    @Override
+    protected Doc fromRow(ResultSet rs) throws SQLException {
+        return Doc.of(rs.getString("name_phonetic_key"), rs.getString("husband_name_phonetic_key"));
+    }
+
+    @Override
+    protected Doc fromSnapshot(PatientChangedEvent.Snapshot patient) {
+        return Doc.of(IndianNamePhonetics.encode(patient.name()), IndianNamePhonetics.encode(patient.husbandName()));
+    }
+
+    @Override
+    protected int documentCount() {
+        return docs.size();
+    }
+
+    @Override
+    protected void put(long id, Doc doc) {
+        docs.put(id, doc);
+        for (String key : doc.nameKeys()) {
+            nameKeys.computeIfAbsent(key, k -> new Postings()).add(id);
+            keys.add(key);
+        }
+        for (String key : doc.husbandNameKeys()) {
+            husbandNameKeys.computeIfAbsent(key, k -> new Postings()).add(id);
+            keys.add(key);
+        }
+    }
+
+    @Override
+    protected void remove(long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String key : doc.nameKeys()) {
+            removePosting(nameKeys, key, id);
+        }
+        for (String key : doc.husbandNameKeys()) {
+            removePosting(husbandNameKeys, key, id);
+        }
+    }
+
+    private static void removePosting(Map<String, Postings> map, String key, long id) {
+        Postings postings = map.get(key);
+        if (postings != null && postings.remove(id) && postings.size == 0) {
+            map.remove(key);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ammarakshitha.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of patient ids, best match first, with the total number of matches.
+ */
+public record PatientSearchHits(List<Long> ids, long total) {
+
+    /**
+     * Orders patients by score (highest first, newest first on ties) and cuts out the page.
+     */
+    static PatientSearchHits ranked(Map<Long, Integer> scores, int offset, int limit) {
+        if (offset >= scores.size()) {
+            return new PatientSearchHits(Collections.emptyList(), scores.size());
+        }
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+        int end = (int) Math.min((long) offset + limit, ranked.size());
+        List<Long> ids = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return new PatientSearchHits(ids, ranked.size());
+    }
+}
@@ -0,0 +1,248 @@
+package com.ammarakshitha.search;
+
+import com.ammarakshitha.event.PatientChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory search index over patient name and identifiers.
+ *
+ * <p>Names and identifiers (mother ID, mobile and Aadhaar number) are indexed by trigram, so any
+ * substring of three or more characters is found without scanning, matching the database's
+ * {@code LIKE '%query%'} search. Mother IDs match case-insensitively.</p>
+ *
+ * <p>Until the index is loaded, and for queries shorter than {@link #MIN_QUERY_LENGTH},
+ * {@link #search} returns null and callers use the database.</p>
+ */
+@Component
+public class PatientSearchIndex extends AbstractPatientIndex<PatientSearchIndex.Doc> {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int SCORE_IDENTIFIER_EXACT = 100;
+    private static final int SCORE_IDENTIFIER_PREFIX = 80;
+    private static final int SCORE_NAME_EXACT = 70;
+    private static final int SCORE_NAME_PREFIX = 60;
+    private static final int SCORE_NAME_WORD_PREFIX = 50;
+    private static final int SCORE_NAME_CONTAINS = 40;
+    private static final int SCORE_IDENTIFIER_PART = 30;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<Long, Postings> nameTrigrams = new HashMap<>();
+    private final Map<Long, Postings> identifierTrigrams = new HashMap<>();
+
+    record Doc(String name, String motherId, String mobileNumber, String aadhaarNumber) {
+
+        static Doc of(String name, String motherId, String mobileNumber, String aadhaarNumber) {
+            return new Doc(
+                    name != null ? name.toLowerCase(Locale.ROOT) : null,
+                    motherId != null ? motherId.toUpperCase(Locale.ROOT) : null,
+                    mobileNumber,
+                    aadhaarNumber);
+        }
+    }
+
+    public PatientSearchIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        super(jdbcTemplate, transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            startLoading();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        if (enabled) {
+            apply(event);
+        }
+    }
+
+    /**
+     * Returns the ids of matching patients ranked best first, or null if the index cannot
+     * answer this query and the caller should fall back to the database.
+     */
+    public PatientSearchHits search(String query, int offset, int limit) {
+        if (!isReady() || query == null) {
+            return null;
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() < MIN_QUERY_LENGTH) {
+            return null;
+        }
+        String nameQuery = trimmed.toLowerCase(Locale.ROOT);
+        String identifierQuery = trimmed.toUpperCase(Locale.ROOT);
+
+        Map<Long, Integer> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            Postings candidates = rarestTrigramPostings(nameTrigrams, nameQuery);
+            if (candidates != null) {
+                for (int i = 0; i < candidates.size; i++) {
+                    long id = candidates.ids[i];
+                    int score = scoreName(docs.get(id).name(), nameQuery);
+                    if (score > 0) {
+                        scores.merge(id, score, Math::max);
+                    }
+                }
+            }
+            candidates = rarestTrigramPostings(identifierTrigrams, identifierQuery);
+            if (candidates != null) {
+                for (int i = 0; i < candidates.size; i++) {
+                    long id = candidates.ids[i];
+                    int score = scoreIdentifiers(docs.get(id), identifierQuery);
+                    if (score > 0) {
+                        scores.merge(id, score, Math::max);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return PatientSearchHits.ranked(scores, offset, limit);
+    }
+
+    @Override
+    protected String loadSql() {
+        return "SELECT id, name, mother_id, mobile_number, aadhaar_number FROM patients";
+    }
+
+    @Override
+    protected Doc fromRow(ResultSet rs) throws SQLException {
+        return Doc.of(rs.getString("name"), rs.getString("mother_id"),
+                rs.getString("mobile_number"), rs.getString("aadhaar_number"));
+    }
+
+    @Override
+    protected Doc fromSnapshot(PatientChangedEvent.Snapshot patient) {
+        return Doc.of(patient.name(), patient.motherId(), patient.mobileNumber(), patient.aadhaarNumber());
+    }
+
+    @Override
+    protected int documentCount() {
+        return docs.size();
+    }
+
+    @Override
+    protected void put(long id, Doc doc) {
+        docs.put(id, doc);
+        forEachTrigram(doc.name(), key -> nameTrigrams.computeIfAbsent(key, k -> new Postings()).add(id));
+        forEachIdentifier(doc, identifier -> forEachTrigram(identifier,
+                key -> identifierTrigrams.computeIfAbsent(key, k -> new Postings()).add(id)));
+    }
+
+    @Override
+    protected void remove(long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        forEachTrigram(doc.name(), key -> removePosting(nameTrigrams, key, id));
+        forEachIdentifier(doc, identifier -> forEachTrigram(identifier,
+                key -> removePosting(identifierTrigrams, key, id)));
+    }
+
+    private static void removePosting(Map<Long, Postings> trigrams, long key, long id) {
+        Postings postings = trigrams.get(key);
+        if (postings != null && postings.remove(id) && postings.size == 0) {
+            trigrams.remove(key);
+        }
+    }
+
+    private static Postings rarestTrigramPostings(Map<Long, Postings> trigrams, String text) {
+        Postings rarest = null;
+        for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+            Postings postings = trigrams.get(trigram(text, i));
+            if (postings == null) {
+                return null;
+            }
+            if (rarest == null || postings.size < rarest.size) {
+                rarest = postings;
+            }
+        }
+        return rarest;
+    }
+
+    private static int scoreName(String name, String query) {
+        if (name == null) {
+            return 0;
+        }
+        if (name.equals(query)) {
+            return SCORE_NAME_EXACT;
+        }
+        if (name.startsWith(query)) {
+            return SCORE_NAME_PREFIX;
+        }
+        int index = name.indexOf(query);
+        if (index < 0) {
+            return 0;
+        }
+        return name.charAt(index - 1) == ' ' ? SCORE_NAME_WORD_PREFIX : SCORE_NAME_CONTAINS;
+    }
+
+    private static int scoreIdentifiers(Doc doc, String query) {
+        if (query.equals(doc.motherId()) || query.equals(doc.mobileNumber()) || query.equals(doc.aadhaarNumber())) {
+            return SCORE_IDENTIFIER_EXACT;
+        }
+        if (startsWith(doc.motherId(), query) || startsWith(doc.mobileNumber(), query)
+                || startsWith(doc.aadhaarNumber(), query)) {
+            return SCORE_IDENTIFIER_PREFIX;
+        }
+        if (contains(doc.motherId(), query) || contains(doc.mobileNumber(), query)
+                || contains(doc.aadhaarNumber(), query)) {
+            return SCORE_IDENTIFIER_PART;
+        }
+        return 0;
+    }
+
+    private static boolean startsWith(String value, String prefix) {
+        return value != null && value.startsWith(prefix);
+    }
+
+    private static boolean contains(String value, String part) {
+        return value != null && value.contains(part);
+    }
+
+    private static void forEachIdentifier(Doc doc, Consumer<String> action) {
+        if (doc.motherId() != null) {
+            action.accept(doc.motherId());
+        }
+        if (doc.mobileNumber() != null) {
+            action.accept(doc.mobileNumber());
+        }
+        if (doc.aadhaarNumber() != null) {
+            action.accept(doc.aadhaarNumber());
+        }
+    }
+
+    private static void forEachTrigram(String text, LongConsumer action) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i + MIN_QUERY_LENGTH <= text.length(); i++) {
+            action.accept(trigram(text, i));
+        }
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
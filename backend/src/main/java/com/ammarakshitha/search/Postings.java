@@ -0,0 +1,37 @@
+package com.ammarakshitha.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of patient ids. Ids are mostly appended in increasing order, so inserts
+ * are usually a plain append. Not thread safe; callers hold the owning index's lock.
+ */
+final class Postings {
+
+    long[] ids = new long[2];
+    int size;
+
+    void add(long id) {
+        int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -(index + 1);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+}
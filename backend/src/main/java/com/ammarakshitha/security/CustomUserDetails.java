@@ -1,6 +1,7 @@
 package com.ammarakshitha.security;
 
 import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.UserRole;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -20,13 +21,17 @@ public class CustomUserDetails implements UserDetails {
     private final Collection<? extends GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
-        this.id = user.getId();
-        this.email = user.getEmail();
-        this.password = user.getPasswordHash();
-        this.name = user.getName();
-        this.enabled = user.getIsActive();
+        this(user.getId(), user.getEmail(), user.getName(), user.getPasswordHash(), user.getIsActive(), user.getRole());
+    }
+
+    public CustomUserDetails(Long id, String email, String name, String password, boolean enabled, UserRole role) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.name = name;
+        this.enabled = enabled;
         this.authorities = Collections.singletonList(
-                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+                new SimpleGrantedAuthority("ROLE_" + role.name())
         );
     }
 
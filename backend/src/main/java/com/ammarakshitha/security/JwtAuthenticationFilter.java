@@ -1,16 +1,17 @@
 package com.ammarakshitha.security;
 
+import com.ammarakshitha.model.enums.UserRole;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +24,11 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    @Value("${app.security.stateless-auth.enabled:false}")
+    private boolean statelessAuth;
 
     @Override
     protected void doFilterInternal(
@@ -33,7 +38,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Skip if no auth header or not Bearer token
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -44,12 +48,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Signature and expiry are checked once per token; repeats are served from the cache
+            JwtService.VerifiedToken token = jwtService.verify(jwt);
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (token.refresh()) {
+                log.debug("Rejected refresh token used as an access token for {}", token.username());
+            } else if (token.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = statelessAuth && token.hasPrincipalClaims()
+                        ? principalFromClaims(token)
+                        : userDetailsCache.get(token.username());
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && userDetails.isEnabled()) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -65,4 +74,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal from verified claims alone, or returns null if the token has been
+     * revoked since it was issued.
+     */
+    private UserDetails principalFromClaims(JwtService.VerifiedToken token) {
+        if (!tokenVersionRegistry.isCurrent(token.userId(), token.tokenVersion())) {
+            log.debug("Rejected revoked token for user {}", token.userId());
+            return null;
+        }
+        return new CustomUserDetails(token.userId(), token.username(), null, null, true,
+                UserRole.valueOf(token.role()));
+    }
 }
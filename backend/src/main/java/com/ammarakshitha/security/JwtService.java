@@ -1,22 +1,37 @@
 package com.ammarakshitha.security;
 
+import com.ammarakshitha.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_TOKEN_VERSION = "tv";
+    static final String CLAIM_TYPE = "typ";
+    static final String TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -26,6 +41,76 @@ public class JwtService {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${app.security.token-cache.max-entries:10000}")
+    private int tokenCacheMaxEntries;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Tokens whose signature has already been checked, keyed by a SHA-256 hash of the token
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Claims of a token whose signature has been verified. User id, role and token version are
+     * null for tokens issued without them. Refresh tokens only obtain new tokens and never
+     * authenticate a request.
+     */
+    public record VerifiedToken(String username, Long userId, String role, Integer tokenVersion, boolean refresh,
+                                long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+
+        public boolean hasPrincipalClaims() {
+            return userId != null && role != null && tokenVersion != null;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    /**
+     * Verifies the token's signature and expiry, parsing it only the first time it is seen.
+     *
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.get(key);
+        if (verified != null) {
+            if (verified.isExpired(now)) {
+                verifiedTokens.remove(key);
+                throw new JwtException("JWT expired");
+            }
+            return verified;
+        }
+
+        Claims claims = extractAllClaims(token);
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        verified = new VerifiedToken(
+                claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                claims.get(CLAIM_ROLE, String.class),
+                tokenVersion != null ? tokenVersion.intValue() : null,
+                TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class)),
+                claims.getExpiration().getTime());
+        if (verifiedTokens.size() >= tokenCacheMaxEntries) {
+            verifiedTokens.values().removeIf(entry -> entry.isExpired(now));
+            if (verifiedTokens.size() >= tokenCacheMaxEntries) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -40,46 +125,62 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        return buildToken(extraClaims, userDetails.getUsername(), jwtExpiration);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
+        return buildToken(claims, userDetails.getUsername(), refreshExpiration);
     }
 
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+    /**
+     * Issues an access token carrying the user's id, role and token version, from which the
+     * authentication can be rebuilt without loading the user.
+     */
+    public String generateToken(User user) {
+        return buildToken(principalClaims(user), user.getEmail(), jwtExpiration);
+    }
+
+    public String generateRefreshToken(User user) {
+        Map<String, Object> claims = principalClaims(user);
+        claims.put(CLAIM_TYPE, TYPE_REFRESH);
+        return buildToken(claims, user.getEmail(), refreshExpiration);
+    }
+
+    private static Map<String, Object> principalClaims(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_TOKEN_VERSION, TokenVersionRegistry.versionOf(user.getTokenVersion()));
+        return claims;
+    }
+
+    private String buildToken(Map<String, Object> extraClaims, String subject, long expiration) {
         return Jwts.builder()
                 .claims(extraClaims)
-                .subject(userDetails.getUsername())
+                .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,99 @@
+package com.ammarakshitha.security;
+
+import com.ammarakshitha.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for BCrypt work, so a burst of logins queues here instead of occupying request
+ * threads. When the queue is full, work is rejected with {@link TooManyRequestsException}.
+ *
+ * <p>Exposes {@code auth.password.queued}, {@code auth.password.active},
+ * {@code auth.password.rejected} and the {@code auth.password.wait} timer for time spent queued.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.bcrypt.threads:0}")
+    private int threads;
+
+    @Value("${app.security.bcrypt.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.security.bcrypt.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Counter rejected;
+    private Timer wait;
+
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("auth.password.queued", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(meterRegistry);
+        rejected = Counter.builder("auth.password.rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        wait = Timer.builder("auth.password.wait")
+                .description("Time password hashing tasks spent queued")
+                .register(meterRegistry);
+        log.info("Password hashing pool started with {} threads and queue of {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs {@code task} on the pool.
+     *
+     * @throws TooManyRequestsException if the pool's queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                wait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts in progress, please retry shortly",
+                    retryAfterSeconds);
+        }
+    }
+}
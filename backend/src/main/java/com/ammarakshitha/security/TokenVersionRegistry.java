@@ -0,0 +1,105 @@
+package com.ammarakshitha.security;
+
+import com.ammarakshitha.event.UserChangedEvent;
+import com.ammarakshitha.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Current token version of every user, used to revoke tokens when authentication is rebuilt from
+ * JWT claims without loading the user.
+ *
+ * <p>Loaded from the database at startup, updated when {@link UserChangedEvent} is committed and
+ * fully reloaded every {@code app.security.stateless-auth.version-refresh-ms} to pick up changes
+ * made on other instances. Inactive and deleted users are recorded as revoked, so none of their
+ * tokens are accepted.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.stateless-auth.enabled:false}")
+    private boolean enabled;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    // Bumped on every user change so a full reload started before it does not overwrite it
+    private final AtomicLong generation = new AtomicLong();
+
+    public static int versionOf(Integer tokenVersion) {
+        return tokenVersion != null ? tokenVersion : 0;
+    }
+
+    /**
+     * Whether a token issued to {@code userId} with {@code tokenVersion} is still valid.
+     */
+    public boolean isCurrent(long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            // User created since the last reload
+            current = load(userId);
+        }
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.stateless-auth.version-refresh-ms:60000}",
+            initialDelayString = "${app.security.stateless-auth.version-refresh-ms:60000}")
+    public void scheduledReload() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+        if (enabled && event.userId() != null) {
+            load(event.userId());
+        }
+    }
+
+    private void reload() {
+        long startGeneration = generation.get();
+        Map<Long, Integer> loaded = new HashMap<>();
+        for (Object[] row : userRepository.findTokenVersions()) {
+            loaded.put((Long) row[0], Boolean.TRUE.equals(row[2]) ? versionOf((Integer) row[1]) : REVOKED);
+        }
+        if (generation.get() != startGeneration) {
+            log.debug("Skipping token version reload; users changed while loading");
+            return;
+        }
+        versions.keySet().retainAll(loaded.keySet());
+        versions.putAll(loaded);
+    }
+
+    private int load(long userId) {
+        int version = userRepository.findById(userId)
+                .map(user -> Boolean.TRUE.equals(user.getIsActive()) ? versionOf(user.getTokenVersion()) : REVOKED)
+                .orElse(REVOKED);
+        versions.put(userId, version);
+        return version;
+    }
+}
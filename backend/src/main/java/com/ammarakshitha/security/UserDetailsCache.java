@@ -0,0 +1,78 @@
+package com.ammarakshitha.security;
+
+import com.ammarakshitha.event.UserChangedEvent;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users resolved for authenticated requests, so a request carrying a known token needs no
+ * database lookup.
+ *
+ * <p>Entries are dropped when {@link UserChangedEvent} is committed for the user and otherwise
+ * expire after {@code app.security.user-cache.ttl-ms}, which bounds the staleness of changes
+ * made outside {@code UserService}. Cached details carry no password hash; they are only used to
+ * build the request's authentication, never to check credentials.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.user-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${app.security.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a user loaded before it is not cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    private record CachedUser(UserDetails userDetails, long expiresAt) {
+    }
+
+    public UserDetails get(String email) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = users.get(email);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.userDetails();
+        }
+
+        long startGeneration = generation.get();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        UserDetails userDetails = new CustomUserDetails(
+                user.getId(), user.getEmail(), user.getName(), null, user.getIsActive(), user.getRole());
+
+        if (generation.get() == startGeneration) {
+            if (users.size() >= maxEntries) {
+                users.values().removeIf(entry -> entry.expiresAt() <= now);
+                if (users.size() >= maxEntries) {
+                    users.clear();
+                }
+            }
+            users.put(email, new CachedUser(userDetails, now + ttlMs));
+        }
+        return userDetails;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.email() != null) {
+            users.remove(event.email());
+        }
+    }
+}
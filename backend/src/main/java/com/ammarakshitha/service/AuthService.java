@@ -7,16 +7,19 @@ import com.ammarakshitha.exception.BusinessException;
 import com.ammarakshitha.model.User;
 import com.ammarakshitha.repository.UserRepository;
 import com.ammarakshitha.security.JwtService;
+import com.ammarakshitha.security.PasswordHashingExecutor;
+import com.ammarakshitha.security.TokenVersionRegistry;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -26,7 +29,7 @@ public class AuthService {
     private final UserService userService;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
@@ -37,9 +40,8 @@ public class AuthService {
 
         User user = userService.createUser(request);
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String accessToken = jwtService.generateToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String accessToken = jwtService.generateToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
@@ -54,7 +56,16 @@ public class AuthService {
                 .build();
     }
 
-    public AuthResponse login(AuthRequest request) {
+    /**
+     * Verifies the password on the bounded password hashing pool rather than the request thread.
+     *
+     * @throws com.ammarakshitha.exception.TooManyRequestsException if the pool is saturated
+     */
+    public CompletableFuture<AuthResponse> login(AuthRequest request) {
+        return passwordHashingExecutor.submit(() -> authenticate(request));
+    }
+
+    private AuthResponse authenticate(AuthRequest request) {
         log.info("Login attempt for user: {}", request.getEmail());
 
         authenticationManager.authenticate(
@@ -68,9 +79,8 @@ public class AuthService {
             throw new BusinessException("User account is deactivated");
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String accessToken = jwtService.generateToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        String accessToken = jwtService.generateToken(user);
+        String refreshToken = jwtService.generateRefreshToken(user);
 
         log.info("Login successful for user: {}", request.getEmail());
 
@@ -88,18 +98,30 @@ public class AuthService {
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        String email = jwtService.extractUsername(refreshToken);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-        if (!jwtService.isTokenValid(refreshToken, userDetails)) {
+        JwtService.VerifiedToken token;
+        try {
+            token = jwtService.verify(refreshToken);
+        } catch (JwtException e) {
+            throw new BusinessException("Invalid refresh token");
+        }
+        if (!token.refresh()) {
             throw new BusinessException("Invalid refresh token");
         }
 
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmail(token.username())
                 .orElseThrow(() -> new BusinessException("User not found"));
 
-        String newAccessToken = jwtService.generateToken(userDetails);
-        String newRefreshToken = jwtService.generateRefreshToken(userDetails);
+        if (!user.getIsActive()) {
+            throw new BusinessException("User account is deactivated");
+        }
+        // Tokens issued before a password or role change are revoked
+        if (token.tokenVersion() != null
+                && token.tokenVersion() != TokenVersionRegistry.versionOf(user.getTokenVersion())) {
+            throw new BusinessException("Invalid refresh token");
+        }
+
+        String newAccessToken = jwtService.generateToken(user);
+        String newRefreshToken = jwtService.generateRefreshToken(user);
 
         return AuthResponse.builder()
                 .accessToken(newAccessToken)
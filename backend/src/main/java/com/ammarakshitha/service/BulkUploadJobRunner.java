@@ -0,0 +1,151 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.event.BulkUploadJobSubmittedEvent;
+import com.ammarakshitha.model.BulkUploadJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs queued bulk upload jobs on a bounded worker pool. Jobs are dispatched as soon as they are
+ * submitted and, as a safety net, by a periodic sweep that also requeues jobs whose worker died
+ * so they resume from their last committed chunk. A job that does not fit in the pool's queue
+ * simply stays queued until the next sweep.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BulkUploadJobRunner {
+
+    private final BulkUploadJobService jobService;
+    private final PatientExcelService patientExcelService;
+
+    @Value("${app.bulk-upload.workers:2}")
+    private int workers;
+
+    @Value("${app.bulk-upload.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${app.bulk-upload.stale-after-ms:120000}")
+    private long staleAfterMs;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        // Interrupted jobs stay RUNNING and are requeued once stale
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobSubmitted(BulkUploadJobSubmittedEvent event) {
+        dispatch(event.jobId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.bulk-upload.dispatch-interval-ms:10000}")
+    public void dispatchPending() {
+        int requeued = jobService.requeueStaleJobs(LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs)));
+        if (requeued > 0) {
+            log.info("Requeued {} interrupted bulk upload jobs", requeued);
+        }
+        jobService.findQueuedJobIds().forEach(this::dispatch);
+    }
+
+    private void dispatch(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+            log.debug("Bulk upload workers busy, job {} stays queued", jobId);
+        }
+    }
+
+    private void run(Long jobId) {
+        BulkUploadJob job = jobService.claim(jobId);
+        if (job == null) {
+            return;
+        }
+        Path storedFile = Path.of(job.getStoredFile());
+        log.info("Running bulk upload job {} from row {}", jobId, job.getLastCommittedRow() + 1);
+
+        try {
+            patientExcelService.importRows(storedFile, job.getUploadedBy().getId(), job.getLastCommittedRow(),
+                    (lastRowNumber, succeeded, failed) -> {
+                        if (!jobService.recordChunk(jobId, lastRowNumber, succeeded, failed)) {
+                            // Rolls back the chunk this worker just registered
+                            throw new JobTakenOverException(jobId);
+                        }
+                    });
+            jobService.complete(jobId);
+            deleteStoredFile(storedFile);
+        } catch (JobTakenOverException | OptimisticLockingFailureException e) {
+            // A version conflict on the job means another worker recorded a chunk at the same time
+            log.warn("Bulk upload job {} was taken over by another worker, stopping", jobId);
+        } catch (IOException e) {
+            jobService.fail(jobId, "Failed to read Excel file: " + e.getMessage());
+            deleteStoredFile(storedFile);
+        } catch (RuntimeException e) {
+            if (executor.isShutdown()) {
+                log.info("Bulk upload job {} interrupted by shutdown, it resumes after restart", jobId);
+                return;
+            }
+            log.error("Bulk upload job {} failed", jobId, e);
+            jobService.fail(jobId, e.getMessage());
+            deleteStoredFile(storedFile);
+        }
+    }
+
+    private static void deleteStoredFile(Path storedFile) {
+        try {
+            Files.deleteIfExists(storedFile);
+        } catch (IOException e) {
+            log.warn("Could not delete stored upload {}: {}", storedFile, e.getMessage());
+        }
+    }
+
+    private static final class JobTakenOverException extends RuntimeException {
+        private JobTakenOverException(Long jobId) {
+            super("Bulk upload job " + jobId + " is no longer owned by this worker");
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.BulkUploadJobDTO;
+import com.ammarakshitha.dto.BulkUploadResult;
+import com.ammarakshitha.event.BulkUploadJobSubmittedEvent;
+import com.ammarakshitha.exception.ResourceNotFoundException;
+import com.ammarakshitha.model.BulkUploadJob;
+import com.ammarakshitha.model.BulkUploadJobRow;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.BulkUploadJobStatus;
+import com.ammarakshitha.repository.BulkUploadJobRepository;
+import com.ammarakshitha.repository.BulkUploadJobRowRepository;
+import com.ammarakshitha.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bookkeeping for asynchronous bulk uploads. The upload is stored on disk and a
+ * {@link BulkUploadJob} queued; {@link BulkUploadJobRunner} registers the rows. Every chunk's
+ * row outcomes and counters are written in the same transaction as its patients, so progress
+ * never runs ahead of what has actually been registered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkUploadJobService {
+
+    private static final String INSERT_ROW_SQL = "INSERT INTO bulk_upload_job_rows (" +
+            "job_id, sheet_row, patient_id, name, mother_id, aadhaar_number, error_message, " +
+            "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BulkUploadJobRepository jobRepository;
+    private final BulkUploadJobRowRepository jobRowRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.bulk-upload.directory:./data/bulk-uploads}")
+    private String directory;
+
+    @Transactional
+    public BulkUploadJobDTO submit(MultipartFile file, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        Path storedFile;
+        try {
+            Path uploadDirectory = Path.of(directory);
+            Files.createDirectories(uploadDirectory);
+            storedFile = uploadDirectory.resolve(UUID.randomUUID() + ".xlsx").toAbsolutePath();
+            file.transferTo(storedFile);
+        } catch (IOException e) {
+            log.error("Error storing Excel upload: {}", e.getMessage());
+            throw new RuntimeException("Failed to store Excel file: " + e.getMessage());
+        }
+
+        BulkUploadJob job = jobRepository.save(BulkUploadJob.builder()
+                .fileName(file.getOriginalFilename())
+                .storedFile(storedFile.toString())
+                .uploadedBy(user)
+                .build());
+        log.info("Queued bulk upload job {} for {}", job.getId(), file.getOriginalFilename());
+
+        eventPublisher.publishEvent(new BulkUploadJobSubmittedEvent(job.getId()));
+        return toDTO(job, null);
+    }
+
+    @Transactional(readOnly = true)
+    public BulkUploadJobDTO getJob(Long id) {
+        BulkUploadJob job = jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Bulk upload job not found"));
+        return toDTO(job, job.getStatus() == BulkUploadJobStatus.COMPLETED ? buildReport(job) : null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findQueuedJobIds() {
+        return jobRepository.findQueuedIds();
+    }
+
+    /**
+     * Requeues running jobs that have not committed a chunk since {@code staleBefore}; their
+     * worker is gone (typically a restart) and the job resumes after its last committed chunk.
+     */
+    @Transactional
+    public int requeueStaleJobs(LocalDateTime staleBefore) {
+        return jobRepository.requeueStale(staleBefore);
+    }
+
+    /**
+     * Marks a queued job as running for the calling worker. Returns null if another worker
+     * claimed it first.
+     */
+    @Transactional
+    public BulkUploadJob claim(Long id) {
+        if (jobRepository.claim(id, LocalDateTime.now()) == 0) {
+            return null;
+        }
+        return jobRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Records one chunk. Returns false, writing nothing, if the job is no longer running or a
+     * later chunk has already been recorded, i.e. the job was taken over by another worker.
+     */
+    @Transactional
+    public boolean recordChunk(Long jobId, int lastRowNumber,
+                               List<BulkUploadResult.UploadedPatient> succeeded,
+                               List<BulkUploadResult.FailedRecord> failed) {
+        BulkUploadJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bulk upload job not found"));
+        if (job.getStatus() != BulkUploadJobStatus.RUNNING || lastRowNumber <= job.getLastCommittedRow()) {
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(succeeded.size() + failed.size());
+        for (BulkUploadResult.UploadedPatient patient : succeeded) {
+            rows.add(new Object[] {jobId, patient.getRowNumber(), patient.getId(), patient.getName(),
+                    patient.getMotherId(), patient.getAadhaarNumber(), null, now, now, 0L});
+        }
+        for (BulkUploadResult.FailedRecord record : failed) {
+            rows.add(new Object[] {jobId, record.getRowNumber(), null, record.getName(),
+                    null, record.getAadhaarNumber(), record.getErrorMessage(), now, now, 0L});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROW_SQL, rows);
+        }
+
+        job.setProcessedRows(job.getProcessedRows() + rows.size());
+        job.setSucceededRows(job.getSucceededRows() + succeeded.size());
+        job.setFailedRows(job.getFailedRows() + failed.size());
+        job.setLastCommittedRow(lastRowNumber);
+        return true;
+    }
+
+    @Transactional
+    public void complete(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() == BulkUploadJobStatus.RUNNING) {
+                job.setStatus(BulkUploadJobStatus.COMPLETED);
+                job.setCompletedAt(LocalDateTime.now());
+                log.info("Bulk upload job {} completed: {} registered, {} failed",
+                        jobId, job.getSucceededRows(), job.getFailedRows());
+            }
+        });
+    }
+
+    @Transactional
+    public void fail(Long jobId, String errorMessage) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() == BulkUploadJobStatus.RUNNING) {
+                job.setStatus(BulkUploadJobStatus.FAILED);
+                job.setErrorMessage(errorMessage);
+                job.setCompletedAt(LocalDateTime.now());
+                log.warn("Bulk upload job {} failed: {}", jobId, errorMessage);
+            }
+        });
+    }
+
+    private BulkUploadResult buildReport(BulkUploadJob job) {
+        List<BulkUploadResult.UploadedPatient> successfulRecords = new ArrayList<>();
+        List<BulkUploadResult.FailedRecord> failedRecords = new ArrayList<>();
+        for (BulkUploadJobRow row : jobRowRepository.findByJobIdOrderByRowNumber(job.getId())) {
+            if (row.getPatientId() != null) {
+                successfulRecords.add(BulkUploadResult.UploadedPatient.builder()
+                        .rowNumber(row.getRowNumber())
+                        .id(row.getPatientId())
+                        .name(row.getName())
+                        .motherId(row.getMotherId())
+                        .aadhaarNumber(row.getAadhaarNumber())
+                        .build());
+            } else {
+                failedRecords.add(BulkUploadResult.FailedRecord.builder()
+                        .rowNumber(row.getRowNumber())
+                        .name(row.getName())
+                        .aadhaarNumber(row.getAadhaarNumber())
+                        .errorMessage(row.getErrorMessage())
+                        .build());
+            }
+        }
+        return BulkUploadResult.builder()
+                .totalRecords(successfulRecords.size() + failedRecords.size())
+                .successCount(successfulRecords.size())
+                .failureCount(failedRecords.size())
+                .successfulRecords(successfulRecords)
+                .failedRecords(failedRecords)
+                .build();
+    }
+
+    private BulkUploadJobDTO toDTO(BulkUploadJob job, BulkUploadResult result) {
+        return BulkUploadJobDTO.builder()
+                .id(job.getId())
+                .fileName(job.getFileName())
+                .status(job.getStatus())
+                .processedRows(job.getProcessedRows())
+                .succeededRows(job.getSucceededRows())
+                .failedRows(job.getFailedRows())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .result(result)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.ammarakshitha.service;
 
 import com.ammarakshitha.dto.ConsultationRequest;
+import com.ammarakshitha.event.FollowUpChangedEvent;
 import com.ammarakshitha.exception.BusinessException;
 import com.ammarakshitha.exception.ResourceNotFoundException;
 import com.ammarakshitha.model.Consultation;
@@ -17,6 +18,7 @@ import com.ammarakshitha.repository.PatientRepository;
 import com.ammarakshitha.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -36,6 +38,7 @@ public class ConsultationService {
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
     private final FollowUpRepository followUpRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Consultation scheduleConsultation(ConsultationRequest request) {
         log.info("Scheduling consultation for patient: {}", request.getPatientId());
@@ -211,6 +214,7 @@ public class ConsultationService {
                 .build();
 
         followUpRepository.save(followUp);
+        eventPublisher.publishEvent(new FollowUpChangedEvent(null, FollowUpChangedEvent.Snapshot.of(followUp)));
         log.info("Follow-up created for consultation: {}", consultation.getId());
     }
 
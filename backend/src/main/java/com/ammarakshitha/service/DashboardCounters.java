@@ -0,0 +1,347 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.DashboardStats;
+import com.ammarakshitha.event.DashboardRecountRequestedEvent;
+import com.ammarakshitha.event.FollowUpChangedEvent;
+import com.ammarakshitha.event.HealthCheckChangedEvent;
+import com.ammarakshitha.event.PatientChangedEvent;
+import com.ammarakshitha.event.RiskAlertChangedEvent;
+import com.ammarakshitha.model.enums.DeliveryOutcome;
+import com.ammarakshitha.model.enums.FollowUpStatus;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory dashboard counters kept current from committed domain events.
+ *
+ * <p>The counters are seeded from the database by {@link DashboardService} and replaced wholesale
+ * on reconciliation. A recount that overlaps an event is discarded rather than installed, since it
+ * may or may not have seen that change; the live counters already applied it, and the next
+ * reconciliation tries again. Counters belong
+ * to a single day; once the day rolls over (or a recount is requested) they report themselves as
+ * stale and the next read recounts from the database.</p>
+ */
+@Component
+@Slf4j
+public class DashboardCounters {
+
+    static final String UNKNOWN_DISTRICT = "Unknown";
+
+    private final AtomicReference<Counters> current = new AtomicReference<>();
+
+    // Bumped on every event so a recount started before it is not installed after it
+    private final AtomicLong generation = new AtomicLong();
+
+    // Events apply under the read lock; installing a recount takes the write lock, so no event
+    // can land on the replaced counters between the generation check and the swap
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Returns the current stats, or null if the counters have not been seeded for {@code today}.
+     */
+    public DashboardStats snapshot(LocalDate today) {
+        Counters counters = currentFor(today);
+        return counters != null ? counters.toStats() : null;
+    }
+
+    public Map<String, Object> riskDistribution(LocalDate today) {
+        Counters counters = currentFor(today);
+        return counters != null ? toMap(counters.activeByRisk) : null;
+    }
+
+    public Map<String, Object> districtDistribution(LocalDate today) {
+        Counters counters = currentFor(today);
+        return counters != null ? toMap(counters.activeByDistrict) : null;
+    }
+
+    /**
+     * Marks the start of a recount; pass the result to {@link #reset}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Replaces all counters with freshly recounted values for {@code day}, unless an event arrived
+     * since {@code startGeneration} was read.
+     *
+     * @return whether the counters were replaced
+     */
+    public boolean reset(long startGeneration, LocalDate day, DashboardStats stats,
+                         Map<RiskLevel, Long> activeByRisk, Map<String, Long> activeByDistrict) {
+        Counters counters = new Counters(day, stats.getConsultationsToday(),
+                stats.getActiveDoctors(), stats.getActiveHelpDeskStaff());
+
+        counters.totalPatients.add(stats.getTotalPatients());
+        counters.activePatients.add(stats.getActivePatients());
+        counters.byRisk.get(RiskLevel.RED).add(stats.getHighRiskPatients());
+        counters.byRisk.get(RiskLevel.YELLOW).add(stats.getModerateRiskPatients());
+        counters.byRisk.get(RiskLevel.GREEN).add(stats.getStablePatients());
+        counters.registrationsToday.add(stats.getNewRegistrationsToday());
+        counters.successfulDeliveries.add(stats.getSuccessfulDeliveries());
+        counters.motherMortality.add(stats.getMotherMortality());
+        counters.babyMortality.add(stats.getBabyMortality());
+        counters.healthChecksToday.add(stats.getHealthChecksToday());
+        counters.healthChecksThisMonth.add(stats.getHealthChecksThisMonth());
+        counters.followUpsToday.add(stats.getFollowUpsToday());
+        counters.followUpsCompleted.add(stats.getFollowUpsCompleted());
+        counters.overdueFollowUps.add(stats.getOverdueFollowUps());
+        counters.unacknowledgedAlerts.add(stats.getUnacknowledgedAlerts());
+        counters.criticalAlerts.add(stats.getCriticalAlerts());
+        counters.todaysAlerts.add(stats.getTodaysAlerts());
+        activeByRisk.forEach((level, count) -> counters.activeByRisk.get(level).add(count));
+        activeByDistrict.forEach((district, count) -> counters.district(district).add(count));
+
+        lock.writeLock().lock();
+        try {
+            if (generation.get() != startGeneration) {
+                log.debug("Skipping dashboard counter reset for {}; events arrived during the recount", day);
+                return false;
+            }
+            current.set(counters);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Dashboard counters reset for {}", day);
+        return true;
+    }
+
+    public void invalidate() {
+        lock.readLock().lock();
+        try {
+            generation.incrementAndGet();
+            current.set(null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        update(counters -> {
+            counters.apply(event.before(), -1);
+            counters.apply(event.after(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHealthCheckChanged(HealthCheckChangedEvent event) {
+        update(counters -> {
+            counters.apply(event.before(), -1);
+            counters.apply(event.after(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFollowUpChanged(FollowUpChangedEvent event) {
+        update(counters -> {
+            counters.apply(event.before(), -1);
+            counters.apply(event.after(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRiskAlertChanged(RiskAlertChangedEvent event) {
+        update(counters -> {
+            counters.apply(event.before(), -1);
+            counters.apply(event.after(), 1);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecountRequested(DashboardRecountRequestedEvent event) {
+        log.debug("Dashboard counters invalidated: {}", event.reason());
+        invalidate();
+    }
+
+    private void update(Consumer<Counters> change) {
+        lock.readLock().lock();
+        try {
+            generation.incrementAndGet();
+            Counters counters = current.get();
+            if (counters != null) {
+                change.accept(counters);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Counters currentFor(LocalDate today) {
+        Counters counters = current.get();
+        return counters != null && counters.day.equals(today) ? counters : null;
+    }
+
+    private static Map<String, Object> toMap(Map<?, LongAdder> adders) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        adders.forEach((key, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                result.put(key.toString(), count);
+            }
+        });
+        return result;
+    }
+
+    private static final class Counters {
+
+        private final LocalDate day;
+        private final LocalDate startOfMonth;
+
+        // Refreshed by reconciliation only, nothing publishes events for these
+        private final long consultationsToday;
+        private final long activeDoctors;
+        private final long activeHelpDeskStaff;
+
+        private final LongAdder totalPatients = new LongAdder();
+        private final LongAdder activePatients = new LongAdder();
+        private final Map<RiskLevel, LongAdder> byRisk = adders();
+        private final Map<RiskLevel, LongAdder> activeByRisk = adders();
+        private final Map<String, LongAdder> activeByDistrict = new ConcurrentHashMap<>();
+        private final LongAdder registrationsToday = new LongAdder();
+        private final LongAdder successfulDeliveries = new LongAdder();
+        private final LongAdder motherMortality = new LongAdder();
+        private final LongAdder babyMortality = new LongAdder();
+        private final LongAdder healthChecksToday = new LongAdder();
+        private final LongAdder healthChecksThisMonth = new LongAdder();
+        private final LongAdder followUpsToday = new LongAdder();
+        private final LongAdder followUpsCompleted = new LongAdder();
+        private final LongAdder overdueFollowUps = new LongAdder();
+        private final LongAdder unacknowledgedAlerts = new LongAdder();
+        private final LongAdder criticalAlerts = new LongAdder();
+        private final LongAdder todaysAlerts = new LongAdder();
+
+        private Counters(LocalDate day, long consultationsToday, long activeDoctors, long activeHelpDeskStaff) {
+            this.day = day;
+            this.startOfMonth = day.withDayOfMonth(1);
+            this.consultationsToday = consultationsToday;
+            this.activeDoctors = activeDoctors;
+            this.activeHelpDeskStaff = activeHelpDeskStaff;
+        }
+
+        private static Map<RiskLevel, LongAdder> adders() {
+            Map<RiskLevel, LongAdder> map = new EnumMap<>(RiskLevel.class);
+            for (RiskLevel level : RiskLevel.values()) {
+                map.put(level, new LongAdder());
+            }
+            return map;
+        }
+
+        private LongAdder district(String district) {
+            return activeByDistrict.computeIfAbsent(
+                    district != null ? district : UNKNOWN_DISTRICT, key -> new LongAdder());
+        }
+
+        private void apply(PatientChangedEvent.Snapshot patient, int delta) {
+            if (patient == null) {
+                return;
+            }
+            totalPatients.add(delta);
+            if (patient.riskLevel() != null) {
+                byRisk.get(patient.riskLevel()).add(delta);
+            }
+            if (patient.status() == PatientStatus.ACTIVE) {
+                activePatients.add(delta);
+                if (patient.riskLevel() != null) {
+                    activeByRisk.get(patient.riskLevel()).add(delta);
+                }
+                district(patient.district()).add(delta);
+            }
+            if (day.equals(patient.registrationDate())) {
+                registrationsToday.add(delta);
+            }
+            DeliveryOutcome outcome = patient.deliveryOutcome();
+            if (outcome == DeliveryOutcome.SUCCESSFUL) {
+                successfulDeliveries.add(delta);
+            }
+            if (outcome == DeliveryOutcome.MOTHER_MORTALITY || outcome == DeliveryOutcome.BOTH_MORTALITY) {
+                motherMortality.add(delta);
+            }
+            if (outcome == DeliveryOutcome.BABY_MORTALITY || outcome == DeliveryOutcome.BOTH_MORTALITY) {
+                babyMortality.add(delta);
+            }
+        }
+
+        private void apply(HealthCheckChangedEvent.Snapshot healthCheck, int delta) {
+            if (healthCheck == null || healthCheck.checkDate() == null) {
+                return;
+            }
+            LocalDate checkDate = healthCheck.checkDate();
+            if (checkDate.equals(day)) {
+                healthChecksToday.add(delta);
+            }
+            if (!checkDate.isBefore(startOfMonth) && !checkDate.isAfter(day)) {
+                healthChecksThisMonth.add(delta);
+            }
+        }
+
+        private void apply(FollowUpChangedEvent.Snapshot followUp, int delta) {
+            if (followUp == null || followUp.scheduledDate() == null) {
+                return;
+            }
+            LocalDate scheduledDate = followUp.scheduledDate();
+            if (scheduledDate.equals(day)) {
+                followUpsToday.add(delta);
+                if (followUp.status() == FollowUpStatus.COMPLETED) {
+                    followUpsCompleted.add(delta);
+                }
+            } else if (scheduledDate.isBefore(day) && followUp.status() == FollowUpStatus.PENDING) {
+                overdueFollowUps.add(delta);
+            }
+        }
+
+        private void apply(RiskAlertChangedEvent.Snapshot alert, int delta) {
+            if (alert == null) {
+                return;
+            }
+            if (!alert.acknowledged()) {
+                unacknowledgedAlerts.add(delta);
+                if (alert.severity() == RiskLevel.RED) {
+                    criticalAlerts.add(delta);
+                }
+            }
+            if (day.equals(alert.createdDate())) {
+                todaysAlerts.add(delta);
+            }
+        }
+
+        private DashboardStats toStats() {
+            DashboardStats stats = new DashboardStats();
+            stats.setTotalPatients(totalPatients.sum());
+            stats.setActivePatients(activePatients.sum());
+            stats.setHighRiskPatients(byRisk.get(RiskLevel.RED).sum());
+            stats.setModerateRiskPatients(byRisk.get(RiskLevel.YELLOW).sum());
+            stats.setStablePatients(byRisk.get(RiskLevel.GREEN).sum());
+            stats.setNewRegistrationsToday(registrationsToday.sum());
+            stats.setSuccessfulDeliveries(successfulDeliveries.sum());
+            stats.setMotherMortality(motherMortality.sum());
+            stats.setBabyMortality(babyMortality.sum());
+            stats.setHealthChecksToday(healthChecksToday.sum());
+            stats.setHealthChecksThisMonth(healthChecksThisMonth.sum());
+            stats.setConsultationsToday(consultationsToday);
+            stats.setFollowUpsToday(followUpsToday.sum());
+            stats.setFollowUpsCompleted(followUpsCompleted.sum());
+            stats.setOverdueFollowUps(overdueFollowUps.sum());
+            stats.setUnacknowledgedAlerts(unacknowledgedAlerts.sum());
+            stats.setCriticalAlerts(criticalAlerts.sum());
+            stats.setTodaysAlerts(todaysAlerts.sum());
+            stats.setActiveDoctors(activeDoctors);
+            stats.setActiveHelpDeskStaff(activeHelpDeskStaff);
+            return stats;
+        }
+    }
+}
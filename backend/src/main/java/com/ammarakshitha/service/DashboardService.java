@@ -1,17 +1,25 @@
 package com.ammarakshitha.service;
 
 import com.ammarakshitha.dto.DashboardStats;
-import com.ammarakshitha.model.enums.DeliveryOutcome;
 import com.ammarakshitha.model.enums.RiskLevel;
 import com.ammarakshitha.model.enums.UserRole;
 import com.ammarakshitha.repository.*;
+import com.ammarakshitha.repository.projection.AlertOverviewCounts;
+import com.ammarakshitha.repository.projection.FollowUpOverviewCounts;
+import com.ammarakshitha.repository.projection.HealthCheckOverviewCounts;
+import com.ammarakshitha.repository.projection.PatientOverviewCounts;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,49 +36,122 @@ public class DashboardService {
     private final FollowUpRepository followUpRepository;
     private final RiskAlertRepository riskAlertRepository;
     private final UserRepository userRepository;
+    private final DashboardCounters dashboardCounters;
 
+    @Value("${app.dashboard.counters.enabled:true}")
+    private boolean countersEnabled;
+
+    /**
+     * Served from the in-memory counters; falls back to a recount when they are not yet
+     * seeded for today.
+     */
     public DashboardStats getOverviewStats() {
+        LocalDate today = LocalDate.now();
+        if (!countersEnabled) {
+            return countOverviewStats(today);
+        }
+        DashboardStats stats = dashboardCounters.snapshot(today);
+        return stats != null ? stats : reconcileCounters(today);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCounters() {
+        if (countersEnabled) {
+            reconcileCounters(LocalDate.now());
+        }
+    }
+
+    /**
+     * Periodically recounts from the database to correct drift and pick up changes that do
+     * not publish events (consultations, staff).
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.counters.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        if (countersEnabled) {
+            reconcileCounters(LocalDate.now());
+        }
+    }
+
+    private DashboardStats reconcileCounters(LocalDate today) {
+        long startGeneration = dashboardCounters.generation();
+        DashboardStats stats = countOverviewStats(today);
+
+        Map<RiskLevel, Long> activeByRisk = new EnumMap<>(RiskLevel.class);
+        for (Object[] row : patientRepository.countByRiskLevel()) {
+            if (row[0] != null) {
+                activeByRisk.put((RiskLevel) row[0], (Long) row[1]);
+            }
+        }
+        Map<String, Long> activeByDistrict = new HashMap<>();
+        for (Object[] row : patientRepository.countByDistrict()) {
+            String district = row[0] != null ? row[0].toString() : DashboardCounters.UNKNOWN_DISTRICT;
+            activeByDistrict.merge(district, (Long) row[1], Long::sum);
+        }
+
+        dashboardCounters.reset(startGeneration, today, stats, activeByRisk, activeByDistrict);
+        return stats;
+    }
+
+    /**
+     * Computes every overview counter with one grouped query per table instead of
+     * one query per counter. No entities are loaded.
+     */
+    DashboardStats countOverviewStats(LocalDate today) {
         DashboardStats stats = new DashboardStats();
 
-        // Patient statistics
-        stats.setTotalPatients(patientRepository.count());
-        stats.setActivePatients(patientRepository.countByStatus(com.ammarakshitha.model.enums.PatientStatus.ACTIVE));
-        stats.setHighRiskPatients(patientRepository.findByCurrentRiskLevel(RiskLevel.RED).size());
-        stats.setModerateRiskPatients(patientRepository.findByCurrentRiskLevel(RiskLevel.YELLOW).size());
-        stats.setStablePatients(patientRepository.findByCurrentRiskLevel(RiskLevel.GREEN).size());
-        stats.setNewRegistrationsToday(patientRepository.countRegisteredOnDate(LocalDate.now()));
+        LocalDateTime startOfDay = today.atStartOfDay();
+
+        // Patient and delivery statistics
+        PatientOverviewCounts patients = patientRepository.getOverviewCounts(today);
+        stats.setTotalPatients(patients.getTotalPatients());
+        stats.setActivePatients(patients.getActivePatients());
+        stats.setHighRiskPatients(patients.getHighRiskPatients());
+        stats.setModerateRiskPatients(patients.getModerateRiskPatients());
+        stats.setStablePatients(patients.getStablePatients());
+        stats.setNewRegistrationsToday(patients.getNewRegistrationsToday());
+        stats.setSuccessfulDeliveries(patients.getSuccessfulDeliveries());
+        stats.setMotherMortality(patients.getMotherMortality());
+        stats.setBabyMortality(patients.getBabyMortality());
 
         // Health check statistics
-        stats.setHealthChecksToday(healthCheckRepository.countOnDate(LocalDate.now()));
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        stats.setHealthChecksThisMonth(healthCheckRepository.countBetweenDates(startOfMonth, LocalDate.now()));
+        HealthCheckOverviewCounts healthChecks = healthCheckRepository.getOverviewCounts(today.withDayOfMonth(1), today);
+        stats.setHealthChecksToday(healthChecks.getHealthChecksToday());
+        stats.setHealthChecksThisMonth(healthChecks.getHealthChecksThisMonth());
 
         // Consultation statistics
         stats.setConsultationsToday(consultationRepository.countTodaysConsultations());
 
         // Follow-up statistics
-        stats.setFollowUpsToday(followUpRepository.countForDate(LocalDate.now()));
-        stats.setFollowUpsCompleted(followUpRepository.countCompletedForDate(LocalDate.now()));
-        stats.setOverdueFollowUps((long) followUpRepository.findOverdue(LocalDate.now()).size());
+        FollowUpOverviewCounts followUps = followUpRepository.getOverviewCounts(today);
+        stats.setFollowUpsToday(followUps.getFollowUpsToday());
+        stats.setFollowUpsCompleted(followUps.getFollowUpsCompleted());
+        stats.setOverdueFollowUps(followUps.getOverdueFollowUps());
 
         // Alert statistics
-        stats.setUnacknowledgedAlerts(riskAlertRepository.countUnacknowledged());
-        stats.setCriticalAlerts(riskAlertRepository.countCriticalUnacknowledged());
-        stats.setTodaysAlerts(riskAlertRepository.countTodaysAlerts());
-
-        // Delivery statistics
-        stats.setSuccessfulDeliveries(patientRepository.countByDeliveryOutcome(DeliveryOutcome.SUCCESSFUL));
-        stats.setMotherMortality(patientRepository.countMotherMortality());
-        stats.setBabyMortality(patientRepository.countBabyMortality());
+        AlertOverviewCounts alerts = riskAlertRepository.getOverviewCounts(startOfDay, startOfDay.plusDays(1));
+        stats.setUnacknowledgedAlerts(alerts.getUnacknowledgedAlerts());
+        stats.setCriticalAlerts(alerts.getCriticalAlerts());
+        stats.setTodaysAlerts(alerts.getTodaysAlerts());
 
         // Staff statistics
-        stats.setActiveDoctors(userRepository.countByRoleAndActive(UserRole.DOCTOR));
-        stats.setActiveHelpDeskStaff(userRepository.countByRoleAndActive(UserRole.HELP_DESK));
+        Map<UserRole, Long> staffByRole = new EnumMap<>(UserRole.class);
+        for (Object[] row : userRepository.countActiveByRole()) {
+            staffByRole.put((UserRole) row[0], (Long) row[1]);
+        }
+        stats.setActiveDoctors(staffByRole.getOrDefault(UserRole.DOCTOR, 0L));
+        stats.setActiveHelpDeskStaff(staffByRole.getOrDefault(UserRole.HELP_DESK, 0L));
 
         return stats;
     }
 
     public Map<String, Object> getRiskDistribution() {
+        if (countersEnabled) {
+            Map<String, Object> cached = dashboardCounters.riskDistribution(LocalDate.now());
+            if (cached != null) {
+                return cached;
+            }
+        }
         Map<String, Object> distribution = new HashMap<>();
 
         List<Object[]> riskCounts = patientRepository.countByRiskLevel();
@@ -82,6 +163,12 @@ public class DashboardService {
     }
 
     public Map<String, Object> getDistrictWiseStats() {
+        if (countersEnabled) {
+            Map<String, Object> cached = dashboardCounters.districtDistribution(LocalDate.now());
+            if (cached != null) {
+                return cached;
+            }
+        }
         Map<String, Object> districtStats = new HashMap<>();
 
         List<Object[]> districtCounts = patientRepository.countByDistrict();
@@ -138,8 +225,8 @@ public class DashboardService {
         LocalDate today = LocalDate.now();
         summary.put("scheduled_today", followUpRepository.countForDate(today));
         summary.put("completed_today", followUpRepository.countCompletedForDate(today));
-        summary.put("overdue", followUpRepository.findOverdue(today).size());
-        summary.put("requiring_doctor_consultation", followUpRepository.findRequiringDoctorConsultation().size());
+        summary.put("overdue", followUpRepository.countOverdue(today));
+        summary.put("requiring_doctor_consultation", followUpRepository.countRequiringDoctorConsultation());
 
         List<Object[]> statusCounts = followUpRepository.countByStatus();
         Map<String, Long> byStatus = new HashMap<>();
@@ -158,13 +245,13 @@ public class DashboardService {
         LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1);
 
-        stats.setConsultationsToday((long) consultationRepository
-                .findByDoctorAndScheduledTimeBetween(doctorId, startOfDay, endOfDay).size());
-        stats.setUpcomingConsultations((long) consultationRepository
-                .findUpcomingConsultationsForDoctor(doctorId, now).size());
+        stats.setConsultationsToday(consultationRepository
+                .countByDoctorAndScheduledTimeBetween(doctorId, startOfDay, endOfDay));
+        stats.setUpcomingConsultations(consultationRepository
+                .countUpcomingConsultationsForDoctor(doctorId, now));
 
         // High risk patients needing attention
-        stats.setHighRiskPatients(patientRepository.findByCurrentRiskLevel(RiskLevel.RED).size());
+        stats.setHighRiskPatients(patientRepository.countByCurrentRiskLevel(RiskLevel.RED));
 
         return stats;
     }
@@ -175,7 +262,7 @@ public class DashboardService {
         LocalDate today = LocalDate.now();
 
         stats.setFollowUpsToday(followUpRepository.countPendingTodayForUser(userId));
-        stats.setOverdueFollowUps((long) followUpRepository.findOverdueForUser(userId, today).size());
+        stats.setOverdueFollowUps(followUpRepository.countOverdueForUser(userId, today));
         stats.setNewRegistrationsToday(patientRepository.countRegisteredOnDate(today));
 
         return stats;
@@ -0,0 +1,78 @@
+package com.ammarakshitha.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Cell values of one spreadsheet row, typed the same way whether the row comes from a POI
+ * {@link Row} or is streamed from the sheet XML by {@link StreamingSheetReader}, so both upload
+ * modes parse identically.
+ */
+final class ExcelRowValues {
+
+    enum Kind { STRING, NUMERIC, BOOLEAN, FORMULA }
+
+    /**
+     * {@code date} is set for date formatted numeric cells. Formula cells carry their cached
+     * result in {@code text} (string results) or {@code number}.
+     */
+    record CellValue(Kind kind, String text, double number, boolean bool, LocalDate date) {
+
+        static CellValue string(String text) {
+            return new CellValue(Kind.STRING, text, 0, false, null);
+        }
+
+        static CellValue numeric(double number, LocalDate date) {
+            return new CellValue(Kind.NUMERIC, null, number, false, date);
+        }
+
+        static CellValue bool(boolean value) {
+            return new CellValue(Kind.BOOLEAN, null, 0, value, null);
+        }
+
+        static CellValue formula(String text, double number) {
+            return new CellValue(Kind.FORMULA, text, number, false, null);
+        }
+    }
+
+    private CellValue[] cells = new CellValue[20];
+
+    CellValue get(int column) {
+        return column < cells.length ? cells[column] : null;
+    }
+
+    void set(int column, CellValue value) {
+        if (column >= cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length * 2));
+        }
+        cells[column] = value;
+    }
+
+    static ExcelRowValues of(Row row) {
+        ExcelRowValues values = new ExcelRowValues();
+        for (Cell cell : row) {
+            CellValue value = switch (cell.getCellType()) {
+                case STRING -> CellValue.string(cell.getStringCellValue());
+                case NUMERIC -> CellValue.numeric(cell.getNumericCellValue(), DateUtil.isCellDateFormatted(cell)
+                        ? cell.getDateCellValue().toInstant().atZone(ZoneId.systemDefault()).toLocalDate()
+                        : null);
+                case BOOLEAN -> CellValue.bool(cell.getBooleanCellValue());
+                case FORMULA -> switch (cell.getCachedFormulaResultType()) {
+                    case STRING -> CellValue.formula(cell.getStringCellValue(), 0);
+                    case NUMERIC -> CellValue.formula(null, cell.getNumericCellValue());
+                    default -> null;
+                };
+                default -> null;
+            };
+            if (value != null) {
+                values.set(cell.getColumnIndex(), value);
+            }
+        }
+        return values;
+    }
+}
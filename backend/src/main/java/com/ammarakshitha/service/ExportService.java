@@ -0,0 +1,602 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.exception.BusinessException;
+import com.ammarakshitha.model.enums.ExportFormat;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.ReportSection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams report data straight from the database to a download. Rows are read with a
+ * forward-only cursor and written as they arrive: CSV directly to the response stream, XLSX
+ * through {@link SXSSFWorkbook}, which keeps only a small window of rows in memory and spills the
+ * rest to a temporary file. Heap use does not grow with the number of rows exported.
+ *
+ * <p>Printable reports are streamed the same way as an HTML document the browser prints to PDF.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    // Rows of the current XLSX sheet kept in memory; older ones are flushed to the temp file
+    private static final int XLSX_ROW_WINDOW = 200;
+
+    private static final List<Column> PATIENT_COLUMNS = List.of(
+            new Column("Mother ID", "mother_id"),
+            new Column("Name", "name"),
+            new Column("Age", "age"),
+            new Column("Husband Name", "husband_name"),
+            new Column("Mobile Number", "mobile_number"),
+            new Column("District", "district"),
+            new Column("Mandal", "mandal"),
+            new Column("Village", "village"),
+            new Column("LMP Date", "lmp_date"),
+            new Column("EDD", "edd_date"),
+            new Column("Gravida", "gravida"),
+            new Column("Para", "para"),
+            new Column("Blood Group", "blood_group"),
+            new Column("Risk Level", "current_risk_level"),
+            new Column("Risk Score", "current_risk_score"),
+            new Column("Status", "status"),
+            new Column("Delivery Outcome", "delivery_outcome"),
+            new Column("Registration Date", "registration_date"));
+
+    private static final List<Column> DELIVERY_COLUMNS = List.of(
+            new Column("Mother ID", "mother_id"),
+            new Column("Name", "name"),
+            new Column("Mobile Number", "mobile_number"),
+            new Column("District", "district"),
+            new Column("Delivery Date", "delivery_date"),
+            new Column("Delivery Type", "delivery_type"),
+            new Column("Outcome", "delivery_outcome"),
+            new Column("Number of Babies", "number_of_babies"),
+            new Column("Baby Weight (kg)", "baby_weight"),
+            new Column("Baby Gender", "baby_gender"),
+            new Column("Hospital", "delivery_hospital"));
+
+    private static final List<Column> MORTALITY_COLUMNS = List.of(
+            new Column("Mother ID", "mother_id"),
+            new Column("Name", "name"),
+            new Column("Mobile Number", "mobile_number"),
+            new Column("District", "district"),
+            new Column("Outcome", "delivery_outcome"),
+            new Column("Mortality Date", "mortality_date"),
+            new Column("Cause", "mortality_cause"),
+            new Column("Notes", "mortality_notes"));
+
+    private static final List<Column> HEALTH_CHECK_COLUMNS = List.of(
+            new Column("Check Date", "check_date"),
+            new Column("Mother ID", "mother_id"),
+            new Column("Name", "name"),
+            new Column("BP Systolic", "bp_systolic"),
+            new Column("BP Diastolic", "bp_diastolic"),
+            new Column("Pulse", "pulse_rate"),
+            new Column("Hemoglobin", "hemoglobin"),
+            new Column("Weight (kg)", "weight"),
+            new Column("Fetal Heart Rate", "fetal_heart_rate"),
+            new Column("Risk Level", "risk_level"),
+            new Column("Risk Score", "risk_score"),
+            new Column("Risk Factors", "risk_factors"),
+            new Column("Referred to Hospital", "referred_to_hospital"));
+
+    private static final List<Column> ACTIVE_REPORT_COLUMNS = List.of(
+            new Column("Mother ID", "mother_id"),
+            new Column("Name", "name"),
+            new Column("Age", "age"),
+            new Column("Mobile Number", "mobile_number"),
+            new Column("Village", "village"),
+            new Column("Mandal", "mandal"),
+            new Column("LMP Date", "lmp_date"),
+            new Column("EDD", "edd_date"),
+            new Column("Risk Level", "current_risk_level"),
+            new Column("Blood Group", "blood_group"),
+            new Column("Gravida", "gravida"),
+            new Column("Para", "para"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    record Column(String header, String name) {
+    }
+
+    public void exportPatients(PatientStatus status, ExportFormat format, OutputStream out) throws IOException {
+        String sql = "SELECT * FROM patients" + (status != null ? " WHERE status = ?" : "") + " ORDER BY id";
+        Object[] params = status != null ? new Object[] {status.name()} : new Object[0];
+        export("Patients", PATIENT_COLUMNS, sql, params, format, out);
+    }
+
+    public void exportDeliveries(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out)
+            throws IOException {
+        export("Deliveries", DELIVERY_COLUMNS,
+                "SELECT * FROM patients WHERE delivery_date BETWEEN ? AND ? ORDER BY delivery_date DESC, id",
+                new Object[] {startDate, endDate}, format, out);
+    }
+
+    public void exportMortality(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out)
+            throws IOException {
+        export("Mortality", MORTALITY_COLUMNS,
+                "SELECT * FROM patients WHERE mortality_date BETWEEN ? AND ? ORDER BY mortality_date DESC, id",
+                new Object[] {startDate, endDate}, format, out);
+    }
+
+    public void exportHealthChecks(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out)
+            throws IOException {
+        export("Health Checks", HEALTH_CHECK_COLUMNS,
+                "SELECT h.*, p.mother_id, p.name FROM health_checks h JOIN patients p ON p.id = h.patient_id " +
+                "WHERE (h.is_active = TRUE OR h.is_active IS NULL) AND h.check_date BETWEEN ? AND ? ORDER BY h.check_date DESC, h.id",
+                new Object[] {startDate, endDate}, format, out);
+    }
+
+    /**
+     * Rejects a printable report request before anything is streamed.
+     */
+    public void validateReport(List<ReportSection> sections, LocalDate startDate, LocalDate endDate) {
+        if (sections == null || sections.isEmpty()) {
+            throw new BusinessException("Choose at least one report section");
+        }
+        boolean dated = sections.contains(ReportSection.DELIVERIES) || sections.contains(ReportSection.MORTALITY);
+        if (dated && (startDate == null || endDate == null)) {
+            throw new BusinessException("Start and end date are required for deliveries and mortality");
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+    }
+
+    /**
+     * Writes the chosen sections as one printable HTML document, each a table followed by its
+     * total and a count per risk level or delivery outcome.
+     */
+    public void printReport(List<ReportSection> sections, LocalDate startDate, LocalDate endDate,
+                            OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        HtmlReportWriter writer = new HtmlReportWriter(out);
+        writer.begin(sections.stream().distinct().map(ExportService::sectionTitle).toList(), startDate, endDate);
+        for (ReportSection section : sections.stream().distinct().toList()) {
+            switch (section) {
+                case ACTIVE_PATIENTS -> printSection(writer, section, ACTIVE_REPORT_COLUMNS, "current_risk_level",
+                        "SELECT * FROM patients WHERE status = 'ACTIVE' " +
+                        "AND (delivery_outcome IS NULL OR delivery_outcome = 'PENDING') " +
+                        "ORDER BY current_risk_score DESC, id", new Object[0]);
+                case DELIVERIES -> printSection(writer, section, DELIVERY_COLUMNS, "delivery_outcome",
+                        "SELECT * FROM patients WHERE delivery_date BETWEEN ? AND ? ORDER BY delivery_date DESC, id",
+                        new Object[] {startDate, endDate});
+                case MORTALITY -> printSection(writer, section, MORTALITY_COLUMNS, "delivery_outcome",
+                        "SELECT * FROM patients WHERE mortality_date BETWEEN ? AND ? ORDER BY mortality_date DESC, id",
+                        new Object[] {startDate, endDate});
+            }
+        }
+        writer.end();
+        log.info("Printed report {} in {} ms", sections, System.currentTimeMillis() - start);
+    }
+
+    private void printSection(HtmlReportWriter writer, ReportSection section, List<Column> columns,
+                              String splitColumn, String sql, Object[] params) throws IOException {
+        int splitIndex = columns.stream().map(Column::name).toList().indexOf(splitColumn);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        writer.section(sectionTitle(section), columns);
+        int rows = stream(sql, params, columns, values -> {
+            Object split = values[splitIndex];
+            counts.merge(split != null ? split.toString() : "Not recorded", 1L, Long::sum);
+            writer.row(values, split);
+        });
+        writer.endSection(columns.size(), rows, counts);
+    }
+
+    private static String sectionTitle(ReportSection section) {
+        return switch (section) {
+            case ACTIVE_PATIENTS -> "Active Pregnant Ladies";
+            case DELIVERIES -> "Deliveries";
+            case MORTALITY -> "Mortality";
+        };
+    }
+
+    private void export(String title, List<Column> columns, String sql, Object[] params,
+                        ExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        int rowCount;
+        try (RowWriter writer = format == ExportFormat.CSV
+                ? new CsvRowWriter(out)
+                : new XlsxRowWriter(title, out, XlsxRowWriter.MAX_DATA_ROWS)) {
+            writer.header(columns);
+            rowCount = stream(sql, params, columns, writer::row);
+            writer.finish();
+        }
+        log.info("Exported {} {} rows as {} in {} ms", rowCount, title, format, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Runs {@code sql} and hands each row's column values to {@code handler}, reusing one array.
+     *
+     * @return the number of rows
+     */
+    private int stream(String sql, Object[] params, List<Column> columns, RowHandler handler) throws IOException {
+        int[] rowCount = {0};
+        Object[] values = new Object[columns.size()];
+
+        // Stream with a cursor; on PostgreSQL the fetch size only applies inside a transaction
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursor.setFetchSize(FETCH_SIZE);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> cursor.query(sql, rs -> {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = value(rs, columns.get(i).name());
+                }
+                try {
+                    handler.row(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            }, params));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rowCount[0];
+    }
+
+    private static Object value(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+
+        void row(Object[] values) throws IOException;
+    }
+
+    interface RowWriter extends AutoCloseable {
+
+        void header(List<Column> columns) throws IOException;
+
+        void row(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            // Byte order mark, so Excel opens the file as UTF-8 and keeps Telugu text intact
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void header(List<Column> columns) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                field(i, columns.get(i).header());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    field(i, "");
+                } else if (value instanceof Boolean bool) {
+                    field(i, bool ? "Yes" : "No");
+                } else if (value instanceof Number) {
+                    field(i, value.toString());
+                } else {
+                    field(i, plainText(String.valueOf(value)));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void field(int index, String value) throws IOException {
+            if (index > 0) {
+                writer.write(',');
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        // Spreadsheets run text starting with these as a formula; a leading quote keeps it text
+        private static String plainText(String value) {
+            if (value.isEmpty()) {
+                return value;
+            }
+            char first = value.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                    ? "'" + value
+                    : value;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The response stream is closed by the container
+            writer.flush();
+        }
+    }
+
+    static final class XlsxRowWriter implements RowWriter {
+
+        static final int MAX_DATA_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+        private final SXSSFWorkbook workbook;
+        private final OutputStream out;
+        private final String title;
+        private final int maxDataRows;
+        private final CellStyle headerStyle;
+        private final CellStyle dateStyle;
+        private final CellStyle dateTimeStyle;
+        private String[] headers;
+        private Sheet sheet;
+        private int sheetCount;
+        private int rowIndex;
+
+        XlsxRowWriter(String title, OutputStream out, int maxDataRows) {
+            this.workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+            this.workbook.setCompressTempFiles(true);
+            this.out = out;
+            this.title = title;
+            this.maxDataRows = maxDataRows;
+
+            headerStyle = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+            dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy"));
+            dateTimeStyle = workbook.createCellStyle();
+            dateTimeStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+        }
+
+        @Override
+        public void header(List<Column> columns) {
+            headers = columns.stream().map(Column::header).toArray(String[]::new);
+            newSheet();
+        }
+
+        private void newSheet() {
+            sheetCount++;
+            sheet = workbook.createSheet(sheetCount == 1 ? title : title + " (" + sheetCount + ")");
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(headers[i]);
+                cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, 5000);
+            }
+            rowIndex = 1;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            // Continue on a new sheet past Excel's row limit
+            if (rowIndex > maxDataRows) {
+                newSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else if (value instanceof LocalDate date) {
+                    cell.setCellValue(date);
+                    cell.setCellStyle(dateStyle);
+                } else if (value instanceof LocalDateTime dateTime) {
+                    cell.setCellValue(dateTime);
+                    cell.setCellStyle(dateTimeStyle);
+                } else if (value instanceof Boolean bool) {
+                    cell.setCellValue(bool ? "Yes" : "No");
+                } else {
+                    cell.setCellValue(String.valueOf(value));
+                }
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(out);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.dispose();
+            } finally {
+                workbook.close();
+            }
+        }
+    }
+
+    /**
+     * Printable HTML, one table per section. The browser's print dialog turns it into the PDF.
+     */
+    private static final class HtmlReportWriter {
+
+        private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+        private final Writer writer;
+        private int serial;
+
+        private HtmlReportWriter(OutputStream out) {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        private void begin(List<String> titles, LocalDate startDate, LocalDate endDate) throws IOException {
+            String title = String.join(", ", titles) + " Report";
+            writer.write("<!DOCTYPE html><html><head><meta charset=\"UTF-8\"><title>");
+            escape(title);
+            writer.write("</title><style>"
+                    + "@page{size:A4 landscape;margin:10mm}"
+                    + "body{font-family:Arial,sans-serif;font-size:10px;color:#333}"
+                    + ".header{text-align:center;border-bottom:2px solid #1976d2;padding-bottom:8px;margin-bottom:12px}"
+                    + ".header h1{margin:4px 0;font-size:18px;color:#1976d2}"
+                    + ".header h2{margin:4px 0;font-size:14px}"
+                    + ".header p{margin:2px 0;color:#666}"
+                    + "h3{font-size:13px;margin:16px 0 6px;color:#1976d2}"
+                    + "table{width:100%;border-collapse:collapse;page-break-inside:auto}"
+                    + "tr{page-break-inside:avoid}"
+                    + "thead{display:table-header-group}"
+                    + "th,td{border:1px solid #ccc;padding:3px 4px;text-align:left}"
+                    + "th{background:#1976d2;color:#fff}"
+                    + "tr.RED td,tr.MOTHER_MORTALITY td,tr.BOTH_MORTALITY td{background:#ffebee}"
+                    + "tr.YELLOW td,tr.BABY_MORTALITY td{background:#fff8e1}"
+                    + ".empty{text-align:center;color:#999}"
+                    + ".summary{margin:6px 0 12px}.summary span{margin-right:16px}"
+                    + ".footer{margin-top:16px;text-align:center;color:#999}"
+                    + "</style></head><body><div class=\"header\">"
+                    + "<p>Government of Telangana &middot; District Nirmal</p><h1>AMMA RAKSHITHA</h1><h2>");
+            escape(title);
+            writer.write("</h2><p>Generated on ");
+            writer.write(LocalDate.now().format(DATE));
+            if (startDate != null && endDate != null) {
+                writer.write(" &middot; Period ");
+                writer.write(startDate.format(DATE));
+                writer.write(" to ");
+                writer.write(endDate.format(DATE));
+            }
+            writer.write("</p></div>");
+        }
+
+        private void section(String title, List<Column> columns) throws IOException {
+            serial = 0;
+            writer.write("<h3>");
+            escape(title);
+            writer.write("</h3><table><thead><tr><th>S.No</th>");
+            for (Column column : columns) {
+                writer.write("<th>");
+                escape(column.header());
+                writer.write("</th>");
+            }
+            writer.write("</tr></thead><tbody>");
+        }
+
+        private void row(Object[] values, Object split) throws IOException {
+            writer.write("<tr");
+            if (split != null) {
+                writer.write(" class=\"");
+                escape(split.toString());
+                writer.write('"');
+            }
+            writer.write("><td>");
+            writer.write(Integer.toString(++serial));
+            writer.write("</td>");
+            for (Object value : values) {
+                writer.write("<td>");
+                if (value instanceof LocalDate date) {
+                    writer.write(date.format(DATE));
+                } else if (value instanceof LocalDateTime dateTime) {
+                    writer.write(dateTime.format(DATE_TIME));
+                } else if (value instanceof Boolean bool) {
+                    writer.write(bool ? "Yes" : "No");
+                } else if (value != null) {
+                    escape(value.toString());
+                } else {
+                    writer.write("-");
+                }
+                writer.write("</td>");
+            }
+            writer.write("</tr>");
+        }
+
+        private void endSection(int columnCount, int rows, Map<String, Long> counts) throws IOException {
+            if (rows == 0) {
+                writer.write("<tr><td class=\"empty\" colspan=\"");
+                writer.write(Integer.toString(columnCount + 1));
+                writer.write("\">No records</td></tr>");
+            }
+            writer.write("</tbody></table><div class=\"summary\"><span><b>Total:</b> ");
+            writer.write(Integer.toString(rows));
+            writer.write("</span>");
+            for (Map.Entry<String, Long> count : counts.entrySet()) {
+                writer.write("<span><b>");
+                escape(count.getKey().replace('_', ' ').toLowerCase(Locale.ROOT));
+                writer.write(":</b> ");
+                writer.write(Long.toString(count.getValue()));
+                writer.write("</span>");
+            }
+            writer.write("</div>");
+        }
+
+        private void end() throws IOException {
+            writer.write("<div class=\"footer\">AMMA RAKSHITHA &middot; Maternal Health Monitoring</div></body></html>");
+            writer.flush();
+        }
+
+        private void escape(String value) throws IOException {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '<' -> writer.write("&lt;");
+                    case '>' -> writer.write("&gt;");
+                    case '&' -> writer.write("&amp;");
+                    case '"' -> writer.write("&quot;");
+                    case '\'' -> writer.write("&#39;");
+                    default -> writer.write(c);
+                }
+            }
+        }
+    }
+}
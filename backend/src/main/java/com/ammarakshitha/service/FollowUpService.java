@@ -1,7 +1,12 @@
 package com.ammarakshitha.service;
 
+import com.ammarakshitha.dto.CursorPage;
+import com.ammarakshitha.dto.FollowUpDTO;
 import com.ammarakshitha.dto.FollowUpRequest;
 import com.ammarakshitha.dto.FollowUpUpdateRequest;
+import com.ammarakshitha.dto.PageCursor;
+import com.ammarakshitha.event.FollowUpChangedEvent;
+import com.ammarakshitha.event.RiskAlertChangedEvent;
 import com.ammarakshitha.exception.BusinessException;
 import com.ammarakshitha.exception.ResourceNotFoundException;
 import com.ammarakshitha.model.FollowUp;
@@ -17,8 +22,13 @@ import com.ammarakshitha.repository.RiskAlertRepository;
 import com.ammarakshitha.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,8 +46,13 @@ public class FollowUpService {
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
     private final RiskAlertRepository riskAlertRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public FollowUp createFollowUp(FollowUpRequest request) {
+    // Rows returned by the unpaged list endpoints; the rest needs page and size
+    @Value("${app.pagination.max-results:500}")
+    private int maxResults;
+
+    public FollowUpDTO createFollowUp(FollowUpRequest request) {
         log.info("Creating follow-up for patient: {}", request.getPatientId());
 
         Patient patient = patientRepository.findById(request.getPatientId())
@@ -54,11 +69,14 @@ public class FollowUpService {
                 .notes(request.getNotes())
                 .build();
 
-        return followUpRepository.save(followUp);
+        FollowUp savedFollowUp = followUpRepository.save(followUp);
+        publishChange(null, savedFollowUp);
+        return getFollowUpById(savedFollowUp.getId());
     }
 
-    public FollowUp updateFollowUp(Long followUpId, FollowUpUpdateRequest request) {
-        FollowUp followUp = getFollowUpById(followUpId);
+    public FollowUpDTO updateFollowUp(Long followUpId, FollowUpUpdateRequest request) {
+        FollowUp followUp = findFollowUp(followUpId);
+        FollowUpChangedEvent.Snapshot before = FollowUpChangedEvent.Snapshot.of(followUp);
 
         followUp.setStatus(request.getStatus());
         followUp.setCallAttemptedAt(LocalDateTime.now());
@@ -90,7 +108,9 @@ public class FollowUpService {
         followUp.setNotes(request.getNotes());
 
         log.info("Follow-up updated: {} with status: {}", followUpId, request.getStatus());
-        return followUpRepository.save(followUp);
+        FollowUp savedFollowUp = followUpRepository.save(followUp);
+        publishChange(before, savedFollowUp);
+        return getFollowUpById(followUpId);
     }
 
     private void createImmediateAttentionAlert(FollowUp followUp) {
@@ -111,6 +131,7 @@ public class FollowUpService {
                 .build();
 
         riskAlertRepository.save(alert);
+        eventPublisher.publishEvent(new RiskAlertChangedEvent(null, RiskAlertChangedEvent.Snapshot.of(alert)));
         log.warn("Immediate attention alert created for patient: {}", followUp.getPatient().getMotherId());
     }
 
@@ -124,74 +145,84 @@ public class FollowUpService {
                 .build();
 
         followUpRepository.save(nextFollowUp);
+        publishChange(null, nextFollowUp);
         log.info("Next follow-up scheduled for: {}", nextDate);
     }
 
-    public FollowUp rescheduleFollowUp(Long followUpId, LocalDate newDate) {
-        FollowUp followUp = getFollowUpById(followUpId);
+    public FollowUpDTO rescheduleFollowUp(Long followUpId, LocalDate newDate) {
+        FollowUp followUp = findFollowUp(followUpId);
 
         if (followUp.getStatus() == FollowUpStatus.COMPLETED) {
             throw new BusinessException("Cannot reschedule completed follow-up");
         }
 
+        FollowUpChangedEvent.Snapshot before = FollowUpChangedEvent.Snapshot.of(followUp);
         followUp.setScheduledDate(newDate);
         followUp.setStatus(FollowUpStatus.RESCHEDULED);
 
-        return followUpRepository.save(followUp);
+        FollowUp savedFollowUp = followUpRepository.save(followUp);
+        publishChange(before, savedFollowUp);
+        return getFollowUpById(followUpId);
     }
 
-    public FollowUp reassignFollowUp(Long followUpId, Long newAssigneeId) {
-        FollowUp followUp = getFollowUpById(followUpId);
+    public FollowUpDTO reassignFollowUp(Long followUpId, Long newAssigneeId) {
+        FollowUp followUp = findFollowUp(followUpId);
         User newAssignee = userRepository.findById(newAssigneeId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         followUp.setAssignedTo(newAssignee);
-        return followUpRepository.save(followUp);
+        followUpRepository.save(followUp);
+        return getFollowUpById(followUpId);
     }
 
-    @Transactional(readOnly = true)
-    public FollowUp getFollowUpById(Long id) {
+    private FollowUp findFollowUp(Long id) {
         return followUpRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Follow-up not found"));
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getFollowUpsByPatientId(Long patientId) {
-        return followUpRepository.findByPatientId(patientId);
+    public FollowUpDTO getFollowUpById(Long id) {
+        return followUpRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Follow-up not found"));
     }
 
     @Transactional(readOnly = true)
-    public Page<FollowUp> getFollowUpsByAssignedUser(Long userId, Pageable pageable) {
-        return followUpRepository.findByAssignedToId(userId, pageable);
+    public List<FollowUpDTO> getFollowUpsByPatientId(Long patientId) {
+        return followUpRepository.findViewsByPatientId(patientId);
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getTodaysPendingFollowUps(Long userId) {
+    public Page<FollowUpDTO> getFollowUpsByAssignedUser(Long userId, Pageable pageable) {
+        return followUpRepository.findViewsByAssignedToId(userId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<FollowUpDTO> getTodaysPendingFollowUps(Long userId) {
         return followUpRepository.findTodaysPendingForUser(userId);
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getTodaysFollowUps() {
+    public List<FollowUpDTO> getTodaysFollowUps() {
         return followUpRepository.findTodaysFollowUps();
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getOverdueFollowUps() {
+    public List<FollowUpDTO> getOverdueFollowUps() {
         return followUpRepository.findOverdue(LocalDate.now());
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getUpcomingFollowUps() {
+    public List<FollowUpDTO> getUpcomingFollowUps() {
         return followUpRepository.findUpcoming(LocalDate.now());
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getOverdueFollowUpsForUser(Long userId) {
+    public List<FollowUpDTO> getOverdueFollowUpsForUser(Long userId) {
         return followUpRepository.findOverdueForUser(userId, LocalDate.now());
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getFollowUpsRequiringDoctorConsultation() {
+    public List<FollowUpDTO> getFollowUpsRequiringDoctorConsultation() {
         return followUpRepository.findRequiringDoctorConsultation();
     }
 
@@ -211,36 +242,58 @@ public class FollowUpService {
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getFollowUpsByDateRange(LocalDate startDate, LocalDate endDate) {
+    public List<FollowUpDTO> getFollowUpsByDateRange(LocalDate startDate, LocalDate endDate) {
         return followUpRepository.findByScheduledDateBetween(startDate, endDate);
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getAllFollowUps() {
-        return followUpRepository.findAll();
+    public Page<FollowUpDTO> getAllFollowUps(FollowUpStatus status) {
+        return getAllFollowUps(status, PageRequest.of(0, maxResults,
+                Sort.by(Sort.Direction.DESC, "scheduledDate", "id")));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<FollowUpDTO> getAllFollowUps(FollowUpStatus status, Pageable pageable) {
+        return followUpRepository.findViews(status, Pagination.capped(pageable, maxResults));
     }
 
     @Transactional(readOnly = true)
-    public List<FollowUp> getPastFollowUps() {
-        return followUpRepository.findPastFollowUps();
+    public Page<FollowUpDTO> getPastFollowUps() {
+        return followUpRepository.findPastFollowUps(PageRequest.of(0, maxResults));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<FollowUpDTO> getPastFollowUps(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = CursorPage.limit(size);
+        Slice<FollowUpDTO> slice = after == null
+                ? followUpRepository.findPastFollowUpsFirst(limit)
+                : followUpRepository.findPastFollowUpsAfter(after.dateKey(), after.id(), limit);
+        return CursorPage.of(slice, f -> PageCursor.of(f.getScheduledDate(), f.getId()));
     }
 
     /**
      * Update the photo URL for a follow-up (after photo upload).
      */
-    public FollowUp updatePhotoUrl(Long followUpId, String photoUrl) {
-        FollowUp followUp = getFollowUpById(followUpId);
+    public FollowUpDTO updatePhotoUrl(Long followUpId, String photoUrl) {
+        FollowUp followUp = findFollowUp(followUpId);
         followUp.setPhotoUrl(photoUrl);
         log.info("Photo uploaded for follow-up: {}", followUpId);
-        return followUpRepository.save(followUp);
+        followUpRepository.save(followUp);
+        return getFollowUpById(followUpId);
     }
 
     /**
      * Delete a follow-up by ID.
      */
     public void deleteFollowUp(Long followUpId) {
-        FollowUp followUp = getFollowUpById(followUpId);
+        FollowUp followUp = findFollowUp(followUpId);
         followUpRepository.delete(followUp);
+        eventPublisher.publishEvent(new FollowUpChangedEvent(FollowUpChangedEvent.Snapshot.of(followUp), null));
         log.info("Follow-up deleted: {}", followUpId);
     }
+
+    private void publishChange(FollowUpChangedEvent.Snapshot before, FollowUp after) {
+        eventPublisher.publishEvent(new FollowUpChangedEvent(before, FollowUpChangedEvent.Snapshot.of(after)));
+    }
 }
@@ -1,6 +1,12 @@
 package com.ammarakshitha.service;
 
+import com.ammarakshitha.dto.CursorPage;
 import com.ammarakshitha.dto.HealthCheckRequest;
+import com.ammarakshitha.dto.PageCursor;
+import com.ammarakshitha.event.FollowUpChangedEvent;
+import com.ammarakshitha.event.HealthCheckChangedEvent;
+import com.ammarakshitha.event.RiskAlertChangedEvent;
+import com.ammarakshitha.exception.BusinessException;
 import com.ammarakshitha.exception.ResourceNotFoundException;
 import com.ammarakshitha.model.FollowUp;
 import com.ammarakshitha.model.HealthCheck;
@@ -9,7 +15,9 @@ import com.ammarakshitha.model.RiskAlert;
 import com.ammarakshitha.model.User;
 import com.ammarakshitha.model.enums.AlertType;
 import com.ammarakshitha.model.enums.FollowUpStatus;
+import com.ammarakshitha.model.enums.OutboxEventType;
 import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.model.enums.UserRole;
 import com.ammarakshitha.repository.FollowUpRepository;
 import com.ammarakshitha.repository.HealthCheckRepository;
 import com.ammarakshitha.repository.PatientRepository;
@@ -17,8 +25,13 @@ import com.ammarakshitha.repository.RiskAlertRepository;
 import com.ammarakshitha.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,6 +52,12 @@ public class HealthCheckService {
     private final FollowUpRepository followUpRepository;
     private final RiskAssessmentService riskAssessmentService;
     private final PatientService patientService;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Rows returned by the unpaged list endpoints; the rest needs page and size
+    @Value("${app.pagination.max-results:500}")
+    private int maxResults;
 
     @Transactional
     public HealthCheck performHealthCheck(HealthCheckRequest request, Long performedByUserId) {
@@ -51,6 +70,7 @@ public class HealthCheckService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         HealthCheck healthCheck = null;
+        HealthCheckChangedEvent.Snapshot before = null;
         Optional<HealthCheck> existingHealthCheckOpt =  Optional.empty();
         // If there is an existing health check ID provided, we check if it exists and belongs to the same patient. If it does, we update that record instead of creating a new one.
         if(request.getId() != null) {
@@ -61,6 +81,7 @@ public class HealthCheckService {
 		if(existingHealthCheckOpt.isPresent()) {
 			log.info("Existing health check found for patient: {} on date: {}. Updating existing record. id {} ", patient.getMotherId(), request.getCheckDate(), existingHealthCheckOpt.get().getId());
 			HealthCheck existingHealthCheck = existingHealthCheckOpt.get();
+			before = HealthCheckChangedEvent.Snapshot.of(existingHealthCheck);
 			existingHealthCheck.setPerformedBy(performedBy);
 			existingHealthCheck.setId(request.getId());
 			existingHealthCheck.setCheckDate(request.getCheckDate() != null ? request.getCheckDate() : LocalDate.now());
@@ -136,56 +157,122 @@ public class HealthCheckService {
 
         healthCheck.setRiskScore(riskResult.score());
         healthCheck.setRiskLevel(riskResult.riskLevel());
-        healthCheck.setRiskFactors(String.join("; ", riskResult.riskFactors()));
+        healthCheck.setRiskFactors(riskResult.describeFactors("; "));
+        healthCheck.setRiskRuleSetVersion(riskResult.ruleSetVersion());
 
         HealthCheck savedHealthCheck = healthCheckRepository.save(healthCheck);
+        eventPublisher.publishEvent(new HealthCheckChangedEvent(before, HealthCheckChangedEvent.Snapshot.of(savedHealthCheck)));
 
         // Update patient's current risk level
-        patientService.updatePatientRisk(patient.getId(), riskResult.score(), riskResult.riskLevel());
+        patientService.updatePatientRisk(patient, riskResult.score(), riskResult.riskLevel());
+
+        // Alerts and follow-ups are created by the outbox workers once this commits
+        boolean riskAlert = riskResult.riskLevel() == RiskLevel.RED || riskResult.riskLevel() == RiskLevel.YELLOW;
+        boolean manualFollowUp = Boolean.TRUE.equals(request.getScheduleFollowUp()) && request.getFollowUpDate() != null;
+        if (riskAlert || manualFollowUp) {
+            outboxService.enqueue(OutboxEventType.HEALTH_CHECK_RECORDED, savedHealthCheck.getId(), new FollowThrough(
+                    savedHealthCheck.getId(),
+                    performedBy.getId(),
+                    LocalDate.now(),
+                    riskResult.riskLevel(),
+                    riskResult.score(),
+                    riskResult.describeFactors(", "),
+                    manualFollowUp ? request.getFollowUpDate() : null,
+                    manualFollowUp ? followUpOwnerId(request.getFollowUpAssigneeId(), performedBy) : null,
+                    manualFollowUp ? request.getFollowUpNotes() : null,
+                    !Boolean.FALSE.equals(request.getAutoFollowUpEnabled())));
+        }
 
-        // Generate alert if high risk
-        if (riskResult.riskLevel() == RiskLevel.RED || riskResult.riskLevel() == RiskLevel.YELLOW) {
-            createRiskAlert(savedHealthCheck, patient, riskResult);
+        log.info("Health check completed. Risk Level: {}, Score: {}",
+                riskResult.riskLevel(), riskResult.score());
+
+        return savedHealthCheck;
+    }
+
+    // The requested assignee, or the health worker who recorded the check when none (or an unknown user) is given
+    private Long followUpOwnerId(Long requestedAssigneeId, User performedBy) {
+        return requestedAssigneeId != null && userRepository.existsById(requestedAssigneeId)
+                ? requestedAssigneeId
+                : performedBy.getId();
+    }
+
+    /**
+     * What a recorded health check still has to trigger, carried through the outbox.
+     * {@code recordedOn} anchors auto follow-up dates so a retried event schedules the same day.
+     */
+    public record FollowThrough(Long healthCheckId, Long performedById, LocalDate recordedOn,
+                                RiskLevel riskLevel, int riskScore, String riskFactors,
+                                LocalDate followUpDate, Long followUpAssigneeId, String followUpNotes,
+                                boolean autoFollowUp) {
+    }
+
+    /**
+     * Creates the risk alert and follow-ups of a recorded health check. Runs on an outbox
+     * worker, in the transaction that completes the outbox event.
+     */
+    public void applyFollowThrough(FollowThrough followThrough) {
+        HealthCheck healthCheck = healthCheckRepository.findById(followThrough.healthCheckId()).orElse(null);
+        if (healthCheck == null || Boolean.FALSE.equals(healthCheck.getIsActive())) {
+            log.info("Health check {} no longer active, skipping its alert and follow-ups", followThrough.healthCheckId());
+            return;
         }
+        Patient patient = healthCheck.getPatient();
+        RiskLevel riskLevel = followThrough.riskLevel();
 
-        // Handle follow-up scheduling
-        boolean manualFollowUpScheduled = false;
+        // Generate alert if high risk
+        if (riskLevel == RiskLevel.RED || riskLevel == RiskLevel.YELLOW) {
+            createRiskAlert(healthCheck, patient, riskLevel, followThrough.riskScore(), followThrough.riskFactors());
+        }
 
         // Manual follow-up: If explicitly requested
-        if (Boolean.TRUE.equals(request.getScheduleFollowUp()) && request.getFollowUpDate() != null) {
-            User assignee = null;
-            if (request.getFollowUpAssigneeId() != null) {
-                assignee = userRepository.findById(request.getFollowUpAssigneeId())
-                        .orElse(performedBy);
-            } else {
-                assignee = performedBy;
-            }
-            createFollowUp(savedHealthCheck, patient, assignee, request.getFollowUpDate(), request.getFollowUpNotes());
-            manualFollowUpScheduled = true;
-            log.info("Manual follow-up scheduled for patient: {} on {}", patient.getMotherId(), request.getFollowUpDate());
+        if (followThrough.followUpDate() != null) {
+            User assignee = resolveFollowUpAssignee(healthCheck, followThrough.followUpAssigneeId(),
+                    followThrough.performedById());
+            createFollowUp(healthCheck, patient, assignee, followThrough.followUpDate(), followThrough.followUpNotes());
+            log.info("Manual follow-up scheduled for patient: {} on {}", patient.getMotherId(), followThrough.followUpDate());
+            return;
         }
 
         // Auto follow-up: Based on risk level (if not manually scheduled and auto-enabled)
-        if (!manualFollowUpScheduled && !Boolean.FALSE.equals(request.getAutoFollowUpEnabled())) {
-            if (riskResult.riskLevel() == RiskLevel.RED) {
+        if (followThrough.autoFollowUp() && (riskLevel == RiskLevel.RED || riskLevel == RiskLevel.YELLOW)) {
+            User assignee = resolveFollowUpAssignee(healthCheck, followThrough.performedById());
+            if (riskLevel == RiskLevel.RED) {
                 // RED risk: Follow-up in 2 days
-                LocalDate followUpDate = LocalDate.now().plusDays(2);
-                createFollowUp(savedHealthCheck, patient, performedBy, followUpDate,
-                        "Auto-scheduled follow-up for HIGH RISK patient. Risk factors: " + String.join(", ", riskResult.riskFactors()));
+                LocalDate followUpDate = followThrough.recordedOn().plusDays(2);
+                createFollowUp(healthCheck, patient, assignee, followUpDate,
+                        "Auto-scheduled follow-up for HIGH RISK patient. Risk factors: " + followThrough.riskFactors());
                 log.info("Auto follow-up scheduled for RED risk patient: {} on {}", patient.getMotherId(), followUpDate);
-            } else if (riskResult.riskLevel() == RiskLevel.YELLOW) {
+            } else if (riskLevel == RiskLevel.YELLOW) {
                 // YELLOW risk: Follow-up in 5 days
-                LocalDate followUpDate = LocalDate.now().plusDays(5);
-                createFollowUp(savedHealthCheck, patient, performedBy, followUpDate,
-                        "Auto-scheduled follow-up for MODERATE RISK patient. Risk factors: " + String.join(", ", riskResult.riskFactors()));
+                LocalDate followUpDate = followThrough.recordedOn().plusDays(5);
+                createFollowUp(healthCheck, patient, assignee, followUpDate,
+                        "Auto-scheduled follow-up for MODERATE RISK patient. Risk factors: " + followThrough.riskFactors());
                 log.info("Auto follow-up scheduled for YELLOW risk patient: {} on {}", patient.getMotherId(), followUpDate);
             }
         }
+    }
 
-        log.info("Health check completed. Risk Level: {}, Score: {}",
-                riskResult.riskLevel(), riskResult.score());
-
-        return savedHealthCheck;
+    /**
+     * The first of the given users still active, else an active help desk user, so a follow-up is
+     * never created without an owner. Fails the outbox event when nobody is left to assign.
+     */
+    private User resolveFollowUpAssignee(HealthCheck healthCheck, Long... candidateIds) {
+        for (Long candidateId : candidateIds) {
+            if (candidateId == null) {
+                continue;
+            }
+            User candidate = userRepository.findById(candidateId).orElse(null);
+            if (candidate != null && !Boolean.FALSE.equals(candidate.getIsActive())) {
+                return candidate;
+            }
+        }
+        User helpDesk = userRepository.findByRoleAndIsActiveTrue(UserRole.HELP_DESK).stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException(
+                        "No active user to assign the follow-up of health check " + healthCheck.getId()));
+        log.warn("Follow-up owner for health check {} is no longer active, assigning help desk user {}",
+                healthCheck.getId(), helpDesk.getId());
+        return helpDesk;
     }
 
     private void createFollowUp(HealthCheck healthCheck, Patient patient, User assignedTo,
@@ -200,36 +287,46 @@ public class HealthCheckService {
                 .build();
 
         followUpRepository.save(followUp);
+        eventPublisher.publishEvent(new FollowUpChangedEvent(null, FollowUpChangedEvent.Snapshot.of(followUp)));
     }
 
-    private void createRiskAlert(HealthCheck healthCheck, Patient patient,
-                                 RiskAssessmentService.RiskAssessmentResult riskResult) {
-        String title = riskResult.riskLevel() == RiskLevel.RED
+    private void createRiskAlert(HealthCheck healthCheck, Patient patient, RiskLevel riskLevel, int score,
+                                 String riskFactors) {
+        RiskAlert alert = buildRiskAlert(healthCheck, patient, riskLevel, score, riskFactors);
+        riskAlertRepository.save(alert);
+        eventPublisher.publishEvent(new RiskAlertChangedEvent(null, RiskAlertChangedEvent.Snapshot.of(alert)));
+        log.info("Risk alert created for patient: {}", patient.getMotherId());
+    }
+
+    /**
+     * The alert for an assessment. Level, score and factors are passed together from the same
+     * assessment, since the check may have been re-scored since.
+     */
+    static RiskAlert buildRiskAlert(HealthCheck healthCheck, Patient patient, RiskLevel riskLevel, int score,
+                                    String riskFactors) {
+        String title = riskLevel == RiskLevel.RED
                 ? "CRITICAL: High Risk Patient Detected"
                 : "ATTENTION: Moderate Risk Patient Detected";
 
         String description = String.format(
                 "Patient %s (Mother ID: %s) has been assessed as %s risk during health check. " +
                 "Risk Score: %d. Immediate attention may be required.",
-                patient.getName(), patient.getMotherId(), riskResult.riskLevel(), riskResult.score());
+                patient.getName(), patient.getMotherId(), riskLevel, score);
 
-        String recommendedAction = riskResult.riskLevel() == RiskLevel.RED
+        String recommendedAction = riskLevel == RiskLevel.RED
                 ? "Schedule immediate doctor consultation. Notify medical officer."
                 : "Schedule follow-up call. Monitor patient closely.";
 
-        RiskAlert alert = RiskAlert.builder()
+        return RiskAlert.builder()
                 .patient(patient)
                 .healthCheck(healthCheck)
                 .alertType(AlertType.HIGH_RISK_DETECTED)
-                .severity(riskResult.riskLevel())
+                .severity(riskLevel)
                 .title(title)
                 .description(description)
-                .riskFactors(String.join("; ", riskResult.riskFactors()))
+                .riskFactors(riskFactors)
                 .recommendedAction(recommendedAction)
                 .build();
-
-        riskAlertRepository.save(alert);
-        log.info("Risk alert created for patient: {}", patient.getMotherId());
     }
 
     @Transactional(readOnly = true)
@@ -253,6 +350,16 @@ public class HealthCheckService {
         return healthCheckRepository.findByPatientIdAndIsActiveTrue(patientId, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<HealthCheck> getHealthChecksByPatientId(Long patientId, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = CursorPage.limit(size);
+        Slice<HealthCheck> slice = after == null
+                ? healthCheckRepository.findHistoryFirst(patientId, limit)
+                : healthCheckRepository.findHistoryAfter(patientId, after.dateKey(), after.id(), limit);
+        return CursorPage.of(slice, hc -> PageCursor.of(hc.getCheckDate(), hc.getId()));
+    }
+
     @Transactional(readOnly = true)
     public Optional<HealthCheck> getLatestHealthCheck(Long patientId) {
         Page<HealthCheck> page = healthCheckRepository.findActiveByPatientIdOrderByCheckDateDescPaged(
@@ -267,8 +374,10 @@ public class HealthCheckService {
     public void softDeleteHealthCheck(Long id) {
         HealthCheck healthCheck = healthCheckRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Health check not found"));
+        HealthCheckChangedEvent.Snapshot before = HealthCheckChangedEvent.Snapshot.of(healthCheck);
         healthCheck.setIsActive(false);
         healthCheckRepository.save(healthCheck);
+        eventPublisher.publishEvent(new HealthCheckChangedEvent(before, null));
         log.info("Health check {} soft deleted", id);
     }
 
@@ -288,8 +397,47 @@ public class HealthCheckService {
     }
 
     @Transactional(readOnly = true)
-    public List<HealthCheck> getOverdueHealthChecks() {
-        return healthCheckRepository.findOverdueHealthChecks(LocalDate.now());
+    public Page<HealthCheck> getOverdueHealthChecks() {
+        return getOverdueHealthChecks(PageRequest.of(0, maxResults, Sort.by("nextCheckDate")));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HealthCheck> getOverdueHealthChecks(Pageable pageable) {
+        return healthCheckRepository.findOverdueHealthChecks(LocalDate.now(), Pagination.capped(pageable, maxResults));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HealthCheck> getHighBloodPressureHealthChecks() {
+        return getHighBloodPressureHealthChecks(latestChecksFirst());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HealthCheck> getHighBloodPressureHealthChecks(Pageable pageable) {
+        return healthCheckRepository.findWithHighBloodPressure(Pagination.capped(pageable, maxResults));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HealthCheck> getLowHemoglobinHealthChecks() {
+        return getLowHemoglobinHealthChecks(latestChecksFirst());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HealthCheck> getLowHemoglobinHealthChecks(Pageable pageable) {
+        return healthCheckRepository.findWithLowHemoglobin(Pagination.capped(pageable, maxResults));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HealthCheck> getHighBloodSugarHealthChecks() {
+        return getHighBloodSugarHealthChecks(latestChecksFirst());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HealthCheck> getHighBloodSugarHealthChecks(Pageable pageable) {
+        return healthCheckRepository.findWithHighBloodSugar(Pagination.capped(pageable, maxResults));
+    }
+
+    private Pageable latestChecksFirst() {
+        return PageRequest.of(0, maxResults, Sort.by(Sort.Direction.DESC, "checkDate", "id"));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,157 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.event.OutboxEventEnqueuedEvent;
+import com.ammarakshitha.model.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carries out outbox events on a bounded worker pool. Events are dispatched as soon as the
+ * transaction that wrote them commits and, as a safety net, by a periodic sweep that also picks
+ * up due retries and requeues events whose worker died. Failed attempts are retried with
+ * exponential backoff up to {@code app.outbox.max-attempts}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxProcessor {
+
+    private final OutboxService outboxService;
+    private final HealthCheckService healthCheckService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.workers:2}")
+    private int workers;
+
+    @Value("${app.outbox.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${app.outbox.sweep-batch-size:200}")
+    private int sweepBatchSize;
+
+    @Value("${app.outbox.stale-after-ms:60000}")
+    private long staleAfterMs;
+
+    @Value("${app.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-delay-ms:10000}")
+    private long retryDelayMs;
+
+    @Value("${app.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        // Claimed events stay PROCESSING and are requeued once stale
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventEnqueued(OutboxEventEnqueuedEvent event) {
+        dispatch(event.outboxEventId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.dispatch-interval-ms:5000}")
+    public void dispatchPending() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = outboxService.requeueStale(now.minus(Duration.ofMillis(staleAfterMs)));
+        if (requeued > 0) {
+            log.info("Requeued {} interrupted outbox events", requeued);
+        }
+        outboxService.purgeDone(now.minusDays(retentionDays));
+        outboxService.findDueIds(sweepBatchSize).forEach(this::dispatch);
+    }
+
+    private void dispatch(Long eventId) {
+        if (!inFlight.add(eventId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(eventId);
+                } finally {
+                    inFlight.remove(eventId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(eventId);
+            log.debug("Outbox workers busy, event {} waits for the next sweep", eventId);
+        }
+    }
+
+    void run(Long eventId) {
+        OutboxEvent event = outboxService.claim(eventId);
+        if (event == null) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                handle(event);
+                if (!outboxService.complete(event)) {
+                    // Rolls back the side effects this attempt just applied
+                    throw new EventTakenOverException(eventId);
+                }
+            });
+        } catch (EventTakenOverException e) {
+            log.warn("Outbox event {} was taken over by another worker, rolled back", eventId);
+        } catch (RuntimeException e) {
+            if (executor.isShutdown()) {
+                log.info("Outbox event {} interrupted by shutdown, it is retried after restart", eventId);
+                return;
+            }
+            log.warn("Outbox event {} ({}) attempt {} failed: {}",
+                    eventId, event.getEventType(), event.getAttempts(), e.getMessage());
+            outboxService.fail(event, e.getMessage(), maxAttempts, retryDelayMs);
+        }
+    }
+
+    private void handle(OutboxEvent event) {
+        switch (event.getEventType()) {
+            case HEALTH_CHECK_RECORDED -> healthCheckService.applyFollowThrough(
+                    outboxService.readPayload(event, HealthCheckService.FollowThrough.class));
+        }
+    }
+
+    private static final class EventTakenOverException extends RuntimeException {
+        private EventTakenOverException(Long eventId) {
+            super("Outbox event " + eventId + " is no longer owned by this worker");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.event.OutboxEventEnqueuedEvent;
+import com.ammarakshitha.model.OutboxEvent;
+import com.ammarakshitha.model.enums.OutboxEventStatus;
+import com.ammarakshitha.model.enums.OutboxEventType;
+import com.ammarakshitha.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The transactional outbox: requests record follow-on work here in their own transaction and
+ * {@link OutboxProcessor} carries it out afterwards. Delivery is at least once; a worker's side
+ * effects commit together with the completion of the attempt it claimed, so an attempt that was
+ * taken over rolls back instead of applying them twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEventType eventType, Long aggregateId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " outbox payload", e);
+        }
+        OutboxEvent event = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .payload(json)
+                .availableAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new OutboxEventEnqueuedEvent(event.getId()));
+    }
+
+    public <T> T readPayload(OutboxEvent event, Class<T> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload in outbox event " + event.getId(), e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findDueIds(int limit) {
+        return outboxEventRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    /**
+     * Starts a new attempt at a due event for the calling worker. Returns null if another worker
+     * claimed it first or it is not due.
+     */
+    @Transactional
+    public OutboxEvent claim(Long id) {
+        if (outboxEventRepository.claim(id, LocalDateTime.now()) == 0) {
+            return null;
+        }
+        return outboxEventRepository.findById(id).orElse(null);
+    }
+
+    /**
+     * Completes the claimed attempt in the transaction applying its side effects. Returns false
+     * if the attempt is no longer current, in which case the caller must roll back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean complete(OutboxEvent event) {
+        return outboxEventRepository.complete(event.getId(), event.getAttempts(), LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Schedules a retry with exponential backoff, or gives up after {@code maxAttempts}.
+     */
+    @Transactional
+    public void fail(OutboxEvent event, String error, int maxAttempts, long retryDelayMs) {
+        int attempt = event.getAttempts();
+        LocalDateTime now = LocalDateTime.now();
+        boolean exhausted = attempt >= maxAttempts;
+        long delayMs = retryDelayMs << Math.min(attempt - 1, 10);
+        outboxEventRepository.fail(event.getId(), attempt,
+                exhausted ? OutboxEventStatus.FAILED : OutboxEventStatus.PENDING,
+                now.plusNanos(delayMs * 1_000_000), error, now);
+        if (exhausted) {
+            log.error("Outbox event {} ({}) failed after {} attempts: {}", event.getId(), event.getEventType(), attempt, error);
+        }
+    }
+
+    /**
+     * Requeues events whose worker has not finished since {@code staleBefore}; the worker is gone
+     * (typically a restart) or stuck, and its attempt can no longer complete.
+     */
+    @Transactional
+    public int requeueStale(LocalDateTime staleBefore) {
+        return outboxEventRepository.requeueStale(staleBefore);
+    }
+
+    @Transactional
+    public int purgeDone(LocalDateTime processedBefore) {
+        return outboxEventRepository.deleteDoneBefore(processedBefore);
+    }
+}
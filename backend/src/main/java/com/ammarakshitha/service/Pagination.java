@@ -0,0 +1,21 @@
+package com.ammarakshitha.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Page size cap for the list endpoints that also have an unpaged, capped form, so paging does
+ * not get around the cap. Other paged endpoints keep Spring's default limit.
+ */
+final class Pagination {
+
+    private Pagination() {
+    }
+
+    static Pageable capped(Pageable pageable, int maxResults) {
+        if (pageable.isUnpaged() || pageable.getPageSize() <= maxResults) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), maxResults, pageable.getSort());
+    }
+}
@@ -0,0 +1,294 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.BulkUploadResult;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Parse stage of an Excel import, separated from persistence.
+ *
+ * <p>The sheet is read sequentially on a reader thread and cut into chunks of
+ * {@link PatientBulkRegistrationService#CHUNK_SIZE} rows. Each chunk is decoded and validated in
+ * parallel on a fork-join pool, split over row ranges. Parsed chunks are handed to the calling
+ * thread in sheet order through a bounded queue, so the caller can write one chunk while the next
+ * ones are being parsed, and the reader stops when the caller falls behind.</p>
+ */
+@Slf4j
+final class ParallelSheetParser {
+
+    // Rows per fork-join leaf; below this, splitting costs more than it saves
+    private static final int SPLIT_THRESHOLD = 64;
+
+    private static final PendingChunk END = new PendingChunk(CompletableFuture.completedFuture(null), 0);
+
+    private final ForkJoinPool pool;
+    private final int queuedChunks;
+    private final boolean streaming;
+
+    /**
+     * A chunk of valid requests and rejected rows, both in sheet order. {@code lastRowNumber} is
+     * the last 1-based sheet row the chunk covers, including empty rows.
+     */
+    record ParsedChunk(List<PatientBulkRegistrationService.Row> rows,
+                       List<BulkUploadResult.FailedRecord> failures,
+                       int lastRowNumber) {
+    }
+
+    private record RawRow(int rowIndex, ExcelRowValues values) {
+    }
+
+    private record Parsed(PatientBulkRegistrationService.Row[] rows, BulkUploadResult.FailedRecord[] failures) {
+    }
+
+    private record PendingChunk(Future<Parsed> parsed, int lastRowNumber) {
+    }
+
+    ParallelSheetParser(ForkJoinPool pool, int queuedChunks, boolean streaming) {
+        this.pool = pool;
+        this.queuedChunks = queuedChunks;
+        this.streaming = streaming;
+    }
+
+    /**
+     * Parses the sheet, skipping the header and rows up to {@code resumeAfterRow}, and calls
+     * {@code consumer} on the calling thread for every chunk, in order. If the consumer throws, the
+     * reader is stopped and the exception propagates.
+     */
+    void parse(Path file, int resumeAfterRow, Consumer<ParsedChunk> consumer) throws IOException {
+        BlockingQueue<PendingChunk> queue = new ArrayBlockingQueue<>(queuedChunks);
+        Reader reader = new Reader(file, resumeAfterRow, queue);
+        Thread readerThread = new Thread(reader, "excel-reader-" + file.getFileName());
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        try {
+            while (true) {
+                PendingChunk pending = queue.take();
+                if (pending == END) {
+                    break;
+                }
+                Parsed parsed = await(pending.parsed());
+                consumer.accept(toChunk(parsed, pending.lastRowNumber()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Excel import interrupted", e);
+        } finally {
+            reader.cancelled = true;
+            readerThread.interrupt();
+        }
+        if (reader.failure != null) {
+            throw reader.failure;
+        }
+    }
+
+    private static Parsed await(Future<Parsed> parsed) throws InterruptedException {
+        try {
+            return parsed.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ParsedChunk toChunk(Parsed parsed, int lastRowNumber) {
+        List<PatientBulkRegistrationService.Row> rows = new ArrayList<>(parsed.rows().length);
+        List<BulkUploadResult.FailedRecord> failures = new ArrayList<>();
+        for (int i = 0; i < parsed.rows().length; i++) {
+            if (parsed.rows()[i] != null) {
+                rows.add(parsed.rows()[i]);
+            } else if (parsed.failures()[i] != null) {
+                failures.add(parsed.failures()[i]);
+            }
+        }
+        return new ParsedChunk(rows, failures, lastRowNumber);
+    }
+
+    /**
+     * Reads rows into chunks and submits each one to the pool as soon as it is full.
+     */
+    private final class Reader implements Runnable, StreamingSheetReader.RowHandler {
+
+        private final Path file;
+        private final int resumeAfterRow;
+        private final BlockingQueue<PendingChunk> queue;
+        private List<RawRow> chunk = new ArrayList<>(PatientBulkRegistrationService.CHUNK_SIZE);
+        private int lastRowNumber;
+
+        private volatile boolean cancelled;
+        private volatile IOException failure;
+
+        private Reader(Path file, int resumeAfterRow, BlockingQueue<PendingChunk> queue) {
+            this.file = file;
+            this.resumeAfterRow = resumeAfterRow;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (streaming) {
+                    StreamingSheetReader.read(file.toFile(), this);
+                } else {
+                    readWorkbook();
+                }
+                submit();
+            } catch (ReaderStopped e) {
+                return;
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                if (cancelled) {
+                    return;
+                }
+                failure = new IOException("Failed to read Excel file: " + e.getMessage(), e);
+            }
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                // The consumer has stopped and no longer reads the queue
+            }
+        }
+
+        private void readWorkbook() throws IOException {
+            try (InputStream inputStream = Files.newInputStream(file);
+                 Workbook workbook = new XSSFWorkbook(inputStream)) {
+
+                Sheet sheet = workbook.getSheetAt(0);
+                log.info("Total rows in Excel (excluding header): {}", sheet.getLastRowNum());
+
+                for (Row row : sheet) {
+                    row(row.getRowNum(), ExcelRowValues.of(row));
+                }
+            }
+        }
+
+        @Override
+        public void row(int rowIndex, ExcelRowValues values) {
+            if (cancelled) {
+                throw new ReaderStopped();
+            }
+            int rowNumber = rowIndex + 1;
+            // Skip header row 0 and rows committed before a restart
+            if (rowIndex == 0 || rowNumber <= resumeAfterRow) {
+                return;
+            }
+            chunk.add(new RawRow(rowIndex, values));
+            lastRowNumber = rowNumber;
+            if (chunk.size() >= PatientBulkRegistrationService.CHUNK_SIZE) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<RawRow> rows = chunk;
+            chunk = new ArrayList<>(PatientBulkRegistrationService.CHUNK_SIZE);
+            Parsed parsed = new Parsed(new PatientBulkRegistrationService.Row[rows.size()],
+                    new BulkUploadResult.FailedRecord[rows.size()]);
+            CompletableFuture<Parsed> future = new CompletableFuture<>();
+            pool.execute(new ParseRange(rows, parsed, 0, rows.size(), future));
+            try {
+                queue.put(new PendingChunk(future, lastRowNumber));
+            } catch (InterruptedException e) {
+                throw new ReaderStopped();
+            }
+        }
+    }
+
+    /**
+     * Parses {@code rows[from, to)} into the matching slots of {@code parsed}, splitting the range
+     * in half until it is small enough. The root task completes {@code done}.
+     */
+    private static final class ParseRange extends RecursiveAction {
+
+        private final List<RawRow> rows;
+        private final Parsed parsed;
+        private final int from;
+        private final int to;
+        private final CompletableFuture<Parsed> done;
+
+        private ParseRange(List<RawRow> rows, Parsed parsed, int from, int to, CompletableFuture<Parsed> done) {
+            this.rows = rows;
+            this.parsed = parsed;
+            this.from = from;
+            this.to = to;
+            this.done = done;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                if (to - from <= SPLIT_THRESHOLD) {
+                    for (int i = from; i < to; i++) {
+                        parse(i);
+                    }
+                } else {
+                    int middle = (from + to) >>> 1;
+                    invokeAll(new ParseRange(rows, parsed, from, middle, null),
+                            new ParseRange(rows, parsed, middle, to, null));
+                }
+                if (done != null) {
+                    done.complete(parsed);
+                }
+            } catch (RuntimeException | Error e) {
+                if (done == null) {
+                    throw e;
+                }
+                // Fail the chunk rather than leave the consumer waiting on it
+                done.completeExceptionally(e);
+            }
+        }
+
+        private void parse(int i) {
+            RawRow raw = rows.get(i);
+            ExcelRowValues values = raw.values();
+            if (PatientRowParser.isRowEmpty(values)) {
+                return;
+            }
+            int rowNumber = raw.rowIndex() + 1;
+            try {
+                parsed.rows()[i] = new PatientBulkRegistrationService.Row(rowNumber,
+                        PatientRowParser.parseRow(values, raw.rowIndex()));
+            } catch (Exception e) {
+                String name = PatientRowParser.getStringValue(values.get(PatientRowParser.COL_NAME));
+                String aadhaar = PatientRowParser.getStringValue(values.get(PatientRowParser.COL_AADHAAR));
+                parsed.failures()[i] = PatientRowParser.failedRecord(rowNumber, name, aadhaar, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Unwinds the reader once the consumer has stopped.
+     */
+    private static final class ReaderStopped extends RuntimeException {
+        private ReaderStopped() {
+            super(null, null, false, false);
+        }
+    }
+}
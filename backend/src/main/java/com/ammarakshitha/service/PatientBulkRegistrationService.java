@@ -0,0 +1,282 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.PatientRegistrationRequest;
+import com.ammarakshitha.event.PatientChangedEvent;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Registers many patients at once with the same checks and records as
+ * {@link PatientService#registerPatient}, but set based: duplicates are resolved with one
+ * {@code IN} query per key per chunk, mother IDs are generated and checked in bulk, and rows are
+ * inserted with JDBC batches. Each chunk commits on its own; if a chunk's insert fails it is
+ * retried row by row through {@link PatientService#registerPatient} so every row still gets its
+ * own success or error.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientBulkRegistrationService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final PatientService patientService;
+    private final PatientRepository patientRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * A parsed upload row; {@code rowNumber} is the 1-based spreadsheet row.
+     */
+    public record Row(int rowNumber, PatientRegistrationRequest request) {
+    }
+
+    /**
+     * Result for one row: the registered patient, or the reason it was rejected.
+     */
+    public record Outcome(Row row, Patient patient, String errorMessage) {
+
+        public boolean isSuccess() {
+            return patient != null;
+        }
+    }
+
+    /**
+     * Receives the outcomes of each chunk. When the chunk's batch insert succeeds it is called
+     * inside that transaction, so anything it writes commits or rolls back with the patients.
+     */
+    public interface ChunkListener {
+        void chunkRegistered(List<Outcome> outcomes);
+    }
+
+    public List<Outcome> registerAll(List<Row> rows, Long registeredByUserId) {
+        return registerAll(rows, registeredByUserId, null);
+    }
+
+    /**
+     * Registers {@code rows} in order. Rows later in the upload are checked against the ones
+     * accepted before them, exactly as if they had been registered one at a time.
+     */
+    public List<Outcome> registerAll(List<Row> rows, Long registeredByUserId, ChunkListener listener) {
+        List<Outcome> outcomes = new ArrayList<>(rows.size());
+        User registeredBy = userRepository.findById(registeredByUserId).orElse(null);
+        if (registeredBy == null) {
+            rows.forEach(row -> outcomes.add(new Outcome(row, null, "User not found")));
+            if (listener != null) {
+                listener.chunkRegistered(outcomes);
+            }
+            return outcomes;
+        }
+
+        UploadState state = new UploadState();
+        for (int start = 0; start < rows.size(); start += CHUNK_SIZE) {
+            List<Row> chunk = rows.subList(start, Math.min(start + CHUNK_SIZE, rows.size()));
+            outcomes.addAll(registerChunk(chunk, registeredBy, state, listener));
+        }
+        return outcomes;
+    }
+
+    private List<Outcome> registerChunk(List<Row> chunk, User registeredBy, UploadState state,
+                                        ChunkListener listener) {
+        Map<String, Boolean> existingAadhaars = findExistingAadhaars(chunk);
+        Set<String> existingMobileAndLmp = findActiveMobileAndLmp(chunk);
+
+        Map<Row, Outcome> outcomes = new HashMap<>();
+        List<Patient> candidates = new ArrayList<>();
+        List<Row> candidateRows = new ArrayList<>();
+
+        for (Row row : chunk) {
+            PatientRegistrationRequest request = row.request();
+            String aadhaarNumber = blankToNull(request.getAadhaarNumber());
+            String mobileAndLmp = mobileAndLmpKey(request.getMobileNumber(), request.getLmpDate());
+
+            String error = null;
+            if (aadhaarNumber != null && (Boolean.TRUE.equals(existingAadhaars.get(aadhaarNumber))
+                    || state.aadhaarNumbers.contains(aadhaarNumber))) {
+                error = PatientService.activeAadhaarExistsMessage(aadhaarNumber);
+            } else if (mobileAndLmp != null && (existingMobileAndLmp.contains(mobileAndLmp)
+                    || state.mobileAndLmp.contains(mobileAndLmp))) {
+                error = PatientService.DUPLICATE_MOBILE_AND_LMP_MESSAGE;
+            } else if (aadhaarNumber != null && existingAadhaars.containsKey(aadhaarNumber)) {
+                // Held by a discharged or inactive patient; the unique constraint would reject it
+                error = "Aadhaar number " + aadhaarNumber + " is already registered to an inactive patient";
+            }
+
+            if (error == null) {
+                Patient patient = patientService.newPatient(request, aadhaarNumber,
+                        patientService.generateMotherId(request.getDistrict()), registeredBy);
+                error = validate(patient);
+                if (error == null) {
+                    candidates.add(patient);
+                    candidateRows.add(row);
+                    if (aadhaarNumber != null) {
+                        state.aadhaarNumbers.add(aadhaarNumber);
+                    }
+                    if (mobileAndLmp != null) {
+                        state.mobileAndLmp.add(mobileAndLmp);
+                    }
+                }
+            }
+            if (error != null) {
+                outcomes.put(row, new Outcome(row, null, error));
+            }
+        }
+
+        boolean notified = false;
+        if (!candidates.isEmpty()) {
+            assignUniqueMotherIds(candidates);
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    insert(candidates);
+                    for (int i = 0; i < candidates.size(); i++) {
+                        outcomes.put(candidateRows.get(i), new Outcome(candidateRows.get(i), candidates.get(i), null));
+                    }
+                    if (listener != null) {
+                        listener.chunkRegistered(inRowOrder(chunk, outcomes));
+                    }
+                    candidates.forEach(patient -> eventPublisher.publishEvent(
+                            new PatientChangedEvent(null, PatientChangedEvent.Snapshot.of(patient))));
+                });
+                notified = true;
+            } catch (OptimisticLockingFailureException e) {
+                // The listener's own records changed underneath it; retrying row by row cannot help
+                throw e;
+            } catch (DataAccessException e) {
+                log.warn("Batch insert of {} patients failed, registering them one by one: {}",
+                        candidates.size(), e.getMessage());
+                for (Row row : candidateRows) {
+                    outcomes.put(row, registerSingly(row, registeredBy.getId()));
+                }
+            }
+        }
+
+        List<Outcome> ordered = inRowOrder(chunk, outcomes);
+        if (listener != null && !notified) {
+            // Rows registered one by one have already committed individually
+            listener.chunkRegistered(ordered);
+        }
+        return ordered;
+    }
+
+    private static List<Outcome> inRowOrder(List<Row> chunk, Map<Row, Outcome> outcomes) {
+        List<Outcome> ordered = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            ordered.add(outcomes.get(row));
+        }
+        return ordered;
+    }
+
+    private Outcome registerSingly(Row row, Long registeredByUserId) {
+        try {
+            return new Outcome(row, patientService.registerPatient(row.request(), registeredByUserId), null);
+        } catch (Exception e) {
+            return new Outcome(row, null, e.getMessage());
+        }
+    }
+
+    private Map<String, Boolean> findExistingAadhaars(List<Row> chunk) {
+        Set<String> aadhaarNumbers = chunk.stream()
+                .map(row -> blankToNull(row.request().getAadhaarNumber()))
+                .filter(aadhaar -> aadhaar != null)
+                .collect(Collectors.toSet());
+        Map<String, Boolean> active = new HashMap<>();
+        if (!aadhaarNumbers.isEmpty()) {
+            for (Object[] row : patientRepository.findStatusByAadhaarNumberIn(aadhaarNumbers)) {
+                active.merge((String) row[0], row[1] == PatientStatus.ACTIVE, Boolean::logicalOr);
+            }
+        }
+        return active;
+    }
+
+    private Set<String> findActiveMobileAndLmp(List<Row> chunk) {
+        Set<String> mobileNumbers = chunk.stream()
+                .filter(row -> row.request().getLmpDate() != null && row.request().getMobileNumber() != null)
+                .map(row -> row.request().getMobileNumber())
+                .collect(Collectors.toSet());
+        Set<String> keys = new HashSet<>();
+        if (!mobileNumbers.isEmpty()) {
+            for (Object[] row : patientRepository.findActiveMobileAndLmpDateByMobileNumberIn(mobileNumbers)) {
+                keys.add(mobileAndLmpKey((String) row[0], (LocalDate) row[1]));
+            }
+        }
+        return keys;
+    }
+
+    private void assignUniqueMotherIds(List<Patient> patients) {
+        List<Patient> pending = patients;
+        while (!pending.isEmpty()) {
+            Set<String> taken = new HashSet<>(patientRepository.findExistingMotherIds(
+                    pending.stream().map(Patient::getMotherId).toList()));
+            Set<String> seen = new HashSet<>();
+            List<Patient> collisions = new ArrayList<>();
+            for (Patient patient : pending) {
+                if (taken.contains(patient.getMotherId()) || !seen.add(patient.getMotherId())) {
+                    patient.setMotherId(patientService.generateMotherId(patient.getDistrict()));
+                    collisions.add(patient);
+                }
+            }
+            pending = collisions;
+        }
+    }
+
+    private String validate(Patient patient) {
+        Set<ConstraintViolation<Patient>> violations = validator.validate(patient);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void insert(List<Patient> patients) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            PatientRowWriter.insert(connection, patients);
+            return null;
+        });
+    }
+
+    private static String blankToNull(String value) {
+        return value != null && value.isBlank() ? null : value;
+    }
+
+    private static String mobileAndLmpKey(String mobileNumber, LocalDate lmpDate) {
+        return mobileNumber != null && lmpDate != null ? mobileNumber + "|" + lmpDate : null;
+    }
+
+    /**
+     * Keys accepted earlier in the same upload, which the database queries cannot see yet.
+     */
+    private static final class UploadState {
+        private final Set<String> aadhaarNumbers = new HashSet<>();
+        private final Set<String> mobileAndLmp = new HashSet<>();
+    }
+}
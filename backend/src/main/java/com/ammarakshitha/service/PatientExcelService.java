@@ -3,272 +3,108 @@ package com.ammarakshitha.service;
 import com.ammarakshitha.dto.BulkUploadResult;
 import com.ammarakshitha.dto.PatientRegistrationRequest;
 import com.ammarakshitha.model.Patient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.time.LocalDate;
-import java.time.ZoneId;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PatientExcelService {
 
-    private final PatientService patientService;
+    private final PatientBulkRegistrationService bulkRegistrationService;
 
-    // Column indices based on "Amma Rakshitha Patient Registration Form" format
-    private static final int COL_NAME = 0;
-    private static final int COL_AGE = 1;
-    private static final int COL_HUSBAND_NAME = 2;
-    private static final int COL_AADHAAR = 3;
-    private static final int COL_MOBILE = 4;
-    private static final int COL_ALTERNATE_MOBILE = 5;
-    private static final int COL_RESIDENCE = 6;
-    private static final int COL_DISTRICT = 7;
-    private static final int COL_MANDAL = 8;
-    private static final int COL_VILLAGE = 9;
-    private static final int COL_PINCODE = 10;
-    private static final int COL_DOB = 11;
-    private static final int COL_LMP_DATE = 12;
-    private static final int COL_GRAVIDA = 13;
-    private static final int COL_PARA = 14;
-    private static final int COL_BLOOD_GROUP = 15;
-    private static final int COL_PREVIOUS_COMPLICATIONS = 16;
-    private static final int COL_COMPLICATIONS_DETAILS = 17;
-    private static final int COL_MEDICAL_HISTORY = 18;
-    private static final int COL_ALLERGIES = 19;
+    @Value("${app.bulk-upload.streaming-enabled:true}")
+    private boolean streamingEnabled;
 
-    public BulkUploadResult processExcelUpload(MultipartFile file, Long userId) {
-        log.info("Processing Excel upload: {}", file.getOriginalFilename());
+    // 0 uses one parser thread per available processor
+    @Value("${app.bulk-upload.parse-parallelism:0}")
+    private int parseParallelism;
 
-        List<BulkUploadResult.UploadedPatient> successfulRecords = new ArrayList<>();
-        List<BulkUploadResult.FailedRecord> failedRecords = new ArrayList<>();
+    @Value("${app.bulk-upload.parse-queue-chunks:4}")
+    private int parseQueueChunks;
 
-        try (InputStream inputStream = file.getInputStream();
-             Workbook workbook = new XSSFWorkbook(inputStream)) {
+    private ForkJoinPool parsePool;
 
-            Sheet sheet = workbook.getSheetAt(0);
-            int totalRows = sheet.getLastRowNum();
-            log.info("Total rows in Excel (excluding header): {}", totalRows);
-
-            // Start from row 1 (skip header row 0)
-            for (int rowIndex = 1; rowIndex <= totalRows; rowIndex++) {
-                Row row = sheet.getRow(rowIndex);
-                if (row == null || isRowEmpty(row)) {
-                    continue;
-                }
-
-                try {
-                    PatientRegistrationRequest request = parseRow(row, rowIndex);
-                    Patient patient = patientService.registerPatient(request, userId);
-
-                    successfulRecords.add(BulkUploadResult.UploadedPatient.builder()
-                            .id(patient.getId())
-                            .name(patient.getName())
-                            .motherId(patient.getMotherId())
-                            .aadhaarNumber(patient.getAadhaarNumber())
-                            .build());
-
-                    log.info("Row {}: Successfully registered patient: {}", rowIndex + 1, patient.getName());
-
-                } catch (Exception e) {
-                    String name = getStringValue(row.getCell(COL_NAME));
-                    String aadhaar = getStringValue(row.getCell(COL_AADHAAR));
-
-                    failedRecords.add(BulkUploadResult.FailedRecord.builder()
-                            .rowNumber(rowIndex + 1)
-                            .name(name)
-                            .aadhaarNumber(aadhaar)
-                            .errorMessage(e.getMessage())
-                            .build());
-
-                    log.warn("Row {}: Failed to register patient: {} - {}", rowIndex + 1, name, e.getMessage());
-                }
-            }
-
-        } catch (IOException e) {
-            log.error("Error reading Excel file: {}", e.getMessage());
-            throw new RuntimeException("Failed to read Excel file: " + e.getMessage());
-        }
-
-        return BulkUploadResult.builder()
-                .totalRecords(successfulRecords.size() + failedRecords.size())
-                .successCount(successfulRecords.size())
-                .failureCount(failedRecords.size())
-                .successfulRecords(successfulRecords)
-                .failedRecords(failedRecords)
-                .build();
+    @PostConstruct
+    void startParsePool() {
+        parsePool = new ForkJoinPool(parseParallelism > 0
+                ? parseParallelism
+                : Runtime.getRuntime().availableProcessors());
     }
 
-    private PatientRegistrationRequest parseRow(Row row, int rowIndex) {
-        String name = getStringValue(row.getCell(COL_NAME));
-        if (name == null || name.trim().isEmpty()) {
-            throw new IllegalArgumentException("Name is required");
-        }
-
-        Integer age = getIntegerValue(row.getCell(COL_AGE));
-        if (age == null) {
-            throw new IllegalArgumentException("Age is required");
-        }
-
-        String aadhaar = getStringValue(row.getCell(COL_AADHAAR));
-        if (aadhaar == null || aadhaar.length() != 12) {
-            throw new IllegalArgumentException("Valid 12-digit Aadhaar number is required");
-        }
-
-        String mobile = getStringValue(row.getCell(COL_MOBILE));
-        if (mobile == null || mobile.length() < 10) {
-            throw new IllegalArgumentException("Valid mobile number is required");
-        }
-
-        String residence = getStringValue(row.getCell(COL_RESIDENCE));
-        if (residence == null || residence.trim().isEmpty()) {
-            throw new IllegalArgumentException("Residence is required");
-        }
-
-        return PatientRegistrationRequest.builder()
-                .name(name.trim())
-                .age(age)
-                .husbandName(getStringValue(row.getCell(COL_HUSBAND_NAME)))
-                .aadhaarNumber(aadhaar)
-                .mobileNumber(mobile)
-                .alternateMobile(getStringValue(row.getCell(COL_ALTERNATE_MOBILE)))
-                .residence(residence.trim())
-                .district(getStringValue(row.getCell(COL_DISTRICT)))
-                .mandal(getStringValue(row.getCell(COL_MANDAL)))
-                .village(getStringValue(row.getCell(COL_VILLAGE)))
-                .pincode(getStringValue(row.getCell(COL_PINCODE)))
-                .dateOfBirth(getDateValue(row.getCell(COL_DOB)))
-                .lmpDate(getDateValue(row.getCell(COL_LMP_DATE)))
-                .gravida(getIntegerValue(row.getCell(COL_GRAVIDA)))
-                .para(getIntegerValue(row.getCell(COL_PARA)))
-                .bloodGroup(getStringValue(row.getCell(COL_BLOOD_GROUP)))
-                .hasPreviousComplications(getBooleanValue(row.getCell(COL_PREVIOUS_COMPLICATIONS)))
-                .previousComplicationsDetails(getStringValue(row.getCell(COL_COMPLICATIONS_DETAILS)))
-                .medicalHistory(getStringValue(row.getCell(COL_MEDICAL_HISTORY)))
-                .allergies(getStringValue(row.getCell(COL_ALLERGIES)))
-                .build();
+    @PreDestroy
+    void stopParsePool() {
+        parsePool.shutdownNow();
     }
 
-    private boolean isRowEmpty(Row row) {
-        for (int i = 0; i < 5; i++) { // Check first 5 cells
-            Cell cell = row.getCell(i);
-            if (cell != null && cell.getCellType() != CellType.BLANK) {
-                String value = getStringValue(cell);
-                if (value != null && !value.trim().isEmpty()) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    /**
+     * Receives one committed chunk of an import: the rows it covers end at {@code lastRowNumber}
+     * (1-based, as shown in the spreadsheet). When the chunk's batch insert succeeded the call is
+     * made inside that transaction.
+     */
+    public interface ChunkHandler {
+        void chunk(int lastRowNumber,
+                   List<BulkUploadResult.UploadedPatient> succeeded,
+                   List<BulkUploadResult.FailedRecord> failed);
     }
 
-    private String getStringValue(Cell cell) {
-        if (cell == null) return null;
-
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return null;
-                }
-                // Handle numbers stored as numeric (e.g., Aadhaar, phone)
-                double numericValue = cell.getNumericCellValue();
-                if (numericValue == Math.floor(numericValue)) {
-                    return String.valueOf((long) numericValue);
-                }
-                return String.valueOf(numericValue);
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                try {
-                    return cell.getStringCellValue();
-                } catch (Exception e) {
-                    return String.valueOf(cell.getNumericCellValue());
-                }
-            default:
-                return null;
-        }
+    /**
+     * Registers the patients in a stored upload, chunk by chunk. Rows up to and including
+     * {@code resumeAfterRow} are skipped, so an interrupted import continues after its last
+     * committed chunk.
+     *
+     * <p>Rows are parsed and validated in parallel by {@link ParallelSheetParser} while this
+     * thread, the single writer, registers the chunks already parsed. Each chunk commits before
+     * the next is registered, so later chunks see earlier ones as existing patients.</p>
+     */
+    public void importRows(Path file, Long userId, int resumeAfterRow, ChunkHandler handler) throws IOException {
+        log.info("Importing Excel upload {} from row {}", file.getFileName(), resumeAfterRow + 1);
+
+        new ParallelSheetParser(parsePool, parseQueueChunks, streamingEnabled)
+                .parse(file, resumeAfterRow, chunk -> register(chunk, userId, handler));
     }
 
-    private Integer getIntegerValue(Cell cell) {
-        if (cell == null) return null;
-
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return (int) cell.getNumericCellValue();
-            case STRING:
-                try {
-                    return Integer.parseInt(cell.getStringCellValue().trim());
-                } catch (NumberFormatException e) {
-                    return null;
-                }
-            default:
-                return null;
+    private void register(ParallelSheetParser.ParsedChunk chunk, Long userId, ChunkHandler handler) {
+        if (chunk.rows().isEmpty()) {
+            if (!chunk.failures().isEmpty()) {
+                handler.chunk(chunk.lastRowNumber(), List.of(), chunk.failures());
+            }
+            return;
         }
-    }
-
-    private LocalDate getDateValue(Cell cell) {
-        if (cell == null) return null;
-
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    Date date = cell.getDateCellValue();
-                    return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                }
-                return null;
-            case STRING:
-                try {
-                    String dateStr = cell.getStringCellValue().trim();
-                    if (dateStr.isEmpty()) return null;
-                    // Try parsing common date formats
-                    if (dateStr.contains("/")) {
-                        String[] parts = dateStr.split("/");
-                        if (parts.length == 3) {
-                            int day = Integer.parseInt(parts[0]);
-                            int month = Integer.parseInt(parts[1]);
-                            int year = Integer.parseInt(parts[2]);
-                            if (year < 100) year += 2000;
-                            return LocalDate.of(year, month, day);
-                        }
-                    } else if (dateStr.contains("-")) {
-                        return LocalDate.parse(dateStr);
-                    }
-                } catch (Exception e) {
-                    return null;
+        bulkRegistrationService.registerAll(chunk.rows(), userId, outcomes -> {
+            List<BulkUploadResult.UploadedPatient> succeeded = new ArrayList<>();
+            List<BulkUploadResult.FailedRecord> failed = new ArrayList<>(chunk.failures());
+            for (PatientBulkRegistrationService.Outcome outcome : outcomes) {
+                if (outcome.isSuccess()) {
+                    Patient patient = outcome.patient();
+                    succeeded.add(BulkUploadResult.UploadedPatient.builder()
+                            .rowNumber(outcome.row().rowNumber())
+                            .id(patient.getId())
+                            .name(patient.getName())
+                            .motherId(patient.getMotherId())
+                            .aadhaarNumber(patient.getAadhaarNumber())
+                            .build());
+                } else {
+                    PatientRegistrationRequest request = outcome.row().request();
+                    failed.add(PatientRowParser.failedRecord(outcome.row().rowNumber(), request.getName(),
+                            request.getAadhaarNumber(), outcome.errorMessage()));
                 }
-                return null;
-            default:
-                return null;
-        }
-    }
-
-    private Boolean getBooleanValue(Cell cell) {
-        if (cell == null) return false;
-
-        switch (cell.getCellType()) {
-            case BOOLEAN:
-                return cell.getBooleanCellValue();
-            case STRING:
-                String value = cell.getStringCellValue().trim().toLowerCase();
-                return value.equals("yes") || value.equals("true") || value.equals("1") || value.equals("y");
-            case NUMERIC:
-                return cell.getNumericCellValue() == 1;
-            default:
-                return false;
-        }
+            }
+            handler.chunk(chunk.lastRowNumber(), succeeded, failed);
+        });
     }
 
     public byte[] generateTemplate() {
@@ -0,0 +1,200 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.BulkUploadResult;
+import com.ammarakshitha.dto.PatientRegistrationRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+
+/**
+ * Decodes and validates one upload row into a registration request. Stateless, so rows can be
+ * parsed on any thread.
+ */
+@Slf4j
+final class PatientRowParser {
+
+    // Column indices based on "Amma Rakshitha Patient Registration Form" format
+    static final int COL_NAME = 0;
+    private static final int COL_AGE = 1;
+    private static final int COL_HUSBAND_NAME = 2;
+    static final int COL_AADHAAR = 3;
+    private static final int COL_MOBILE = 4;
+    private static final int COL_ALTERNATE_MOBILE = 5;
+    private static final int COL_RESIDENCE = 6;
+    private static final int COL_DISTRICT = 7;
+    private static final int COL_MANDAL = 8;
+    private static final int COL_VILLAGE = 9;
+    private static final int COL_PINCODE = 10;
+    private static final int COL_DOB = 11;
+    private static final int COL_LMP_DATE = 12;
+    private static final int COL_GRAVIDA = 13;
+    private static final int COL_PARA = 14;
+    private static final int COL_BLOOD_GROUP = 15;
+    private static final int COL_PREVIOUS_COMPLICATIONS = 16;
+    private static final int COL_COMPLICATIONS_DETAILS = 17;
+    private static final int COL_MEDICAL_HISTORY = 18;
+    private static final int COL_ALLERGIES = 19;
+
+    private PatientRowParser() {
+    }
+
+    static BulkUploadResult.FailedRecord failedRecord(int rowNumber, String name, String aadhaar, String errorMessage) {
+        log.warn("Row {}: Failed to register patient: {} - {}", rowNumber, name, errorMessage);
+        return BulkUploadResult.FailedRecord.builder()
+                .rowNumber(rowNumber)
+                .name(name)
+                .aadhaarNumber(aadhaar)
+                .errorMessage(errorMessage)
+                .build();
+    }
+
+    static PatientRegistrationRequest parseRow(ExcelRowValues row, int rowIndex) {
+        String name = getStringValue(row.get(COL_NAME));
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+
+        Integer age = getIntegerValue(row.get(COL_AGE));
+        if (age == null) {
+            throw new IllegalArgumentException("Age is required");
+        }
+
+        String aadhaar = getStringValue(row.get(COL_AADHAAR));
+        if (aadhaar == null || aadhaar.length() != 12) {
+            throw new IllegalArgumentException("Valid 12-digit Aadhaar number is required");
+        }
+
+        String mobile = getStringValue(row.get(COL_MOBILE));
+        if (mobile == null || mobile.length() < 10) {
+            throw new IllegalArgumentException("Valid mobile number is required");
+        }
+
+        String residence = getStringValue(row.get(COL_RESIDENCE));
+        if (residence == null || residence.trim().isEmpty()) {
+            throw new IllegalArgumentException("Residence is required");
+        }
+
+        return PatientRegistrationRequest.builder()
+                .name(name.trim())
+                .age(age)
+                .husbandName(getStringValue(row.get(COL_HUSBAND_NAME)))
+                .aadhaarNumber(aadhaar)
+                .mobileNumber(mobile)
+                .alternateMobile(getStringValue(row.get(COL_ALTERNATE_MOBILE)))
+                .residence(residence.trim())
+                .district(getStringValue(row.get(COL_DISTRICT)))
+                .mandal(getStringValue(row.get(COL_MANDAL)))
+                .village(getStringValue(row.get(COL_VILLAGE)))
+                .pincode(getStringValue(row.get(COL_PINCODE)))
+                .dateOfBirth(getDateValue(row.get(COL_DOB)))
+                .lmpDate(getDateValue(row.get(COL_LMP_DATE)))
+                .gravida(getIntegerValue(row.get(COL_GRAVIDA)))
+                .para(getIntegerValue(row.get(COL_PARA)))
+                .bloodGroup(getStringValue(row.get(COL_BLOOD_GROUP)))
+                .hasPreviousComplications(getBooleanValue(row.get(COL_PREVIOUS_COMPLICATIONS)))
+                .previousComplicationsDetails(getStringValue(row.get(COL_COMPLICATIONS_DETAILS)))
+                .medicalHistory(getStringValue(row.get(COL_MEDICAL_HISTORY)))
+                .allergies(getStringValue(row.get(COL_ALLERGIES)))
+                .build();
+    }
+
+    static boolean isRowEmpty(ExcelRowValues row) {
+        for (int i = 0; i < 5; i++) { // Check first 5 cells
+            String value = getStringValue(row.get(i));
+            if (value != null && !value.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String getStringValue(ExcelRowValues.CellValue cell) {
+        if (cell == null) return null;
+
+        switch (cell.kind()) {
+            case STRING:
+                return cell.text().trim();
+            case NUMERIC:
+                if (cell.date() != null) {
+                    return null;
+                }
+                // Handle numbers stored as numeric (e.g., Aadhaar, phone)
+                double numericValue = cell.number();
+                if (numericValue == Math.floor(numericValue)) {
+                    return String.valueOf((long) numericValue);
+                }
+                return String.valueOf(numericValue);
+            case BOOLEAN:
+                return String.valueOf(cell.bool());
+            case FORMULA:
+                return cell.text() != null ? cell.text() : String.valueOf(cell.number());
+            default:
+                return null;
+        }
+    }
+
+    private static Integer getIntegerValue(ExcelRowValues.CellValue cell) {
+        if (cell == null) return null;
+
+        switch (cell.kind()) {
+            case NUMERIC:
+                return (int) cell.number();
+            case STRING:
+                try {
+                    return Integer.parseInt(cell.text().trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            default:
+                return null;
+        }
+    }
+
+    private static LocalDate getDateValue(ExcelRowValues.CellValue cell) {
+        if (cell == null) return null;
+
+        switch (cell.kind()) {
+            case NUMERIC:
+                return cell.date();
+            case STRING:
+                try {
+                    String dateStr = cell.text().trim();
+                    if (dateStr.isEmpty()) return null;
+                    // Try parsing common date formats
+                    if (dateStr.contains("/")) {
+                        String[] parts = dateStr.split("/");
+                        if (parts.length == 3) {
+                            int day = Integer.parseInt(parts[0]);
+                            int month = Integer.parseInt(parts[1]);
+                            int year = Integer.parseInt(parts[2]);
+                            if (year < 100) year += 2000;
+                            return LocalDate.of(year, month, day);
+                        }
+                    } else if (dateStr.contains("-")) {
+                        return LocalDate.parse(dateStr);
+                    }
+                } catch (Exception e) {
+                    return null;
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static Boolean getBooleanValue(ExcelRowValues.CellValue cell) {
+        if (cell == null) return false;
+
+        switch (cell.kind()) {
+            case BOOLEAN:
+                return cell.bool();
+            case STRING:
+                String value = cell.text().trim().toLowerCase();
+                return value.equals("yes") || value.equals("true") || value.equals("1") || value.equals("y");
+            case NUMERIC:
+                return cell.number() == 1;
+            default:
+                return false;
+        }
+    }
+}
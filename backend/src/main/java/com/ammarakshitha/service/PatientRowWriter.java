@@ -0,0 +1,200 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.model.BaseEntity;
+import com.ammarakshitha.model.Patient;
+import jakarta.persistence.Column;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Transient;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Batch-inserts patients with plain JDBC for the bulk registration and synthetic data paths.
+ *
+ * <p>The column list and the values are read from {@link Patient}'s JPA mapping, and the entity's
+ * {@link PrePersist} callbacks (the phonetic name keys) run before each row is bound, so a column
+ * added to the entity is written here too and a row inserted this way reads back through JPA
+ * exactly as one saved by the repository.</p>
+ */
+final class PatientRowWriter {
+
+    private static final List<MappedColumn> COLUMNS = mappedColumns();
+    private static final List<Method> PRE_PERSIST = prePersistCallbacks();
+
+    static final String INSERT_SQL = "INSERT INTO patients ("
+            + COLUMNS.stream().map(MappedColumn::name).collect(Collectors.joining(", "))
+            + ") VALUES ("
+            + COLUMNS.stream().map(column -> "?").collect(Collectors.joining(", "))
+            + ")";
+
+    private PatientRowWriter() {
+    }
+
+    /**
+     * Column names in insert order.
+     */
+    static List<String> columns() {
+        return COLUMNS.stream().map(MappedColumn::name).toList();
+    }
+
+    /**
+     * Inserts {@code patients} with one JDBC batch and assigns the generated ids. Audit timestamps
+     * that are not set default to now and the version to 0, as on a repository save.
+     */
+    static void insert(Connection connection, List<Patient> patients) throws SQLException {
+        if (patients.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+            for (Patient patient : patients) {
+                if (patient.getCreatedAt() == null) {
+                    patient.setCreatedAt(now);
+                }
+                if (patient.getUpdatedAt() == null) {
+                    patient.setUpdatedAt(patient.getCreatedAt());
+                }
+                if (patient.getVersion() == null) {
+                    patient.setVersion(0L);
+                }
+                for (Method callback : PRE_PERSIST) {
+                    invoke(callback, patient);
+                }
+                for (int i = 0; i < COLUMNS.size(); i++) {
+                    StatementCreatorUtils.setParameterValue(ps, i + 1, SqlTypeValue.TYPE_UNKNOWN,
+                            COLUMNS.get(i).value(patient));
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next()) {
+                    patients.get(i++).setId(keys.getLong(1));
+                }
+                if (i != patients.size()) {
+                    throw new SQLException("Expected " + patients.size() + " generated ids, got " + i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Persistent fields of {@link Patient} and its superclasses, superclass first. The generated
+     * id and the collection sides of relationships are not columns of this table.
+     */
+    private static List<MappedColumn> mappedColumns() {
+        List<MappedColumn> columns = new ArrayList<>();
+        for (Class<?> type : hierarchy()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                        || field.isAnnotationPresent(Transient.class) || field.isAnnotationPresent(Id.class)
+                        || field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class)
+                        || (field.isAnnotationPresent(OneToOne.class)
+                            && !field.getAnnotation(OneToOne.class).mappedBy().isEmpty())) {
+                    continue;
+                }
+                Column column = field.getAnnotation(Column.class);
+                if (column != null && !column.insertable()) {
+                    continue;
+                }
+                JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+                String name;
+                if (joinColumn != null) {
+                    name = joinColumn.name();
+                } else if (column != null && !column.name().isEmpty()) {
+                    name = column.name();
+                } else {
+                    name = snakeCase(field.getName());
+                }
+                Enumerated enumerated = field.getAnnotation(Enumerated.class);
+                field.setAccessible(true);
+                columns.add(new MappedColumn(name, field, enumerated != null && enumerated.value() == EnumType.STRING));
+            }
+        }
+        return List.copyOf(columns);
+    }
+
+    private static List<Method> prePersistCallbacks() {
+        List<Method> callbacks = new ArrayList<>();
+        for (Class<?> type : hierarchy()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(PrePersist.class)) {
+                    method.setAccessible(true);
+                    callbacks.add(method);
+                }
+            }
+        }
+        return List.copyOf(callbacks);
+    }
+
+    private static List<Class<?>> hierarchy() {
+        List<Class<?>> types = new ArrayList<>();
+        for (Class<?> type = Patient.class; type != Object.class; type = type.getSuperclass()) {
+            types.add(type);
+        }
+        Collections.reverse(types);
+        return types;
+    }
+
+    // Same as Spring Boot's default physical naming strategy
+    private static String snakeCase(String name) {
+        StringBuilder column = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                column.append('_');
+            }
+            column.append(Character.toLowerCase(c));
+        }
+        return column.toString();
+    }
+
+    private static void invoke(Method callback, Patient patient) {
+        try {
+            callback.invoke(patient);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to run " + callback.getName() + " on patient", e);
+        }
+    }
+
+    private record MappedColumn(String name, Field field, boolean enumByName) {
+
+        Object value(Patient patient) {
+            Object value;
+            try {
+                value = field.get(patient);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read patient." + field.getName(), e);
+            }
+            if (value instanceof Enum<?> constant) {
+                return enumByName ? constant.name() : constant.ordinal();
+            }
+            if (value instanceof BaseEntity entity) {
+                return entity.getId();
+            }
+            return value;
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.ammarakshitha.service;
 
 import com.ammarakshitha.dto.BabyDTO;
+import com.ammarakshitha.dto.CursorPage;
 import com.ammarakshitha.dto.DeliveryCompletionRequest;
+import com.ammarakshitha.dto.PageCursor;
 import com.ammarakshitha.dto.PatientDTO;
 import com.ammarakshitha.dto.PatientRegistrationRequest;
 import com.ammarakshitha.dto.PatientSearchRequest;
 import com.ammarakshitha.dto.PreviousPregnancyDTO;
+import com.ammarakshitha.event.DashboardRecountRequestedEvent;
+import com.ammarakshitha.event.PatientChangedEvent;
 import com.ammarakshitha.exception.DuplicateResourceException;
 import com.ammarakshitha.exception.ResourceNotFoundException;
 import com.ammarakshitha.model.Baby;
@@ -16,18 +20,32 @@ import com.ammarakshitha.model.enums.PatientStatus;
 import com.ammarakshitha.model.enums.RiskLevel;
 import com.ammarakshitha.repository.PatientRepository;
 import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.search.IndianNamePhonetics;
+import com.ammarakshitha.search.PatientNameMatchIndex;
+import com.ammarakshitha.search.PatientSearchHits;
+import com.ammarakshitha.search.PatientSearchIndex;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -36,9 +54,19 @@ import java.util.UUID;
 @Transactional
 public class PatientService {
 
+    static final String DUPLICATE_MOBILE_AND_LMP_MESSAGE =
+            "An active patient with the same mobile number and LMP date already exists. This may be a duplicate registration.";
+
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PatientSearchIndex patientSearchIndex;
+    private final PatientNameMatchIndex patientNameMatchIndex;
+
+    // Rows returned by the unpaged list endpoints; the rest needs page and size
+    @Value("${app.pagination.max-results:500}")
+    private int maxResults;
 
     public Patient registerPatient(PatientRegistrationRequest request, Long registeredByUserId) {
         log.info("Registering new patient: {}", request.getName());
@@ -51,13 +79,13 @@ public class PatientService {
         // Check for duplicates - only check against ACTIVE patients
         // This allows re-registration after abortion/delivery (when previous record is DISCHARGED/INACTIVE)
         if (aadhaarNumber != null && patientRepository.existsActivePatientByAadhaarNumber(aadhaarNumber)) {
-            throw new DuplicateResourceException("An active patient with Aadhaar " + aadhaarNumber + " already exists. Please update the existing record or mark it as inactive first.");
+            throw new DuplicateResourceException(activeAadhaarExistsMessage(aadhaarNumber));
         }
 
         // Additional check: If same mobile number and same LMP date, it's likely a duplicate
         if (request.getLmpDate() != null && request.getMobileNumber() != null) {
             if (patientRepository.existsActivePatientByMobileAndLmpDate(request.getMobileNumber(), request.getLmpDate())) {
-                throw new DuplicateResourceException("An active patient with the same mobile number and LMP date already exists. This may be a duplicate registration.");
+                throw new DuplicateResourceException(DUPLICATE_MOBILE_AND_LMP_MESSAGE);
             }
         }
 
@@ -72,7 +100,21 @@ public class PatientService {
         User registeredBy = userRepository.findById(registeredByUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        Patient patient = Patient.builder()
+        Patient patient = newPatient(request, aadhaarNumber, motherId, registeredBy);
+
+        Patient savedPatient = patientRepository.save(patient);
+        log.info("Patient registered successfully with Mother ID: {}", savedPatient.getMotherId());
+        publishChange(null, savedPatient);
+
+        return savedPatient;
+    }
+
+    /**
+     * Builds a new, unsaved patient from a registration request. Shared with the bulk
+     * registration path so both produce identical records.
+     */
+    Patient newPatient(PatientRegistrationRequest request, String aadhaarNumber, String motherId, User registeredBy) {
+        return Patient.builder()
                 .name(request.getName())
                 .age(request.getAge())
                 .husbandName(request.getHusbandName())
@@ -107,14 +149,13 @@ public class PatientService {
                 .status(PatientStatus.ACTIVE)
                 .currentRiskLevel(RiskLevel.GREEN)
                 .build();
+    }
 
-        Patient savedPatient = patientRepository.save(patient);
-        log.info("Patient registered successfully with Mother ID: {}", savedPatient.getMotherId());
-
-        return savedPatient;
+    static String activeAadhaarExistsMessage(String aadhaarNumber) {
+        return "An active patient with Aadhaar " + aadhaarNumber + " already exists. Please update the existing record or mark it as inactive first.";
     }
 
-    private String generateMotherId(String district) {
+    String generateMotherId(String district) {
         String districtCode = (district != null && district.length() >= 3)
                 ? district.substring(0, 3).toUpperCase()
                 : "NRL"; // Nirmal default
@@ -122,7 +163,7 @@ public class PatientService {
         return "AR-" + districtCode + "-" + uniquePart;
     }
 
-    private LocalDate calculateEDD(LocalDate lmpDate) {
+    LocalDate calculateEDD(LocalDate lmpDate) {
         if (lmpDate == null) {
             return null;
         }
@@ -161,37 +202,99 @@ public class PatientService {
     }
 
     @Transactional(readOnly = true)
-    public Page<Patient> getAllPatients(Pageable pageable) {
-        return patientRepository.findAll(pageable);
+    public Page<PatientDTO> getAllPatients(Pageable pageable) {
+        return patientRepository.findListView(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PatientDTO> getPatients(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = CursorPage.limit(size);
+        Slice<PatientDTO> slice = after == null
+                ? patientRepository.findListViewFirst(limit)
+                : patientRepository.findListViewAfter(after.dateTimeKey(), after.id(), limit);
+        return CursorPage.of(slice, p -> PageCursor.of(p.getCreatedAt(), p.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PatientDTO> getPatientsByStatus(PatientStatus status, Pageable pageable) {
+        return patientRepository.findListViewByStatus(status, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<Patient> getPatientsByStatus(PatientStatus status, Pageable pageable) {
-        return patientRepository.findByStatus(status, pageable);
+    public Page<PatientDTO> getPatientsByRiskLevel(RiskLevel riskLevel, Pageable pageable) {
+        return patientRepository.findListViewByRiskLevel(riskLevel, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<Patient> getPatientsByRiskLevel(RiskLevel riskLevel, Pageable pageable) {
-        return patientRepository.findByCurrentRiskLevel(riskLevel, pageable);
+    public Page<PatientDTO> getHighRiskPatients() {
+        return getHighRiskPatients(PageRequest.of(0, maxResults, Sort.by(Sort.Direction.DESC, "currentRiskScore")));
     }
 
     @Transactional(readOnly = true)
-    public List<Patient> getHighRiskPatients() {
-        return patientRepository.findHighRiskPatients();
+    public Page<PatientDTO> getHighRiskPatients(Pageable pageable) {
+        return patientRepository.findHighRiskListView(Pagination.capped(pageable, maxResults));
     }
 
     @Transactional(readOnly = true)
-    public Page<Patient> getAtRiskPatients(Pageable pageable) {
-        return patientRepository.findAtRiskPatients(pageable);
+    public Page<PatientDTO> getAtRiskPatients(Pageable pageable) {
+        return patientRepository.findAtRiskListView(pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<Patient> searchPatients(String search, Pageable pageable) {
+        // Index results are ranked by relevance, so an explicit sort goes to the database
+        if (pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            PatientSearchHits hits = patientSearchIndex.search(
+                    search, (int) pageable.getOffset(), pageable.getPageSize());
+            if (hits != null) {
+                return new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total());
+            }
+        }
         return patientRepository.searchPatients(search, pageable);
     }
 
+    /**
+     * Matches patient and husband names by sound, so "Laxmi" finds "Lakshmi". Results are
+     * always ranked by closeness.
+     */
+    @Transactional(readOnly = true)
+    public Page<Patient> fuzzySearchPatients(String search, Pageable pageable) {
+        if (pageable.isPaged()) {
+            PatientSearchHits hits = patientNameMatchIndex.search(
+                    search, (int) pageable.getOffset(), pageable.getPageSize());
+            if (hits != null) {
+                return new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total());
+            }
+        }
+        // Index still loading: exact match on the longest (most selective) phonetic word
+        String longestKey = IndianNamePhonetics.encodeTokens(search).stream()
+                .max(Comparator.comparingInt(String::length))
+                .orElse(null);
+        if (longestKey == null) {
+            return Page.empty(pageable);
+        }
+        return patientRepository.searchByPhoneticKey(longestKey, pageable);
+    }
+
+    private List<Patient> findAllInOrder(List<Long> ids) {
+        Map<Long, Patient> byId = new HashMap<>();
+        for (Patient patient : patientRepository.findAllById(ids)) {
+            byId.put(patient.getId(), patient);
+        }
+        List<Patient> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Patient patient = byId.get(id);
+            if (patient != null) {
+                ordered.add(patient);
+            }
+        }
+        return ordered;
+    }
+
     public Patient updatePatient(Long id, PatientDTO updateRequest) {
         Patient patient = getPatientById(id);
+        PatientChangedEvent.Snapshot before = PatientChangedEvent.Snapshot.of(patient);
 
         if (updateRequest.getName() != null) {
             patient.setName(updateRequest.getName());
@@ -278,39 +381,62 @@ public class PatientService {
                     id, updateRequest.getLmpDate(), patient.getEddDate());
         }
 
-        return patientRepository.save(patient);
+        Patient savedPatient = patientRepository.save(patient);
+        publishChange(before, savedPatient);
+        return savedPatient;
     }
 
     public Patient updatePatientStatus(Long id, PatientStatus status) {
         Patient patient = getPatientById(id);
+        PatientChangedEvent.Snapshot before = PatientChangedEvent.Snapshot.of(patient);
         patient.setStatus(status);
-        return patientRepository.save(patient);
+        Patient savedPatient = patientRepository.save(patient);
+        publishChange(before, savedPatient);
+        return savedPatient;
     }
 
-    public void updatePatientRisk(Long patientId, int riskScore, RiskLevel riskLevel) {
-        Patient patient = getPatientById(patientId);
+    public void updatePatientRisk(Patient patient, int riskScore, RiskLevel riskLevel) {
+        PatientChangedEvent.Snapshot before = PatientChangedEvent.Snapshot.of(patient);
         patient.setCurrentRiskScore(riskScore);
         patient.setCurrentRiskLevel(riskLevel);
-        patientRepository.save(patient);
+        publishChange(before, patientRepository.save(patient));
     }
 
     public void deletePatient(Long id) {
         Patient patient = getPatientById(id);
         log.info("Deleting patient: {} (ID: {})", patient.getName(), id);
+        PatientChangedEvent.Snapshot before = PatientChangedEvent.Snapshot.of(patient);
         patientRepository.delete(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(before, null));
+        // Health checks, follow-ups and alerts are removed by cascade
+        eventPublisher.publishEvent(new DashboardRecountRequestedEvent("patient " + id + " deleted"));
         log.info("Patient deleted successfully: {}", id);
     }
 
+    private void publishChange(PatientChangedEvent.Snapshot before, Patient after) {
+        eventPublisher.publishEvent(new PatientChangedEvent(before, PatientChangedEvent.Snapshot.of(after)));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Patient> getPatientsWithUpcomingEDD(int daysAhead) {
+        return getPatientsWithUpcomingEDD(daysAhead, PageRequest.of(0, maxResults, Sort.by("eddDate")));
+    }
+
     @Transactional(readOnly = true)
-    public List<Patient> getPatientsWithUpcomingEDD(int daysAhead) {
+    public Page<Patient> getPatientsWithUpcomingEDD(int daysAhead, Pageable pageable) {
         LocalDate today = LocalDate.now();
         LocalDate endDate = today.plusDays(daysAhead);
-        return patientRepository.findByEddDateBetween(today, endDate);
+        return patientRepository.findByEddDateBetween(today, endDate, Pagination.capped(pageable, maxResults));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Patient> getOverdueDeliveries() {
+        return getOverdueDeliveries(PageRequest.of(0, maxResults, Sort.by("eddDate")));
     }
 
     @Transactional(readOnly = true)
-    public List<Patient> getOverdueDeliveries() {
-        return patientRepository.findOverdueDeliveries(LocalDate.now());
+    public Page<Patient> getOverdueDeliveries(Pageable pageable) {
+        return patientRepository.findOverdueDeliveries(LocalDate.now(), Pagination.capped(pageable, maxResults));
     }
 
     // Statistics methods
@@ -343,6 +469,7 @@ public class PatientService {
     // Delivery Management
     public Patient completeDelivery(Long patientId, DeliveryCompletionRequest request, Long completedByUserId) {
         Patient patient = getPatientById(patientId);
+        PatientChangedEvent.Snapshot before = PatientChangedEvent.Snapshot.of(patient);
         User completedBy = userRepository.findById(completedByUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
@@ -354,7 +481,9 @@ public class PatientService {
         log.info("Delivery completed for patient {} by user {}, outcome: {}, number of babies: {}",
                 patientId, completedByUserId, request.getDeliveryOutcome(), patient.getNumberOfBabies());
 
-        return patientRepository.save(patient);
+        Patient savedPatient = patientRepository.save(patient);
+        publishChange(before, savedPatient);
+        return savedPatient;
     }
 
     private void applyDeliveryInfo(Patient patient, DeliveryCompletionRequest request, User completedBy) {
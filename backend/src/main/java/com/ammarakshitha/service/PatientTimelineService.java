@@ -0,0 +1,43 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.PatientTimelineDTO;
+import com.ammarakshitha.exception.ResourceNotFoundException;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.repository.ConsultationRepository;
+import com.ammarakshitha.repository.FollowUpRepository;
+import com.ammarakshitha.repository.HealthCheckRepository;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.RiskAlertRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Assembles everything the patient detail page shows in five queries, whatever the number of
+ * records: the patient with babies and users, then one query per child collection. Collections are
+ * fetched separately rather than joined into one query, which would multiply their rows together.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PatientTimelineService {
+
+    private final PatientRepository patientRepository;
+    private final HealthCheckRepository healthCheckRepository;
+    private final ConsultationRepository consultationRepository;
+    private final FollowUpRepository followUpRepository;
+    private final RiskAlertRepository riskAlertRepository;
+
+    public PatientTimelineDTO getTimeline(Long patientId) {
+        Patient patient = patientRepository.findWithDetailsById(patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + patientId));
+
+        return PatientTimelineDTO.builder()
+                .patient(patient)
+                .healthChecks(healthCheckRepository.findTimelineByPatientId(patientId))
+                .consultations(consultationRepository.findTimelineByPatientId(patientId))
+                .followUps(followUpRepository.findViewsByPatientId(patientId))
+                .alerts(riskAlertRepository.findViewsByPatientId(patientId))
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.ReportSummary;
+import com.ammarakshitha.event.DashboardRecountRequestedEvent;
+import com.ammarakshitha.event.PatientChangedEvent;
+import com.ammarakshitha.exception.BusinessException;
+import com.ammarakshitha.repository.PatientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Report aggregates for the Reports page, computed with grouped queries so no patient rows
+ * leave the database.
+ *
+ * <p>Results are cached per report and date range for {@code app.reports.cache-ttl-ms}. A patient
+ * change drops only the deliveries and mortality entries whose range contains that patient's
+ * delivery or mortality date, before or after the change, so those reports are never staler than
+ * the last committed change. The active patients report shifts with every registration and risk
+ * change and is left to expire with the TTL. Callers get copies, so the cached entries cannot be
+ * modified through a returned summary.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReportService {
+
+    static final String UNKNOWN = "Unknown";
+
+    private final PatientRepository patientRepository;
+
+    @Value("${app.reports.cache-ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    @Value("${app.reports.cache-max-entries:200}")
+    private int cacheMaxEntries;
+
+    private static final String ACTIVE_PATIENTS = "active-patients";
+    private static final String DELIVERIES = "deliveries";
+    private static final String MORTALITY = "mortality";
+
+    private final Map<CacheKey, CachedReport> cache = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a report computed before it is not cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    private record CacheKey(String report, LocalDate startDate, LocalDate endDate) {
+
+        boolean covers(LocalDate date) {
+            return date != null && startDate != null && !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+
+    private record CachedReport(ReportSummary summary, long expiresAt) {
+    }
+
+    public ReportSummary getActivePatientsReport() {
+        return cached(new CacheKey(ACTIVE_PATIENTS, null, null), () -> {
+            Breakdowns breakdowns = new Breakdowns();
+            addAreaRows(breakdowns, patientRepository.reportActiveByArea());
+            return breakdowns.toSummary(ACTIVE_PATIENTS, null, null);
+        });
+    }
+
+    public ReportSummary getDeliveriesReport(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return cached(new CacheKey(DELIVERIES, startDate, endDate), () -> {
+            Breakdowns breakdowns = new Breakdowns();
+            addAreaRows(breakdowns, patientRepository.reportDeliveriesByArea(startDate, endDate));
+            addMonthRows(breakdowns, patientRepository.reportDeliveriesByMonth(startDate, endDate));
+            addDoctorRows(breakdowns, patientRepository.reportDeliveriesByDoctor(startDate, endDate));
+            return breakdowns.toSummary(DELIVERIES, startDate, endDate);
+        });
+    }
+
+    public ReportSummary getMortalityReport(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return cached(new CacheKey(MORTALITY, startDate, endDate), () -> {
+            Breakdowns breakdowns = new Breakdowns();
+            addAreaRows(breakdowns, patientRepository.reportMortalityByArea(startDate, endDate));
+            addMonthRows(breakdowns, patientRepository.reportMortalityByMonth(startDate, endDate));
+            addDoctorRows(breakdowns, patientRepository.reportMortalityByDoctor(startDate, endDate));
+            return breakdowns.toSummary(MORTALITY, startDate, endDate);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        LocalDate[] deliveryDates = {dateOf(event.before(), true), dateOf(event.after(), true)};
+        LocalDate[] mortalityDates = {dateOf(event.before(), false), dateOf(event.after(), false)};
+        if (deliveryDates[0] == null && deliveryDates[1] == null
+                && mortalityDates[0] == null && mortalityDates[1] == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.keySet().removeIf(key -> switch (key.report()) {
+            case DELIVERIES -> key.covers(deliveryDates[0]) || key.covers(deliveryDates[1]);
+            case MORTALITY -> key.covers(mortalityDates[0]) || key.covers(mortalityDates[1]);
+            default -> false;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecountRequested(DashboardRecountRequestedEvent event) {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private static LocalDate dateOf(PatientChangedEvent.Snapshot patient, boolean delivery) {
+        if (patient == null) {
+            return null;
+        }
+        return delivery ? patient.deliveryDate() : patient.mortalityDate();
+    }
+
+    private ReportSummary cached(CacheKey key, Supplier<ReportSummary> compute) {
+        long now = System.currentTimeMillis();
+        CachedReport cachedReport = cache.get(key);
+        if (cachedReport != null && cachedReport.expiresAt() > now) {
+            return copyOf(cachedReport.summary());
+        }
+
+        long startGeneration = generation.get();
+        ReportSummary summary = compute.get();
+        if (generation.get() == startGeneration) {
+            if (cache.size() >= cacheMaxEntries) {
+                cache.values().removeIf(entry -> entry.expiresAt() <= now);
+                if (cache.size() >= cacheMaxEntries) {
+                    cache.clear();
+                }
+            }
+            cache.put(key, new CachedReport(summary, now + cacheTtlMs));
+        }
+        return copyOf(summary);
+    }
+
+    // Unmodifiable collections keep their order; buckets are copied since they have setters
+    private static ReportSummary copyOf(ReportSummary summary) {
+        Map<String, List<ReportSummary.Bucket>> breakdowns = new LinkedHashMap<>();
+        summary.getBreakdowns().forEach((dimension, buckets) -> breakdowns.put(dimension, buckets.stream()
+                .map(bucket -> ReportSummary.Bucket.builder()
+                        .key(bucket.getKey())
+                        .label(bucket.getLabel())
+                        .total(bucket.getTotal())
+                        .counts(Collections.unmodifiableMap(new LinkedHashMap<>(bucket.getCounts())))
+                        .build())
+                .toList()));
+        return ReportSummary.builder()
+                .report(summary.getReport())
+                .startDate(summary.getStartDate())
+                .endDate(summary.getEndDate())
+                .total(summary.getTotal())
+                .counts(Collections.unmodifiableMap(new LinkedHashMap<>(summary.getCounts())))
+                .breakdowns(Collections.unmodifiableMap(breakdowns))
+                .generatedAt(summary.getGeneratedAt())
+                .build();
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("Start date must not be after end date");
+        }
+    }
+
+    // Rows of (district, mandal, split, count); the first row set added also sets the totals
+    private static void addAreaRows(Breakdowns breakdowns, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            String district = row[0] != null ? row[0].toString() : UNKNOWN;
+            String mandal = row[1] != null ? row[1].toString() : UNKNOWN;
+            String split = row[2] != null ? row[2].toString() : UNKNOWN;
+            long count = (Long) row[3];
+
+            breakdowns.addTotal(split, count);
+            breakdowns.add("district", district, district, split, count);
+            breakdowns.add("mandal", district + "/" + mandal, mandal + " (" + district + ")", split, count);
+        }
+    }
+
+    // Rows of (year, month, split, count)
+    private static void addMonthRows(Breakdowns breakdowns, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            String month = String.format("%04d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            String split = row[2] != null ? row[2].toString() : UNKNOWN;
+            breakdowns.add("month", month, month, split, (Long) row[3]);
+        }
+    }
+
+    // Rows of (doctor id, doctor name, split, count); records without a doctor go to Unknown
+    private static void addDoctorRows(Breakdowns breakdowns, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            String key = row[0] != null ? row[0].toString() : UNKNOWN;
+            String label = row[1] != null ? row[1].toString() : UNKNOWN;
+            String split = row[2] != null ? row[2].toString() : UNKNOWN;
+            breakdowns.add("doctor", key, label, split, (Long) row[3]);
+        }
+    }
+
+    /**
+     * Accumulates grouped rows into totals and per-dimension buckets.
+     */
+    private static final class Breakdowns {
+
+        private long total;
+        private final Map<String, Long> counts = new TreeMap<>();
+        private final Map<String, Map<String, ReportSummary.Bucket>> dimensions = new LinkedHashMap<>();
+
+        void addTotal(String split, long count) {
+            total += count;
+            counts.merge(split, count, Long::sum);
+        }
+
+        void add(String dimension, String key, String label, String split, long count) {
+            ReportSummary.Bucket bucket = dimensions
+                    .computeIfAbsent(dimension, d -> new LinkedHashMap<>())
+                    .computeIfAbsent(key, k -> ReportSummary.Bucket.builder()
+                            .key(key)
+                            .label(label)
+                            .counts(new TreeMap<>())
+                            .build());
+            bucket.setTotal(bucket.getTotal() + count);
+            bucket.getCounts().merge(split, count, Long::sum);
+        }
+
+        ReportSummary toSummary(String report, LocalDate startDate, LocalDate endDate) {
+            Map<String, List<ReportSummary.Bucket>> breakdowns = new LinkedHashMap<>();
+            dimensions.forEach((dimension, buckets) -> {
+                List<ReportSummary.Bucket> sorted = new ArrayList<>(buckets.values());
+                // Months read chronologically, everything else largest first
+                sorted.sort("month".equals(dimension)
+                        ? Comparator.comparing(ReportSummary.Bucket::getKey)
+                        : Comparator.comparingLong(ReportSummary.Bucket::getTotal).reversed()
+                                .thenComparing(ReportSummary.Bucket::getLabel));
+                breakdowns.put(dimension, sorted);
+            });
+            return ReportSummary.builder()
+                    .report(report)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .total(total)
+                    .counts(counts)
+                    .breakdowns(breakdowns)
+                    .generatedAt(LocalDateTime.now())
+                    .build();
+        }
+    }
+}
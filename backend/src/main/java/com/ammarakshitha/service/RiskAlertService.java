@@ -1,6 +1,11 @@
 package com.ammarakshitha.service;
 
 import com.ammarakshitha.dto.AlertAcknowledgeRequest;
+import com.ammarakshitha.dto.CursorPage;
+import com.ammarakshitha.dto.PageCursor;
+import com.ammarakshitha.dto.RiskAlertDTO;
+import com.ammarakshitha.event.DashboardRecountRequestedEvent;
+import com.ammarakshitha.event.RiskAlertChangedEvent;
 import com.ammarakshitha.exception.ResourceNotFoundException;
 import com.ammarakshitha.model.RiskAlert;
 import com.ammarakshitha.model.User;
@@ -10,8 +15,13 @@ import com.ammarakshitha.repository.RiskAlertRepository;
 import com.ammarakshitha.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,11 +36,17 @@ public class RiskAlertService {
 
     private final RiskAlertRepository riskAlertRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RiskAlert acknowledgeAlert(Long alertId, AlertAcknowledgeRequest request, Long acknowledgedByUserId) {
-        RiskAlert alert = getAlertById(alertId);
+    // Rows returned by the unpaged list endpoints; the rest needs page and size
+    @Value("${app.pagination.max-results:500}")
+    private int maxResults;
+
+    public RiskAlertDTO acknowledgeAlert(Long alertId, AlertAcknowledgeRequest request, Long acknowledgedByUserId) {
+        RiskAlert alert = findAlert(alertId);
         User acknowledgedBy = userRepository.findById(acknowledgedByUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        RiskAlertChangedEvent.Snapshot before = RiskAlertChangedEvent.Snapshot.of(alert);
 
         alert.setIsAcknowledged(true);
         alert.setAcknowledgedBy(acknowledgedBy);
@@ -39,11 +55,13 @@ public class RiskAlertService {
         alert.setActionTaken(request.getActionTaken());
 
         log.info("Alert {} acknowledged by user {}", alertId, acknowledgedByUserId);
-        return riskAlertRepository.save(alert);
+        RiskAlert savedAlert = riskAlertRepository.save(alert);
+        publishChange(before, savedAlert);
+        return getAlertById(alertId);
     }
 
-    public RiskAlert updateAcknowledgement(Long alertId, AlertAcknowledgeRequest request) {
-        RiskAlert alert = getAlertById(alertId);
+    public RiskAlertDTO updateAcknowledgement(Long alertId, AlertAcknowledgeRequest request) {
+        RiskAlert alert = findAlert(alertId);
 
         if (!alert.getIsAcknowledged()) {
             throw new IllegalStateException("Alert has not been acknowledged yet");
@@ -53,74 +71,94 @@ public class RiskAlertService {
         alert.setActionTaken(request.getActionTaken());
 
         log.info("Alert {} acknowledgement updated", alertId);
-        return riskAlertRepository.save(alert);
+        riskAlertRepository.save(alert);
+        return getAlertById(alertId);
     }
 
-    public RiskAlert resolveAlert(Long alertId, String resolutionNotes) {
-        RiskAlert alert = getAlertById(alertId);
+    public RiskAlertDTO resolveAlert(Long alertId, String resolutionNotes) {
+        RiskAlert alert = findAlert(alertId);
+        RiskAlertChangedEvent.Snapshot before = RiskAlertChangedEvent.Snapshot.of(alert);
 
         alert.setIsResolved(true);
         alert.setResolvedAt(LocalDateTime.now());
         alert.setResolutionNotes(resolutionNotes);
 
         log.info("Alert {} resolved", alertId);
-        return riskAlertRepository.save(alert);
+        RiskAlert savedAlert = riskAlertRepository.save(alert);
+        publishChange(before, savedAlert);
+        return getAlertById(alertId);
     }
 
     public void bulkAcknowledge(List<Long> alertIds, Long userId) {
         riskAlertRepository.bulkAcknowledge(alertIds, userId, LocalDateTime.now());
+        eventPublisher.publishEvent(new DashboardRecountRequestedEvent("bulk acknowledge"));
         log.info("Bulk acknowledged {} alerts by user {}", alertIds.size(), userId);
     }
 
-    @Transactional(readOnly = true)
-    public RiskAlert getAlertById(Long id) {
+    private void publishChange(RiskAlertChangedEvent.Snapshot before, RiskAlert after) {
+        eventPublisher.publishEvent(new RiskAlertChangedEvent(before, RiskAlertChangedEvent.Snapshot.of(after)));
+    }
+
+    private RiskAlert findAlert(Long id) {
         return riskAlertRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alert not found"));
     }
 
     @Transactional(readOnly = true)
-    public List<RiskAlert> getAlertsByPatientId(Long patientId) {
-        return riskAlertRepository.findByPatientId(patientId);
+    public RiskAlertDTO getAlertById(Long id) {
+        return riskAlertRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Alert not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RiskAlertDTO> getAlertsByPatientId(Long patientId) {
+        return riskAlertRepository.findViewsByPatientId(patientId);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<RiskAlertDTO> getUnacknowledgedAlerts(Pageable pageable) {
+        return riskAlertRepository.findViewsByAcknowledged(false, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<RiskAlert> getUnacknowledgedAlerts(Pageable pageable) {
-        return riskAlertRepository.findByIsAcknowledgedFalse(pageable);
+    public List<RiskAlertDTO> getUnacknowledgedAlertsBySeverity() {
+        return riskAlertRepository.findUnacknowledgedViewsOrderedBySeverity();
     }
 
     @Transactional(readOnly = true)
-    public List<RiskAlert> getUnacknowledgedAlertsBySeverity() {
-        return riskAlertRepository.findUnacknowledgedOrderedBySeverity();
+    public List<RiskAlertDTO> getCriticalUnacknowledgedAlerts() {
+        return riskAlertRepository.findCriticalUnacknowledgedViews();
     }
 
     @Transactional(readOnly = true)
-    public List<RiskAlert> getCriticalUnacknowledgedAlerts() {
-        return riskAlertRepository.findCriticalUnacknowledged();
+    public Page<RiskAlertDTO> getHighPriorityUnacknowledgedAlerts(Pageable pageable) {
+        return riskAlertRepository.findHighPriorityUnacknowledgedViews(pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<RiskAlert> getHighPriorityUnacknowledgedAlerts(Pageable pageable) {
-        return riskAlertRepository.findHighPriorityUnacknowledged(pageable);
+    public Page<RiskAlertDTO> getUnresolvedAlerts(RiskLevel severity) {
+        return getUnresolvedAlerts(severity, PageRequest.of(0, maxResults,
+                Sort.by(Sort.Direction.DESC, "severity", "createdAt")));
     }
 
     @Transactional(readOnly = true)
-    public List<RiskAlert> getUnresolvedAlerts() {
-        return riskAlertRepository.findUnresolved();
+    public Page<RiskAlertDTO> getUnresolvedAlerts(RiskLevel severity, Pageable pageable) {
+        return riskAlertRepository.findUnresolvedViews(severity, Pagination.capped(pageable, maxResults));
     }
 
     @Transactional(readOnly = true)
-    public List<RiskAlert> getUnresolvedAlertsForPatient(Long patientId) {
-        return riskAlertRepository.findUnresolvedForPatient(patientId);
+    public List<RiskAlertDTO> getUnresolvedAlertsForPatient(Long patientId) {
+        return riskAlertRepository.findUnresolvedViewsForPatient(patientId);
     }
 
     @Transactional(readOnly = true)
-    public Page<RiskAlert> getAlertsBySeverity(RiskLevel severity, Pageable pageable) {
-        return riskAlertRepository.findBySeverity(severity, pageable);
+    public Page<RiskAlertDTO> getAlertsBySeverity(RiskLevel severity, Pageable pageable) {
+        return riskAlertRepository.findViewsBySeverity(severity, pageable);
     }
 
     @Transactional(readOnly = true)
-    public List<RiskAlert> getAlertsByType(AlertType alertType) {
-        return riskAlertRepository.findByAlertType(alertType);
+    public List<RiskAlertDTO> getAlertsByType(AlertType alertType) {
+        return riskAlertRepository.findViewsByAlertType(alertType);
     }
 
     // Statistics
@@ -150,17 +188,27 @@ public class RiskAlertService {
     }
 
     @Transactional(readOnly = true)
-    public Page<RiskAlert> getAllAlerts(Pageable pageable) {
-        return riskAlertRepository.findAll(pageable);
+    public Page<RiskAlertDTO> getAllAlerts(Pageable pageable) {
+        return riskAlertRepository.findViews(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<RiskAlertDTO> getAlerts(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = CursorPage.limit(size);
+        Slice<RiskAlertDTO> slice = after == null
+                ? riskAlertRepository.findViewsFirst(limit)
+                : riskAlertRepository.findViewsAfter(after.dateTimeKey(), after.id(), limit);
+        return CursorPage.of(slice, a -> PageCursor.of(a.getCreatedAt(), a.getId()));
     }
 
     @Transactional(readOnly = true)
-    public Page<RiskAlert> getAcknowledgedAlerts(Pageable pageable) {
-        return riskAlertRepository.findByIsAcknowledgedTrue(pageable);
+    public Page<RiskAlertDTO> getAcknowledgedAlerts(Pageable pageable) {
+        return riskAlertRepository.findViewsByAcknowledged(true, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<RiskAlert> getAllAlertsForPatient(Long patientId, Pageable pageable) {
-        return riskAlertRepository.findByPatientIdOrderByCreatedAtDesc(patientId, pageable);
+    public Page<RiskAlertDTO> getAllAlertsForPatient(Long patientId, Pageable pageable) {
+        return riskAlertRepository.findViewsByPatientIdNewestFirst(patientId, pageable);
     }
 }
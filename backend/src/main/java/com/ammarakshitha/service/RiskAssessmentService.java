@@ -3,240 +3,318 @@ package com.ammarakshitha.service;
 import com.ammarakshitha.model.HealthCheck;
 import com.ammarakshitha.model.Patient;
 import com.ammarakshitha.model.enums.RiskLevel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class RiskAssessmentService {
 
+    private static final ConversionService CONVERSION = ApplicationConversionService.getSharedInstance();
+
+    /**
+     * Rule keys a rule set may override, named as under {@code app.risk-assessment} and
+     * {@code app.risk-assessment.rules}; anything not overridden keeps its configured value.
+     */
+    public static final Set<String> RULE_KEYS = Set.of(
+            "severe-threshold",
+            "moderate-threshold",
+            "bp-systolic-at-least",
+            "bp-diastolic-at-least",
+            "bp-scores",
+            "hypotension-systolic-below",
+            "hypotension-diastolic-below",
+            "hypotension-score",
+            "hemoglobin-below",
+            "hemoglobin-scores",
+            "sugar-fasting-at-least",
+            "sugar-random-at-least",
+            "sugar-post-prandial-at-least",
+            "sugar-scores",
+            "age-below",
+            "age-above",
+            "age-score",
+            "previous-complications-score",
+            "bleeding-score",
+            "swelling-score",
+            "headache-score",
+            "blurred-vision-score",
+            "abdominal-pain-score",
+            "albuminuria-levels",
+            "albuminuria-score",
+            "spo2-below",
+            "spo2-score",
+            "fetal-heart-rate-range",
+            "fetal-heart-rate-score",
+            "reduced-fetal-movement-score",
+            "trend-min-visits",
+            "trend-min-span-days",
+            "hemoglobin-decline-per-week",
+            "hemoglobin-decline-score",
+            "bp-rise-per-week",
+            "bp-rise-score",
+            "weight-gain-per-week",
+            "weight-gain-score",
+            "fetal-heart-rate-drop",
+            "fetal-heart-rate-drop-score");
+
+    private final VitalsHistory vitalsHistory;
+
     @Value("${app.risk-assessment.severe-threshold:7}")
     private int severeThreshold;
 
     @Value("${app.risk-assessment.moderate-threshold:4}")
     private int moderateThreshold;
 
-    public RiskAssessmentResult assessRisk(HealthCheck healthCheck, Patient patient) {
-        int totalScore = 0;
-        List<String> riskFactors = new ArrayList<>();
-
-        // 1. Blood Pressure Assessment
-        if (healthCheck.getBpSystolic() != null && healthCheck.getBpDiastolic() != null) {
-            int bpScore = assessBloodPressure(healthCheck.getBpSystolic(), healthCheck.getBpDiastolic());
-            totalScore += bpScore;
-            if (bpScore >= 3) {
-                riskFactors.add("Severe Hypertension (BP: " + healthCheck.getBpSystolic() + "/" + healthCheck.getBpDiastolic() + ")");
-            } else if (bpScore >= 2) {
-                riskFactors.add("High Blood Pressure (BP: " + healthCheck.getBpSystolic() + "/" + healthCheck.getBpDiastolic() + ")");
-            } else if (bpScore >= 1) {
-                riskFactors.add("Elevated Blood Pressure");
-            }
-        }
+    @Value("${app.risk-assessment.rules.bp-systolic-at-least:160,140,130}")
+    private int[] bpSystolicAtLeast;
 
-        // 2. Hemoglobin Assessment (Anemia)
-        if (healthCheck.getHemoglobin() != null) {
-            int hbScore = assessHemoglobin(healthCheck.getHemoglobin());
-            totalScore += hbScore;
-            if (hbScore >= 4) {
-                riskFactors.add("Severe Anemia (Hb: " + healthCheck.getHemoglobin() + " g/dL)");
-            } else if (hbScore >= 2) {
-                riskFactors.add("Moderate Anemia (Hb: " + healthCheck.getHemoglobin() + " g/dL)");
-            } else if (hbScore >= 1) {
-                riskFactors.add("Mild Anemia");
-            }
-        }
+    @Value("${app.risk-assessment.rules.bp-diastolic-at-least:110,90,85}")
+    private int[] bpDiastolicAtLeast;
 
-        // 3. Blood Sugar Assessment
-        int sugarScore = assessBloodSugar(healthCheck);
-        totalScore += sugarScore;
-        if (sugarScore >= 3) {
-            riskFactors.add("High Blood Sugar - Possible Gestational Diabetes");
-        } else if (sugarScore >= 1) {
-            riskFactors.add("Elevated Blood Sugar");
-        }
+    @Value("${app.risk-assessment.rules.bp-scores:4,3,1}")
+    private int[] bpScores;
 
-        // 4. Age Factor
-        if (patient.getAge() != null) {
-            int ageScore = assessAge(patient.getAge());
-            totalScore += ageScore;
-            if (ageScore > 0) {
-                riskFactors.add("High Risk Age Group (" + patient.getAge() + " years)");
-            }
-        }
+    @Value("${app.risk-assessment.rules.hypotension-systolic-below:90}")
+    private int hypotensionSystolicBelow;
 
-        // 5. Previous Complications
-        if (Boolean.TRUE.equals(patient.getHasPreviousComplications())) {
-            totalScore += 3;
-            riskFactors.add("History of Previous Complications");
-        }
+    @Value("${app.risk-assessment.rules.hypotension-diastolic-below:60}")
+    private int hypotensionDiastolicBelow;
 
-        // 6. Danger Signs Assessment
-        totalScore += assessDangerSigns(healthCheck, riskFactors);
+    @Value("${app.risk-assessment.rules.hypotension-score:2}")
+    private int hypotensionScore;
 
-        // 7. SpO2 Assessment
-        if (healthCheck.getSpo2() != null && healthCheck.getSpo2() < 95) {
-            totalScore += 2;
-            riskFactors.add("Low Oxygen Saturation (SpO2: " + healthCheck.getSpo2() + "%)");
-        }
+    @Value("${app.risk-assessment.rules.hemoglobin-below:7,9,11}")
+    private double[] hemoglobinBelow;
 
-        // 8. Fetal Assessment
-        if (healthCheck.getFetalHeartRate() != null) {
-            if (healthCheck.getFetalHeartRate() < 110 || healthCheck.getFetalHeartRate() > 160) {
-                totalScore += 3;
-                riskFactors.add("Abnormal Fetal Heart Rate (" + healthCheck.getFetalHeartRate() + " bpm)");
-            }
-        }
+    @Value("${app.risk-assessment.rules.hemoglobin-scores:4,2,1}")
+    private int[] hemoglobinScores;
 
-        if (healthCheck.getFetalMovement() != null && !healthCheck.getFetalMovement()) {
-            totalScore += 3;
-            riskFactors.add("Reduced Fetal Movement Reported");
-        }
+    @Value("${app.risk-assessment.rules.sugar-fasting-at-least:126,100}")
+    private double[] sugarFastingAtLeast;
 
-        // Determine risk level
-        RiskLevel riskLevel = calculateRiskLevel(totalScore);
+    @Value("${app.risk-assessment.rules.sugar-random-at-least:200,140}")
+    private double[] sugarRandomAtLeast;
 
-        log.info("Risk assessment for patient {}: Score={}, Level={}, Factors={}",
-                patient.getMotherId(), totalScore, riskLevel, riskFactors);
+    @Value("${app.risk-assessment.rules.sugar-post-prandial-at-least:180,140}")
+    private double[] sugarPostPrandialAtLeast;
 
-        return new RiskAssessmentResult(totalScore, riskLevel, riskFactors);
-    }
+    @Value("${app.risk-assessment.rules.sugar-scores:3,1}")
+    private int[] sugarScores;
 
-    private int assessBloodPressure(int systolic, int diastolic) {
-        // Severe hypertension
-        if (systolic >= 160 || diastolic >= 110) {
-            return 4;
-        }
-        // Moderate hypertension
-        if (systolic >= 140 || diastolic >= 90) {
-            return 3;
-        }
-        // Pre-hypertension
-        if (systolic >= 130 || diastolic >= 85) {
-            return 1;
-        }
-        // Hypotension (also concerning)
-        if (systolic < 90 || diastolic < 60) {
-            return 2;
-        }
-        return 0;
-    }
+    @Value("${app.risk-assessment.rules.age-below:18}")
+    private int ageBelow;
 
-    private int assessHemoglobin(BigDecimal hemoglobin) {
-        double hb = hemoglobin.doubleValue();
-        // Severe anemia
-        if (hb < 7) {
-            return 4;
-        }
-        // Moderate anemia
-        if (hb < 9) {
-            return 2;
-        }
-        // Mild anemia
-        if (hb < 11) {
-            return 1;
-        }
-        return 0;
-    }
+    @Value("${app.risk-assessment.rules.age-above:35}")
+    private int ageAbove;
 
-    private int assessBloodSugar(HealthCheck healthCheck) {
-        int score = 0;
+    @Value("${app.risk-assessment.rules.age-score:2}")
+    private int ageScore;
 
-        if (healthCheck.getBloodSugarFasting() != null) {
-            double fasting = healthCheck.getBloodSugarFasting().doubleValue();
-            if (fasting >= 126) {
-                score = Math.max(score, 3);
-            } else if (fasting >= 100) {
-                score = Math.max(score, 1);
-            }
-        }
+    @Value("${app.risk-assessment.rules.previous-complications-score:3}")
+    private int previousComplicationsScore;
 
-        if (healthCheck.getBloodSugarRandom() != null) {
-            double random = healthCheck.getBloodSugarRandom().doubleValue();
-            if (random >= 200) {
-                score = Math.max(score, 3);
-            } else if (random >= 140) {
-                score = Math.max(score, 1);
-            }
-        }
+    @Value("${app.risk-assessment.rules.bleeding-score:4}")
+    private int bleedingScore;
 
-        if (healthCheck.getBloodSugarPP() != null) {
-            double pp = healthCheck.getBloodSugarPP().doubleValue();
-            if (pp >= 180) {
-                score = Math.max(score, 3);
-            } else if (pp >= 140) {
-                score = Math.max(score, 1);
-            }
-        }
+    @Value("${app.risk-assessment.rules.swelling-score:2}")
+    private int swellingScore;
 
-        return score;
-    }
+    @Value("${app.risk-assessment.rules.headache-score:2}")
+    private int headacheScore;
 
-    private int assessAge(int age) {
-        // High risk if too young or advanced maternal age
-        if (age < 18) {
-            return 2;
-        }
-        if (age > 35) {
-            return 2;
-        }
-        if (age > 40) {
-            return 3;
-        }
-        return 0;
-    }
+    @Value("${app.risk-assessment.rules.blurred-vision-score:3}")
+    private int blurredVisionScore;
 
-    private int assessDangerSigns(HealthCheck healthCheck, List<String> riskFactors) {
-        int score = 0;
+    @Value("${app.risk-assessment.rules.abdominal-pain-score:3}")
+    private int abdominalPainScore;
 
-        if (Boolean.TRUE.equals(healthCheck.getBleedingReported())) {
-            score += 4;
-            riskFactors.add("Vaginal Bleeding Reported");
-        }
+    @Value("${app.risk-assessment.rules.albuminuria-levels:++,+++}")
+    private String[] albuminuriaLevels;
 
-        if (Boolean.TRUE.equals(healthCheck.getSwellingObserved())) {
-            score += 2;
-            riskFactors.add("Swelling/Edema Observed");
-        }
+    @Value("${app.risk-assessment.rules.albuminuria-score:3}")
+    private int albuminuriaScore;
 
-        if (Boolean.TRUE.equals(healthCheck.getHeadacheReported())) {
-            score += 2;
-            riskFactors.add("Severe Headache Reported");
-        }
+    @Value("${app.risk-assessment.rules.spo2-below:95}")
+    private int spo2Below;
 
-        if (Boolean.TRUE.equals(healthCheck.getBlurredVisionReported())) {
-            score += 3;
-            riskFactors.add("Blurred Vision Reported");
-        }
+    @Value("${app.risk-assessment.rules.spo2-score:2}")
+    private int spo2Score;
 
-        if (Boolean.TRUE.equals(healthCheck.getAbdominalPainReported())) {
-            score += 3;
-            riskFactors.add("Abdominal Pain Reported");
-        }
+    @Value("${app.risk-assessment.rules.fetal-heart-rate-range:110,160}")
+    private int[] fetalHeartRateRange;
+
+    @Value("${app.risk-assessment.rules.fetal-heart-rate-score:3}")
+    private int fetalHeartRateScore;
+
+    @Value("${app.risk-assessment.rules.reduced-fetal-movement-score:3}")
+    private int reducedFetalMovementScore;
+
+    @Value("${app.risk-assessment.rules.trend-min-visits:3}")
+    private int trendMinVisits;
+
+    @Value("${app.risk-assessment.rules.trend-min-span-days:14}")
+    private int trendMinSpanDays;
+
+    @Value("${app.risk-assessment.rules.hemoglobin-decline-per-week:0.25}")
+    private double hemoglobinDeclinePerWeek;
+
+    @Value("${app.risk-assessment.rules.hemoglobin-decline-score:2}")
+    private int hemoglobinDeclineScore;
+
+    @Value("${app.risk-assessment.rules.bp-rise-per-week:3,2}")
+    private double[] bpRisePerWeek;
+
+    @Value("${app.risk-assessment.rules.bp-rise-score:2}")
+    private int bpRiseScore;
+
+    @Value("${app.risk-assessment.rules.weight-gain-per-week:1.0}")
+    private double weightGainPerWeek;
+
+    @Value("${app.risk-assessment.rules.weight-gain-score:2}")
+    private int weightGainScore;
+
+    @Value("${app.risk-assessment.rules.fetal-heart-rate-drop:20}")
+    private int fetalHeartRateDrop;
 
-        // Check urine tests
-        if (healthCheck.getUrineAlbumin() != null &&
-            (healthCheck.getUrineAlbumin().equals("++") || healthCheck.getUrineAlbumin().equals("+++"))) {
-            score += 3;
-            riskFactors.add("Protein in Urine (Albuminuria: " + healthCheck.getUrineAlbumin() + ")");
+    @Value("${app.risk-assessment.rules.fetal-heart-rate-drop-score:2}")
+    private int fetalHeartRateDropScore;
+
+    // Swapped whole when a rule set is activated; an assessment reads it once
+    private volatile RiskRules rules;
+
+    @PostConstruct
+    void compileRules() {
+        rules = compile(0, Map.of());
+    }
+
+    /**
+     * Compiles the configured rules with a rule set's overrides applied. Fails with an
+     * {@link IllegalArgumentException} on unknown keys or values that do not fit the rules.
+     */
+    RiskRules compile(int version, Map<String, String> overrides) {
+        for (String key : overrides.keySet()) {
+            if (!RULE_KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown risk rule: " + key);
+            }
         }
+        return RiskRules.builder()
+                .version(version)
+                .severeThreshold(value(overrides, "severe-threshold", severeThreshold))
+                .moderateThreshold(value(overrides, "moderate-threshold", moderateThreshold))
+                .bpSystolicAtLeast(value(overrides, "bp-systolic-at-least", bpSystolicAtLeast))
+                .bpDiastolicAtLeast(value(overrides, "bp-diastolic-at-least", bpDiastolicAtLeast))
+                .bpScores(value(overrides, "bp-scores", bpScores))
+                .hypotensionSystolicBelow(value(overrides, "hypotension-systolic-below", hypotensionSystolicBelow))
+                .hypotensionDiastolicBelow(value(overrides, "hypotension-diastolic-below", hypotensionDiastolicBelow))
+                .hypotensionScore(value(overrides, "hypotension-score", hypotensionScore))
+                .hemoglobinBelow(value(overrides, "hemoglobin-below", hemoglobinBelow))
+                .hemoglobinScores(value(overrides, "hemoglobin-scores", hemoglobinScores))
+                .sugarFastingAtLeast(value(overrides, "sugar-fasting-at-least", sugarFastingAtLeast))
+                .sugarRandomAtLeast(value(overrides, "sugar-random-at-least", sugarRandomAtLeast))
+                .sugarPostPrandialAtLeast(value(overrides, "sugar-post-prandial-at-least", sugarPostPrandialAtLeast))
+                .sugarScores(value(overrides, "sugar-scores", sugarScores))
+                .ageBelow(value(overrides, "age-below", ageBelow))
+                .ageAbove(value(overrides, "age-above", ageAbove))
+                .ageScore(value(overrides, "age-score", ageScore))
+                .previousComplicationsScore(value(overrides, "previous-complications-score", previousComplicationsScore))
+                .bleedingScore(value(overrides, "bleeding-score", bleedingScore))
+                .swellingScore(value(overrides, "swelling-score", swellingScore))
+                .headacheScore(value(overrides, "headache-score", headacheScore))
+                .blurredVisionScore(value(overrides, "blurred-vision-score", blurredVisionScore))
+                .abdominalPainScore(value(overrides, "abdominal-pain-score", abdominalPainScore))
+                .albuminuriaLevels(value(overrides, "albuminuria-levels", albuminuriaLevels))
+                .albuminuriaScore(value(overrides, "albuminuria-score", albuminuriaScore))
+                .spo2Below(value(overrides, "spo2-below", spo2Below))
+                .spo2Score(value(overrides, "spo2-score", spo2Score))
+                .fetalHeartRateRange(value(overrides, "fetal-heart-rate-range", fetalHeartRateRange))
+                .fetalHeartRateScore(value(overrides, "fetal-heart-rate-score", fetalHeartRateScore))
+                .reducedFetalMovementScore(value(overrides, "reduced-fetal-movement-score", reducedFetalMovementScore))
+                .trendMinVisits(value(overrides, "trend-min-visits", trendMinVisits))
+                .trendMinSpanDays(value(overrides, "trend-min-span-days", trendMinSpanDays))
+                .hemoglobinDeclinePerWeek(value(overrides, "hemoglobin-decline-per-week", hemoglobinDeclinePerWeek))
+                .hemoglobinDeclineScore(value(overrides, "hemoglobin-decline-score", hemoglobinDeclineScore))
+                .bpRisePerWeek(value(overrides, "bp-rise-per-week", bpRisePerWeek))
+                .bpRiseScore(value(overrides, "bp-rise-score", bpRiseScore))
+                .weightGainPerWeek(value(overrides, "weight-gain-per-week", weightGainPerWeek))
+                .weightGainScore(value(overrides, "weight-gain-score", weightGainScore))
+                .fetalHeartRateDrop(value(overrides, "fetal-heart-rate-drop", fetalHeartRateDrop))
+                .fetalHeartRateDropScore(value(overrides, "fetal-heart-rate-drop-score", fetalHeartRateDropScore))
+                .build();
+    }
+
+    void install(RiskRules compiled) {
+        rules = compiled;
+        log.info("Risk rule set version {} is now in effect", compiled.version());
+    }
 
-        return score;
+    public int getRuleSetVersion() {
+        return rules.version();
     }
 
-    private RiskLevel calculateRiskLevel(int score) {
-        if (score >= severeThreshold) {
-            return RiskLevel.RED;
+    @SuppressWarnings("unchecked")
+    private static <T> T value(Map<String, String> overrides, String key, T configured) {
+        String override = overrides.get(key);
+        if (override == null) {
+            return configured;
         }
-        if (score >= moderateThreshold) {
-            return RiskLevel.YELLOW;
+        try {
+            return (T) CONVERSION.convert(override.trim(), configured.getClass());
+        } catch (ConversionException e) {
+            throw new IllegalArgumentException("Invalid value for risk rule " + key + ": " + override, e);
         }
-        return RiskLevel.GREEN;
     }
 
-    public record RiskAssessmentResult(int score, RiskLevel riskLevel, List<String> riskFactors) {}
+    /**
+     * Assesses a health check together with the patient's recent visits, read from
+     * {@link VitalsHistory}.
+     */
+    public RiskAssessmentResult assessRisk(HealthCheck healthCheck, Patient patient) {
+        VitalsWindow history = patient.getId() != null ? vitalsHistory.get(patient.getId()) : null;
+        return assessRisk(healthCheck, patient, history);
+    }
+
+    /**
+     * Assesses a health check against the given visit history, for callers that already hold
+     * it; a null history scores the check on its own.
+     */
+    RiskAssessmentResult assessRisk(HealthCheck healthCheck, Patient patient, VitalsWindow history) {
+        RiskRules current = rules;
+        VitalsTrend trend = history != null
+                ? history.trend(healthCheck, current.trendMinVisits(), current.trendMinSpanDays())
+                : VitalsTrend.NONE;
+        long evaluation = current.evaluate(healthCheck, patient, trend);
+        int score = RiskRules.score(evaluation);
+        RiskAssessmentResult result = new RiskAssessmentResult(score, current.riskLevel(score),
+                RiskRules.factors(evaluation), current.version(), trend, healthCheck, patient);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Risk assessment for patient {}: Score={}, Level={}, Factors=[{}]",
+                    patient.getMotherId(), score, result.riskLevel(), result.describeFactors(", "));
+        }
+        return result;
+    }
+
+    /**
+     * Score, level and triggered factors (a {@link RiskRules.Factor} bitmask) of one assessment,
+     * with the version of the rule set that produced them.
+     * Factor messages are rendered from the assessed readings and trend on request.
+     */
+    public record RiskAssessmentResult(int score, RiskLevel riskLevel, int factors, int ruleSetVersion,
+                                       VitalsTrend trend, HealthCheck healthCheck, Patient patient) {
+
+        public String describeFactors(String delimiter) {
+            return RiskRules.describe(factors, healthCheck, patient, trend, delimiter);
+        }
+    }
 }
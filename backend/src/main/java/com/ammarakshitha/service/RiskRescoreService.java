@@ -0,0 +1,354 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.RiskRescoreJobDTO;
+import com.ammarakshitha.event.DashboardRecountRequestedEvent;
+import com.ammarakshitha.exception.BusinessException;
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.RiskAlert;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.repository.HealthCheckRepository;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.RiskAlertRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Re-assesses the latest health check of every active patient, typically after the risk rules
+ * have been retuned. Patients are walked in id order in chunks; each chunk is scored in parallel
+ * and its changes are written with batched, version-checked updates so edits made while the job
+ * runs are never overwritten. Alerts are raised only for patients whose level went up. In dry-run
+ * mode nothing is written and the job just reports what would change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RiskRescoreService {
+
+    private static final String UPDATE_HEALTH_CHECK =
+            "UPDATE health_checks SET risk_score = ?, risk_level = ?, risk_factors = ?, risk_rule_set_version = ?, " +
+            "updated_at = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private static final String UPDATE_PATIENT =
+            "UPDATE patients SET current_risk_score = ?, current_risk_level = ?, updated_at = ?, " +
+            "version = version + 1 WHERE id = ? AND version = ?";
+
+    private final PatientRepository patientRepository;
+    private final HealthCheckRepository healthCheckRepository;
+    private final RiskAlertRepository riskAlertRepository;
+    private final RiskAssessmentService riskAssessmentService;
+    private final VitalsHistory vitalsHistory;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.risk-assessment.rescore.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.risk-assessment.rescore.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.risk-assessment.rescore.diff-limit:500}")
+    private int diffLimit;
+
+    private final AtomicReference<Job> currentJob = new AtomicReference<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "risk-rescore");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public RiskRescoreJobDTO startJob(boolean dryRun, Long requestedBy) {
+        Job previous = currentJob.get();
+        if (previous != null && previous.isRunning()) {
+            throw new BusinessException("A risk re-score job is already running");
+        }
+        Job job = new Job(dryRun, requestedBy, patientRepository.countByStatus(PatientStatus.ACTIVE), diffLimit);
+        if (!currentJob.compareAndSet(previous, job)) {
+            throw new BusinessException("A risk re-score job is already running");
+        }
+        log.info("Starting risk re-score job {} (dryRun={}) for {} active patients",
+                job.jobId, dryRun, job.totalPatients);
+        executor.execute(() -> run(job));
+        return job.toDTO();
+    }
+
+    public RiskRescoreJobDTO getCurrentJob() {
+        Job job = currentJob.get();
+        return job != null ? job.toDTO() : null;
+    }
+
+    private void run(Job job) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            long afterId = 0;
+            int chunkNumber = 0;
+            List<Long> patientIds;
+            while (!(patientIds = patientRepository.findActiveIdsAfter(afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+                afterId = patientIds.get(patientIds.size() - 1);
+                writeChunk(job, patientIds.size(), rescoreChunk(patientIds, pool));
+
+                if (++chunkNumber % 10 == 0) {
+                    log.info("Risk re-score job {}: {}/{} patients processed, {} changed",
+                            job.jobId, job.processedPatients, job.totalPatients, job.changedPatients);
+                }
+            }
+
+            if (!job.dryRun && job.changedPatients > 0) {
+                eventPublisher.publishEvent(new DashboardRecountRequestedEvent("risk re-score"));
+            }
+            job.complete();
+            log.info("Risk re-score job {} completed: {} patients processed, {} changed, {} escalations",
+                    job.jobId, job.processedPatients, job.changedPatients, job.escalations);
+        } catch (RuntimeException e) {
+            log.error("Risk re-score job {} failed", job.jobId, e);
+            job.fail(e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Scores the latest check of each patient in parallel and returns the ones whose score or
+     * level differs from what is stored.
+     */
+    List<Rescored> rescoreChunk(List<Long> patientIds, ForkJoinPool pool) {
+        List<HealthCheck> latestChecks = latestChecks(patientIds);
+        Map<Long, VitalsWindow> histories = vitalsHistory.load(patientIds);
+        return pool.submit(() -> latestChecks.parallelStream()
+                .map(check -> rescore(check, histories.get(check.getPatient().getId())))
+                .filter(Objects::nonNull)
+                .toList()).join();
+    }
+
+    /**
+     * Applies one chunk's changes, unless the job is a dry run, and records them on the job.
+     */
+    void writeChunk(Job job, int patients, List<Rescored> changed) {
+        if (job.dryRun || changed.isEmpty()) {
+            job.recordChunk(patients, changed, 0);
+        } else {
+            List<Rescored> applied = new TransactionTemplate(transactionManager).execute(status -> apply(changed));
+            job.recordChunk(patients, applied, changed.size() - applied.size());
+        }
+    }
+
+    private List<HealthCheck> latestChecks(List<Long> patientIds) {
+        List<HealthCheck> checks = healthCheckRepository.findLatestActiveByPatientIds(patientIds);
+        List<HealthCheck> latest = new ArrayList<>(checks.size());
+        Long previousPatientId = null;
+        for (HealthCheck check : checks) {
+            // Newest check of the latest day comes first for each patient
+            Long patientId = check.getPatient().getId();
+            if (!patientId.equals(previousPatientId)) {
+                latest.add(check);
+                previousPatientId = patientId;
+            }
+        }
+        return latest;
+    }
+
+    private Rescored rescore(HealthCheck healthCheck, VitalsWindow history) {
+        Patient patient = healthCheck.getPatient();
+        RiskAssessmentService.RiskAssessmentResult result =
+                riskAssessmentService.assessRisk(healthCheck, patient, history);
+
+        int previousScore = patient.getCurrentRiskScore() != null ? patient.getCurrentRiskScore() : 0;
+        RiskLevel previousLevel = patient.getCurrentRiskLevel() != null ? patient.getCurrentRiskLevel() : RiskLevel.GREEN;
+        boolean unchanged = result.score() == previousScore && result.riskLevel() == previousLevel
+                && healthCheck.getRiskScore() != null && result.score() == healthCheck.getRiskScore()
+                && result.riskLevel() == healthCheck.getRiskLevel();
+        if (unchanged) {
+            return null;
+        }
+        return new Rescored(healthCheck, previousScore, previousLevel, result.score(), result.riskLevel(),
+                result.describeFactors("; "), result.ruleSetVersion());
+    }
+
+    /**
+     * Writes one chunk of changes and returns the ones that were applied. The health check is
+     * updated first; the patient only follows when its check still matched, and a patient edited
+     * since it was read is left for the next run.
+     */
+    private List<Rescored> apply(List<Rescored> changes) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> checkRows = new ArrayList<>(changes.size());
+        for (Rescored change : changes) {
+            HealthCheck healthCheck = change.healthCheck();
+            checkRows.add(new Object[]{change.newScore(), change.newLevel().name(), change.riskFactors(),
+                    change.ruleSetVersion(), now, healthCheck.getId(), healthCheck.getVersion()});
+        }
+        int[] checkCounts = jdbcTemplate.batchUpdate(UPDATE_HEALTH_CHECK, checkRows);
+
+        List<Rescored> checksApplied = new ArrayList<>(changes.size());
+        List<Object[]> patientRows = new ArrayList<>(changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            if (checkCounts[i] == 0) {
+                continue;
+            }
+            Rescored change = changes.get(i);
+            Patient patient = change.healthCheck().getPatient();
+            checksApplied.add(change);
+            patientRows.add(new Object[]{change.newScore(), change.newLevel().name(), now,
+                    patient.getId(), patient.getVersion()});
+        }
+        int[] patientCounts = jdbcTemplate.batchUpdate(UPDATE_PATIENT, patientRows);
+
+        List<Rescored> applied = new ArrayList<>(checksApplied.size());
+        List<RiskAlert> alerts = new ArrayList<>();
+        for (int i = 0; i < checksApplied.size(); i++) {
+            if (patientCounts[i] == 0) {
+                continue;
+            }
+            Rescored change = checksApplied.get(i);
+            applied.add(change);
+            if (change.isEscalation()) {
+                HealthCheck healthCheck = change.healthCheck();
+                alerts.add(HealthCheckService.buildRiskAlert(healthCheck, healthCheck.getPatient(),
+                        change.newLevel(), change.newScore(), change.riskFactors()));
+            }
+        }
+        riskAlertRepository.saveAll(alerts);
+        return applied;
+    }
+
+    record Rescored(HealthCheck healthCheck, int previousScore, RiskLevel previousLevel,
+                    int newScore, RiskLevel newLevel, String riskFactors, int ruleSetVersion) {
+
+        boolean isEscalation() {
+            return newLevel.compareTo(previousLevel) > 0;
+        }
+
+        RiskRescoreJobDTO.Change toChange() {
+            Patient patient = healthCheck.getPatient();
+            return RiskRescoreJobDTO.Change.builder()
+                    .patientId(patient.getId())
+                    .motherId(patient.getMotherId())
+                    .healthCheckId(healthCheck.getId())
+                    .previousScore(previousScore)
+                    .previousLevel(previousLevel)
+                    .newScore(newScore)
+                    .newLevel(newLevel)
+                    .riskFactors(riskFactors)
+                    .build();
+        }
+    }
+
+    /**
+     * Progress of one job. Only the job's own thread records progress; status requests read a
+     * consistent snapshot through the same lock.
+     */
+    static final class Job {
+        private final String jobId = UUID.randomUUID().toString();
+        private final boolean dryRun;
+        private final Long requestedBy;
+        private final long totalPatients;
+        private final int diffLimit;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final Map<String, Long> levelTransitions = new LinkedHashMap<>();
+        private final List<RiskRescoreJobDTO.Change> changes = new ArrayList<>();
+        private RiskRescoreJobDTO.Status status = RiskRescoreJobDTO.Status.RUNNING;
+        private long processedPatients;
+        private long changedPatients;
+        private long escalations;
+        private long alertsCreated;
+        private long skippedConcurrentUpdates;
+        private String errorMessage;
+        private LocalDateTime completedAt;
+
+        Job(boolean dryRun, Long requestedBy, long totalPatients, int diffLimit) {
+            this.dryRun = dryRun;
+            this.requestedBy = requestedBy;
+            this.totalPatients = totalPatients;
+            this.diffLimit = diffLimit;
+        }
+
+        synchronized boolean isRunning() {
+            return status == RiskRescoreJobDTO.Status.RUNNING;
+        }
+
+        synchronized void recordChunk(int patients, List<Rescored> applied, int skipped) {
+            processedPatients += patients;
+            changedPatients += applied.size();
+            skippedConcurrentUpdates += skipped;
+            for (Rescored change : applied) {
+                if (change.isEscalation()) {
+                    escalations++;
+                    if (!dryRun) {
+                        alertsCreated++;
+                    }
+                }
+                if (change.previousLevel() != change.newLevel()) {
+                    levelTransitions.merge(change.previousLevel() + "->" + change.newLevel(), 1L, Long::sum);
+                }
+                if (changes.size() < diffLimit) {
+                    changes.add(change.toChange());
+                }
+            }
+        }
+
+        synchronized void complete() {
+            status = RiskRescoreJobDTO.Status.COMPLETED;
+            completedAt = LocalDateTime.now();
+        }
+
+        synchronized void fail(String message) {
+            status = RiskRescoreJobDTO.Status.FAILED;
+            errorMessage = message;
+            completedAt = LocalDateTime.now();
+        }
+
+        synchronized RiskRescoreJobDTO toDTO() {
+            return RiskRescoreJobDTO.builder()
+                    .jobId(jobId)
+                    .dryRun(dryRun)
+                    .status(status)
+                    .requestedBy(requestedBy)
+                    .totalPatients(totalPatients)
+                    .processedPatients(processedPatients)
+                    .changedPatients(changedPatients)
+                    .escalations(escalations)
+                    .alertsCreated(alertsCreated)
+                    .skippedConcurrentUpdates(skippedConcurrentUpdates)
+                    .levelTransitions(new LinkedHashMap<>(levelTransitions))
+                    .changes(List.copyOf(changes))
+                    .errorMessage(errorMessage)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.RiskRuleSetDTO;
+import com.ammarakshitha.dto.RiskRuleSetRequest;
+import com.ammarakshitha.event.RiskRuleSetActivatedEvent;
+import com.ammarakshitha.exception.BusinessException;
+import com.ammarakshitha.exception.ResourceNotFoundException;
+import com.ammarakshitha.model.RiskRuleSet;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.repository.RiskRuleSetRepository;
+import com.ammarakshitha.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned risk rule sets stored in the database. Activating a version compiles it and swaps
+ * it into {@link RiskAssessmentService} without a restart; assessments already running finish
+ * on the rules they started with. Every instance polls for the active version, so a change made
+ * on one instance reaches the others within the refresh interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RiskRuleSetService {
+
+    private final RiskRuleSetRepository riskRuleSetRepository;
+    private final UserRepository userRepository;
+    private final RiskAssessmentService riskAssessmentService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void loadActiveRuleSet() {
+        refresh();
+    }
+
+    @Transactional(readOnly = true)
+    public List<RiskRuleSetDTO> getRuleSets() {
+        return riskRuleSetRepository.findAllByOrderByRuleSetVersionDesc().stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public RiskRuleSetDTO getRuleSet(int version) {
+        return toDTO(findRuleSet(version));
+    }
+
+    @Transactional
+    public RiskRuleSetDTO createRuleSet(RiskRuleSetRequest request, Long userId) {
+        int version = riskRuleSetRepository.findMaxRuleSetVersion() + 1;
+        Map<String, String> rules = new HashMap<>(request.getRules());
+        try {
+            riskAssessmentService.compile(version, rules);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(e.getMessage());
+        }
+
+        User createdBy = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        RiskRuleSet ruleSet = RiskRuleSet.builder()
+                .ruleSetVersion(version)
+                .description(request.getDescription())
+                .rules(rules)
+                .createdBy(createdBy)
+                .build();
+        riskRuleSetRepository.save(ruleSet);
+        log.info("Risk rule set version {} created by user {}", version, userId);
+
+        if (Boolean.TRUE.equals(request.getActivate())) {
+            activateRuleSet(version);
+        }
+        return toDTO(ruleSet);
+    }
+
+    /**
+     * Makes the given version the active one; version 0 goes back to the configured rules.
+     */
+    @Transactional
+    public RiskRuleSetDTO activateRuleSet(int version) {
+        if (version == 0) {
+            riskRuleSetRepository.deactivateAll();
+            eventPublisher.publishEvent(new RiskRuleSetActivatedEvent(0));
+            log.info("Risk rule sets deactivated, configured rules will apply");
+            return null;
+        }
+
+        RiskRuleSet ruleSet = findRuleSet(version);
+        if (Boolean.TRUE.equals(ruleSet.getIsActive())) {
+            return toDTO(ruleSet);
+        }
+        riskRuleSetRepository.deactivateAll();
+        ruleSet.setIsActive(true);
+        ruleSet.setActivatedAt(LocalDateTime.now());
+        riskRuleSetRepository.save(ruleSet);
+        eventPublisher.publishEvent(new RiskRuleSetActivatedEvent(version));
+        log.info("Risk rule set version {} activated", version);
+        return toDTO(ruleSet);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRuleSetActivated(RiskRuleSetActivatedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Installs the active rule set if it differs from the one in effect. Versions are immutable,
+     * so comparing version numbers is enough.
+     */
+    @Scheduled(fixedDelayString = "${app.risk-assessment.rule-set-refresh-ms:30000}")
+    public synchronized void refresh() {
+        List<Integer> active = riskRuleSetRepository.findActiveRuleSetVersions();
+        int version = active.isEmpty() ? 0 : active.get(0);
+        if (version == riskAssessmentService.getRuleSetVersion()) {
+            return;
+        }
+
+        Map<String, String> rules = version == 0 ? Map.of() : riskRuleSetRepository.findByRuleSetVersion(version)
+                .map(RiskRuleSet::getRules)
+                .orElse(null);
+        if (rules == null) {
+            // Deactivated between the two reads, the next poll settles it
+            return;
+        }
+        try {
+            riskAssessmentService.install(riskAssessmentService.compile(version, rules));
+        } catch (IllegalArgumentException e) {
+            log.error("Risk rule set version {} could not be compiled, keeping version {}",
+                    version, riskAssessmentService.getRuleSetVersion(), e);
+        }
+    }
+
+    private RiskRuleSet findRuleSet(int version) {
+        return riskRuleSetRepository.findByRuleSetVersion(version)
+                .orElseThrow(() -> new ResourceNotFoundException("Risk rule set version " + version + " not found"));
+    }
+
+    private RiskRuleSetDTO toDTO(RiskRuleSet ruleSet) {
+        User createdBy = ruleSet.getCreatedBy();
+        return RiskRuleSetDTO.builder()
+                .version(ruleSet.getRuleSetVersion())
+                .description(ruleSet.getDescription())
+                .rules(new HashMap<>(ruleSet.getRules()))
+                .active(Boolean.TRUE.equals(ruleSet.getIsActive()))
+                .inEffect(ruleSet.getRuleSetVersion() == riskAssessmentService.getRuleSetVersion())
+                .createdById(createdBy != null ? createdBy.getId() : null)
+                .createdByName(createdBy != null ? createdBy.getName() : null)
+                .createdAt(ruleSet.getCreatedAt())
+                .activatedAt(ruleSet.getActivatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,462 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.enums.RiskLevel;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * The risk scoring rules compiled into flat tables. Evaluating a health check walks the tables
+ * and returns the score and the triggered factors packed into one {@code long}; nothing is
+ * allocated. Factor messages are rendered from the bits by {@link #describe} only when they are
+ * stored or shown.
+ *
+ * <p>Banded rules (blood pressure, hemoglobin, blood sugar) are checked in order and the first
+ * matching band scores; which message a band produces follows from its score, as it always has.
+ * Trend rules score the {@link VitalsTrend} across the patient's recent visits.</p>
+ */
+final class RiskRules {
+
+    /**
+     * Triggered risk factors, one bit each, in the order their messages are listed.
+     */
+    enum Factor {
+        SEVERE_HYPERTENSION,
+        HIGH_BLOOD_PRESSURE,
+        ELEVATED_BLOOD_PRESSURE,
+        SEVERE_ANEMIA,
+        MODERATE_ANEMIA,
+        MILD_ANEMIA,
+        HIGH_BLOOD_SUGAR,
+        ELEVATED_BLOOD_SUGAR,
+        HIGH_RISK_AGE,
+        PREVIOUS_COMPLICATIONS,
+        BLEEDING,
+        SWELLING,
+        HEADACHE,
+        BLURRED_VISION,
+        ABDOMINAL_PAIN,
+        ALBUMINURIA,
+        LOW_SPO2,
+        ABNORMAL_FETAL_HEART_RATE,
+        REDUCED_FETAL_MOVEMENT,
+        HEMOGLOBIN_DECLINING,
+        RISING_BLOOD_PRESSURE,
+        RAPID_WEIGHT_GAIN,
+        FALLING_FETAL_HEART_RATE;
+
+        final int bit = 1 << ordinal();
+    }
+
+    private static final Factor[] FACTORS = Factor.values();
+
+    private final int version;
+    private final int severeThreshold;
+    private final int moderateThreshold;
+
+    // Hypertension bands followed by one hypotension band
+    private final int[] bpSystolic;
+    private final int[] bpDiastolic;
+    private final int[] bpScores;
+    private final int[] bpFactors;
+
+    private final double[] hemoglobinBelow;
+    private final int[] hemoglobinScores;
+    private final int[] hemoglobinFactors;
+
+    // Per test: {high, elevated} thresholds, both scored from sugarScores
+    private final double[] sugarFasting;
+    private final double[] sugarRandom;
+    private final double[] sugarPostPrandial;
+    private final int[] sugarScores;
+
+    private final int ageBelow;
+    private final int ageAbove;
+    private final int ageScore;
+    private final int previousComplicationsScore;
+
+    private final int bleedingScore;
+    private final int swellingScore;
+    private final int headacheScore;
+    private final int blurredVisionScore;
+    private final int abdominalPainScore;
+    private final String[] albuminuriaLevels;
+    private final int albuminuriaScore;
+
+    private final int spo2Below;
+    private final int spo2Score;
+    private final int fetalHeartRateMin;
+    private final int fetalHeartRateMax;
+    private final int fetalHeartRateScore;
+    private final int reducedFetalMovementScore;
+
+    private final int trendMinVisits;
+    private final int trendMinSpanDays;
+    private final double hemoglobinDeclinePerWeek;
+    private final int hemoglobinDeclineScore;
+    private final double bpSystolicRisePerWeek;
+    private final double bpDiastolicRisePerWeek;
+    private final int bpRiseScore;
+    private final double weightGainPerWeek;
+    private final int weightGainScore;
+    private final int fetalHeartRateDrop;
+    private final int fetalHeartRateDropScore;
+
+    @Builder
+    private RiskRules(int version, int severeThreshold, int moderateThreshold,
+                      int[] bpSystolicAtLeast, int[] bpDiastolicAtLeast, int[] bpScores,
+                      int hypotensionSystolicBelow, int hypotensionDiastolicBelow, int hypotensionScore,
+                      double[] hemoglobinBelow, int[] hemoglobinScores,
+                      double[] sugarFastingAtLeast, double[] sugarRandomAtLeast, double[] sugarPostPrandialAtLeast,
+                      int[] sugarScores,
+                      int ageBelow, int ageAbove, int ageScore, int previousComplicationsScore,
+                      int bleedingScore, int swellingScore, int headacheScore, int blurredVisionScore,
+                      int abdominalPainScore, String[] albuminuriaLevels, int albuminuriaScore,
+                      int spo2Below, int spo2Score, int[] fetalHeartRateRange, int fetalHeartRateScore,
+                      int reducedFetalMovementScore,
+                      int trendMinVisits, int trendMinSpanDays,
+                      double hemoglobinDeclinePerWeek, int hemoglobinDeclineScore,
+                      double[] bpRisePerWeek, int bpRiseScore,
+                      double weightGainPerWeek, int weightGainScore,
+                      int fetalHeartRateDrop, int fetalHeartRateDropScore) {
+        requireLength("bp-diastolic-at-least", bpDiastolicAtLeast, bpSystolicAtLeast.length);
+        requireLength("bp-scores", bpScores, bpSystolicAtLeast.length);
+        requireLength("hemoglobin-scores", hemoglobinScores, hemoglobinBelow.length);
+        requireLength("sugar-fasting-at-least", sugarFastingAtLeast, 2);
+        requireLength("sugar-random-at-least", sugarRandomAtLeast, 2);
+        requireLength("sugar-post-prandial-at-least", sugarPostPrandialAtLeast, 2);
+        requireLength("sugar-scores", sugarScores, 2);
+        requireLength("fetal-heart-rate-range", fetalHeartRateRange, 2);
+        requireLength("bp-rise-per-week", bpRisePerWeek, 2);
+
+        this.version = version;
+        this.severeThreshold = severeThreshold;
+        this.moderateThreshold = moderateThreshold;
+
+        int bands = bpSystolicAtLeast.length;
+        this.bpSystolic = new int[bands + 1];
+        this.bpDiastolic = new int[bands + 1];
+        this.bpScores = new int[bands + 1];
+        this.bpFactors = new int[bands + 1];
+        for (int i = 0; i < bands; i++) {
+            bpSystolic[i] = bpSystolicAtLeast[i];
+            bpDiastolic[i] = bpDiastolicAtLeast[i];
+            this.bpScores[i] = bpScores[i];
+        }
+        bpSystolic[bands] = hypotensionSystolicBelow;
+        bpDiastolic[bands] = hypotensionDiastolicBelow;
+        this.bpScores[bands] = hypotensionScore;
+        for (int i = 0; i <= bands; i++) {
+            int score = this.bpScores[i];
+            bpFactors[i] = score >= 3 ? Factor.SEVERE_HYPERTENSION.bit
+                    : score >= 2 ? Factor.HIGH_BLOOD_PRESSURE.bit
+                    : score >= 1 ? Factor.ELEVATED_BLOOD_PRESSURE.bit
+                    : 0;
+        }
+
+        this.hemoglobinBelow = hemoglobinBelow.clone();
+        this.hemoglobinScores = hemoglobinScores.clone();
+        this.hemoglobinFactors = new int[hemoglobinScores.length];
+        for (int i = 0; i < hemoglobinScores.length; i++) {
+            int score = hemoglobinScores[i];
+            hemoglobinFactors[i] = score >= 4 ? Factor.SEVERE_ANEMIA.bit
+                    : score >= 2 ? Factor.MODERATE_ANEMIA.bit
+                    : score >= 1 ? Factor.MILD_ANEMIA.bit
+                    : 0;
+        }
+
+        this.sugarFasting = sugarFastingAtLeast.clone();
+        this.sugarRandom = sugarRandomAtLeast.clone();
+        this.sugarPostPrandial = sugarPostPrandialAtLeast.clone();
+        this.sugarScores = sugarScores.clone();
+
+        this.ageBelow = ageBelow;
+        this.ageAbove = ageAbove;
+        this.ageScore = ageScore;
+        this.previousComplicationsScore = previousComplicationsScore;
+
+        this.bleedingScore = bleedingScore;
+        this.swellingScore = swellingScore;
+        this.headacheScore = headacheScore;
+        this.blurredVisionScore = blurredVisionScore;
+        this.abdominalPainScore = abdominalPainScore;
+        this.albuminuriaLevels = albuminuriaLevels.clone();
+        this.albuminuriaScore = albuminuriaScore;
+
+        this.spo2Below = spo2Below;
+        this.spo2Score = spo2Score;
+        this.fetalHeartRateMin = fetalHeartRateRange[0];
+        this.fetalHeartRateMax = fetalHeartRateRange[1];
+        this.fetalHeartRateScore = fetalHeartRateScore;
+        this.reducedFetalMovementScore = reducedFetalMovementScore;
+
+        this.trendMinVisits = trendMinVisits;
+        this.trendMinSpanDays = trendMinSpanDays;
+        this.hemoglobinDeclinePerWeek = hemoglobinDeclinePerWeek;
+        this.hemoglobinDeclineScore = hemoglobinDeclineScore;
+        this.bpSystolicRisePerWeek = bpRisePerWeek[0];
+        this.bpDiastolicRisePerWeek = bpRisePerWeek[1];
+        this.bpRiseScore = bpRiseScore;
+        this.weightGainPerWeek = weightGainPerWeek;
+        this.weightGainScore = weightGainScore;
+        this.fetalHeartRateDrop = fetalHeartRateDrop;
+        this.fetalHeartRateDropScore = fetalHeartRateDropScore;
+    }
+
+    /**
+     * Scores {@code healthCheck} for {@code patient}, including how the vitals moved over recent
+     * visits when {@code trend} is given. Use {@link #score} and {@link #factors} to unpack the
+     * result.
+     */
+    long evaluate(HealthCheck healthCheck, Patient patient, VitalsTrend trend) {
+        int score = 0;
+        int factors = 0;
+
+        Integer systolic = healthCheck.getBpSystolic();
+        Integer diastolic = healthCheck.getBpDiastolic();
+        if (systolic != null && diastolic != null) {
+            int band = bloodPressureBand(systolic, diastolic);
+            if (band >= 0) {
+                score += bpScores[band];
+                factors |= bpFactors[band];
+            }
+        }
+
+        BigDecimal hemoglobin = healthCheck.getHemoglobin();
+        if (hemoglobin != null) {
+            double hb = hemoglobin.doubleValue();
+            for (int i = 0; i < hemoglobinBelow.length; i++) {
+                if (hb < hemoglobinBelow[i]) {
+                    score += hemoglobinScores[i];
+                    factors |= hemoglobinFactors[i];
+                    break;
+                }
+            }
+        }
+
+        int sugarScore = Math.max(sugarScore(healthCheck.getBloodSugarFasting(), sugarFasting),
+                Math.max(sugarScore(healthCheck.getBloodSugarRandom(), sugarRandom),
+                        sugarScore(healthCheck.getBloodSugarPP(), sugarPostPrandial)));
+        if (sugarScore > 0) {
+            score += sugarScore;
+            factors |= sugarScore >= 3 ? Factor.HIGH_BLOOD_SUGAR.bit : Factor.ELEVATED_BLOOD_SUGAR.bit;
+        }
+
+        Integer age = patient.getAge();
+        if (age != null && (age < ageBelow || age > ageAbove) && ageScore > 0) {
+            score += ageScore;
+            factors |= Factor.HIGH_RISK_AGE.bit;
+        }
+
+        if (Boolean.TRUE.equals(patient.getHasPreviousComplications())) {
+            score += previousComplicationsScore;
+            factors |= Factor.PREVIOUS_COMPLICATIONS.bit;
+        }
+
+        if (Boolean.TRUE.equals(healthCheck.getBleedingReported())) {
+            score += bleedingScore;
+            factors |= Factor.BLEEDING.bit;
+        }
+        if (Boolean.TRUE.equals(healthCheck.getSwellingObserved())) {
+            score += swellingScore;
+            factors |= Factor.SWELLING.bit;
+        }
+        if (Boolean.TRUE.equals(healthCheck.getHeadacheReported())) {
+            score += headacheScore;
+            factors |= Factor.HEADACHE.bit;
+        }
+        if (Boolean.TRUE.equals(healthCheck.getBlurredVisionReported())) {
+            score += blurredVisionScore;
+            factors |= Factor.BLURRED_VISION.bit;
+        }
+        if (Boolean.TRUE.equals(healthCheck.getAbdominalPainReported())) {
+            score += abdominalPainScore;
+            factors |= Factor.ABDOMINAL_PAIN.bit;
+        }
+        if (isAlbuminuria(healthCheck.getUrineAlbumin())) {
+            score += albuminuriaScore;
+            factors |= Factor.ALBUMINURIA.bit;
+        }
+
+        Integer spo2 = healthCheck.getSpo2();
+        if (spo2 != null && spo2 < spo2Below) {
+            score += spo2Score;
+            factors |= Factor.LOW_SPO2.bit;
+        }
+
+        Integer fetalHeartRate = healthCheck.getFetalHeartRate();
+        if (fetalHeartRate != null && (fetalHeartRate < fetalHeartRateMin || fetalHeartRate > fetalHeartRateMax)) {
+            score += fetalHeartRateScore;
+            factors |= Factor.ABNORMAL_FETAL_HEART_RATE.bit;
+        }
+
+        if (Boolean.FALSE.equals(healthCheck.getFetalMovement())) {
+            score += reducedFetalMovementScore;
+            factors |= Factor.REDUCED_FETAL_MOVEMENT.bit;
+        }
+
+        // NaN slopes, from too few visits, compare false and score nothing
+        if (trend != null) {
+            if (trend.hemoglobinPerWeek() <= -hemoglobinDeclinePerWeek && hemoglobinDeclineScore > 0) {
+                score += hemoglobinDeclineScore;
+                factors |= Factor.HEMOGLOBIN_DECLINING.bit;
+            }
+            if ((trend.bpSystolicPerWeek() >= bpSystolicRisePerWeek || trend.bpDiastolicPerWeek() >= bpDiastolicRisePerWeek)
+                    && bpRiseScore > 0) {
+                score += bpRiseScore;
+                factors |= Factor.RISING_BLOOD_PRESSURE.bit;
+            }
+            if (trend.weightPerWeek() >= weightGainPerWeek && weightGainScore > 0) {
+                score += weightGainScore;
+                factors |= Factor.RAPID_WEIGHT_GAIN.bit;
+            }
+            if (trend.fetalHeartRateChange() <= -fetalHeartRateDrop && fetalHeartRateDropScore > 0) {
+                score += fetalHeartRateDropScore;
+                factors |= Factor.FALLING_FETAL_HEART_RATE.bit;
+            }
+        }
+
+        return ((long) score << 32) | (factors & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Rule set version these rules were compiled from; 0 for the application configuration.
+     */
+    int version() {
+        return version;
+    }
+
+    int trendMinVisits() {
+        return trendMinVisits;
+    }
+
+    int trendMinSpanDays() {
+        return trendMinSpanDays;
+    }
+
+    RiskLevel riskLevel(int score) {
+        if (score >= severeThreshold) {
+            return RiskLevel.RED;
+        }
+        if (score >= moderateThreshold) {
+            return RiskLevel.YELLOW;
+        }
+        return RiskLevel.GREEN;
+    }
+
+    static int score(long evaluation) {
+        return (int) (evaluation >> 32);
+    }
+
+    static int factors(long evaluation) {
+        return (int) evaluation;
+    }
+
+    /**
+     * Renders the messages for {@code factors}, with the readings they refer to, joined by
+     * {@code delimiter}.
+     */
+    static String describe(int factors, HealthCheck healthCheck, Patient patient, VitalsTrend trend,
+                           String delimiter) {
+        if (factors == 0) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder(64);
+        for (Factor factor : FACTORS) {
+            if ((factors & factor.bit) == 0) {
+                continue;
+            }
+            if (!text.isEmpty()) {
+                text.append(delimiter);
+            }
+            switch (factor) {
+                case SEVERE_HYPERTENSION -> text.append("Severe Hypertension (BP: ")
+                        .append(healthCheck.getBpSystolic()).append('/').append(healthCheck.getBpDiastolic()).append(')');
+                case HIGH_BLOOD_PRESSURE -> text.append("High Blood Pressure (BP: ")
+                        .append(healthCheck.getBpSystolic()).append('/').append(healthCheck.getBpDiastolic()).append(')');
+                case ELEVATED_BLOOD_PRESSURE -> text.append("Elevated Blood Pressure");
+                case SEVERE_ANEMIA -> text.append("Severe Anemia (Hb: ").append(healthCheck.getHemoglobin()).append(" g/dL)");
+                case MODERATE_ANEMIA -> text.append("Moderate Anemia (Hb: ").append(healthCheck.getHemoglobin()).append(" g/dL)");
+                case MILD_ANEMIA -> text.append("Mild Anemia");
+                case HIGH_BLOOD_SUGAR -> text.append("High Blood Sugar - Possible Gestational Diabetes");
+                case ELEVATED_BLOOD_SUGAR -> text.append("Elevated Blood Sugar");
+                case HIGH_RISK_AGE -> text.append("High Risk Age Group (").append(patient.getAge()).append(" years)");
+                case PREVIOUS_COMPLICATIONS -> text.append("History of Previous Complications");
+                case BLEEDING -> text.append("Vaginal Bleeding Reported");
+                case SWELLING -> text.append("Swelling/Edema Observed");
+                case HEADACHE -> text.append("Severe Headache Reported");
+                case BLURRED_VISION -> text.append("Blurred Vision Reported");
+                case ABDOMINAL_PAIN -> text.append("Abdominal Pain Reported");
+                case ALBUMINURIA -> text.append("Protein in Urine (Albuminuria: ").append(healthCheck.getUrineAlbumin()).append(')');
+                case LOW_SPO2 -> text.append("Low Oxygen Saturation (SpO2: ").append(healthCheck.getSpo2()).append("%)");
+                case ABNORMAL_FETAL_HEART_RATE -> text.append("Abnormal Fetal Heart Rate (")
+                        .append(healthCheck.getFetalHeartRate()).append(" bpm)");
+                case REDUCED_FETAL_MOVEMENT -> text.append("Reduced Fetal Movement Reported");
+                case HEMOGLOBIN_DECLINING -> text.append("Falling Hemoglobin (")
+                        .append(signed(trend.hemoglobinPerWeek())).append(" g/dL per week)");
+                case RISING_BLOOD_PRESSURE -> text.append("Rising Blood Pressure (")
+                        .append(signed(trend.bpSystolicPerWeek())).append('/')
+                        .append(signed(trend.bpDiastolicPerWeek())).append(" mmHg per week)");
+                case RAPID_WEIGHT_GAIN -> text.append("Rapid Weight Gain (")
+                        .append(signed(trend.weightPerWeek())).append(" kg per week)");
+                case FALLING_FETAL_HEART_RATE -> text.append("Falling Fetal Heart Rate (")
+                        .append(Math.round(trend.fetalHeartRateChange())).append(" bpm since last visit)");
+            }
+        }
+        return text.toString();
+    }
+
+    private static String signed(double perWeek) {
+        return String.format(Locale.ROOT, "%+.1f", perWeek);
+    }
+
+    private int bloodPressureBand(int systolic, int diastolic) {
+        int hypotension = bpScores.length - 1;
+        for (int i = 0; i < hypotension; i++) {
+            if (systolic >= bpSystolic[i] || diastolic >= bpDiastolic[i]) {
+                return i;
+            }
+        }
+        if (systolic < bpSystolic[hypotension] || diastolic < bpDiastolic[hypotension]) {
+            return hypotension;
+        }
+        return -1;
+    }
+
+    private int sugarScore(BigDecimal value, double[] thresholds) {
+        if (value == null) {
+            return 0;
+        }
+        double sugar = value.doubleValue();
+        if (sugar >= thresholds[0]) {
+            return sugarScores[0];
+        }
+        if (sugar >= thresholds[1]) {
+            return sugarScores[1];
+        }
+        return 0;
+    }
+
+    private boolean isAlbuminuria(String urineAlbumin) {
+        if (urineAlbumin == null) {
+            return false;
+        }
+        for (String level : albuminuriaLevels) {
+            if (level.equals(urineAlbumin)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void requireLength(String name, Object array, int length) {
+        int actual = array instanceof int[] ints ? ints.length : ((double[]) array).length;
+        if (actual != length) {
+            throw new IllegalArgumentException(
+                    "Risk rule " + name + " must have " + length + " values, got " + actual);
+        }
+    }
+}
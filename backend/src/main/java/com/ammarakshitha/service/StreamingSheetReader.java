@@ -0,0 +1,180 @@
+package com.ammarakshitha.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Reads the first sheet of an .xlsx file row by row with POI's SAX event API. Only the shared
+ * strings and styles tables are held in memory; rows are handed to the caller as they are parsed,
+ * so memory stays flat regardless of how many rows the sheet has.
+ */
+final class StreamingSheetReader {
+
+    /**
+     * Receives each non-missing row; {@code rowIndex} is 0-based like {@code Sheet.getRow}.
+     */
+    interface RowHandler {
+        void row(int rowIndex, ExcelRowValues values);
+    }
+
+    private StreamingSheetReader() {
+    }
+
+    static void read(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStrings sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, styles, handler));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final SharedStrings sharedStrings;
+        private final StylesTable styles;
+        private final RowHandler handler;
+
+        private ExcelRowValues row;
+        private int rowIndex;
+        private int nextColumn;
+
+        private int column;
+        private String type;
+        private String styleIndex;
+        private boolean formula;
+        private boolean collecting;
+        private final StringBuilder value = new StringBuilder();
+        private final StringBuilder inlineText = new StringBuilder();
+
+        private SheetHandler(SharedStrings sharedStrings, StylesTable styles, RowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attributes.getValue("r");
+                    rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                    row = new ExcelRowValues();
+                    nextColumn = 0;
+                }
+                case "c" -> {
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? new CellReference(ref).getCol() : nextColumn;
+                    nextColumn = column + 1;
+                    type = attributes.getValue("t");
+                    styleIndex = attributes.getValue("s");
+                    formula = false;
+                    value.setLength(0);
+                    inlineText.setLength(0);
+                }
+                case "f" -> formula = true;
+                case "v", "t" -> collecting = true;
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                value.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v" -> collecting = false;
+                case "t" -> {
+                    // Inline string text, possibly split over several runs
+                    collecting = false;
+                    inlineText.append(value);
+                    value.setLength(0);
+                }
+                case "c" -> {
+                    ExcelRowValues.CellValue cell = toCellValue();
+                    if (cell != null) {
+                        row.set(column, cell);
+                    }
+                }
+                case "row" -> {
+                    handler.row(rowIndex, row);
+                    row = null;
+                }
+                default -> {
+                }
+            }
+        }
+
+        private ExcelRowValues.CellValue toCellValue() {
+            if ("inlineStr".equals(type)) {
+                return ExcelRowValues.CellValue.string(inlineText.toString());
+            }
+            if (value.isEmpty()) {
+                return null;
+            }
+            String raw = value.toString();
+            if (type == null || "n".equals(type)) {
+                double number = Double.parseDouble(raw);
+                return formula
+                        ? ExcelRowValues.CellValue.formula(null, number)
+                        : ExcelRowValues.CellValue.numeric(number, dateValue(number));
+            }
+            return switch (type) {
+                case "s" -> ExcelRowValues.CellValue.string(
+                        sharedStrings.getItemAt(Integer.parseInt(raw)).getString());
+                case "str" -> ExcelRowValues.CellValue.formula(raw, 0);
+                case "b" -> ExcelRowValues.CellValue.bool("1".equals(raw));
+                default -> null;
+            };
+        }
+
+        private LocalDate dateValue(double number) {
+            if (styleIndex == null || styles == null || !DateUtil.isValidExcelDate(number)) {
+                return null;
+            }
+            XSSFCellStyle style = styles.getStyleAt(Integer.parseInt(styleIndex));
+            if (style == null || !DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())) {
+                return null;
+            }
+            return DateUtil.getLocalDateTime(number).toLocalDate();
+        }
+    }
+}
@@ -0,0 +1,648 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.event.DashboardRecountRequestedEvent;
+import com.ammarakshitha.model.BaseEntity;
+import com.ammarakshitha.model.Consultation;
+import com.ammarakshitha.model.FollowUp;
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.RiskAlert;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.AlertType;
+import com.ammarakshitha.model.enums.ConsultationStatus;
+import com.ammarakshitha.model.enums.ConsultationType;
+import com.ammarakshitha.model.enums.DeliveryOutcome;
+import com.ammarakshitha.model.enums.DeliveryType;
+import com.ammarakshitha.model.enums.FollowUpStatus;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Fills the database with a synthetic, production-sized dataset for load testing: patients spread
+ * over districts and mandals, each with a history of health checks scored by
+ * {@link RiskAssessmentService}, and the alerts, follow-ups and consultations that
+ * {@link HealthCheckService} would have created for them.
+ *
+ * <p>Runs at startup only with the {@code seed} profile and {@code app.seed.enabled=true}, e.g.
+ * {@code SPRING_PROFILES_ACTIVE=dev,seed SEED_ENABLED=true}. Patients are generated by position
+ * from a fixed random seed, so a run that was interrupted continues from the current patient count
+ * and the same settings always produce the same data. Rows are inserted with JDBC batches, one
+ * transaction per batch of patients and everything that belongs to them; patients go through the
+ * same {@link PatientRowWriter} as bulk registration.</p>
+ */
+@Component
+@Profile("seed")
+@ConditionalOnProperty(name = "app.seed.enabled", havingValue = "true")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataSeeder implements ApplicationRunner {
+
+    private static final String SEED_PASSWORD = "Seed@123";
+    private static final int HELP_DESK_USERS = 20;
+    private static final int DOCTORS = 10;
+
+    private static final String HEALTH_CHECK_SQL = "INSERT INTO health_checks (" +
+            "patient_id, check_date, bp_systolic, bp_diastolic, pulse_rate, temperature, spo2, hemoglobin, " +
+            "blood_sugar_fasting, weight, fetal_heart_rate, fetal_movement, swelling_observed, bleeding_reported, " +
+            "headache_reported, blurred_vision_reported, abdominal_pain_reported, risk_level, risk_score, " +
+            "risk_factors, risk_rule_set_version, is_active, performed_by, next_check_date, created_at, updated_at, " +
+            "version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String RISK_ALERT_SQL = "INSERT INTO risk_alerts (" +
+            "patient_id, health_check_id, alert_type, severity, title, description, risk_factors, " +
+            "recommended_action, is_acknowledged, acknowledged_by_id, acknowledged_at, is_resolved, resolved_at, " +
+            "sms_sent, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CONSULTATION_SQL = "INSERT INTO consultations (" +
+            "patient_id, doctor_id, type, status, scheduled_at, started_at, ended_at, chief_complaint, diagnosis, " +
+            "referral_required, follow_up_required, triggered_by_health_check_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FOLLOW_UP_SQL = "INSERT INTO follow_ups (" +
+            "patient_id, assigned_to_id, scheduled_date, status, call_completed_at, call_duration_seconds, " +
+            "attempt_count, requires_doctor_consultation, requires_immediate_attention, notes, " +
+            "triggered_by_health_check_id, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[][] DISTRICTS = {
+            {"Nirmal", "Nirmal", "Bhainsa", "Khanapur", "Mudhole", "Lokeshwaram", "Dilawarpur"},
+            {"Adilabad", "Adilabad", "Utnoor", "Ichoda", "Boath", "Jainad", "Talamadugu"},
+            {"Nizamabad", "Nizamabad", "Armoor", "Bodhan", "Varni", "Dichpally", "Makloor"},
+            {"Mancherial", "Mancherial", "Bellampalle", "Luxettipet", "Chennur", "Jannaram"},
+            {"Jagtial", "Jagtial", "Korutla", "Metpally", "Dharmapuri", "Raikal"},
+            {"Karimnagar", "Karimnagar", "Huzurabad", "Choppadandi", "Manakondur", "Jammikunta"},
+            {"Kamareddy", "Kamareddy", "Banswada", "Yellareddy", "Domakonda", "Bichkunda"},
+            {"Peddapalli", "Peddapalli", "Ramagundam", "Manthani", "Sultanabad"}
+    };
+    private static final String[] FIRST_NAMES = {
+            "Lakshmi", "Sravani", "Anjali", "Kavitha", "Swapna", "Padma", "Sunitha", "Bhavani", "Divya",
+            "Haritha", "Mounika", "Renuka", "Sirisha", "Jyothi", "Roja", "Saritha", "Manjula", "Pavani",
+            "Aruna", "Deepika", "Keerthi", "Madhavi", "Nandini", "Radha", "Shirisha", "Vani"
+    };
+    private static final String[] SURNAMES = {
+            "Reddy", "Rao", "Goud", "Naidu", "Yadav", "Sharma", "Kumari", "Devi", "Bai", "Begum",
+            "Chary", "Naik", "Mudiraj", "Netha", "Patel", "Varma"
+    };
+    private static final String[] HUSBAND_NAMES = {
+            "Ramesh", "Suresh", "Srinivas", "Venkatesh", "Mahesh", "Raju", "Ravi", "Naresh", "Prasad",
+            "Kiran", "Anil", "Praveen", "Krishna", "Shankar", "Vinod", "Ganesh"
+    };
+    private static final String[] BLOOD_GROUPS = {"O+", "B+", "A+", "AB+", "O-", "B-", "A-", "AB-"};
+    private static final int[] BLOOD_GROUP_WEIGHTS = {37, 32, 22, 7, 1, 1, 0, 0};
+
+    @Value("${app.seed.patients:1000000}")
+    private int patientCount;
+
+    @Value("${app.seed.health-checks-per-patient:10}")
+    private int healthChecksPerPatient;
+
+    @Value("${app.seed.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.seed.threads:4}")
+    private int threads;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    private final PatientRepository patientRepository;
+    private final UserRepository userRepository;
+    private final RiskAssessmentService riskAssessmentService;
+    private final VitalsHistory vitalsHistory;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Staff the synthetic records are registered by and assigned to.
+     */
+    private record Staff(List<User> helpDesk, List<User> doctors) {
+    }
+
+    /**
+     * Everything generated for one batch of patients, in insert order.
+     */
+    private static final class Batch {
+        private final List<Patient> patients = new ArrayList<>();
+        private final List<HealthCheck> healthChecks = new ArrayList<>();
+        private final List<RiskAlert> riskAlerts = new ArrayList<>();
+        private final List<Consultation> consultations = new ArrayList<>();
+        private final List<FollowUp> followUps = new ArrayList<>();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long existing = patientRepository.count();
+        if (existing >= patientCount) {
+            log.info("Synthetic data: {} patients already present, nothing to seed", existing);
+            return;
+        }
+
+        Staff staff = ensureStaff();
+        int from = (int) existing;
+        log.info("Synthetic data: seeding patients {} to {} with ~{} health checks each on {} threads",
+                from + 1, patientCount, healthChecksPerPatient, threads);
+
+        LocalDate today = LocalDate.now();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "seed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicLong seeded = new AtomicLong();
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int start = from; start < patientCount; start += batchSize) {
+                int batchStart = start;
+                int batchEnd = Math.min(start + batchSize, patientCount);
+                futures.add(pool.submit(() -> {
+                    Batch batch = generate(batchStart, batchEnd, today, staff);
+                    new TransactionTemplate(transactionManager).executeWithoutResult(status -> insert(batch));
+                    long done = seeded.addAndGet(batchEnd - batchStart);
+                    if (done % 50_000 < batchEnd - batchStart) {
+                        log.info("Synthetic data: {} / {} patients", from + done, patientCount);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            pool.shutdownNow();
+            throw new IllegalStateException("Synthetic data seeding failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        log.info("Synthetic data: seeded {} patients in {} s", seeded.get(),
+                (System.nanoTime() - started) / 1_000_000_000L);
+        eventPublisher.publishEvent(new DashboardRecountRequestedEvent("synthetic data seeded"));
+    }
+
+    private Staff ensureStaff() {
+        String passwordHash = passwordEncoder.encode(SEED_PASSWORD);
+        List<User> helpDesk = new ArrayList<>();
+        for (int i = 1; i <= HELP_DESK_USERS; i++) {
+            helpDesk.add(ensureUser("seed.helpdesk" + i, "Help Desk " + i, UserRole.HELP_DESK,
+                    "Help Desk", "Help Desk Executive", 8_000_000_000L + i, passwordHash));
+        }
+        List<User> doctors = new ArrayList<>();
+        for (int i = 1; i <= DOCTORS; i++) {
+            doctors.add(ensureUser("seed.doctor" + i, "Dr. Seed " + i, UserRole.DOCTOR,
+                    "Gynecology", "Medical Officer", 8_100_000_000L + i, passwordHash));
+        }
+        return new Staff(helpDesk, doctors);
+    }
+
+    private User ensureUser(String login, String name, UserRole role, String department, String designation,
+                            long phone, String passwordHash) {
+        String email = login + "@ammarakshitha.gov.in";
+        return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(User.builder()
+                .name(name)
+                .email(email)
+                .phone(Long.toString(phone))
+                .passwordHash(passwordHash)
+                .role(role)
+                .department(department)
+                .designation(designation)
+                .isActive(true)
+                .build()));
+    }
+
+    private Batch generate(int from, int to, LocalDate today, Staff staff) {
+        // Seeded by position, so a resumed run generates the same patients as an uninterrupted one
+        Random random = new Random(randomSeed * 31 + from);
+        Batch batch = new Batch();
+        for (int n = from; n < to; n++) {
+            generatePatient(n, random, today, staff, batch);
+        }
+        return batch;
+    }
+
+    private void generatePatient(int n, Random random, LocalDate today, Staff staff, Batch batch) {
+        String[] district = DISTRICTS[random.nextInt(DISTRICTS.length)];
+        String mandal = district[1 + random.nextInt(district.length - 1)];
+        User registeredBy = pick(staff.helpDesk(), random);
+
+        LocalDate registrationDate = today.minusDays(random.nextInt(730));
+        LocalDate lmpDate = registrationDate.minusDays(42 + random.nextInt(140));
+        LocalDate eddDate = lmpDate.plusDays(280);
+        int gravida = 1 + random.nextInt(4);
+
+        Patient patient = Patient.builder()
+                .name(pick(FIRST_NAMES, random) + " " + pick(SURNAMES, random))
+                .age(18 + random.nextInt(12) + random.nextInt(10))
+                .husbandName(pick(HUSBAND_NAMES, random) + " " + pick(SURNAMES, random))
+                .residence("H.No " + (1 + random.nextInt(999)) + ", Ward " + (1 + random.nextInt(30)) + ", " + mandal)
+                .district(district[0])
+                .mandal(mandal)
+                .village(mandal + " " + (1 + random.nextInt(25)))
+                .pincode(Integer.toString(504_000 + random.nextInt(300)))
+                // 'S' is not a hex digit, so these never collide with generated mother IDs
+                .motherId(String.format("AR-%s-S%07d", district[0].substring(0, 3).toUpperCase(), n))
+                .aadhaarNumber(String.format("2%011d", n))
+                .mobileNumber(String.format("9%09d", n))
+                .lmpDate(lmpDate)
+                .eddDate(eddDate)
+                .gravida(gravida)
+                .para(gravida - 1 - (gravida > 1 ? random.nextInt(gravida - 1) : 0))
+                .bloodGroup(BLOOD_GROUPS[weighted(BLOOD_GROUP_WEIGHTS, random)])
+                .currentRiskLevel(RiskLevel.GREEN)
+                .currentRiskScore(0)
+                .status(PatientStatus.ACTIVE)
+                .hasPreviousComplications(random.nextInt(10) == 0)
+                .registrationDate(registrationDate)
+                .deliveryOutcome(DeliveryOutcome.PENDING)
+                .numberOfBabies(1)
+                .registeredBy(registeredBy)
+                .build();
+        patient.setCreatedAt(registrationDate.atTime(9 + random.nextInt(8), random.nextInt(60)));
+
+        LocalDate lastCareDate = today;
+        if (eddDate.isBefore(today.minusDays(14))) {
+            completeDelivery(patient, random, staff);
+            lastCareDate = patient.getDeliveryDate();
+        }
+        patient.setUpdatedAt(patient.getCreatedAt());
+        batch.patients.add(patient);
+
+        // Per-patient tendencies, so some patients are consistently high risk across visits
+        boolean hypertensive = random.nextInt(100) < 8;
+        boolean anemic = random.nextInt(100) < 25;
+        boolean diabetic = random.nextInt(100) < 6;
+
+        int checks = healthChecksPerPatient / 2 + random.nextInt(healthChecksPerPatient + 1);
+        long span = Math.max(1, lastCareDate.toEpochDay() - registrationDate.toEpochDay());
+        checks = (int) Math.min(checks, span / 7 + 1);
+        long interval = Math.max(7, span / Math.max(1, checks));
+
+        HealthCheck latest = null;
+        // Checks are only inserted with the batch, so the visit history is tracked here
+        VitalsWindow history = vitalsHistory.newWindow();
+        for (int i = 0; i < checks; i++) {
+            LocalDate checkDate = registrationDate.plusDays(i * interval);
+            if (checkDate.isAfter(lastCareDate)) {
+                break;
+            }
+            latest = generateHealthCheck(patient, checkDate, hypertensive, anemic, diabetic, random, today,
+                    staff, batch, history);
+        }
+        if (latest != null) {
+            patient.setCurrentRiskLevel(latest.getRiskLevel());
+            patient.setCurrentRiskScore(latest.getRiskScore());
+            if (patient.getStatus() == PatientStatus.ACTIVE && latest.getRiskLevel() == RiskLevel.RED) {
+                patient.setStatus(PatientStatus.UNDER_OBSERVATION);
+            }
+        }
+    }
+
+    private void completeDelivery(Patient patient, Random random, Staff staff) {
+        LocalDate deliveryDate = patient.getEddDate().plusDays(random.nextInt(29) - 21);
+        int outcome = random.nextInt(1000);
+        DeliveryOutcome deliveryOutcome = outcome < 970 ? DeliveryOutcome.SUCCESSFUL
+                : outcome < 985 ? DeliveryOutcome.BABY_MORTALITY
+                : outcome < 995 ? DeliveryOutcome.MOTHER_MORTALITY
+                : DeliveryOutcome.BOTH_MORTALITY;
+        int type = random.nextInt(100);
+
+        patient.setDeliveryOutcome(deliveryOutcome);
+        patient.setDeliveryType(type < 60 ? DeliveryType.NORMAL
+                : type < 90 ? DeliveryType.CESAREAN
+                : type < 95 ? DeliveryType.ASSISTED
+                : DeliveryType.INDUCED);
+        patient.setDeliveryDate(deliveryDate);
+        patient.setDeliveryCompletedAt(deliveryDate.atTime(6 + random.nextInt(16), random.nextInt(60)));
+        patient.setDeliveryCompletedBy(pick(staff.doctors(), random));
+        patient.setStatus(deliveryOutcome == DeliveryOutcome.MOTHER_MORTALITY
+                || deliveryOutcome == DeliveryOutcome.BOTH_MORTALITY
+                ? PatientStatus.INACTIVE : PatientStatus.DISCHARGED);
+        if (deliveryOutcome != DeliveryOutcome.SUCCESSFUL) {
+            patient.setMortalityDate(deliveryDate);
+        }
+    }
+
+    private HealthCheck generateHealthCheck(Patient patient, LocalDate checkDate, boolean hypertensive,
+                                            boolean anemic, boolean diabetic, Random random, LocalDate today,
+                                            Staff staff, Batch batch, VitalsWindow history) {
+        int systolic = 105 + random.nextInt(25) + (hypertensive ? 20 + random.nextInt(35) : 0);
+        int diastolic = 65 + random.nextInt(15) + (hypertensive ? 15 + random.nextInt(20) : 0);
+        double hemoglobin = anemic ? 7.0 + random.nextDouble() * 3.5 : 10.5 + random.nextDouble() * 3.0;
+        double fastingSugar = diabetic ? 95 + random.nextDouble() * 60 : 70 + random.nextDouble() * 25;
+        int weeks = (int) ((checkDate.toEpochDay() - patient.getLmpDate().toEpochDay()) / 7);
+
+        HealthCheck healthCheck = HealthCheck.builder()
+                .patient(patient)
+                .checkDate(checkDate)
+                .bpSystolic(systolic)
+                .bpDiastolic(diastolic)
+                .pulseRate(70 + random.nextInt(30))
+                .temperature(BigDecimal.valueOf(365 + random.nextInt(15), 1))
+                .spo2(95 + random.nextInt(5))
+                .hemoglobin(BigDecimal.valueOf(Math.round(hemoglobin * 10), 1))
+                .bloodSugarFasting(BigDecimal.valueOf(Math.round(fastingSugar * 10), 1))
+                .weight(BigDecimal.valueOf(4500 + weeks * 25L + random.nextInt(2000), 2))
+                .fetalHeartRate(weeks >= 12 ? 120 + random.nextInt(40) : null)
+                .fetalMovement(weeks >= 20 ? random.nextInt(50) != 0 : null)
+                .swellingObserved(random.nextInt(hypertensive ? 5 : 30) == 0)
+                .bleedingReported(random.nextInt(200) == 0)
+                .headacheReported(random.nextInt(hypertensive ? 6 : 40) == 0)
+                .blurredVisionReported(random.nextInt(hypertensive ? 15 : 200) == 0)
+                .abdominalPainReported(random.nextInt(80) == 0)
+                .isActive(true)
+                .performedBy(pick(staff.helpDesk(), random))
+                .nextCheckDate(checkDate.plusWeeks(4))
+                .build();
+
+        RiskAssessmentService.RiskAssessmentResult risk = riskAssessmentService.assessRisk(healthCheck, patient, history);
+        history.append(healthCheck);
+        healthCheck.setRiskLevel(risk.riskLevel());
+        healthCheck.setRiskScore(risk.score());
+        healthCheck.setRiskFactors(risk.describeFactors("; "));
+        healthCheck.setRiskRuleSetVersion(risk.ruleSetVersion());
+        healthCheck.setCreatedAt(checkDate.atTime(9 + random.nextInt(8), random.nextInt(60)));
+        healthCheck.setUpdatedAt(healthCheck.getCreatedAt());
+        batch.healthChecks.add(healthCheck);
+
+        if (risk.riskLevel() != RiskLevel.GREEN) {
+            generateFollowUpCare(healthCheck, risk, random, today, staff, batch);
+        }
+        return healthCheck;
+    }
+
+    /**
+     * The alert, follow-up and, for high risk, consultation that {@link HealthCheckService} creates
+     * after a non-green check. Care in the past is closed out; care still due is left open.
+     */
+    private void generateFollowUpCare(HealthCheck healthCheck, RiskAssessmentService.RiskAssessmentResult risk,
+                                      Random random, LocalDate today, Staff staff, Batch batch) {
+        Patient patient = healthCheck.getPatient();
+        boolean red = risk.riskLevel() == RiskLevel.RED;
+        String riskFactors = healthCheck.getRiskFactors();
+        LocalDateTime checkedAt = healthCheck.getCreatedAt();
+        boolean settled = healthCheck.getCheckDate().isBefore(today.minusDays(7));
+
+        RiskAlert alert = RiskAlert.builder()
+                .patient(patient)
+                .healthCheck(healthCheck)
+                .alertType(AlertType.HIGH_RISK_DETECTED)
+                .severity(risk.riskLevel())
+                .title(red ? "CRITICAL: High Risk Patient Detected" : "ATTENTION: Moderate Risk Patient Detected")
+                .description(String.format(
+                        "Patient %s (Mother ID: %s) has been assessed as %s risk during health check. " +
+                        "Risk Score: %d. Immediate attention may be required.",
+                        patient.getName(), patient.getMotherId(), risk.riskLevel(), risk.score()))
+                .riskFactors(riskFactors)
+                .recommendedAction(red
+                        ? "Schedule immediate doctor consultation. Notify medical officer."
+                        : "Schedule follow-up call. Monitor patient closely.")
+                .isAcknowledged(settled)
+                .isResolved(settled)
+                .smsSent(false)
+                .build();
+        if (settled) {
+            alert.setAcknowledgedBy(pick(staff.doctors(), random));
+            alert.setAcknowledgedAt(checkedAt.plusHours(1 + random.nextInt(24)));
+            alert.setResolvedAt(alert.getAcknowledgedAt().plusDays(1 + random.nextInt(5)));
+        }
+        alert.setCreatedAt(checkedAt);
+        alert.setUpdatedAt(settled ? alert.getResolvedAt() : checkedAt);
+        batch.riskAlerts.add(alert);
+
+        LocalDate followUpDate = healthCheck.getCheckDate().plusDays(red ? 2 : 5);
+        boolean followUpDone = followUpDate.isBefore(today);
+        FollowUp followUp = FollowUp.builder()
+                .patient(patient)
+                .assignedTo(healthCheck.getPerformedBy())
+                .scheduledDate(followUpDate)
+                .status(followUpDone ? FollowUpStatus.COMPLETED : FollowUpStatus.PENDING)
+                .callCompletedAt(followUpDone ? followUpDate.atTime(LocalTime.of(10 + random.nextInt(7), 0)) : null)
+                .callDurationSeconds(followUpDone ? 60 + random.nextInt(540) : null)
+                .attemptCount(followUpDone ? 1 + random.nextInt(2) : 0)
+                .requiresDoctorConsultation(red)
+                .requiresImmediateAttention(false)
+                .triggeredByHealthCheck(healthCheck)
+                .notes((red ? "Auto-scheduled follow-up for HIGH RISK patient. Risk factors: "
+                        : "Auto-scheduled follow-up for MODERATE RISK patient. Risk factors: ")
+                        + risk.describeFactors(", "))
+                .build();
+        followUp.setCreatedAt(checkedAt);
+        followUp.setUpdatedAt(followUpDone ? followUp.getCallCompletedAt() : checkedAt);
+        batch.followUps.add(followUp);
+
+        if (red) {
+            LocalDateTime scheduledAt = healthCheck.getCheckDate().plusDays(1).atTime(10 + random.nextInt(6), 0);
+            boolean consulted = scheduledAt.toLocalDate().isBefore(today);
+            Consultation consultation = Consultation.builder()
+                    .patient(patient)
+                    .doctor(pick(staff.doctors(), random))
+                    .type(random.nextBoolean() ? ConsultationType.TELECONSULTATION : ConsultationType.IN_PERSON)
+                    .status(consulted ? ConsultationStatus.COMPLETED : ConsultationStatus.SCHEDULED)
+                    .scheduledAt(scheduledAt)
+                    .startedAt(consulted ? scheduledAt : null)
+                    .endedAt(consulted ? scheduledAt.plusMinutes(10 + random.nextInt(20)) : null)
+                    .chiefComplaint(riskFactors)
+                    .diagnosis(consulted ? "Reviewed high risk findings" : null)
+                    .referralRequired(consulted && random.nextInt(10) == 0)
+                    .followUpRequired(consulted)
+                    .triggeredByHealthCheck(healthCheck)
+                    .build();
+            consultation.setCreatedAt(checkedAt);
+            consultation.setUpdatedAt(consulted ? consultation.getEndedAt() : checkedAt);
+            batch.consultations.add(consultation);
+        }
+    }
+
+    private void insert(Batch batch) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            PatientRowWriter.insert(connection, batch.patients);
+            insertAll(connection, HEALTH_CHECK_SQL, batch.healthChecks, check -> new Object[] {
+                    check.getPatient().getId(),
+                    check.getCheckDate(),
+                    check.getBpSystolic(),
+                    check.getBpDiastolic(),
+                    check.getPulseRate(),
+                    check.getTemperature(),
+                    check.getSpo2(),
+                    check.getHemoglobin(),
+                    check.getBloodSugarFasting(),
+                    check.getWeight(),
+                    check.getFetalHeartRate(),
+                    check.getFetalMovement(),
+                    check.getSwellingObserved(),
+                    check.getBleedingReported(),
+                    check.getHeadacheReported(),
+                    check.getBlurredVisionReported(),
+                    check.getAbdominalPainReported(),
+                    enumName(check.getRiskLevel()),
+                    check.getRiskScore(),
+                    check.getRiskFactors(),
+                    check.getRiskRuleSetVersion(),
+                    check.getIsActive(),
+                    idOf(check.getPerformedBy()),
+                    check.getNextCheckDate(),
+                    check.getCreatedAt(),
+                    check.getUpdatedAt(),
+                    0L
+            });
+            insertAll(connection, RISK_ALERT_SQL, batch.riskAlerts, alert -> new Object[] {
+                    alert.getPatient().getId(),
+                    alert.getHealthCheck().getId(),
+                    enumName(alert.getAlertType()),
+                    enumName(alert.getSeverity()),
+                    alert.getTitle(),
+                    alert.getDescription(),
+                    alert.getRiskFactors(),
+                    alert.getRecommendedAction(),
+                    alert.getIsAcknowledged(),
+                    idOf(alert.getAcknowledgedBy()),
+                    alert.getAcknowledgedAt(),
+                    alert.getIsResolved(),
+                    alert.getResolvedAt(),
+                    alert.getSmsSent(),
+                    alert.getCreatedAt(),
+                    alert.getUpdatedAt(),
+                    0L
+            });
+            insertAll(connection, CONSULTATION_SQL, batch.consultations, consultation -> new Object[] {
+                    consultation.getPatient().getId(),
+                    idOf(consultation.getDoctor()),
+                    enumName(consultation.getType()),
+                    enumName(consultation.getStatus()),
+                    consultation.getScheduledAt(),
+                    consultation.getStartedAt(),
+                    consultation.getEndedAt(),
+                    consultation.getChiefComplaint(),
+                    consultation.getDiagnosis(),
+                    consultation.getReferralRequired(),
+                    consultation.getFollowUpRequired(),
+                    consultation.getTriggeredByHealthCheck().getId(),
+                    consultation.getCreatedAt(),
+                    consultation.getUpdatedAt(),
+                    0L
+            });
+            insertAll(connection, FOLLOW_UP_SQL, batch.followUps, followUp -> new Object[] {
+                    followUp.getPatient().getId(),
+                    idOf(followUp.getAssignedTo()),
+                    followUp.getScheduledDate(),
+                    enumName(followUp.getStatus()),
+                    followUp.getCallCompletedAt(),
+                    followUp.getCallDurationSeconds(),
+                    followUp.getAttemptCount(),
+                    followUp.getRequiresDoctorConsultation(),
+                    followUp.getRequiresImmediateAttention(),
+                    followUp.getNotes(),
+                    followUp.getTriggeredByHealthCheck().getId(),
+                    followUp.getCreatedAt(),
+                    followUp.getUpdatedAt(),
+                    0L
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Inserts {@code entities} with one JDBC batch and assigns the generated ids, so rows inserted
+     * afterwards can reference them.
+     */
+    private static <T extends BaseEntity> void insertAll(Connection connection, String sql, List<T> entities,
+                                                         Function<T, Object[]> values) throws SQLException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(sql, new String[] {"id"})) {
+            for (T entity : entities) {
+                Object[] row = values.apply(entity);
+                for (int i = 0; i < row.length; i++) {
+                    StatementCreatorUtils.setParameterValue(ps, i + 1, SqlTypeValue.TYPE_UNKNOWN, row[i]);
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                int i = 0;
+                while (keys.next()) {
+                    entities.get(i++).setId(keys.getLong(1));
+                }
+                if (i != entities.size()) {
+                    throw new SQLException("Expected " + entities.size() + " generated ids, got " + i);
+                }
+            }
+        }
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int weighted(int[] weights, Random random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int value = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
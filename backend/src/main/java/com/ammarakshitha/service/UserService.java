@@ -2,14 +2,17 @@ package com.ammarakshitha.service;
 
 import com.ammarakshitha.dto.UserDTO;
 import com.ammarakshitha.dto.UserRegistrationRequest;
+import com.ammarakshitha.event.UserChangedEvent;
 import com.ammarakshitha.exception.BusinessException;
 import com.ammarakshitha.exception.DuplicateResourceException;
 import com.ammarakshitha.exception.ResourceNotFoundException;
 import com.ammarakshitha.model.User;
 import com.ammarakshitha.model.enums.UserRole;
 import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.security.TokenVersionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -29,6 +32,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final StorageService storageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User createUser(UserRegistrationRequest request) {
         log.info("Creating new user: {}", request.getEmail());
@@ -113,19 +117,26 @@ public class UserService {
             user.setDesignation(updateRequest.getDesignation());
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        publishChanged(savedUser);
+        return savedUser;
     }
 
     public User updateUserRole(Long id, UserRole newRole) {
         User user = getUserById(id);
         user.setRole(newRole);
-        return userRepository.save(user);
+        revokeTokens(user);
+        User savedUser = userRepository.save(user);
+        publishChanged(savedUser);
+        return savedUser;
     }
 
     public void deactivateUser(Long id) {
         User user = getUserById(id);
         user.setIsActive(false);
+        revokeTokens(user);
         userRepository.save(user);
+        publishChanged(user);
         log.info("User deactivated: {}", id);
     }
 
@@ -133,13 +144,16 @@ public class UserService {
         User user = getUserById(id);
         user.setIsActive(true);
         userRepository.save(user);
+        publishChanged(user);
         log.info("User activated: {}", id);
     }
 
     public void changePassword(Long id, String newPassword) {
         User user = getUserById(id);
         user.setPasswordHash(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
         userRepository.save(user);
+        publishChanged(user);
         log.info("Password changed for user: {}", id);
     }
 
@@ -153,7 +167,9 @@ public class UserService {
         
         // Update to new password
         user.setPasswordHash(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
         userRepository.save(user);
+        publishChanged(user);
         log.info("Password changed successfully for user: {}", id);
     }
 
@@ -171,7 +187,9 @@ public class UserService {
         User user = getUserById(id);
         String temporaryPassword = generateTemporaryPassword();
         user.setPasswordHash(passwordEncoder.encode(temporaryPassword));
+        revokeTokens(user);
         userRepository.save(user);
+        publishChanged(user);
         log.info("Password reset for user: {} ({})", user.getName(), user.getEmail());
         return temporaryPassword;
     }
@@ -190,9 +208,19 @@ public class UserService {
         User user = getUserById(id);
         log.info("Deleting user: {} ({})", user.getName(), user.getEmail());
         userRepository.delete(user);
+        publishChanged(user);
         log.info("User deleted successfully: {}", id);
     }
 
+    // Invalidates every token issued to the user so far
+    private void revokeTokens(User user) {
+        user.setTokenVersion(TokenVersionRegistry.versionOf(user.getTokenVersion()) + 1);
+    }
+
+    private void publishChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+
     public User uploadProfilePhoto(Long id, MultipartFile file) {
         User user = getUserById(id);
         
@@ -0,0 +1,108 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.event.HealthCheckChangedEvent;
+import com.ammarakshitha.repository.HealthCheckRepository;
+import com.ammarakshitha.repository.projection.VitalsReading;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recent vitals per patient for trend-aware risk scoring. A patient's window is read from the
+ * database once and then kept current from {@link HealthCheckChangedEvent}: a new check is
+ * appended, while an edit, a soft delete or a backdated check drops the window so it is reloaded
+ * on next use.
+ */
+@Component
+@RequiredArgsConstructor
+public class VitalsHistory {
+
+    private final HealthCheckRepository healthCheckRepository;
+
+    @Value("${app.risk-assessment.trends.window:6}")
+    private int windowSize;
+
+    @Value("${app.risk-assessment.trends.max-patients:50000}")
+    private int maxPatients;
+
+    private final Map<Long, VitalsWindow> windows = new ConcurrentHashMap<>();
+
+    // Bumped on every change so a window loaded before it is not cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    VitalsWindow get(Long patientId) {
+        VitalsWindow window = windows.get(patientId);
+        if (window != null) {
+            return window;
+        }
+
+        long startGeneration = generation.get();
+        window = newWindow();
+        List<VitalsReading> readings = healthCheckRepository.findRecentVitals(patientId, PageRequest.of(0, windowSize));
+        for (int i = readings.size() - 1; i >= 0; i--) {
+            window.append(readings.get(i));
+        }
+
+        if (generation.get() == startGeneration) {
+            if (windows.size() >= maxPatients) {
+                windows.clear();
+            }
+            VitalsWindow raced = windows.putIfAbsent(patientId, window);
+            if (raced != null) {
+                return raced;
+            }
+        }
+        return window;
+    }
+
+    /**
+     * Windows for many patients in one query, bypassing the cache; for bulk re-scoring, which
+     * would otherwise flush it.
+     */
+    Map<Long, VitalsWindow> load(Collection<Long> patientIds) {
+        List<VitalsReading> readings = healthCheckRepository.findVitalsByPatientIds(patientIds);
+        Map<Long, VitalsWindow> loaded = new HashMap<>();
+        // Rows come newest first per patient; walk backwards to append oldest first
+        for (int i = readings.size() - 1; i >= 0; i--) {
+            VitalsReading reading = readings.get(i);
+            VitalsWindow window = loaded.computeIfAbsent(reading.getPatientId(), id -> newWindow());
+            window.append(reading);
+        }
+        return loaded;
+    }
+
+    VitalsWindow newWindow() {
+        return new VitalsWindow(windowSize);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHealthCheckChanged(HealthCheckChangedEvent event) {
+        generation.incrementAndGet();
+        HealthCheckChangedEvent.Snapshot before = event.before();
+        HealthCheckChangedEvent.Snapshot after = event.after();
+
+        if (before == null && after != null) {
+            VitalsWindow window = windows.get(after.patientId());
+            if (window != null && !window.append(after.id(), after.checkDate(), after.bpSystolic(),
+                    after.bpDiastolic(), after.hemoglobin(), after.weight(), after.fetalHeartRate())) {
+                windows.remove(after.patientId());
+            }
+            return;
+        }
+        if (before != null && before.patientId() != null) {
+            windows.remove(before.patientId());
+        }
+        if (after != null && after.patientId() != null) {
+            windows.remove(after.patientId());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ammarakshitha.service;
+
+/**
+ * How a patient's vitals moved up to the assessed health check: least-squares slopes per week
+ * across the recent visits, and the fetal heart rate change since the previous visit. NaN where
+ * there are too few readings to tell.
+ */
+public record VitalsTrend(double bpSystolicPerWeek, double bpDiastolicPerWeek, double hemoglobinPerWeek,
+                          double weightPerWeek, double fetalHeartRateChange) {
+
+    public static final VitalsTrend NONE = new VitalsTrend(Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+}
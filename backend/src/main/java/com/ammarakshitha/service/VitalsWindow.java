@@ -0,0 +1,159 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.repository.projection.VitalsReading;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The most recent vitals of one patient, oldest first, in fixed-size primitive ring buffers.
+ * Missing readings are stored as NaN. Appending past capacity overwrites the oldest visit.
+ */
+final class VitalsWindow {
+
+    private static final long NO_ID = -1;
+
+    private final long[] ids;
+    private final long[] days;
+    private final double[] bpSystolic;
+    private final double[] bpDiastolic;
+    private final double[] hemoglobin;
+    private final double[] weight;
+    private final double[] fetalHeartRate;
+    private int start;
+    private int size;
+
+    VitalsWindow(int capacity) {
+        ids = new long[capacity];
+        days = new long[capacity];
+        bpSystolic = new double[capacity];
+        bpDiastolic = new double[capacity];
+        hemoglobin = new double[capacity];
+        weight = new double[capacity];
+        fetalHeartRate = new double[capacity];
+    }
+
+    boolean append(HealthCheck healthCheck) {
+        return append(healthCheck.getId(), healthCheck.getCheckDate(), healthCheck.getBpSystolic(),
+                healthCheck.getBpDiastolic(), healthCheck.getHemoglobin(), healthCheck.getWeight(),
+                healthCheck.getFetalHeartRate());
+    }
+
+    boolean append(VitalsReading reading) {
+        return append(reading.getId(), reading.getCheckDate(), reading.getBpSystolic(), reading.getBpDiastolic(),
+                reading.getHemoglobin(), reading.getWeight(), reading.getFetalHeartRate());
+    }
+
+    /**
+     * Adds a visit no older than the newest one held. Returns false, leaving the window as it
+     * was, for a backdated visit; the caller drops the window and reloads it instead.
+     */
+    synchronized boolean append(Long id, LocalDate checkDate, Integer bpSystolic, Integer bpDiastolic,
+                                BigDecimal hemoglobin, BigDecimal weight, Integer fetalHeartRate) {
+        if (checkDate == null) {
+            return false;
+        }
+        long day = checkDate.toEpochDay();
+        if (size > 0 && day < days[index(size - 1)]) {
+            return false;
+        }
+
+        int i;
+        if (size < ids.length) {
+            i = index(size++);
+        } else {
+            i = start;
+            start = index(1);
+        }
+        ids[i] = id != null ? id : NO_ID;
+        days[i] = day;
+        this.bpSystolic[i] = bpSystolic != null ? bpSystolic : Double.NaN;
+        this.bpDiastolic[i] = bpDiastolic != null ? bpDiastolic : Double.NaN;
+        this.hemoglobin[i] = hemoglobin != null ? hemoglobin.doubleValue() : Double.NaN;
+        this.weight[i] = weight != null ? weight.doubleValue() : Double.NaN;
+        this.fetalHeartRate[i] = fetalHeartRate != null ? fetalHeartRate : Double.NaN;
+        return true;
+    }
+
+    /**
+     * Trend of the visits up to and including {@code current}. The window's own copy of
+     * {@code current}, if it holds one, and visits dated after it are left out. A slope needs
+     * {@code minVisits} readings, the current one among them, spanning {@code minSpanDays}.
+     */
+    synchronized VitalsTrend trend(HealthCheck current, int minVisits, int minSpanDays) {
+        if (current.getCheckDate() == null) {
+            return VitalsTrend.NONE;
+        }
+        long currentId = current.getId() != null ? current.getId() : NO_ID;
+        long currentDay = current.getCheckDate().toEpochDay();
+
+        return new VitalsTrend(
+                slopePerWeek(bpSystolic, value(current.getBpSystolic()), currentId, currentDay, minVisits, minSpanDays),
+                slopePerWeek(bpDiastolic, value(current.getBpDiastolic()), currentId, currentDay, minVisits, minSpanDays),
+                slopePerWeek(hemoglobin, value(current.getHemoglobin()), currentId, currentDay, minVisits, minSpanDays),
+                slopePerWeek(weight, value(current.getWeight()), currentId, currentDay, minVisits, minSpanDays),
+                changeSincePrevious(fetalHeartRate, value(current.getFetalHeartRate()), currentId, currentDay));
+    }
+
+    private double slopePerWeek(double[] values, double currentValue, long currentId, long currentDay,
+                                int minVisits, int minSpanDays) {
+        if (Double.isNaN(currentValue)) {
+            return Double.NaN;
+        }
+        // Weeks before the current visit on x, so the current reading sits at the origin
+        int n = 1;
+        double sumX = 0;
+        double sumY = currentValue;
+        double sumXX = 0;
+        double sumXY = 0;
+        long firstDay = currentDay;
+        for (int k = 0; k < size; k++) {
+            int i = index(k);
+            if (!isPrior(i, currentId, currentDay) || Double.isNaN(values[i])) {
+                continue;
+            }
+            double x = (days[i] - currentDay) / 7.0;
+            n++;
+            sumX += x;
+            sumY += values[i];
+            sumXX += x * x;
+            sumXY += x * values[i];
+            firstDay = Math.min(firstDay, days[i]);
+        }
+        if (n < minVisits || currentDay - firstDay < minSpanDays) {
+            return Double.NaN;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator > 0 ? (n * sumXY - sumX * sumY) / denominator : Double.NaN;
+    }
+
+    private double changeSincePrevious(double[] values, double currentValue, long currentId, long currentDay) {
+        if (Double.isNaN(currentValue)) {
+            return Double.NaN;
+        }
+        for (int k = size - 1; k >= 0; k--) {
+            int i = index(k);
+            if (isPrior(i, currentId, currentDay) && !Double.isNaN(values[i])) {
+                return currentValue - values[i];
+            }
+        }
+        return Double.NaN;
+    }
+
+    private boolean isPrior(int i, long currentId, long currentDay) {
+        return days[i] <= currentDay && (currentId == NO_ID || ids[i] != currentId);
+    }
+
+    private int index(int offset) {
+        return (start + offset) % ids.length;
+    }
+
+    private static double value(Integer value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static double value(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+}
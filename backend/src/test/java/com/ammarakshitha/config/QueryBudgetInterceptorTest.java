@@ -0,0 +1,69 @@
+package com.ammarakshitha.config;
+
+import com.ammarakshitha.dto.AuthRequest;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.support.EnforceQueryBudgets;
+import com.ammarakshitha.support.QueryBudgetAssertions;
+import com.ammarakshitha.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@EnforceQueryBudgets
+class QueryBudgetInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void asyncHandlerIsRecordedOnce() throws Exception {
+        User user = TestFixtures.user(UserRole.HELP_DESK);
+        user.setPasswordHash(passwordEncoder.encode("Secret@123"));
+        user = userRepository.save(user);
+        long before = loginRequests();
+
+        MvcResult started = mockMvc.perform(post("/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest(user.getEmail(), "Secret@123"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertNotNull(QueryBudgetAssertions.statsOf(started));
+        assertEquals(before + 1, loginRequests());
+    }
+
+    private long loginRequests() {
+        DistributionSummary summary = meterRegistry.find("http.server.sql.statements")
+                .tag("handler", "AuthController.login")
+                .summary();
+        return summary != null ? summary.count() : 0;
+    }
+}
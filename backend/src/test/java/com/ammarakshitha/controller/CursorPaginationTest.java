@@ -0,0 +1,171 @@
+package com.ammarakshitha.controller;
+
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.HealthCheckRepository;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.security.JwtService;
+import com.ammarakshitha.support.EnforceQueryBudgets;
+import com.ammarakshitha.support.TestFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Follows {@code nextCursor} through the keyset-paginated endpoints with rows that tie on the sort
+ * key, so a page boundary inside a tie shows up as a skipped or repeated row.
+ */
+@EnforceQueryBudgets
+class CursorPaginationTest {
+
+    // Sub-second, so the timestamp key must survive the cursor at full precision
+    private static final LocalDateTime SHARED_CREATED_AT = LocalDateTime.of(2000, 1, 1, 10, 15, 30, 123_456_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String token;
+    private User staff;
+
+    @BeforeEach
+    void signIn() {
+        User admin = userRepository.save(TestFixtures.user(UserRole.ADMIN));
+        token = "Bearer " + jwtService.generateToken(admin);
+        staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+    }
+
+    @Test
+    void healthCheckHistoryWalksThroughTiedDatesWithoutGapsOrRepeats() throws Exception {
+        Patient patient = patientRepository.save(TestFixtures.patient("Cursor Patient"));
+        LocalDate today = LocalDate.now();
+        List<Long> older = new ArrayList<>();
+        List<Long> tied = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            older.add(check(patient, today.minusDays(1)).getId());
+        }
+        for (int i = 0; i < 5; i++) {
+            tied.add(check(patient, today).getId());
+        }
+        older.add(check(patient, today.minusDays(1)).getId());
+
+        // Latest date first, ties broken by id descending
+        List<Long> expected = new ArrayList<>(descending(tied));
+        expected.addAll(descending(older));
+
+        assertEquals(expected, walk("/v1/health-checks/patient/" + patient.getId() + "/paginated", 2));
+        assertEquals(expected, walk("/v1/health-checks/patient/" + patient.getId() + "/paginated", 100));
+    }
+
+    @Test
+    void patientListWalksThroughTiedTimestampsWithoutGapsOrRepeats() throws Exception {
+        List<Long> tied = new ArrayList<>();
+        // More ties than a page holds, so a page boundary always falls among them
+        for (int i = 0; i < 7; i++) {
+            tied.add(patientRepository.save(TestFixtures.patient("Cursor Patient " + i)).getId());
+        }
+        for (Long id : tied) {
+            jdbcTemplate.update("UPDATE patients SET created_at = ? WHERE id = ?", SHARED_CREATED_AT, id);
+        }
+
+        List<Long> walked = walk("/v1/patients", 5);
+
+        assertEquals(patientRepository.count(), walked.size());
+        assertEquals(walked.size(), new HashSet<>(walked).size());
+        List<Long> ours = new ArrayList<>(walked);
+        ours.retainAll(tied);
+        assertEquals(descending(tied), ours);
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        Patient patient = patientRepository.save(TestFixtures.patient("Cursor Patient"));
+
+        for (String cursor : List.of("not a cursor!", "bm8gc2VwYXJhdG9y", "eWVzdGVyZGF5fDE")) {
+            expectBadRequest("/v1/patients?cursor={cursor}", cursor);
+            expectBadRequest("/v1/alerts?cursor={cursor}", cursor);
+            expectBadRequest("/v1/follow-ups/past?cursor={cursor}", cursor);
+            expectBadRequest("/v1/health-checks/patient/{id}/paginated?cursor={cursor}", patient.getId(), cursor);
+        }
+    }
+
+    // Follows nextCursor from the first page to the last, returning every id in order
+    private List<Long> walk(String url, int size) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        String cursor = "";
+        while (true) {
+            String body = mockMvc.perform(get(url).param("cursor", cursor).param("size", String.valueOf(size))
+                            .header("Authorization", token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body).get("data");
+            JsonNode content = page.get("content");
+            assertTrue(content.size() <= size);
+            content.forEach(row -> ids.add(row.get("id").asLong()));
+            if (!page.get("hasNext").asBoolean()) {
+                assertTrue(page.path("nextCursor").isMissingNode());
+                return ids;
+            }
+            assertEquals(size, content.size());
+            cursor = page.get("nextCursor").asText();
+            assertFalse(cursor.isEmpty());
+            assertTrue(cursors.add(cursor), "Cursor repeated: " + cursor);
+        }
+    }
+
+    private static List<Long> descending(List<Long> ids) {
+        List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.reverseOrder());
+        return sorted;
+    }
+
+    private HealthCheck check(Patient patient, LocalDate checkDate) {
+        HealthCheck check = TestFixtures.healthCheck(patient, staff);
+        check.setCheckDate(checkDate);
+        return healthCheckRepository.save(check);
+    }
+
+    private void expectBadRequest(String url, Object... uriVariables) throws Exception {
+        mockMvc.perform(get(url, uriVariables).header("Authorization", token))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,193 @@
+package com.ammarakshitha.controller;
+
+import com.ammarakshitha.model.Consultation;
+import com.ammarakshitha.model.FollowUp;
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.RiskAlert;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.AlertType;
+import com.ammarakshitha.model.enums.ConsultationType;
+import com.ammarakshitha.model.enums.FollowUpStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.ConsultationRepository;
+import com.ammarakshitha.repository.FollowUpRepository;
+import com.ammarakshitha.repository.HealthCheckRepository;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.RiskAlertRepository;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.security.JwtService;
+import com.ammarakshitha.support.EnforceQueryBudgets;
+import com.ammarakshitha.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls the endpoints that declare a {@link com.ammarakshitha.config.QueryBudget} over two fully
+ * linked patients, so a lazy association loaded per row shows up as a budget failure.
+ */
+@EnforceQueryBudgets
+class QueryBudgetEndpointsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private ConsultationRepository consultationRepository;
+
+    @Autowired
+    private FollowUpRepository followUpRepository;
+
+    @Autowired
+    private RiskAlertRepository riskAlertRepository;
+
+    private String token;
+    private User staff;
+    private Patient patient;
+    private FollowUp followUp;
+    private RiskAlert alert;
+
+    @BeforeEach
+    void createPatients() {
+        User admin = userRepository.save(TestFixtures.user(UserRole.ADMIN));
+        token = "Bearer " + jwtService.generateToken(admin);
+        staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        User doctor = userRepository.save(TestFixtures.user(UserRole.DOCTOR));
+
+        for (int i = 0; i < 2; i++) {
+            Patient p = TestFixtures.patient("Budget Patient " + i);
+            p.setRegisteredBy(staff);
+            p.setCurrentRiskLevel(RiskLevel.RED);
+            p.setCurrentRiskScore(9);
+            p = patientRepository.save(p);
+
+            HealthCheck healthCheck = healthCheckRepository.save(TestFixtures.healthCheck(p, staff));
+            consultationRepository.save(Consultation.builder()
+                    .patient(p)
+                    .doctor(doctor)
+                    .type(ConsultationType.TELECONSULTATION)
+                    .scheduledAt(LocalDateTime.now().plusDays(1))
+                    .triggeredByHealthCheck(healthCheck)
+                    .build());
+            FollowUp today = followUpRepository.save(followUp(p, healthCheck, LocalDate.now(), FollowUpStatus.PENDING));
+            followUpRepository.save(followUp(p, healthCheck, LocalDate.now().minusDays(3), FollowUpStatus.PENDING));
+            followUpRepository.save(followUp(p, healthCheck, LocalDate.now().minusDays(7), FollowUpStatus.COMPLETED));
+            followUpRepository.save(followUp(p, healthCheck, LocalDate.now().plusDays(3), FollowUpStatus.PENDING));
+            RiskAlert riskAlert = riskAlertRepository.save(RiskAlert.builder()
+                    .patient(p)
+                    .healthCheck(healthCheck)
+                    .alertType(AlertType.HIGH_RISK_DETECTED)
+                    .severity(RiskLevel.RED)
+                    .title("High risk")
+                    .description("High risk detected")
+                    .riskFactors("High BP (165/112)")
+                    .build());
+            riskAlertRepository.save(RiskAlert.builder()
+                    .patient(p)
+                    .alertType(AlertType.CRITICAL_VITALS)
+                    .severity(RiskLevel.YELLOW)
+                    .title("Acknowledged")
+                    .description("Acknowledged alert")
+                    .isAcknowledged(true)
+                    .acknowledgedBy(doctor)
+                    .acknowledgedAt(LocalDateTime.now())
+                    .build());
+
+            patient = p;
+            followUp = today;
+            alert = riskAlert;
+        }
+    }
+
+    @Test
+    void patientEndpointsStayWithinBudget() throws Exception {
+        expectOk("/v1/patients?page=0&size=20");
+        expectOk("/v1/patients?cursor=&size=20");
+        expectOk("/v1/patients/status/ACTIVE");
+        expectOk("/v1/patients/risk-level/RED");
+        expectOk("/v1/patients/high-risk");
+        expectOk("/v1/patients/high-risk?page=0");
+        expectOk("/v1/patients/at-risk");
+        expectOk("/v1/patients/{id}/timeline", patient.getId());
+    }
+
+    @Test
+    void healthCheckCursorStaysWithinBudget() throws Exception {
+        expectOk("/v1/health-checks/patient/{id}/paginated?cursor=&size=20", patient.getId());
+    }
+
+    @Test
+    void followUpEndpointsStayWithinBudget() throws Exception {
+        expectOk("/v1/follow-ups/{id}", followUp.getId());
+        expectOk("/v1/follow-ups/patient/{id}", patient.getId());
+        expectOk("/v1/follow-ups/user/{id}", staff.getId());
+        expectOk("/v1/follow-ups/user/{id}/today", staff.getId());
+        expectOk("/v1/follow-ups/user/{id}/overdue", staff.getId());
+        expectOk("/v1/follow-ups/today");
+        expectOk("/v1/follow-ups/overdue");
+        expectOk("/v1/follow-ups/upcoming");
+        expectOk("/v1/follow-ups/requiring-doctor");
+        expectOk("/v1/follow-ups/range?startDate={start}&endDate={end}",
+                LocalDate.now().minusDays(10), LocalDate.now().plusDays(10));
+        expectOk("/v1/follow-ups/all");
+        expectOk("/v1/follow-ups/all?page=0");
+        expectOk("/v1/follow-ups/past");
+        expectOk("/v1/follow-ups/past?cursor=&size=20");
+    }
+
+    @Test
+    void alertEndpointsStayWithinBudget() throws Exception {
+        expectOk("/v1/alerts/{id}", alert.getId());
+        expectOk("/v1/alerts/patient/{id}", patient.getId());
+        expectOk("/v1/alerts/patient/{id}/unresolved", patient.getId());
+        expectOk("/v1/alerts/patient/{id}/all", patient.getId());
+        expectOk("/v1/alerts/unacknowledged");
+        expectOk("/v1/alerts/unacknowledged/ordered");
+        expectOk("/v1/alerts/critical");
+        expectOk("/v1/alerts/high-priority");
+        expectOk("/v1/alerts/unresolved");
+        expectOk("/v1/alerts/unresolved?page=0");
+        expectOk("/v1/alerts/severity/RED");
+        expectOk("/v1/alerts/type/HIGH_RISK_DETECTED");
+        expectOk("/v1/alerts/acknowledged");
+        expectOk("/v1/alerts");
+        expectOk("/v1/alerts?cursor=&size=20");
+    }
+
+    private void expectOk(String url, Object... uriVariables) throws Exception {
+        mockMvc.perform(get(url, uriVariables).header("Authorization", token))
+                .andExpect(status().isOk());
+    }
+
+    private FollowUp followUp(Patient p, HealthCheck healthCheck, LocalDate scheduledDate, FollowUpStatus status) {
+        return FollowUp.builder()
+                .patient(p)
+                .assignedTo(staff)
+                .scheduledDate(scheduledDate)
+                .status(status)
+                .requiresDoctorConsultation(true)
+                .triggeredByHealthCheck(healthCheck)
+                .build();
+    }
+}
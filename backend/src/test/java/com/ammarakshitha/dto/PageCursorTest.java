@@ -0,0 +1,96 @@
+package com.ammarakshitha.dto;
+
+import com.ammarakshitha.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        LocalDate date = LocalDate.of(2024, 2, 29);
+        LocalDateTime time = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_000);
+
+        PageCursor byDate = PageCursor.decode(PageCursor.of(date, 42L).encode());
+        PageCursor byTime = PageCursor.decode(PageCursor.of(time, Long.MAX_VALUE).encode());
+
+        assertEquals(new PageCursor("2024-02-29", 42), byDate);
+        assertEquals(date, byDate.dateKey());
+        assertEquals(time, byTime.dateTimeKey());
+        assertEquals(Long.MAX_VALUE, byTime.id());
+    }
+
+    @Test
+    void keysMayContainTheSeparator() {
+        PageCursor cursor = new PageCursor("Rao|Lakshmi|", 7);
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new PageCursor("??>>~~", 1).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void missingCursorMeansTheFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+        assertNull(PageCursor.decode("  "));
+    }
+
+    @Test
+    void rejectsCursorsItDidNotProduce() {
+        for (String cursor : List.of("not a cursor!", "%%%", encoded("no separator"), encoded("2024-01-01|x"),
+                encoded("2024-01-01|"), encoded("2024-01-01|99999999999999999999"))) {
+            assertThrows(BusinessException.class, () -> PageCursor.decode(cursor), cursor);
+        }
+        assertThrows(BusinessException.class, () -> PageCursor.decode(encoded("yesterday|1")).dateKey());
+        assertThrows(BusinessException.class, () -> PageCursor.decode(encoded("2024-01-01|1")).dateTimeKey());
+    }
+
+    @Test
+    void limitKeepsPageSizeWithinBounds() {
+        assertEquals(1, CursorPage.limit(0).getPageSize());
+        assertEquals(1, CursorPage.limit(-5).getPageSize());
+        assertEquals(20, CursorPage.limit(20).getPageSize());
+        assertEquals(CursorPage.MAX_SIZE, CursorPage.limit(10_000).getPageSize());
+        assertEquals(0, CursorPage.limit(20).getOffset());
+    }
+
+    @Test
+    void nextCursorPointsAtTheLastRowOnlyWhenMoreFollow() {
+        List<Long> ids = List.of(9L, 8L, 7L);
+
+        CursorPage<Long> middle = CursorPage.of(new SliceImpl<>(ids, PageRequest.ofSize(3), true),
+                id -> PageCursor.of("2024-01-01", id));
+        CursorPage<Long> last = CursorPage.of(new SliceImpl<>(ids, PageRequest.ofSize(3), false),
+                id -> PageCursor.of("2024-01-01", id));
+
+        assertTrue(middle.isHasNext());
+        assertEquals(3, middle.getSize());
+        assertEquals(new PageCursor("2024-01-01", 7), PageCursor.decode(middle.getNextCursor()));
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+        assertEquals(ids, last.getContent());
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ammarakshitha.search;
+
+import com.ammarakshitha.event.PatientChangedEvent;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientSearchIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void coldIndexDefersToTheDatabase() {
+        PatientSearchIndex index = new PatientSearchIndex(jdbcTemplate, transactionManager);
+
+        assertFalse(index.isReady());
+        assertNull(index.search("Lakshmi", 0, 20));
+    }
+
+    @Test
+    void warmIndexMatchesTheDatabaseForIdentifierSubstrings() throws Exception {
+        long n = TestFixtures.nextId();
+        Patient patient = TestFixtures.patient("Substring Patient");
+        patient.setMotherId("AP-GNT-" + n);
+        patient.setAadhaarNumber(String.format("%012d", n));
+        patient = patientRepository.save(patient);
+        String mobile = patient.getMobileNumber();
+        String aadhaar = patient.getAadhaarNumber();
+
+        PatientSearchIndex index = loadedIndex();
+
+        for (String query : List.of(mobile.substring(3, 8), mobile.substring(mobile.length() - 4),
+                aadhaar.substring(4, 10), "GNT-" + n, String.valueOf(n))) {
+            assertEquals(databaseMatches(query), indexMatches(index, query), query);
+            assertTrue(indexMatches(index, query).contains(patient.getId()), query);
+        }
+    }
+
+    @Test
+    void rankingPrefersExactThenPrefixThenContains() throws Exception {
+        String token = "Qx" + TestFixtures.nextId();
+        Patient contains = patientRepository.save(named("Aqx" + token.substring(2) + "b"));
+        Patient wordPrefix = patientRepository.save(named("Sri " + token));
+        Patient prefix = patientRepository.save(named(token + " Devi"));
+        Patient exact = patientRepository.save(named(token));
+
+        String motherId = "ID" + TestFixtures.nextId();
+        Patient identifierPart = patientRepository.save(withMotherId("AP-" + motherId));
+        Patient identifierPrefix = patientRepository.save(withMotherId(motherId + "7"));
+        Patient identifierExact = patientRepository.save(withMotherId(motherId));
+
+        PatientSearchIndex index = loadedIndex();
+
+        assertEquals(List.of(exact.getId(), prefix.getId(), wordPrefix.getId(), contains.getId()),
+                index.search(token.toLowerCase(), 0, 20).ids());
+        assertEquals(List.of(identifierExact.getId(), identifierPrefix.getId(), identifierPart.getId()),
+                index.search(motherId.toLowerCase(), 0, 20).ids());
+        PatientSearchHits secondPage = index.search(token, 2, 2);
+        assertEquals(4, secondPage.total());
+        assertEquals(List.of(wordPrefix.getId(), contains.getId()), secondPage.ids());
+    }
+
+    @Test
+    void updatesAndDeletesStayInSync() throws Exception {
+        String oldToken = "Zv" + TestFixtures.nextId();
+        String newToken = "Zw" + TestFixtures.nextId();
+        Patient patient = patientRepository.save(named(oldToken));
+        PatientSearchIndex index = loadedIndex();
+        PatientChangedEvent.Snapshot before = PatientChangedEvent.Snapshot.of(patient);
+
+        patient.setName(newToken);
+        patient.setMobileNumber("8" + patient.getMobileNumber().substring(1));
+        PatientChangedEvent.Snapshot after = PatientChangedEvent.Snapshot.of(patient);
+        index.apply(new PatientChangedEvent(before, after));
+
+        assertEquals(List.of(), index.search(oldToken, 0, 20).ids());
+        assertEquals(List.of(patient.getId()), index.search(newToken, 0, 20).ids());
+        assertEquals(List.of(patient.getId()), index.search(patient.getMobileNumber(), 0, 20).ids());
+        assertFalse(index.search(before.mobileNumber(), 0, 20).ids().contains(patient.getId()));
+
+        index.apply(new PatientChangedEvent(after, null));
+
+        assertEquals(List.of(), index.search(newToken, 0, 20).ids());
+        assertEquals(0, index.search(patient.getMobileNumber(), 0, 20).total());
+    }
+
+    private PatientSearchIndex loadedIndex() throws InterruptedException {
+        PatientSearchIndex index = new PatientSearchIndex(jdbcTemplate, transactionManager);
+        index.startLoading();
+        for (int i = 0; i < 100 && !index.isReady(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(index.isReady());
+        return index;
+    }
+
+    private Set<Long> databaseMatches(String query) {
+        return patientRepository.searchPatients(query, PageRequest.of(0, 1000)).stream()
+                .map(Patient::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<Long> indexMatches(PatientSearchIndex index, String query) {
+        return new HashSet<>(index.search(query, 0, 1000).ids());
+    }
+
+    private static Patient named(String name) {
+        return TestFixtures.patient(name);
+    }
+
+    private static Patient withMotherId(String motherId) {
+        Patient patient = TestFixtures.patient("Identifier Patient");
+        patient.setMotherId(motherId);
+        return patient;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ammarakshitha.security;
+
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.service.UserService;
+import com.ammarakshitha.support.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.stateless-auth.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTest {
+
+    private static final String PROTECTED_ENDPOINT = "/v1/alerts/unresolved";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+    }
+
+    @Test
+    void accessTokenAuthenticatesFromClaims() throws Exception {
+        mockMvc.perform(get(PROTECTED_ENDPOINT).header("Authorization", bearer(jwtService.generateToken(user))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refreshTokenDoesNotAuthenticateRequests() throws Exception {
+        mockMvc.perform(get(PROTECTED_ENDPOINT).header("Authorization", bearer(jwtService.generateRefreshToken(user))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void accessTokenIssuedBeforeRevocationIsRejected() throws Exception {
+        String accessToken = jwtService.generateToken(user);
+
+        userService.changePassword(user.getId(), "Changed@123");
+
+        mockMvc.perform(get(PROTECTED_ENDPOINT).header("Authorization", bearer(accessToken)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void refreshTokenObtainsNewTokens() throws Exception {
+        mockMvc.perform(post("/v1/auth/refresh").param("refreshToken", jwtService.generateRefreshToken(user)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void accessTokenCannotBeUsedToRefresh() throws Exception {
+        mockMvc.perform(post("/v1/auth/refresh").param("refreshToken", jwtService.generateToken(user)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void refreshTokenIssuedBeforeRevocationIsRejected() throws Exception {
+        String refreshToken = jwtService.generateRefreshToken(user);
+
+        userService.changePassword(user.getId(), "Changed@123");
+
+        mockMvc.perform(post("/v1/auth/refresh").param("refreshToken", refreshToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String bearer(String token) {
+        return "Bearer " + token;
+    }
+}
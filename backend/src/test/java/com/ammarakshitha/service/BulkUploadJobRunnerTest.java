@@ -0,0 +1,196 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.model.BulkUploadJob;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.BulkUploadJobStatus;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.BulkUploadJobRepository;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.support.TestFixtures;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkUploadJobRunnerTest {
+
+    private static final int FIRST_CHUNK_LAST_ROW = PatientBulkRegistrationService.CHUNK_SIZE + 1;
+
+    @Autowired
+    private BulkUploadJobRunner jobRunner;
+
+    @Autowired
+    private BulkUploadJobService jobService;
+
+    @Autowired
+    private PatientExcelService patientExcelService;
+
+    @Autowired
+    private BulkUploadJobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void requeuedJobResumesAfterItsLastCommittedChunk() throws Exception {
+        int rows = PatientBulkRegistrationService.CHUNK_SIZE + 100;
+        String aadhaarPrefix = aadhaarPrefix();
+        Path file = workbook(aadhaarPrefix, rows);
+        User staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        Long jobId = queue(file, staff);
+
+        // The first worker commits one chunk and dies while registering the second
+        assertNotNull(jobService.claim(jobId));
+        AtomicInteger chunks = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> patientExcelService.importRows(file, staff.getId(), 0,
+                (lastRowNumber, succeeded, failed) -> {
+                    if (chunks.incrementAndGet() == 2) {
+                        throw new IllegalStateException("Worker died");
+                    }
+                    assertTrue(jobService.recordChunk(jobId, lastRowNumber, succeeded, failed));
+                }));
+        assertEquals(FIRST_CHUNK_LAST_ROW, jobRepository.findById(jobId).orElseThrow().getLastCommittedRow());
+        assertEquals((long) PatientBulkRegistrationService.CHUNK_SIZE, patients(aadhaarPrefix).get("total"));
+
+        // The sweep requeues it once stale and another worker finishes it
+        makeStale(jobId);
+        jobRunner.dispatchPending();
+        BulkUploadJob job = awaitFinished(jobId);
+
+        assertEquals(BulkUploadJobStatus.COMPLETED, job.getStatus(), job.getErrorMessage());
+        assertEquals(rows, job.getProcessedRows());
+        assertEquals(rows, job.getSucceededRows());
+        assertEquals(0, job.getFailedRows());
+        assertEquals(rows + 1, job.getLastCommittedRow());
+        Map<String, Object> jobRows = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, COUNT(DISTINCT sheet_row) AS distinct_rows, MIN(sheet_row) AS first_row, "
+                        + "MAX(sheet_row) AS last_row FROM bulk_upload_job_rows WHERE job_id = ?", jobId);
+        assertEquals((long) rows, ((Number) jobRows.get("TOTAL")).longValue());
+        assertEquals((long) rows, ((Number) jobRows.get("DISTINCT_ROWS")).longValue());
+        assertEquals(2, ((Number) jobRows.get("FIRST_ROW")).intValue());
+        assertEquals(rows + 1, ((Number) jobRows.get("LAST_ROW")).intValue());
+        assertEquals(Map.of("total", (long) rows, "distinct", (long) rows), patients(aadhaarPrefix));
+    }
+
+    @Test
+    void staleWorkerCannotRecordAfterTheJobIsTakenOver() throws Exception {
+        String aadhaarPrefix = aadhaarPrefix();
+        Path file = workbook(aadhaarPrefix, 3);
+        User staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        Long jobId = queue(file, staff);
+
+        // Worker A claims the job and stalls; the sweep requeues it and worker B takes it over
+        assertNotNull(jobService.claim(jobId));
+        makeStale(jobId);
+        assertTrue(jobService.requeueStaleJobs(LocalDateTime.now().minusMinutes(1)) >= 1);
+        assertNotNull(jobService.claim(jobId));
+        patientExcelService.importRows(file, staff.getId(), 0, (lastRowNumber, succeeded, failed) ->
+                assertTrue(jobService.recordChunk(jobId, lastRowNumber, succeeded, failed)));
+
+        // Worker A wakes up and registers the same rows; its chunk must roll back unrecorded
+        assertThrows(IllegalStateException.class, () -> patientExcelService.importRows(file, staff.getId(), 0,
+                (lastRowNumber, succeeded, failed) -> {
+                    if (!jobService.recordChunk(jobId, lastRowNumber, succeeded, failed)) {
+                        throw new IllegalStateException("Taken over");
+                    }
+                }));
+
+        BulkUploadJob job = jobRepository.findById(jobId).orElseThrow();
+        assertEquals(3, job.getProcessedRows());
+        assertEquals(3, job.getSucceededRows());
+        assertEquals(0, job.getFailedRows());
+        assertEquals(4, job.getLastCommittedRow());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bulk_upload_job_rows WHERE job_id = ?", Integer.class, jobId));
+        assertEquals(Map.of("total", 3L, "distinct", 3L), patients(aadhaarPrefix));
+
+        // Nothing is recorded once the job has finished either
+        jobService.complete(jobId);
+        assertFalse(jobService.recordChunk(jobId, 10, List.of(), List.of()));
+    }
+
+    private Long queue(Path file, User staff) {
+        return jobRepository.save(BulkUploadJob.builder()
+                .fileName(file.getFileName().toString())
+                .storedFile(file.toString())
+                .uploadedBy(staff)
+                .build()).getId();
+    }
+
+    private void makeStale(Long jobId) {
+        jdbcTemplate.update("UPDATE bulk_upload_jobs SET updated_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(1), jobId);
+    }
+
+    private BulkUploadJob awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (System.currentTimeMillis() < deadline) {
+            BulkUploadJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() == BulkUploadJobStatus.COMPLETED || job.getStatus() == BulkUploadJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Bulk upload job " + jobId + " did not finish");
+    }
+
+    private Map<String, Long> patients(String aadhaarPrefix) {
+        Map<String, Object> counts = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS total, COUNT(DISTINCT aadhaar_number) AS distinct_aadhaar FROM patients "
+                        + "WHERE aadhaar_number LIKE ?", aadhaarPrefix + "%");
+        return Map.of("total", ((Number) counts.get("TOTAL")).longValue(),
+                "distinct", ((Number) counts.get("DISTINCT_AADHAAR")).longValue());
+    }
+
+    // Six digits per test, six for the row
+    private static String aadhaarPrefix() {
+        return String.format("6%05d", TestFixtures.nextId() % 100_000L);
+    }
+
+    private static Path workbook(String aadhaarPrefix, int rows) throws IOException {
+        Path file = Files.createTempFile("bulk-upload-test", ".xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Patient Registration");
+            Row header = sheet.createRow(0);
+            String[] headers = {"Name*", "Age*", "Husband Name", "Aadhaar Number*", "Mobile Number*",
+                    "Alternate Mobile", "Residence*"};
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Bulk Patient " + i);
+                row.createCell(1).setCellValue(25);
+                row.createCell(3).setCellValue(aadhaarPrefix + String.format("%06d", i));
+                row.createCell(4).setCellValue("9" + aadhaarPrefix.substring(1) + String.format("%04d", i));
+                row.createCell(6).setCellValue("Test Residence");
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.DashboardStats;
+import com.ammarakshitha.event.FollowUpChangedEvent;
+import com.ammarakshitha.event.HealthCheckChangedEvent;
+import com.ammarakshitha.event.PatientChangedEvent;
+import com.ammarakshitha.event.RiskAlertChangedEvent;
+import com.ammarakshitha.model.enums.DeliveryOutcome;
+import com.ammarakshitha.model.enums.FollowUpStatus;
+import com.ammarakshitha.model.enums.PatientStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 18);
+
+    private DashboardCounters counters;
+
+    @BeforeEach
+    void seed() {
+        counters = new DashboardCounters();
+        assertTrue(counters.reset(counters.generation(), TODAY, new DashboardStats(), Map.of(), Map.of()));
+    }
+
+    @Test
+    void patientMovesBetweenRiskStatusAndDistrictBuckets() {
+        PatientChangedEvent.Snapshot registered = patient(PatientStatus.ACTIVE, RiskLevel.GREEN, DeliveryOutcome.PENDING, TODAY);
+        counters.onPatientChanged(new PatientChangedEvent(null, registered));
+        PatientChangedEvent.Snapshot escalated = patient(PatientStatus.ACTIVE, RiskLevel.RED, DeliveryOutcome.PENDING, TODAY);
+        counters.onPatientChanged(new PatientChangedEvent(registered, escalated));
+
+        DashboardStats stats = counters.snapshot(TODAY);
+        assertEquals(1, stats.getTotalPatients());
+        assertEquals(1, stats.getActivePatients());
+        assertEquals(1, stats.getHighRiskPatients());
+        assertEquals(0, stats.getStablePatients());
+        assertEquals(1, stats.getNewRegistrationsToday());
+        assertEquals(Map.of("RED", 1L), counters.riskDistribution(TODAY));
+        assertEquals(Map.of("Guntur", 1L), counters.districtDistribution(TODAY));
+
+        PatientChangedEvent.Snapshot delivered = patient(PatientStatus.DISCHARGED, RiskLevel.RED, DeliveryOutcome.BOTH_MORTALITY, TODAY);
+        counters.onPatientChanged(new PatientChangedEvent(escalated, delivered));
+
+        stats = counters.snapshot(TODAY);
+        assertEquals(1, stats.getTotalPatients());
+        assertEquals(0, stats.getActivePatients());
+        assertEquals(1, stats.getHighRiskPatients());
+        assertEquals(1, stats.getMotherMortality());
+        assertEquals(1, stats.getBabyMortality());
+        assertEquals(0, stats.getSuccessfulDeliveries());
+        assertEquals(Map.of(), counters.districtDistribution(TODAY));
+
+        counters.onPatientChanged(new PatientChangedEvent(delivered, null));
+
+        assertEquals(0, counters.snapshot(TODAY).getTotalPatients());
+        assertEquals(0, counters.snapshot(TODAY).getMotherMortality());
+    }
+
+    @Test
+    void healthChecksCountForTodayAndTheMonth() {
+        counters.onHealthCheckChanged(new HealthCheckChangedEvent(null, healthCheck(TODAY)));
+        counters.onHealthCheckChanged(new HealthCheckChangedEvent(null, healthCheck(TODAY.withDayOfMonth(1))));
+        counters.onHealthCheckChanged(new HealthCheckChangedEvent(null, healthCheck(TODAY.minusMonths(1))));
+
+        DashboardStats stats = counters.snapshot(TODAY);
+        assertEquals(1, stats.getHealthChecksToday());
+        assertEquals(2, stats.getHealthChecksThisMonth());
+
+        // Soft delete
+        counters.onHealthCheckChanged(new HealthCheckChangedEvent(healthCheck(TODAY), null));
+
+        stats = counters.snapshot(TODAY);
+        assertEquals(0, stats.getHealthChecksToday());
+        assertEquals(1, stats.getHealthChecksThisMonth());
+    }
+
+    @Test
+    void followUpsCountAsTodayCompletedOrOverdue() {
+        FollowUpChangedEvent.Snapshot dueToday = followUp(TODAY, FollowUpStatus.PENDING);
+        FollowUpChangedEvent.Snapshot overdue = followUp(TODAY.minusDays(2), FollowUpStatus.PENDING);
+        counters.onFollowUpChanged(new FollowUpChangedEvent(null, dueToday));
+        counters.onFollowUpChanged(new FollowUpChangedEvent(null, overdue));
+        counters.onFollowUpChanged(new FollowUpChangedEvent(null, followUp(TODAY.plusDays(2), FollowUpStatus.PENDING)));
+
+        DashboardStats stats = counters.snapshot(TODAY);
+        assertEquals(1, stats.getFollowUpsToday());
+        assertEquals(0, stats.getFollowUpsCompleted());
+        assertEquals(1, stats.getOverdueFollowUps());
+
+        counters.onFollowUpChanged(new FollowUpChangedEvent(dueToday, followUp(TODAY, FollowUpStatus.COMPLETED)));
+        counters.onFollowUpChanged(new FollowUpChangedEvent(overdue, followUp(TODAY, FollowUpStatus.RESCHEDULED)));
+
+        stats = counters.snapshot(TODAY);
+        assertEquals(2, stats.getFollowUpsToday());
+        assertEquals(1, stats.getFollowUpsCompleted());
+        assertEquals(0, stats.getOverdueFollowUps());
+    }
+
+    @Test
+    void acknowledgingAnAlertLeavesItInTodaysCount() {
+        RiskAlertChangedEvent.Snapshot raised = alert(RiskLevel.RED, false, TODAY);
+        counters.onRiskAlertChanged(new RiskAlertChangedEvent(null, raised));
+        counters.onRiskAlertChanged(new RiskAlertChangedEvent(null, alert(RiskLevel.YELLOW, false, TODAY.minusDays(1))));
+
+        DashboardStats stats = counters.snapshot(TODAY);
+        assertEquals(2, stats.getUnacknowledgedAlerts());
+        assertEquals(1, stats.getCriticalAlerts());
+        assertEquals(1, stats.getTodaysAlerts());
+
+        counters.onRiskAlertChanged(new RiskAlertChangedEvent(raised, alert(RiskLevel.RED, true, TODAY)));
+
+        stats = counters.snapshot(TODAY);
+        assertEquals(1, stats.getUnacknowledgedAlerts());
+        assertEquals(0, stats.getCriticalAlerts());
+        assertEquals(1, stats.getTodaysAlerts());
+    }
+
+    @Test
+    void recountOverlappingAnEventIsDiscarded() {
+        long startGeneration = counters.generation();
+        // Committed while the recount was running; the recount may or may not have seen it
+        counters.onPatientChanged(new PatientChangedEvent(null,
+                patient(PatientStatus.ACTIVE, RiskLevel.GREEN, DeliveryOutcome.PENDING, TODAY)));
+
+        assertFalse(counters.reset(startGeneration, TODAY, new DashboardStats(), Map.of(), Map.of()));
+        assertEquals(1, counters.snapshot(TODAY).getTotalPatients());
+
+        DashboardStats recount = new DashboardStats();
+        recount.setTotalPatients(5);
+        assertTrue(counters.reset(counters.generation(), TODAY, recount, Map.of(), Map.of()));
+        assertEquals(5, counters.snapshot(TODAY).getTotalPatients());
+    }
+
+    @Test
+    void countersAreStaleOnceTheDayRollsOverOrAreInvalidated() {
+        assertNull(counters.snapshot(TODAY.plusDays(1)));
+
+        long startGeneration = counters.generation();
+        counters.invalidate();
+
+        assertNull(counters.snapshot(TODAY));
+        assertFalse(counters.reset(startGeneration, TODAY, new DashboardStats(), Map.of(), Map.of()));
+    }
+
+    private static PatientChangedEvent.Snapshot patient(PatientStatus status, RiskLevel riskLevel,
+                                                        DeliveryOutcome outcome, LocalDate registrationDate) {
+        return new PatientChangedEvent.Snapshot(1L, "Lakshmi", null, "MID1", "9000000001", null,
+                "Guntur", status, riskLevel, outcome, registrationDate, null, null);
+    }
+
+    private static HealthCheckChangedEvent.Snapshot healthCheck(LocalDate checkDate) {
+        return new HealthCheckChangedEvent.Snapshot(1L, 1L, checkDate, 120, 80, null, null, null);
+    }
+
+    private static FollowUpChangedEvent.Snapshot followUp(LocalDate scheduledDate, FollowUpStatus status) {
+        return new FollowUpChangedEvent.Snapshot(1L, scheduledDate, status);
+    }
+
+    private static RiskAlertChangedEvent.Snapshot alert(RiskLevel severity, boolean acknowledged, LocalDate createdDate) {
+        return new RiskAlertChangedEvent.Snapshot(1L, severity, acknowledged, createdDate);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.AlertAcknowledgeRequest;
+import com.ammarakshitha.dto.DashboardStats;
+import com.ammarakshitha.dto.FollowUpUpdateRequest;
+import com.ammarakshitha.model.FollowUp;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.RiskAlert;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.AlertType;
+import com.ammarakshitha.model.enums.FollowUpStatus;
+import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.FollowUpRepository;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.RiskAlertRepository;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private FollowUpService followUpService;
+
+    @Autowired
+    private RiskAlertService riskAlertService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private FollowUpRepository followUpRepository;
+
+    @Autowired
+    private RiskAlertRepository riskAlertRepository;
+
+    @Test
+    void liveCountersMatchAFreshRecount() {
+        LocalDate today = LocalDate.now();
+        User staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        Patient patient = TestFixtures.patient("Dashboard Patient");
+        patient.setCurrentRiskLevel(RiskLevel.RED);
+        patient = patientRepository.save(patient);
+        FollowUp dueToday = followUpRepository.save(followUp(patient, staff, today));
+        FollowUp overdue = followUpRepository.save(followUp(patient, staff, today.minusDays(3)));
+        FollowUp upcoming = followUpRepository.save(followUp(patient, staff, today.plusDays(3)));
+        RiskAlert alert = riskAlertRepository.save(RiskAlert.builder()
+                .patient(patient)
+                .alertType(AlertType.HIGH_RISK_DETECTED)
+                .severity(RiskLevel.RED)
+                .title("High risk")
+                .description("High risk detected")
+                .build());
+
+        // Seed from the rows above; everything after this only reaches the counters as events
+        dashboardService.scheduledReconcile();
+
+        followUpService.updateFollowUp(dueToday.getId(), FollowUpUpdateRequest.builder()
+                .status(FollowUpStatus.COMPLETED)
+                .requiresImmediateAttention(true)
+                .nextFollowUpDate(today.plusDays(7))
+                .build());
+        followUpService.rescheduleFollowUp(overdue.getId(), today);
+        followUpService.deleteFollowUp(upcoming.getId());
+        riskAlertService.acknowledgeAlert(alert.getId(), new AlertAcknowledgeRequest(), staff.getId());
+        patientService.updatePatientRisk(patientService.getPatientById(patient.getId()), 2, RiskLevel.GREEN);
+
+        DashboardStats live = dashboardService.getOverviewStats();
+        assertEquals(dashboardService.countOverviewStats(today), live);
+    }
+
+    private static FollowUp followUp(Patient patient, User assignedTo, LocalDate scheduledDate) {
+        return FollowUp.builder()
+                .patient(patient)
+                .assignedTo(assignedTo)
+                .scheduledDate(scheduledDate)
+                .status(FollowUpStatus.PENDING)
+                .build();
+    }
+}
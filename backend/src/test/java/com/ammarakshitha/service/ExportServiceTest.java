@@ -0,0 +1,107 @@
+package com.ammarakshitha.service;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportServiceTest {
+
+    private static final List<ExportService.Column> COLUMNS = List.of(
+            new ExportService.Column("Name", "name"),
+            new ExportService.Column("Notes", "notes"),
+            new ExportService.Column("Score", "score"));
+
+    @Test
+    void csvStartsWithAByteOrderMark() throws IOException {
+        byte[] csv = csv(new Object[] {"Lakshmi", null, 3});
+
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        assertArrayEquals(bom, Arrays.copyOf(csv, 3));
+        assertEquals("Name,Notes,Score\r\nLakshmi,,3\r\n", text(csv));
+    }
+
+    @Test
+    void csvQuotesSeparatorsQuotesAndLineBreaks() throws IOException {
+        String csv = text(csv(
+                new Object[] {"Rao, Lakshmi", "said \"fine\"", 1},
+                new Object[] {"Padma", "line one\nline two", 2},
+                new Object[] {"Roja", "a\r\nb", true}));
+
+        assertEquals("Name,Notes,Score\r\n"
+                + "\"Rao, Lakshmi\",\"said \"\"fine\"\"\",1\r\n"
+                + "Padma,\"line one\nline two\",2\r\n"
+                + "Roja,\"a\r\nb\",Yes\r\n", csv);
+    }
+
+    @Test
+    void csvKeepsFormulaLikeTextAsText() throws IOException {
+        String csv = text(csv(
+                new Object[] {"=HYPERLINK(\"http://x\")", "+919876543210", -5},
+                new Object[] {"@SUM(A1)", "-2+3", 0},
+                new Object[] {"\tcmd", "=1,2", 1}));
+
+        assertEquals("Name,Notes,Score\r\n"
+                + "\"'=HYPERLINK(\"\"http://x\"\")\",'+919876543210,-5\r\n"
+                + "'@SUM(A1),'-2+3,0\r\n"
+                + "'\tcmd,\"'=1,2\",1\r\n", csv);
+    }
+
+    @Test
+    void xlsxContinuesOnNewSheetsPastTheRowLimit() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportService.XlsxRowWriter writer = new ExportService.XlsxRowWriter("Patients", out, 3)) {
+            writer.header(COLUMNS);
+            for (int i = 1; i <= 7; i++) {
+                writer.row(new Object[] {"Patient " + i, LocalDate.of(2024, 1, i), i});
+            }
+            writer.finish();
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals(List.of("Patients", "Patients (2)", "Patients (3)"), List.of(
+                    workbook.getSheetName(0), workbook.getSheetName(1), workbook.getSheetName(2)));
+            int patient = 1;
+            for (int s = 0; s < 3; s++) {
+                Sheet sheet = workbook.getSheetAt(s);
+                assertEquals("Name", sheet.getRow(0).getCell(0).getStringCellValue());
+                for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+                    assertEquals("Patient " + patient, sheet.getRow(r).getCell(0).getStringCellValue());
+                    assertEquals(patient, (int) sheet.getRow(r).getCell(2).getNumericCellValue());
+                    patient++;
+                }
+            }
+            assertEquals(3, workbook.getSheetAt(0).getLastRowNum());
+            assertEquals(1, workbook.getSheetAt(2).getLastRowNum());
+            assertEquals(8, patient);
+        }
+    }
+
+    private static byte[] csv(Object[]... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExportService.CsvRowWriter writer = new ExportService.CsvRowWriter(out)) {
+            writer.header(COLUMNS);
+            for (Object[] row : rows) {
+                writer.row(row);
+            }
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+
+    // Without the byte order mark
+    private static String text(byte[] csv) {
+        return new String(csv, 3, csv.length - 3, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.OutboxEvent;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.RiskAlert;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.OutboxEventStatus;
+import com.ammarakshitha.model.enums.OutboxEventType;
+import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.HealthCheckRepository;
+import com.ammarakshitha.repository.OutboxEventRepository;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.RiskAlertRepository;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.support.TestFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxProcessorTest {
+
+    @Autowired
+    private OutboxProcessor outboxProcessor;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private RiskAlertRepository riskAlertRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deliveringAnEventTwiceCreatesOneAlertWithThePayloadFactors() throws Exception {
+        User performedBy = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        Patient patient = patientRepository.save(TestFixtures.patient("Outbox Patient"));
+        HealthCheck healthCheck = TestFixtures.healthCheck(patient, performedBy);
+        // The row was re-scored after the event was written; the alert must not pick this up
+        healthCheck.setRiskFactors("Re-scored factors");
+        healthCheck = healthCheckRepository.save(healthCheck);
+
+        HealthCheckService.FollowThrough followThrough = new HealthCheckService.FollowThrough(
+                healthCheck.getId(), performedBy.getId(), LocalDate.now(), RiskLevel.RED, 9,
+                "High BP (165/112), Severe anemia (Hb 6.5)", null, null, null, false);
+        Long eventId = enqueue(healthCheck.getId(), followThrough);
+
+        outboxProcessor.run(eventId);
+        outboxProcessor.run(eventId);
+
+        List<RiskAlert> alerts = riskAlertRepository.findByPatientId(patient.getId());
+        assertEquals(1, alerts.size());
+        assertEquals(RiskLevel.RED, alerts.get(0).getSeverity());
+        assertEquals("High BP (165/112), Severe anemia (Hb 6.5)", alerts.get(0).getRiskFactors());
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElseThrow();
+        assertEquals(OutboxEventStatus.DONE, event.getStatus());
+        assertEquals(1, event.getAttempts());
+    }
+
+    // Written straight to the table, so no worker picks the event up before the test delivers it
+    private Long enqueue(Long healthCheckId, HealthCheckService.FollowThrough followThrough) throws Exception {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(OutboxEventType.HEALTH_CHECK_RECORDED)
+                .aggregateId(healthCheckId)
+                .payload(objectMapper.writeValueAsString(followThrough))
+                .availableAt(LocalDateTime.now())
+                .build()).getId();
+    }
+}
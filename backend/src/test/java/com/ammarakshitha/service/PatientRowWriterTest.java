@@ -0,0 +1,140 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.PatientRegistrationRequest;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.search.IndianNamePhonetics;
+import com.ammarakshitha.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientRowWriterTest {
+
+    // Differ between any two registrations by design
+    private static final Set<String> PER_PATIENT_COLUMNS =
+            Set.of("id", "mother_id", "aadhaar_number", "mobile_number", "created_at", "updated_at");
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientBulkRegistrationService bulkRegistrationService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writesEveryColumnOfThePatientsTable() {
+        Set<String> tableColumns = new HashSet<>();
+        for (String column : jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns WHERE LOWER(table_name) = 'patients'",
+                String.class)) {
+            tableColumns.add(column.toLowerCase(Locale.ROOT));
+        }
+        Set<String> written = new HashSet<>(PatientRowWriter.columns());
+        written.add("id");
+
+        assertEquals(tableColumns, written);
+    }
+
+    @Test
+    void bulkRegisteredRowMatchesARegisteredPatient() {
+        User staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        Patient registered = patientService.registerPatient(request(), staff.getId());
+        List<PatientBulkRegistrationService.Outcome> outcomes = bulkRegistrationService.registerAll(
+                List.of(new PatientBulkRegistrationService.Row(2, request())), staff.getId());
+
+        assertTrue(outcomes.get(0).isSuccess(), outcomes.get(0).errorMessage());
+        Long bulkId = outcomes.get(0).patient().getId();
+        assertEquals(comparableRow(registered.getId()), comparableRow(bulkId));
+
+        // And it loads through JPA with the same values the entity callbacks would have written
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Patient loaded = patientRepository.findById(bulkId).orElseThrow();
+            assertEquals(IndianNamePhonetics.encode("Lakshmi Devi"), loaded.getNamePhoneticKey());
+            assertEquals(IndianNamePhonetics.encode("Ramesh Kumar"), loaded.getHusbandNamePhoneticKey());
+            assertEquals(staff.getId(), loaded.getRegisteredBy().getId());
+            assertEquals(registered.getStatus(), loaded.getStatus());
+            assertEquals(registered.getCurrentRiskLevel(), loaded.getCurrentRiskLevel());
+            assertEquals(registered.getDeliveryOutcome(), loaded.getDeliveryOutcome());
+            assertEquals(registered.getEddDate(), loaded.getEddDate());
+            assertEquals(0L, loaded.getVersion());
+            assertNotNull(loaded.getCreatedAt());
+        });
+    }
+
+    private Map<String, Object> comparableRow(Long id) {
+        Map<String, Object> row = new TreeMap<>();
+        jdbcTemplate.queryForMap("SELECT * FROM patients WHERE id = ?", id).forEach((column, value) -> {
+            String name = column.toLowerCase(Locale.ROOT);
+            if (!PER_PATIENT_COLUMNS.contains(name)) {
+                row.put(name, value);
+            }
+        });
+        return row;
+    }
+
+    // Every optional field filled in, with unique keys so both registrations are accepted
+    private static PatientRegistrationRequest request() {
+        long n = TestFixtures.nextId();
+        return PatientRegistrationRequest.builder()
+                .name("Lakshmi Devi")
+                .age(27)
+                .husbandName("Ramesh Kumar")
+                .residence("House 4, Main Road")
+                .district("Nirmal")
+                .mandal("Bhainsa")
+                .village("Kubeer")
+                .pincode("504103")
+                .aadhaarNumber(String.format("5%011d", n % 100_000_000_000L))
+                .mobileNumber("8" + String.format("%09d", n % 1_000_000_000L))
+                .alternateMobile("9876543210")
+                .dateOfBirth(LocalDate.of(1998, 3, 14))
+                .lmpDate(LocalDate.now().minusWeeks(12))
+                .gravida(2)
+                .para(1)
+                .bloodGroup("B+")
+                .hasPreviousComplications(true)
+                .previousComplicationsDetails("Anaemia in first pregnancy")
+                .medicalHistory("None")
+                .allergies("Penicillin")
+                .hadCSectionDelivery(false)
+                .hadNormalDelivery(true)
+                .hadAbortion(false)
+                .hadOtherPregnancy(false)
+                .otherPregnancyDetails("-")
+                .totalKidsBorn(1)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.ReportSummary;
+import com.ammarakshitha.event.PatientChangedEvent;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.enums.DeliveryOutcome;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReportServiceTest {
+
+    // Far from the dates other tests use, since the database is shared
+    private static final LocalDate JANUARY = LocalDate.of(2001, 1, 1);
+    private static final LocalDate MARCH = LocalDate.of(2001, 3, 1);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Test
+    void deliveryChangeDropsOnlyTheRangesContainingItsDate() {
+        LocalDate januaryEnd = JANUARY.plusDays(30);
+        LocalDate marchEnd = MARCH.plusDays(30);
+        long january = reportService.getDeliveriesReport(JANUARY, januaryEnd).getTotal();
+        long march = reportService.getDeliveriesReport(MARCH, marchEnd).getTotal();
+
+        // Saved straight through the repository, so only the events below reach the cache
+        Patient inJanuary = patientRepository.save(delivered(JANUARY.plusDays(10)));
+        patientRepository.save(delivered(MARCH.plusDays(10)));
+        reportService.onPatientChanged(new PatientChangedEvent(null, PatientChangedEvent.Snapshot.of(inJanuary)));
+
+        assertEquals(january + 1, reportService.getDeliveriesReport(JANUARY, januaryEnd).getTotal());
+        assertEquals(march, reportService.getDeliveriesReport(MARCH, marchEnd).getTotal());
+
+        // Moving the delivery out of January drops January again, through the old date
+        PatientChangedEvent.Snapshot before = PatientChangedEvent.Snapshot.of(inJanuary);
+        inJanuary.setDeliveryDate(MARCH.plusDays(20));
+        inJanuary = patientRepository.save(inJanuary);
+        reportService.onPatientChanged(new PatientChangedEvent(before, PatientChangedEvent.Snapshot.of(inJanuary)));
+
+        assertEquals(january, reportService.getDeliveriesReport(JANUARY, januaryEnd).getTotal());
+        assertEquals(march + 2, reportService.getDeliveriesReport(MARCH, marchEnd).getTotal());
+    }
+
+    @Test
+    void returnedSummariesCannotChangeTheCachedReport() {
+        LocalDate start = JANUARY.plusYears(1);
+        patientRepository.save(delivered(start.plusDays(5)));
+        ReportSummary first = reportService.getDeliveriesReport(start, start.plusDays(30));
+        ReportSummary.Bucket district = first.getBreakdowns().get("district").get(0);
+        long districtTotal = district.getTotal();
+
+        district.setTotal(districtTotal + 100);
+        first.setTotal(first.getTotal() + 100);
+        assertThrows(UnsupportedOperationException.class, () -> first.getCounts().put("FORGED", 1L));
+        assertThrows(UnsupportedOperationException.class, () -> first.getBreakdowns().get("district").clear());
+
+        ReportSummary second = reportService.getDeliveriesReport(start, start.plusDays(30));
+        assertEquals(first.getTotal() - 100, second.getTotal());
+        assertEquals(districtTotal, second.getBreakdowns().get("district").get(0).getTotal());
+    }
+
+    private static Patient delivered(LocalDate deliveryDate) {
+        Patient patient = TestFixtures.patient("Report Patient");
+        patient.setDeliveryOutcome(DeliveryOutcome.SUCCESSFUL);
+        patient.setDeliveryDate(deliveryDate);
+        return patient;
+    }
+}
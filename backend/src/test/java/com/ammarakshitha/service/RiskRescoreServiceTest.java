@@ -0,0 +1,151 @@
+package com.ammarakshitha.service;
+
+import com.ammarakshitha.dto.RiskRescoreJobDTO;
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.RiskLevel;
+import com.ammarakshitha.model.enums.UserRole;
+import com.ammarakshitha.repository.HealthCheckRepository;
+import com.ammarakshitha.repository.PatientRepository;
+import com.ammarakshitha.repository.UserRepository;
+import com.ammarakshitha.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RiskRescoreServiceTest {
+
+    @Autowired
+    private RiskRescoreService rescoreService;
+
+    @Autowired
+    private RiskAssessmentService riskAssessmentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private HealthCheckRepository healthCheckRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void alertsOnlyOnEscalationAndSkipsPatientsEditedMeanwhile() {
+        User staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        HealthCheck escalating = checkOn(patient(RiskLevel.GREEN, 0), staff, true);
+        HealthCheck deEscalating = checkOn(patient(RiskLevel.RED, 100), staff, false);
+        HealthCheck edited = checkOn(patient(RiskLevel.GREEN, 0), staff, true);
+        List<Long> patientIds = List.of(escalating.getPatient().getId(), deEscalating.getPatient().getId(),
+                edited.getPatient().getId());
+
+        List<RiskRescoreService.Rescored> changed = rescoreService.rescoreChunk(patientIds, ForkJoinPool.commonPool());
+        assertEquals(3, changed.size());
+
+        // Someone edits a patient between the job reading and writing it
+        Patient editedPatient = patientRepository.findById(edited.getPatient().getId()).orElseThrow();
+        editedPatient.setVillage("Moved Village");
+        patientRepository.save(editedPatient);
+
+        RiskRescoreService.Job job = new RiskRescoreService.Job(false, staff.getId(), patientIds.size(), 100);
+        rescoreService.writeChunk(job, patientIds.size(), changed);
+        RiskRescoreJobDTO result = job.toDTO();
+
+        assertEquals(3, result.getProcessedPatients());
+        assertEquals(2, result.getChangedPatients());
+        assertEquals(1, result.getSkippedConcurrentUpdates());
+        assertEquals(1, result.getEscalations());
+        assertEquals(1, result.getAlertsCreated());
+
+        assertEquals(RiskLevel.RED, currentLevel(escalating));
+        assertEquals(1, alerts(escalating));
+        assertEquals(RiskLevel.GREEN, currentLevel(deEscalating));
+        assertEquals(0, alerts(deEscalating));
+
+        // The edit is kept and the patient is left for the next run
+        Patient afterJob = patientRepository.findById(edited.getPatient().getId()).orElseThrow();
+        assertEquals("Moved Village", afterJob.getVillage());
+        assertEquals(RiskLevel.GREEN, afterJob.getCurrentRiskLevel());
+        assertEquals(0, alerts(edited));
+    }
+
+    @Test
+    void dryRunReportsTheDiffWithoutWriting() {
+        User staff = userRepository.save(TestFixtures.user(UserRole.HELP_DESK));
+        HealthCheck check = checkOn(patient(RiskLevel.GREEN, 0), staff, true);
+        Patient patient = check.getPatient();
+        long patientVersion = patientRepository.findById(patient.getId()).orElseThrow().getVersion();
+        long checkVersion = healthCheckRepository.findById(check.getId()).orElseThrow().getVersion();
+
+        RiskRescoreService.Job job = new RiskRescoreService.Job(true, staff.getId(), 1, 100);
+        rescoreService.writeChunk(job, 1,
+                rescoreService.rescoreChunk(List.of(patient.getId()), ForkJoinPool.commonPool()));
+        RiskRescoreJobDTO result = job.toDTO();
+
+        assertEquals(1, result.getChangedPatients());
+        assertEquals(1, result.getEscalations());
+        assertEquals(0, result.getAlertsCreated());
+        assertEquals(Map.of("GREEN->RED", 1L), result.getLevelTransitions());
+        RiskRescoreJobDTO.Change change = result.getChanges().get(0);
+        assertEquals(patient.getId(), change.getPatientId());
+        assertEquals(check.getId(), change.getHealthCheckId());
+        assertEquals(RiskLevel.GREEN, change.getPreviousLevel());
+        assertEquals(RiskLevel.RED, change.getNewLevel());
+
+        assertEquals(patientVersion, patientRepository.findById(patient.getId()).orElseThrow().getVersion());
+        assertEquals(checkVersion, healthCheckRepository.findById(check.getId()).orElseThrow().getVersion());
+        assertEquals(RiskLevel.GREEN, currentLevel(check));
+        assertEquals(0, alerts(check));
+    }
+
+    private Patient patient(RiskLevel level, int score) {
+        Patient patient = TestFixtures.patient("Rescore Patient");
+        patient.setCurrentRiskLevel(level);
+        patient.setCurrentRiskScore(score);
+        return patientRepository.save(patient);
+    }
+
+    // A check stored with the patient's current level, whose readings now score RED or GREEN
+    private HealthCheck checkOn(Patient patient, User staff, boolean severe) {
+        HealthCheck check = TestFixtures.healthCheck(patient, staff);
+        if (severe) {
+            check.setBpSystolic(180);
+            check.setBpDiastolic(120);
+            check.setHemoglobin(new BigDecimal("6.5"));
+            check.setBleedingReported(true);
+            check.setBlurredVisionReported(true);
+            check.setHeadacheReported(true);
+        } else {
+            check.setHemoglobin(new BigDecimal("12.0"));
+        }
+        assertEquals(severe ? RiskLevel.RED : RiskLevel.GREEN,
+                riskAssessmentService.assessRisk(check, patient, null).riskLevel());
+        check.setRiskLevel(patient.getCurrentRiskLevel());
+        check.setRiskScore(patient.getCurrentRiskScore());
+        return healthCheckRepository.save(check);
+    }
+
+    private RiskLevel currentLevel(HealthCheck check) {
+        return patientRepository.findById(check.getPatient().getId()).orElseThrow().getCurrentRiskLevel();
+    }
+
+    private int alerts(HealthCheck check) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM risk_alerts WHERE patient_id = ?",
+                Integer.class, check.getPatient().getId());
+    }
+}
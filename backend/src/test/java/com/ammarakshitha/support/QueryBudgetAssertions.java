@@ -0,0 +1,41 @@
+package com.ammarakshitha.support;
+
+import com.ammarakshitha.config.QueryBudgetInterceptor;
+import com.ammarakshitha.config.SqlStatementTracker;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Fails any MockMvc request that runs more SQL statements than its endpoint's
+ * {@link com.ammarakshitha.config.QueryBudget}, whatever else the test expects of the response.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetAssertions {
+
+    @Bean
+    MockMvcBuilderCustomizer queryBudgetCustomizer() {
+        return builder -> builder.alwaysExpect(withinQueryBudget());
+    }
+
+    public static ResultMatcher withinQueryBudget() {
+        return result -> {
+            SqlStatementTracker.RequestSqlStats stats = statsOf(result);
+            if (stats != null && stats.isOverBudget()) {
+                throw new AssertionError(result.getRequest().getRequestURI() + " ran " + stats.getStatements()
+                        + " SQL statements, over its budget of " + stats.getBudget()
+                        + "; most repeated: " + stats.getMostRepeated());
+            }
+        };
+    }
+
+    /**
+     * The statements recorded for the request, or null if it did not reach a controller.
+     */
+    public static SqlStatementTracker.RequestSqlStats statsOf(MvcResult result) {
+        return (SqlStatementTracker.RequestSqlStats) result.getRequest()
+                .getAttribute(QueryBudgetInterceptor.STATS_ATTRIBUTE);
+    }
+}
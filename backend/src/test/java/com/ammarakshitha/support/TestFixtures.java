@@ -0,0 +1,68 @@
+package com.ammarakshitha.support;
+
+import com.ammarakshitha.model.HealthCheck;
+import com.ammarakshitha.model.Patient;
+import com.ammarakshitha.model.User;
+import com.ammarakshitha.model.enums.UserRole;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unsaved entities with the required columns filled in. Identifiers are unique per call, since the
+ * integration tests share one database.
+ */
+public final class TestFixtures {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(System.currentTimeMillis() % 100_000_000L);
+
+    private TestFixtures() {
+    }
+
+    public static long nextId() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+    public static User user(UserRole role) {
+        long n = nextId();
+        return User.builder()
+                .name("Test User " + n)
+                .email("user" + n + "@test.ammarakshitha.gov.in")
+                .phone(mobileNumber(n))
+                .passwordHash("{noop}unused")
+                .role(role)
+                .isActive(true)
+                .build();
+    }
+
+    public static Patient patient(String name) {
+        long n = nextId();
+        LocalDate lmpDate = LocalDate.now().minusWeeks(20);
+        return Patient.builder()
+                .name(name)
+                .age(26)
+                .residence("Test Residence")
+                .district("Test District")
+                .village("Test Village")
+                .motherId("TEST" + n)
+                .mobileNumber(mobileNumber(n))
+                .lmpDate(lmpDate)
+                .eddDate(lmpDate.plusDays(280))
+                .build();
+    }
+
+    public static HealthCheck healthCheck(Patient patient, User performedBy) {
+        return HealthCheck.builder()
+                .patient(patient)
+                .performedBy(performedBy)
+                .checkDate(LocalDate.now())
+                .bpSystolic(120)
+                .bpDiastolic(80)
+                .build();
+    }
+
+    // Ten digits starting with 9, unique per sequence number
+    private static String mobileNumber(long n) {
+        return "9" + String.format("%09d", n % 1_000_000_000L);
+    }
+}
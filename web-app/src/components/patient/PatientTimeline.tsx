@@ -204,14 +204,14 @@ export default function PatientTimeline({
         type: 'follow_up',
         date: new Date(f.scheduledDate),
         title: 'Follow-up Call',
-        description: f.patientCondition || f.notes || `Follow-up by ${f.assignedTo?.name || 'Staff'}`,
+        description: f.patientCondition || f.notes || `Follow-up by ${f.assignedToName || 'Staff'}`,
         icon: PhoneIcon,
         iconBg: statusInfo.bg,
         iconColor: statusInfo.color,
         status: statusInfo.label,
         statusColor: statusInfo.color,
         details: {
-          'Assigned To': f.assignedTo?.name,
+          'Assigned To': f.assignedToName,
           'Attempts': f.attemptCount,
           'Status': statusInfo.label,
         },
@@ -125,8 +125,8 @@ export default function Alerts() {
     if (!searchQuery.trim()) return alerts
     const query = searchQuery.toLowerCase()
     return alerts.filter(alert =>
-      alert.patient.name.toLowerCase().includes(query) ||
-      alert.patient.motherId.toLowerCase().includes(query) ||
+      alert.patientName.toLowerCase().includes(query) ||
+      alert.motherId.toLowerCase().includes(query) ||
       alert.title.toLowerCase().includes(query) ||
       (alert.description && alert.description.toLowerCase().includes(query))
     )
@@ -237,8 +237,8 @@ export default function Alerts() {
                     </TableCell>
                     <TableCell>
                       <div>
-                        <p className="font-medium text-gray-900">{alert.patient.name}</p>
-                        <p className="text-sm text-gray-500">{alert.patient.motherId}</p>
+                        <p className="font-medium text-gray-900">{alert.patientName}</p>
+                        <p className="text-sm text-gray-500">{alert.motherId}</p>
                       </div>
                     </TableCell>
                     <TableCell>
@@ -349,7 +349,7 @@ export default function Alerts() {
               </div>
               <p className="text-sm text-gray-600">{selectedAlert.description}</p>
               <p className="text-sm text-gray-500 mt-2">
-                Patient: <span className="font-medium">{selectedAlert.patient.name}</span> ({selectedAlert.patient.motherId})
+                Patient: <span className="font-medium">{selectedAlert.patientName}</span> ({selectedAlert.motherId})
               </p>
             </div>
 
@@ -415,13 +415,13 @@ export default function Alerts() {
               </div>
               <p className="text-sm text-gray-600">{selectedAlert.description}</p>
               <p className="text-sm text-gray-500 mt-2">
-                Patient: <span className="font-medium">{selectedAlert.patient.name}</span> ({selectedAlert.patient.motherId})
+                Patient: <span className="font-medium">{selectedAlert.patientName}</span> ({selectedAlert.motherId})
               </p>
             </div>
 
             <div className="bg-gradient-to-r from-green-50 to-emerald-50 p-3 rounded-xl border border-green-200">
               <p className="text-xs text-green-700">
-                Acknowledged by: <span className="font-medium">{selectedAlert.acknowledgedBy?.name || 'Unknown'}</span>
+                Acknowledged by: <span className="font-medium">{selectedAlert.acknowledgedByName || 'Unknown'}</span>
                 {selectedAlert.acknowledgedAt && (
                   <span className="ml-2">on {new Date(selectedAlert.acknowledgedAt).toLocaleString()}</span>
                 )}
@@ -485,10 +485,10 @@ export default function Alerts() {
               <p className="text-sm text-gray-600">{selectedAlertForView.description}</p>
               <div className="mt-3 pt-3 border-t border-gray-200 grid grid-cols-2 gap-2 text-sm">
                 <p className="text-gray-500">
-                  Patient: <span className="font-medium text-gray-900">{selectedAlertForView.patient.name}</span>
+                  Patient: <span className="font-medium text-gray-900">{selectedAlertForView.patientName}</span>
                 </p>
                 <p className="text-gray-500">
-                  Mother ID: <span className="font-medium text-gray-900">{selectedAlertForView.patient.motherId}</span>
+                  Mother ID: <span className="font-medium text-gray-900">{selectedAlertForView.motherId}</span>
                 </p>
                 <p className="text-gray-500">
                   Created: <span className="font-medium text-gray-900">{new Date(selectedAlertForView.createdAt).toLocaleString()}</span>
@@ -507,7 +507,7 @@ export default function Alerts() {
                   <div className="grid grid-cols-2 gap-4">
                     <div>
                       <p className="text-green-600 text-xs uppercase tracking-wide">Acknowledged by</p>
-                      <p className="font-medium text-green-800">{selectedAlertForView.acknowledgedBy?.name || 'Unknown'}</p>
+                      <p className="font-medium text-green-800">{selectedAlertForView.acknowledgedByName || 'Unknown'}</p>
                     </div>
                     <div>
                       <p className="text-green-600 text-xs uppercase tracking-wide">Acknowledged at</p>
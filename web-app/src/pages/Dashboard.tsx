@@ -467,7 +467,7 @@ export default function Dashboard() {
                       <div>
                         <p className="font-medium text-gray-900">{alert.title}</p>
                         <p className="text-sm text-gray-500">
-                          Patient: {alert.patient.name} | {alert.patient.motherId}
+                          Patient: {alert.patientName} | {alert.motherId}
                         </p>
                       </div>
                     </div>
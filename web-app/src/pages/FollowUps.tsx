@@ -197,9 +197,9 @@ export default function FollowUps() {
     if (!searchQuery.trim()) return followUps
     const query = searchQuery.toLowerCase()
     return followUps.filter(followUp =>
-      followUp.patient.name.toLowerCase().includes(query) ||
-      followUp.patient.motherId.toLowerCase().includes(query) ||
-      followUp.patient.mobileNumber.includes(query)
+      followUp.patientName.toLowerCase().includes(query) ||
+      followUp.motherId.toLowerCase().includes(query) ||
+      followUp.patientMobile.includes(query)
     )
   }, [followUps, searchQuery])
 
@@ -364,21 +364,21 @@ export default function FollowUps() {
                   <TableRow key={followUp.id}>
                     <TableCell>
                       <div>
-                        <p className="font-medium text-gray-900">{followUp.patient.name}</p>
-                        <p className="text-sm text-gray-500">{followUp.patient.motherId}</p>
+                        <p className="font-medium text-gray-900">{followUp.patientName}</p>
+                        <p className="text-sm text-gray-500">{followUp.motherId}</p>
                       </div>
                     </TableCell>
                     <TableCell>
                       <a
-                        href={`tel:${followUp.patient.mobileNumber}`}
+                        href={`tel:${followUp.patientMobile}`}
                         className="text-primary-600 hover:text-primary-500 flex items-center gap-1"
                       >
                         <PhoneIcon className="h-4 w-4" />
-                        {followUp.patient.mobileNumber}
+                        {followUp.patientMobile}
                       </a>
                     </TableCell>
                     <TableCell>
-                      <RiskBadge level={followUp.patient.currentRiskLevel} />
+                      <RiskBadge level={followUp.patientRiskLevel} />
                     </TableCell>
                     <TableCell>
                       {new Date(followUp.scheduledDate).toLocaleDateString()}
@@ -488,9 +488,9 @@ export default function FollowUps() {
         {selectedFollowUp && (
           <div className="space-y-4">
             <div className="bg-gray-50 p-4 rounded-lg">
-              <p className="font-medium">{selectedFollowUp.patient.name}</p>
+              <p className="font-medium">{selectedFollowUp.patientName}</p>
               <p className="text-sm text-gray-500">
-                {selectedFollowUp.patient.motherId} | {selectedFollowUp.patient.mobileNumber}
+                {selectedFollowUp.motherId} | {selectedFollowUp.patientMobile}
               </p>
             </div>
 
@@ -659,9 +659,9 @@ export default function FollowUps() {
           <div className="space-y-4">
             {/* Patient Info */}
             <div className="bg-gray-50 p-4 rounded-lg">
-              <p className="font-medium">{selectedFollowUp.patient.name}</p>
+              <p className="font-medium">{selectedFollowUp.patientName}</p>
               <p className="text-sm text-gray-500">
-                {selectedFollowUp.patient.motherId} | {selectedFollowUp.patient.mobileNumber}
+                {selectedFollowUp.motherId} | {selectedFollowUp.patientMobile}
               </p>
             </div>
 
@@ -811,7 +811,7 @@ export default function FollowUps() {
           </p>
           {selectedFollowUp && (
             <div className="p-3 bg-gray-50 rounded-lg">
-              <p className="font-medium text-gray-900">{selectedFollowUp.patient.name}</p>
+              <p className="font-medium text-gray-900">{selectedFollowUp.patientName}</p>
               <p className="text-sm text-gray-500">
                 Scheduled: {new Date(selectedFollowUp.scheduledDate).toLocaleDateString()}
               </p>
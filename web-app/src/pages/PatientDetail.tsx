@@ -18,7 +18,7 @@ import {
     TableHead,
     TableRow,
 } from '@/components/ui'
-import { alertService, consultationService, followUpService, healthCheckService, patientService, userService } from '@/services'
+import { consultationService, patientService, userService } from '@/services'
 import { useAuthStore } from '@/store/authStore'
 import { ConsultationRequest, ConsultationType, DeliveryCompletionRequest, DeliveryOutcome, DeliveryType, Patient, User, UserRole, PreviousPregnancy, PregnancyOutcome } from '@/types'
 import {
@@ -101,35 +101,16 @@ export default function PatientDetail() {
 
   const patientId = parseInt(id || '0')
 
-  const { data: patient, isLoading } = useQuery({
-    queryKey: ['patient', patientId],
-    queryFn: () => patientService.getById(patientId),
-    enabled: !!patientId,
-  })
-
-  const { data: alerts } = useQuery({
-    queryKey: ['patientAlerts', patientId],
-    queryFn: () => alertService.getByPatient(patientId),
-    enabled: !!patientId,
-  })
-
-  const { data: healthChecks } = useQuery({
-    queryKey: ['patientHealthChecks', patientId],
-    queryFn: () => healthCheckService.getByPatient(patientId),
-    enabled: !!patientId,
-  })
-
-  const { data: consultations } = useQuery({
-    queryKey: ['patientConsultations', patientId],
-    queryFn: () => consultationService.getByPatient(patientId),
-    enabled: !!patientId,
-  })
-
-  const { data: followUps } = useQuery({
-    queryKey: ['patientFollowUps', patientId],
-    queryFn: () => followUpService.getByPatient(patientId),
+  const { data: timeline, isLoading } = useQuery({
+    queryKey: ['patientTimeline', patientId],
+    queryFn: () => patientService.getTimeline(patientId),
     enabled: !!patientId,
   })
+  const patient = timeline?.patient
+  const healthChecks = timeline?.healthChecks
+  const consultations = timeline?.consultations
+  const followUps = timeline?.followUps
+  const alerts = timeline?.alerts
 
   const { data: doctors } = useQuery({
     queryKey: ['doctors'],
@@ -140,7 +121,7 @@ export default function PatientDetail() {
     mutationFn: (data: Partial<Patient>) => patientService.update(patientId, data),
     onSuccess: () => {
       toast.success('Patient updated successfully')
-      queryClient.invalidateQueries({ queryKey: ['patient', patientId] })
+      queryClient.invalidateQueries({ queryKey: ['patientTimeline', patientId] })
       queryClient.invalidateQueries({ queryKey: ['patients'] })
       setShowEditModal(false)
     },
@@ -164,7 +145,7 @@ export default function PatientDetail() {
     mutationFn: (data: DeliveryCompletionRequest) => patientService.completeDelivery(patientId, data),
     onSuccess: () => {
       toast.success('Delivery recorded successfully')
-      queryClient.invalidateQueries({ queryKey: ['patient', patientId] })
+      queryClient.invalidateQueries({ queryKey: ['patientTimeline', patientId] })
       queryClient.invalidateQueries({ queryKey: ['dashboardStats'] })
       setShowDeliveryModal(false)
     },
@@ -177,7 +158,7 @@ export default function PatientDetail() {
     mutationFn: (data: ConsultationRequest) => consultationService.schedule(data),
     onSuccess: () => {
       toast.success('Consultation scheduled successfully')
-      queryClient.invalidateQueries({ queryKey: ['patientConsultations', patientId] })
+      queryClient.invalidateQueries({ queryKey: ['patientTimeline', patientId] })
       queryClient.invalidateQueries({ queryKey: ['consultations'] })
       setShowConsultationModal(false)
       setConsultationData({
@@ -18,7 +18,7 @@ import {
   PatientStatusBadge,
   Modal,
 } from '@/components/ui'
-import { patientService, BulkUploadResult } from '@/services'
+import { patientService, BulkUploadJob, BulkUploadResult } from '@/services'
 import { RiskLevel } from '@/types'
 import PatientRegistrationForm from '@/components/patient/PatientRegistrationForm'
 import toast from 'react-hot-toast'
@@ -31,6 +31,7 @@ export default function Patients() {
   const [showRegisterModal, setShowRegisterModal] = useState(false)
   const [showBulkUploadModal, setShowBulkUploadModal] = useState(false)
   const [uploadResult, setUploadResult] = useState<BulkUploadResult | null>(null)
+  const [uploadProgress, setUploadProgress] = useState<BulkUploadJob | null>(null)
   const fileInputRef = useRef<HTMLInputElement>(null)
 
   const riskFilter = searchParams.get('risk') as RiskLevel | null
@@ -68,14 +69,16 @@ export default function Patients() {
   }
 
   const bulkUploadMutation = useMutation({
-    mutationFn: (file: File) => patientService.bulkUpload(file),
+    mutationFn: (file: File) => patientService.bulkUpload(file, setUploadProgress),
     onSuccess: (result) => {
+      setUploadProgress(null)
       setUploadResult(result)
       queryClient.invalidateQueries({ queryKey: ['patients'] })
       toast.success(`Successfully uploaded ${result.successCount} patients`)
     },
-    onError: () => {
-      toast.error('Failed to upload file')
+    onError: (error: Error) => {
+      setUploadProgress(null)
+      toast.error(error.message || 'Failed to upload file')
     },
   })
 
@@ -314,7 +317,9 @@ export default function Patients() {
           {bulkUploadMutation.isPending && (
             <div className="flex items-center justify-center gap-2 text-blue-600">
               <div className="animate-spin h-5 w-5 border-2 border-blue-600 border-t-transparent rounded-full"></div>
-              Processing file...
+              {uploadProgress && uploadProgress.status === 'RUNNING'
+                ? `Processed ${uploadProgress.processedRows} rows (${uploadProgress.succeededRows} registered, ${uploadProgress.failedRows} failed)...`
+                : 'Processing file...'}
             </div>
           )}
 
@@ -17,8 +17,8 @@ import {
   Input,
   Badge,
 } from '@/components/ui'
-import { patientService, dashboardService, userService } from '@/services'
-import { Patient, PatientStatus, RiskLevel, User, DeliveryOutcome } from '@/types'
+import { patientService, dashboardService, reportService, exportService, type ExportDataset, type ExportFormat, type ReportSection } from '@/services'
+import { PatientStatus, RiskLevel, DeliveryOutcome, ReportBucket } from '@/types'
 import toast from 'react-hot-toast'
 
 // Get default date range (last 30 days)
@@ -32,836 +32,37 @@ const getDefaultEndDate = () => {
   return new Date().toISOString().split('T')[0]
 }
 
-// PDF generation helper for active patients
-const generateActivePatientsPDF = async (patients: Patient[], _doctors: User[], title: string, dateRange?: { start: string, end: string }) => {
-  const reportDate = new Date().toLocaleDateString('en-IN', {
-    day: 'numeric',
-    month: 'long',
-    year: 'numeric',
-  })
-
-  const dateRangeText = dateRange
-    ? `Date Range: ${new Date(dateRange.start).toLocaleDateString('en-IN')} - ${new Date(dateRange.end).toLocaleDateString('en-IN')}`
-    : ''
-
-  const htmlContent = `
-    <!DOCTYPE html>
-    <html>
-    <head>
-      <title>Amma Rakshitha - ${title}</title>
-      <style>
-        @page { size: A4 landscape; margin: 1cm; }
-        body { font-family: Arial, sans-serif; font-size: 11px; margin: 0; padding: 20px; }
-        .header { text-align: center; margin-bottom: 20px; border-bottom: 2px solid #2563eb; padding-bottom: 15px; }
-        .header h1 { color: #1e40af; margin: 0; font-size: 20px; }
-        .header h2 { color: #374151; margin: 5px 0; font-size: 14px; font-weight: normal; }
-        .header p { color: #6b7280; margin: 5px 0; font-size: 11px; }
-        .govt-info { display: flex; justify-content: space-between; margin-bottom: 10px; }
-        .govt-info span { color: #4b5563; font-size: 10px; }
-        table { width: 100%; border-collapse: collapse; margin-top: 15px; }
-        th { background-color: #2563eb; color: white; padding: 8px 6px; text-align: left; font-size: 10px; }
-        td { border: 1px solid #d1d5db; padding: 6px; font-size: 10px; }
-        tr:nth-child(even) { background-color: #f3f4f6; }
-        .risk-red { background-color: #fecaca; color: #991b1b; padding: 2px 6px; border-radius: 3px; font-weight: bold; }
-        .risk-yellow { background-color: #fef08a; color: #854d0e; padding: 2px 6px; border-radius: 3px; font-weight: bold; }
-        .risk-green { background-color: #bbf7d0; color: #166534; padding: 2px 6px; border-radius: 3px; font-weight: bold; }
-        .summary { margin-top: 20px; display: flex; gap: 20px; }
-        .summary-box { background: #f0f9ff; border: 1px solid #bae6fd; padding: 10px 15px; border-radius: 5px; flex: 1; }
-        .summary-box h4 { margin: 0; color: #0369a1; font-size: 12px; }
-        .summary-box p { margin: 5px 0 0; font-size: 18px; font-weight: bold; color: #1e40af; }
-        .footer { margin-top: 30px; text-align: center; font-size: 9px; color: #6b7280; border-top: 1px solid #d1d5db; padding-top: 10px; }
-        @media print { body { -webkit-print-color-adjust: exact; print-color-adjust: exact; } }
-      </style>
-    </head>
-    <body>
-      <div class="header">
-        <div class="govt-info">
-          <span>Government of Telangana</span>
-          <span>District Nirmal</span>
-        </div>
-        <h1>AMMA RAKSHITHA</h1>
-        <h2>Maternal Healthcare Management System</h2>
-        <p>${title} - Generated on ${reportDate}</p>
-        ${dateRangeText ? `<p>${dateRangeText}</p>` : ''}
-      </div>
-
-      <div class="summary">
-        <div class="summary-box">
-          <h4>Total Records</h4>
-          <p>${patients.length}</p>
-        </div>
-        <div class="summary-box">
-          <h4>High Risk (RED)</h4>
-          <p>${patients.filter(p => p.currentRiskLevel === 'RED').length}</p>
-        </div>
-        <div class="summary-box">
-          <h4>Moderate Risk (YELLOW)</h4>
-          <p>${patients.filter(p => p.currentRiskLevel === 'YELLOW').length}</p>
-        </div>
-        <div class="summary-box">
-          <h4>Low Risk (GREEN)</h4>
-          <p>${patients.filter(p => p.currentRiskLevel === 'GREEN').length}</p>
-        </div>
-      </div>
-
-      <table>
-        <thead>
-          <tr>
-            <th>S.No</th>
-            <th>Mother ID</th>
-            <th>Name</th>
-            <th>Age</th>
-            <th>Mobile</th>
-            <th>Village/Mandal</th>
-            <th>LMP Date</th>
-            <th>EDD</th>
-            <th>Risk Level</th>
-            <th>Blood Group</th>
-            <th>Gravida/Para</th>
-          </tr>
-        </thead>
-        <tbody>
-          ${patients.map((p, idx) => `
-            <tr>
-              <td>${idx + 1}</td>
-              <td>${p.motherId}</td>
-              <td>${p.name}</td>
-              <td>${p.age}</td>
-              <td>${p.mobileNumber}</td>
-              <td>${p.village || '-'}/${p.mandal || '-'}</td>
-              <td>${p.lmpDate ? new Date(p.lmpDate).toLocaleDateString('en-IN') : '-'}</td>
-              <td>${p.eddDate ? new Date(p.eddDate).toLocaleDateString('en-IN') : '-'}</td>
-              <td><span class="risk-${p.currentRiskLevel?.toLowerCase() || 'green'}">${p.currentRiskLevel || 'GREEN'}</span></td>
-              <td>${p.bloodGroup || '-'}</td>
-              <td>${p.gravida || 0}/${p.para || 0}</td>
-            </tr>
-          `).join('')}
-        </tbody>
-      </table>
-
-      <div class="footer">
-        <p>This is a computer-generated report from Amma Rakshitha - Maternal Healthcare Management System</p>
-        <p>Government of Telangana, District Nirmal</p>
-      </div>
-    </body>
-    </html>
-  `
-
-  const printWindow = window.open('', '_blank')
-  if (printWindow) {
-    printWindow.document.write(htmlContent)
-    printWindow.document.close()
-    printWindow.focus()
-    setTimeout(() => {
-      printWindow.print()
-    }, 500)
-  }
-}
-
-// PDF generation helper for mortality report
-const generateMortalityPDF = async (patients: Patient[], dateRange: { start: string, end: string }) => {
-  const reportDate = new Date().toLocaleDateString('en-IN', {
-    day: 'numeric',
-    month: 'long',
-    year: 'numeric',
-  })
-
-  const motherMortality = patients.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.MOTHER_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  )
-  const babyMortality = patients.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.BABY_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  )
-
-  const htmlContent = `
-    <!DOCTYPE html>
-    <html>
-    <head>
-      <title>Amma Rakshitha - Mortality Report</title>
-      <style>
-        @page { size: A4 landscape; margin: 1cm; }
-        body { font-family: Arial, sans-serif; font-size: 11px; margin: 0; padding: 20px; }
-        .header { text-align: center; margin-bottom: 20px; border-bottom: 2px solid #dc2626; padding-bottom: 15px; }
-        .header h1 { color: #dc2626; margin: 0; font-size: 20px; }
-        .header h2 { color: #374151; margin: 5px 0; font-size: 14px; font-weight: normal; }
-        .header p { color: #6b7280; margin: 5px 0; font-size: 11px; }
-        .govt-info { display: flex; justify-content: space-between; margin-bottom: 10px; }
-        .govt-info span { color: #4b5563; font-size: 10px; }
-        table { width: 100%; border-collapse: collapse; margin-top: 15px; }
-        th { background-color: #dc2626; color: white; padding: 8px 6px; text-align: left; font-size: 10px; }
-        td { border: 1px solid #d1d5db; padding: 6px; font-size: 10px; }
-        tr:nth-child(even) { background-color: #fef2f2; }
-        .summary { margin-top: 20px; display: flex; gap: 20px; margin-bottom: 20px; }
-        .summary-box { background: #fef2f2; border: 1px solid #fecaca; padding: 10px 15px; border-radius: 5px; flex: 1; }
-        .summary-box h4 { margin: 0; color: #dc2626; font-size: 12px; }
-        .summary-box p { margin: 5px 0 0; font-size: 18px; font-weight: bold; color: #991b1b; }
-        .section-title { margin-top: 30px; font-size: 14px; font-weight: bold; color: #991b1b; border-bottom: 1px solid #dc2626; padding-bottom: 5px; }
-        .footer { margin-top: 30px; text-align: center; font-size: 9px; color: #6b7280; border-top: 1px solid #d1d5db; padding-top: 10px; }
-        .important-note { background: #fef2f2; border: 1px solid #dc2626; padding: 10px; margin-top: 20px; font-size: 10px; color: #991b1b; }
-        @media print { body { -webkit-print-color-adjust: exact; print-color-adjust: exact; } }
-      </style>
-    </head>
-    <body>
-      <div class="header">
-        <div class="govt-info">
-          <span>Government of Telangana</span>
-          <span>District Nirmal</span>
-        </div>
-        <h1>AMMA RAKSHITHA - MORTALITY REPORT</h1>
-        <h2>Maternal Healthcare Management System</h2>
-        <p>Date Range: ${new Date(dateRange.start).toLocaleDateString('en-IN')} - ${new Date(dateRange.end).toLocaleDateString('en-IN')}</p>
-        <p>Generated on ${reportDate}</p>
-      </div>
-
-      <div class="summary">
-        <div class="summary-box">
-          <h4>Total Mortality Cases</h4>
-          <p>${patients.length}</p>
-        </div>
-        <div class="summary-box">
-          <h4>Mother Mortality</h4>
-          <p>${motherMortality.length}</p>
-        </div>
-        <div class="summary-box">
-          <h4>Baby Mortality</h4>
-          <p>${babyMortality.length}</p>
-        </div>
-      </div>
-
-      <div class="section-title">Mother Mortality Cases (${motherMortality.length})</div>
-      ${motherMortality.length > 0 ? `
-      <table>
-        <thead>
-          <tr>
-            <th>S.No</th>
-            <th>Mother ID</th>
-            <th>Name</th>
-            <th>Age</th>
-            <th>Mobile</th>
-            <th>Alternate Mobile</th>
-            <th>Village/Mandal/District</th>
-            <th>Mortality Date</th>
-            <th>Cause</th>
-            <th>Delivery Type</th>
-            <th>Hospital</th>
-          </tr>
-        </thead>
-        <tbody>
-          ${motherMortality.map((p, idx) => `
-            <tr>
-              <td>${idx + 1}</td>
-              <td>${p.motherId}</td>
-              <td>${p.name}</td>
-              <td>${p.age}</td>
-              <td>${p.mobileNumber}</td>
-              <td>${p.alternateMobile || '-'}</td>
-              <td>${p.village || '-'}/${p.mandal || '-'}/${p.district || '-'}</td>
-              <td>${p.mortalityDate ? new Date(p.mortalityDate).toLocaleDateString('en-IN') : '-'}</td>
-              <td>${p.mortalityCause || 'Not specified'}</td>
-              <td>${p.deliveryType || '-'}</td>
-              <td>${p.deliveryHospital || '-'}</td>
-            </tr>
-          `).join('')}
-        </tbody>
-      </table>
-      ` : '<p>No mother mortality cases in this period.</p>'}
-
-      <div class="section-title">Baby Mortality Cases (${babyMortality.length})</div>
-      ${babyMortality.length > 0 ? `
-      <table>
-        <thead>
-          <tr>
-            <th>S.No</th>
-            <th>Mother ID</th>
-            <th>Mother Name</th>
-            <th>Age</th>
-            <th>Mobile</th>
-            <th>Alternate Mobile</th>
-            <th>Village/Mandal/District</th>
-            <th>Mortality Date</th>
-            <th>Cause</th>
-            <th>Baby Gender</th>
-            <th>Delivery Type</th>
-            <th>Hospital</th>
-          </tr>
-        </thead>
-        <tbody>
-          ${babyMortality.map((p, idx) => `
-            <tr>
-              <td>${idx + 1}</td>
-              <td>${p.motherId}</td>
-              <td>${p.name}</td>
-              <td>${p.age}</td>
-              <td>${p.mobileNumber}</td>
-              <td>${p.alternateMobile || '-'}</td>
-              <td>${p.village || '-'}/${p.mandal || '-'}/${p.district || '-'}</td>
-              <td>${p.mortalityDate ? new Date(p.mortalityDate).toLocaleDateString('en-IN') : '-'}</td>
-              <td>${p.mortalityCause || 'Not specified'}</td>
-              <td>${p.babyGender || '-'}</td>
-              <td>${p.deliveryType || '-'}</td>
-              <td>${p.deliveryHospital || '-'}</td>
-            </tr>
-          `).join('')}
-        </tbody>
-      </table>
-      ` : '<p>No baby mortality cases in this period.</p>'}
-
-      <div class="important-note">
-        <strong>IMPORTANT:</strong> This report contains sensitive medical information and is intended for official government use only.
-        Please handle with care and ensure proper data protection measures are followed.
-      </div>
-
-      <div class="footer">
-        <p>This is a computer-generated report from Amma Rakshitha - Maternal Healthcare Management System</p>
-        <p>For Government of Telangana, District Nirmal - Official Use Only</p>
-      </div>
-    </body>
-    </html>
-  `
-
-  const printWindow = window.open('', '_blank')
-  if (printWindow) {
-    printWindow.document.write(htmlContent)
-    printWindow.document.close()
-    printWindow.focus()
-    setTimeout(() => {
-      printWindow.print()
-    }, 500)
-  }
-}
-
-// PDF generation helper for deliveries report with mortality highlighting
-const generateDeliveriesPDF = async (patients: Patient[], dateRange: { start: string, end: string }) => {
-  const reportDate = new Date().toLocaleDateString('en-IN', {
-    day: 'numeric',
-    month: 'long',
-    year: 'numeric',
-  })
-
-  const successfulCount = patients.filter(p => p.deliveryOutcome === DeliveryOutcome.SUCCESSFUL).length
-  const motherMortalityCount = patients.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.MOTHER_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  ).length
-  const babyMortalityCount = patients.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.BABY_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  ).length
-
-  const getOutcomeClass = (outcome: DeliveryOutcome | undefined) => {
-    switch (outcome) {
-      case DeliveryOutcome.SUCCESSFUL:
-        return 'outcome-success'
-      case DeliveryOutcome.MOTHER_MORTALITY:
-        return 'outcome-mother-death'
-      case DeliveryOutcome.BABY_MORTALITY:
-        return 'outcome-baby-death'
-      case DeliveryOutcome.BOTH_MORTALITY:
-        return 'outcome-both-death'
-      default:
-        return ''
-    }
-  }
-
-  const getOutcomeReason = (outcome: DeliveryOutcome | undefined) => {
-    switch (outcome) {
-      case DeliveryOutcome.SUCCESSFUL:
-        return 'Successful'
-      case DeliveryOutcome.MOTHER_MORTALITY:
-        return 'Mother did not survive'
-      case DeliveryOutcome.BABY_MORTALITY:
-        return 'Baby did not survive'
-      case DeliveryOutcome.BOTH_MORTALITY:
-        return 'Both did not survive'
-      default:
-        return '-'
-    }
-  }
-
-  const htmlContent = `
-    <!DOCTYPE html>
-    <html>
-    <head>
-      <title>Amma Rakshitha - Deliveries Report</title>
-      <style>
-        @page { size: A4 landscape; margin: 1cm; }
-        body { font-family: Arial, sans-serif; font-size: 11px; margin: 0; padding: 20px; }
-        .header { text-align: center; margin-bottom: 20px; border-bottom: 2px solid #2563eb; padding-bottom: 15px; }
-        .header h1 { color: #1e40af; margin: 0; font-size: 20px; }
-        .header h2 { color: #374151; margin: 5px 0; font-size: 14px; font-weight: normal; }
-        .header p { color: #6b7280; margin: 5px 0; font-size: 11px; }
-        .govt-info { display: flex; justify-content: space-between; margin-bottom: 10px; }
-        .govt-info span { color: #4b5563; font-size: 10px; }
-        table { width: 100%; border-collapse: collapse; margin-top: 15px; }
-        th { background-color: #2563eb; color: white; padding: 8px 6px; text-align: left; font-size: 10px; }
-        td { border: 1px solid #d1d5db; padding: 6px; font-size: 10px; }
-        tr:nth-child(even) { background-color: #f3f4f6; }
-
-        /* Outcome-based row coloring */
-        .outcome-success { background-color: #dcfce7 !important; }
-        .outcome-mother-death { background-color: #fee2e2 !important; }
-        .outcome-baby-death { background-color: #fef3c7 !important; }
-        .outcome-both-death { background-color: #fecaca !important; }
-
-        /* Outcome badges */
-        .badge-success { background-color: #16a34a; color: white; padding: 2px 6px; border-radius: 3px; font-weight: bold; }
-        .badge-mother-death { background-color: #dc2626; color: white; padding: 2px 6px; border-radius: 3px; font-weight: bold; }
-        .badge-baby-death { background-color: #d97706; color: white; padding: 2px 6px; border-radius: 3px; font-weight: bold; }
-        .badge-both-death { background-color: #7f1d1d; color: white; padding: 2px 6px; border-radius: 3px; font-weight: bold; }
-
-        .summary { margin-top: 20px; display: flex; gap: 15px; }
-        .summary-box { padding: 10px 15px; border-radius: 5px; flex: 1; }
-        .summary-box.total { background: #f0f9ff; border: 1px solid #bae6fd; }
-        .summary-box.success { background: #dcfce7; border: 1px solid #86efac; }
-        .summary-box.mother { background: #fee2e2; border: 1px solid #fecaca; }
-        .summary-box.baby { background: #fef3c7; border: 1px solid #fde68a; }
-        .summary-box h4 { margin: 0; font-size: 11px; }
-        .summary-box p { margin: 5px 0 0; font-size: 18px; font-weight: bold; }
-        .legend { margin-top: 15px; display: flex; gap: 20px; font-size: 10px; }
-        .legend-item { display: flex; align-items: center; gap: 5px; }
-        .legend-color { width: 15px; height: 15px; border-radius: 3px; }
-        .footer { margin-top: 30px; text-align: center; font-size: 9px; color: #6b7280; border-top: 1px solid #d1d5db; padding-top: 10px; }
-        @media print { body { -webkit-print-color-adjust: exact; print-color-adjust: exact; } }
-      </style>
-    </head>
-    <body>
-      <div class="header">
-        <div class="govt-info">
-          <span>Government of Telangana</span>
-          <span>District Nirmal</span>
-        </div>
-        <h1>AMMA RAKSHITHA - DELIVERIES REPORT</h1>
-        <h2>Maternal Healthcare Management System</h2>
-        <p>Date Range: ${new Date(dateRange.start).toLocaleDateString('en-IN')} - ${new Date(dateRange.end).toLocaleDateString('en-IN')}</p>
-        <p>Generated on ${reportDate}</p>
-      </div>
-
-      <div class="summary">
-        <div class="summary-box total">
-          <h4>Total Deliveries</h4>
-          <p style="color: #0369a1;">${patients.length}</p>
-        </div>
-        <div class="summary-box success">
-          <h4>Successful Deliveries</h4>
-          <p style="color: #16a34a;">${successfulCount}</p>
-        </div>
-        <div class="summary-box mother">
-          <h4>Mother Mortality</h4>
-          <p style="color: #dc2626;">${motherMortalityCount}</p>
-        </div>
-        <div class="summary-box baby">
-          <h4>Baby Mortality</h4>
-          <p style="color: #d97706;">${babyMortalityCount}</p>
-        </div>
-      </div>
-
-      <div class="legend">
-        <div class="legend-item"><div class="legend-color" style="background: #dcfce7;"></div> Successful Delivery</div>
-        <div class="legend-item"><div class="legend-color" style="background: #fee2e2;"></div> Mother Mortality</div>
-        <div class="legend-item"><div class="legend-color" style="background: #fef3c7;"></div> Baby Mortality</div>
-        <div class="legend-item"><div class="legend-color" style="background: #fecaca;"></div> Both Mortality</div>
-      </div>
-
-      <table>
-        <thead>
-          <tr>
-            <th>S.No</th>
-            <th>Mother ID</th>
-            <th>Name</th>
-            <th>Age</th>
-            <th>Mobile</th>
-            <th>Delivery Date</th>
-            <th>Delivery Type</th>
-            <th>Outcome</th>
-            <th>Reason</th>
-            <th>Death Date/Time</th>
-            <th>Cause of Death</th>
-            <th>Hospital</th>
-          </tr>
-        </thead>
-        <tbody>
-          ${patients.map((p, idx) => `
-            <tr class="${getOutcomeClass(p.deliveryOutcome)}">
-              <td>${idx + 1}</td>
-              <td>${p.motherId}</td>
-              <td>${p.name}</td>
-              <td>${p.age}</td>
-              <td>${p.mobileNumber}</td>
-              <td>${p.deliveryDate ? new Date(p.deliveryDate).toLocaleDateString('en-IN') : '-'}</td>
-              <td>${p.deliveryType || '-'}</td>
-              <td>
-                <span class="badge-${p.deliveryOutcome === DeliveryOutcome.SUCCESSFUL ? 'success' :
-                  p.deliveryOutcome === DeliveryOutcome.MOTHER_MORTALITY ? 'mother-death' :
-                  p.deliveryOutcome === DeliveryOutcome.BABY_MORTALITY ? 'baby-death' : 'both-death'}">
-                  ${p.deliveryOutcome?.replace('_', ' ') || '-'}
-                </span>
-              </td>
-              <td>${getOutcomeReason(p.deliveryOutcome)}</td>
-              <td>${p.mortalityDate ? new Date(p.mortalityDate).toLocaleDateString('en-IN') + (p.deliveryCompletedAt ? ' ' + new Date(p.deliveryCompletedAt).toLocaleTimeString('en-IN', { hour: '2-digit', minute: '2-digit' }) : '') : '-'}</td>
-              <td>${p.mortalityCause || '-'}</td>
-              <td>${p.deliveryHospital || '-'}</td>
-            </tr>
-          `).join('')}
-        </tbody>
-      </table>
-
-      <div class="footer">
-        <p>This is a computer-generated report from Amma Rakshitha - Maternal Healthcare Management System</p>
-        <p>Government of Telangana, District Nirmal</p>
-      </div>
-    </body>
-    </html>
-  `
-
-  const printWindow = window.open('', '_blank')
-  if (printWindow) {
-    printWindow.document.write(htmlContent)
-    printWindow.document.close()
-    printWindow.focus()
-    setTimeout(() => {
-      printWindow.print()
-    }, 500)
-  }
-}
-
 // Report type options
 type ReportType = 'active' | 'deliveries' | 'mortality'
 
-interface ReportData {
-  activePatients: Patient[]
-  deliveries: Patient[]
-  mortalityCases: Patient[]
-  dateRange: { start: string; end: string }
+const REPORT_SECTIONS: Record<ReportType, ReportSection> = {
+  active: 'ACTIVE_PATIENTS',
+  deliveries: 'DELIVERIES',
+  mortality: 'MORTALITY',
 }
 
-// Comprehensive PDF generator that combines multiple report sections
-const generateComprehensivePDF = async (
-  reportTypes: ReportType[],
-  data: ReportData
-) => {
-  const reportDate = new Date().toLocaleDateString('en-IN', {
-    day: 'numeric',
-    month: 'long',
-    year: 'numeric',
-  })
-
-  const includeActive = reportTypes.includes('active')
-  const includeDeliveries = reportTypes.includes('deliveries')
-  const includeMortality = reportTypes.includes('mortality')
-
-  const titleParts = []
-  if (includeActive) titleParts.push('Active Pregnant Ladies')
-  if (includeDeliveries) titleParts.push('Deliveries')
-  if (includeMortality) titleParts.push('Mortality')
-  const reportTitle = reportTypes.length === 3 ? 'Comprehensive Report' : titleParts.join(' & ') + ' Report'
-
-  // Calculate stats
-  const motherMortality = data.mortalityCases.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.MOTHER_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  )
-  const babyMortality = data.mortalityCases.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.BABY_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  )
-  const successfulDeliveries = data.deliveries.filter(p => p.deliveryOutcome === DeliveryOutcome.SUCCESSFUL)
-
-  const getOutcomeClass = (outcome: DeliveryOutcome | undefined) => {
-    switch (outcome) {
-      case DeliveryOutcome.SUCCESSFUL: return 'outcome-success'
-      case DeliveryOutcome.MOTHER_MORTALITY: return 'outcome-mother-death'
-      case DeliveryOutcome.BABY_MORTALITY: return 'outcome-baby-death'
-      case DeliveryOutcome.BOTH_MORTALITY: return 'outcome-both-death'
-      default: return ''
-    }
-  }
-
-  const getOutcomeReason = (outcome: DeliveryOutcome | undefined) => {
-    switch (outcome) {
-      case DeliveryOutcome.SUCCESSFUL: return 'Successful'
-      case DeliveryOutcome.MOTHER_MORTALITY: return 'Mother did not survive'
-      case DeliveryOutcome.BABY_MORTALITY: return 'Baby did not survive'
-      case DeliveryOutcome.BOTH_MORTALITY: return 'Both did not survive'
-      default: return '-'
-    }
-  }
-
-  const htmlContent = `
-    <!DOCTYPE html>
-    <html>
-    <head>
-      <title>Amma Rakshitha - ${reportTitle}</title>
-      <style>
-        @page { size: A4 landscape; margin: 1cm; }
-        body { font-family: Arial, sans-serif; font-size: 10px; margin: 0; padding: 20px; }
-        .header { text-align: center; margin-bottom: 20px; border-bottom: 2px solid #2563eb; padding-bottom: 15px; }
-        .header h1 { color: #1e40af; margin: 0; font-size: 20px; }
-        .header h2 { color: #374151; margin: 5px 0; font-size: 14px; font-weight: normal; }
-        .header p { color: #6b7280; margin: 5px 0; font-size: 11px; }
-        .govt-info { display: flex; justify-content: space-between; margin-bottom: 10px; }
-        .govt-info span { color: #4b5563; font-size: 10px; }
-
-        .overview-stats { display: flex; gap: 10px; margin-bottom: 20px; flex-wrap: wrap; }
-        .stat-box { flex: 1; min-width: 120px; padding: 10px; border-radius: 5px; text-align: center; }
-        .stat-box.blue { background: #dbeafe; border: 1px solid #93c5fd; }
-        .stat-box.green { background: #dcfce7; border: 1px solid #86efac; }
-        .stat-box.red { background: #fee2e2; border: 1px solid #fecaca; }
-        .stat-box.yellow { background: #fef3c7; border: 1px solid #fde68a; }
-        .stat-box h4 { margin: 0; font-size: 10px; color: #374151; }
-        .stat-box p { margin: 5px 0 0; font-size: 18px; font-weight: bold; }
-
-        .section { margin-top: 30px; page-break-inside: avoid; }
-        .section-title { font-size: 14px; font-weight: bold; color: #1e40af; border-bottom: 2px solid #2563eb; padding-bottom: 5px; margin-bottom: 10px; }
-        .section-title.mortality { color: #dc2626; border-color: #dc2626; }
-
-        table { width: 100%; border-collapse: collapse; margin-top: 10px; font-size: 9px; }
-        th { background-color: #2563eb; color: white; padding: 6px 4px; text-align: left; }
-        th.mortality { background-color: #dc2626; }
-        td { border: 1px solid #d1d5db; padding: 4px; }
-        tr:nth-child(even) { background-color: #f3f4f6; }
-
-        .risk-red { background-color: #fecaca; color: #991b1b; padding: 2px 4px; border-radius: 3px; font-weight: bold; }
-        .risk-yellow { background-color: #fef08a; color: #854d0e; padding: 2px 4px; border-radius: 3px; font-weight: bold; }
-        .risk-green { background-color: #bbf7d0; color: #166534; padding: 2px 4px; border-radius: 3px; font-weight: bold; }
-
-        .outcome-success { background-color: #dcfce7 !important; }
-        .outcome-mother-death { background-color: #fee2e2 !important; }
-        .outcome-baby-death { background-color: #fef3c7 !important; }
-        .outcome-both-death { background-color: #fecaca !important; }
-
-        .badge-success { background-color: #16a34a; color: white; padding: 2px 4px; border-radius: 3px; font-size: 8px; }
-        .badge-mother-death { background-color: #dc2626; color: white; padding: 2px 4px; border-radius: 3px; font-size: 8px; }
-        .badge-baby-death { background-color: #d97706; color: white; padding: 2px 4px; border-radius: 3px; font-size: 8px; }
-        .badge-both-death { background-color: #7f1d1d; color: white; padding: 2px 4px; border-radius: 3px; font-size: 8px; }
-
-        .legend { margin: 10px 0; display: flex; gap: 15px; font-size: 9px; flex-wrap: wrap; }
-        .legend-item { display: flex; align-items: center; gap: 4px; }
-        .legend-color { width: 12px; height: 12px; border-radius: 2px; }
-
-        .footer { margin-top: 30px; text-align: center; font-size: 9px; color: #6b7280; border-top: 1px solid #d1d5db; padding-top: 10px; }
-        .page-break { page-break-before: always; }
-
-        @media print { body { -webkit-print-color-adjust: exact; print-color-adjust: exact; } }
-      </style>
-    </head>
-    <body>
-      <div class="header">
-        <div class="govt-info">
-          <span>Government of Telangana</span>
-          <span>District Nirmal</span>
-        </div>
-        <h1>AMMA RAKSHITHA</h1>
-        <h2>Maternal Healthcare Management System - ${reportTitle}</h2>
-        <p>Date Range: ${new Date(data.dateRange.start).toLocaleDateString('en-IN')} - ${new Date(data.dateRange.end).toLocaleDateString('en-IN')}</p>
-        <p>Generated on ${reportDate}</p>
-      </div>
-
-      <!-- Overview Statistics -->
-      <div class="overview-stats">
-        ${includeActive ? `<div class="stat-box blue"><h4>Active Pregnant Ladies</h4><p style="color:#1e40af;">${data.activePatients.length}</p></div>` : ''}
-        ${includeDeliveries ? `<div class="stat-box green"><h4>Total Deliveries</h4><p style="color:#16a34a;">${data.deliveries.length}</p></div>` : ''}
-        ${includeDeliveries ? `<div class="stat-box green"><h4>Successful Deliveries</h4><p style="color:#16a34a;">${successfulDeliveries.length}</p></div>` : ''}
-        ${includeMortality ? `<div class="stat-box red"><h4>Mother Mortality</h4><p style="color:#dc2626;">${motherMortality.length}</p></div>` : ''}
-        ${includeMortality ? `<div class="stat-box yellow"><h4>Baby Mortality</h4><p style="color:#d97706;">${babyMortality.length}</p></div>` : ''}
-      </div>
-
-      ${includeActive && data.activePatients.length > 0 ? `
-      <!-- Active Pregnant Ladies Section -->
-      <div class="section">
-        <div class="section-title">Active Pregnant Ladies (${data.activePatients.length})</div>
-        <div class="legend">
-          <div class="legend-item"><div class="legend-color" style="background:#fecaca;"></div> High Risk (RED)</div>
-          <div class="legend-item"><div class="legend-color" style="background:#fef08a;"></div> Moderate Risk (YELLOW)</div>
-          <div class="legend-item"><div class="legend-color" style="background:#bbf7d0;"></div> Low Risk (GREEN)</div>
-        </div>
-        <table>
-          <thead>
-            <tr>
-              <th>S.No</th>
-              <th>Mother ID</th>
-              <th>Name</th>
-              <th>Age</th>
-              <th>Mobile</th>
-              <th>Village/Mandal</th>
-              <th>LMP Date</th>
-              <th>EDD</th>
-              <th>Risk Level</th>
-              <th>Blood Group</th>
-              <th>Gravida/Para</th>
-            </tr>
-          </thead>
-          <tbody>
-            ${data.activePatients.map((p, idx) => `
-              <tr>
-                <td>${idx + 1}</td>
-                <td>${p.motherId}</td>
-                <td>${p.name}</td>
-                <td>${p.age}</td>
-                <td>${p.mobileNumber}</td>
-                <td>${p.village || '-'}/${p.mandal || '-'}</td>
-                <td>${p.lmpDate ? new Date(p.lmpDate).toLocaleDateString('en-IN') : '-'}</td>
-                <td>${p.eddDate ? new Date(p.eddDate).toLocaleDateString('en-IN') : '-'}</td>
-                <td><span class="risk-${p.currentRiskLevel?.toLowerCase() || 'green'}">${p.currentRiskLevel || 'GREEN'}</span></td>
-                <td>${p.bloodGroup || '-'}</td>
-                <td>${p.gravida || 0}/${p.para || 0}</td>
-              </tr>
-            `).join('')}
-          </tbody>
-        </table>
-      </div>
-      ` : ''}
-
-      ${includeDeliveries && data.deliveries.length > 0 ? `
-      <!-- Deliveries Section -->
-      <div class="section ${includeActive ? 'page-break' : ''}">
-        <div class="section-title">Deliveries Report (${data.deliveries.length})</div>
-        <div class="legend">
-          <div class="legend-item"><div class="legend-color" style="background:#dcfce7;"></div> Successful</div>
-          <div class="legend-item"><div class="legend-color" style="background:#fee2e2;"></div> Mother Mortality</div>
-          <div class="legend-item"><div class="legend-color" style="background:#fef3c7;"></div> Baby Mortality</div>
-          <div class="legend-item"><div class="legend-color" style="background:#fecaca;"></div> Both Mortality</div>
-        </div>
-        <table>
-          <thead>
-            <tr>
-              <th>S.No</th>
-              <th>Mother ID</th>
-              <th>Name</th>
-              <th>Age</th>
-              <th>Mobile</th>
-              <th>Delivery Date</th>
-              <th>Type</th>
-              <th>Outcome</th>
-              <th>Reason</th>
-              <th>Death Date</th>
-              <th>Cause</th>
-              <th>Hospital</th>
-            </tr>
-          </thead>
-          <tbody>
-            ${data.deliveries.map((p, idx) => `
-              <tr class="${getOutcomeClass(p.deliveryOutcome)}">
-                <td>${idx + 1}</td>
-                <td>${p.motherId}</td>
-                <td>${p.name}</td>
-                <td>${p.age}</td>
-                <td>${p.mobileNumber}</td>
-                <td>${p.deliveryDate ? new Date(p.deliveryDate).toLocaleDateString('en-IN') : '-'}</td>
-                <td>${p.deliveryType || '-'}</td>
-                <td><span class="badge-${p.deliveryOutcome === DeliveryOutcome.SUCCESSFUL ? 'success' : p.deliveryOutcome === DeliveryOutcome.MOTHER_MORTALITY ? 'mother-death' : p.deliveryOutcome === DeliveryOutcome.BABY_MORTALITY ? 'baby-death' : 'both-death'}">${p.deliveryOutcome?.replace('_', ' ') || '-'}</span></td>
-                <td>${getOutcomeReason(p.deliveryOutcome)}</td>
-                <td>${p.mortalityDate ? new Date(p.mortalityDate).toLocaleDateString('en-IN') : '-'}</td>
-                <td>${p.mortalityCause || '-'}</td>
-                <td>${p.deliveryHospital || '-'}</td>
-              </tr>
-            `).join('')}
-          </tbody>
-        </table>
-      </div>
-      ` : ''}
-
-      ${includeMortality && data.mortalityCases.length > 0 ? `
-      <!-- Mortality Section -->
-      <div class="section ${includeActive || includeDeliveries ? 'page-break' : ''}">
-        <div class="section-title mortality">Mortality Report (${data.mortalityCases.length} cases)</div>
-
-        ${motherMortality.length > 0 ? `
-        <h4 style="color:#dc2626; margin-top:15px;">Mother Mortality Cases (${motherMortality.length})</h4>
-        <table>
-          <thead>
-            <tr>
-              <th class="mortality">S.No</th>
-              <th class="mortality">Mother ID</th>
-              <th class="mortality">Name</th>
-              <th class="mortality">Age</th>
-              <th class="mortality">Mobile</th>
-              <th class="mortality">Alt Mobile</th>
-              <th class="mortality">Village/Mandal/District</th>
-              <th class="mortality">Death Date</th>
-              <th class="mortality">Cause</th>
-              <th class="mortality">Hospital</th>
-            </tr>
-          </thead>
-          <tbody>
-            ${motherMortality.map((p, idx) => `
-              <tr style="background-color:#fee2e2;">
-                <td>${idx + 1}</td>
-                <td>${p.motherId}</td>
-                <td>${p.name}</td>
-                <td>${p.age}</td>
-                <td>${p.mobileNumber}</td>
-                <td>${p.alternateMobile || '-'}</td>
-                <td>${p.village || '-'}/${p.mandal || '-'}/${p.district || '-'}</td>
-                <td>${p.mortalityDate ? new Date(p.mortalityDate).toLocaleDateString('en-IN') : '-'}</td>
-                <td>${p.mortalityCause || 'Not specified'}</td>
-                <td>${p.deliveryHospital || '-'}</td>
-              </tr>
-            `).join('')}
-          </tbody>
-        </table>
-        ` : ''}
-
-        ${babyMortality.length > 0 ? `
-        <h4 style="color:#d97706; margin-top:20px;">Baby Mortality Cases (${babyMortality.length})</h4>
-        <table>
-          <thead>
-            <tr>
-              <th class="mortality" style="background:#d97706;">S.No</th>
-              <th class="mortality" style="background:#d97706;">Mother ID</th>
-              <th class="mortality" style="background:#d97706;">Mother Name</th>
-              <th class="mortality" style="background:#d97706;">Age</th>
-              <th class="mortality" style="background:#d97706;">Mobile</th>
-              <th class="mortality" style="background:#d97706;">Alt Mobile</th>
-              <th class="mortality" style="background:#d97706;">Village/Mandal/District</th>
-              <th class="mortality" style="background:#d97706;">Death Date</th>
-              <th class="mortality" style="background:#d97706;">Cause</th>
-              <th class="mortality" style="background:#d97706;">Baby Gender</th>
-              <th class="mortality" style="background:#d97706;">Hospital</th>
-            </tr>
-          </thead>
-          <tbody>
-            ${babyMortality.map((p, idx) => `
-              <tr style="background-color:#fef3c7;">
-                <td>${idx + 1}</td>
-                <td>${p.motherId}</td>
-                <td>${p.name}</td>
-                <td>${p.age}</td>
-                <td>${p.mobileNumber}</td>
-                <td>${p.alternateMobile || '-'}</td>
-                <td>${p.village || '-'}/${p.mandal || '-'}/${p.district || '-'}</td>
-                <td>${p.mortalityDate ? new Date(p.mortalityDate).toLocaleDateString('en-IN') : '-'}</td>
-                <td>${p.mortalityCause || 'Not specified'}</td>
-                <td>${p.babyGender || '-'}</td>
-                <td>${p.deliveryHospital || '-'}</td>
-              </tr>
-            `).join('')}
-          </tbody>
-        </table>
-        ` : ''}
-      </div>
-      ` : ''}
-
-      <div class="footer">
-        <p>This is a computer-generated report from Amma Rakshitha - Maternal Healthcare Management System</p>
-        <p>Government of Telangana, District Nirmal - For Official Use Only</p>
-      </div>
-    </body>
-    </html>
-  `
-
+// The server renders and streams the report rows; the browser only prints the finished document
+const printReport = async (reportTypes: ReportType[], dateRange?: { start: string, end: string }) => {
   const printWindow = window.open('', '_blank')
-  if (printWindow) {
-    printWindow.document.write(htmlContent)
+  if (!printWindow) {
+    throw new Error('Popup blocked')
+  }
+  try {
+    const html = await exportService.printReport(
+      reportTypes.map(type => REPORT_SECTIONS[type]), dateRange?.start, dateRange?.end)
+    printWindow.document.write(html)
     printWindow.document.close()
     printWindow.focus()
     setTimeout(() => {
       printWindow.print()
     }, 500)
+  } catch (error) {
+    printWindow.close()
+    throw error
   }
 }
 
+
 export default function Reports() {
   const [isGenerating, setIsGenerating] = useState(false)
   const [startDate, setStartDate] = useState(getDefaultStartDate())
@@ -873,47 +74,65 @@ export default function Reports() {
     queryFn: dashboardService.getOverview,
   })
 
-  const { data: activePatients } = useQuery({
-    queryKey: ['activePatients'],
-    queryFn: async () => {
-      const result = await patientService.getByStatus(PatientStatus.ACTIVE, 0, 1000)
-      // Filter out patients who have completed delivery (only show pending deliveries)
-      return result.content.filter(p => !p.deliveryOutcome || p.deliveryOutcome === DeliveryOutcome.PENDING)
-    },
+  // Counts and breakdowns are aggregated on the server; patient rows are only fetched for PDFs
+  const { data: activeReport } = useQuery({
+    queryKey: ['reports', 'activePatients'],
+    queryFn: reportService.getActivePatients,
   })
 
-  const { data: doctors } = useQuery({
-    queryKey: ['doctors'],
-    queryFn: userService.getDoctors,
+  const { data: deliveriesReport } = useQuery({
+    queryKey: ['reports', 'deliveries', startDate, endDate],
+    queryFn: () => reportService.getDeliveries(startDate, endDate),
+    enabled: !!startDate && !!endDate,
   })
 
-  const { data: mortalityCases } = useQuery({
-    queryKey: ['mortalityCases', startDate, endDate],
-    queryFn: async () => {
-      const result = await patientService.getMortalitiesByDateRange(startDate, endDate, 0, 1000)
-      return result.content
-    },
+  const { data: mortalityReport } = useQuery({
+    queryKey: ['reports', 'mortality', startDate, endDate],
+    queryFn: () => reportService.getMortality(startDate, endDate),
     enabled: !!startDate && !!endDate,
   })
 
-  const { data: deliveries } = useQuery({
-    queryKey: ['deliveries', startDate, endDate],
-    queryFn: async () => {
-      const result = await patientService.getDeliveriesByDateRange(startDate, endDate, 0, 1000)
-      return result.content
-    },
-    enabled: !!startDate && !!endDate,
+  const { data: highRiskPatients } = useQuery({
+    queryKey: ['highRiskPatients'],
+    queryFn: patientService.getHighRisk,
   })
 
+  const activeCount = activeReport?.total || 0
+  const deliveriesCount = deliveriesReport?.total || 0
+  const mortalityCount = mortalityReport?.total || 0
+
+  const handleExport = async (dataset: ExportDataset, format: ExportFormat) => {
+    setIsGenerating(true)
+    try {
+      const params = dataset === 'patients'
+        ? { format, status: PatientStatus.ACTIVE }
+        : { format, startDate, endDate }
+      const blob = await exportService.download(dataset, params)
+      const url = window.URL.createObjectURL(blob)
+      const a = document.createElement('a')
+      a.href = url
+      a.download = `${dataset.replace('-', '_')}_${new Date().toISOString().split('T')[0]}.${format.toLowerCase()}`
+      document.body.appendChild(a)
+      a.click()
+      window.URL.revokeObjectURL(url)
+      document.body.removeChild(a)
+      toast.success('Export downloaded')
+    } catch {
+      toast.error('Failed to export data')
+    } finally {
+      setIsGenerating(false)
+    }
+  }
+
   const handleDownloadActiveReport = async () => {
-    if (!activePatients || activePatients.length === 0) {
+    if (activeCount === 0) {
       toast.error('No active patients to generate report')
       return
     }
 
     setIsGenerating(true)
     try {
-      await generateActivePatientsPDF(activePatients, doctors || [], 'Active Pregnant Ladies Report')
+      await printReport(['active'])
       toast.success('Report generated! Use Ctrl+P or Cmd+P to save as PDF')
     } catch (error) {
       toast.error('Failed to generate report')
@@ -923,14 +142,14 @@ export default function Reports() {
   }
 
   const handleDownloadMortalityReport = async () => {
-    if (!mortalityCases || mortalityCases.length === 0) {
+    if (mortalityCount === 0) {
       toast.error('No mortality cases found in the selected date range')
       return
     }
 
     setIsGenerating(true)
     try {
-      await generateMortalityPDF(mortalityCases, { start: startDate, end: endDate })
+      await printReport(['mortality'], { start: startDate, end: endDate })
       toast.success('Mortality report generated! Use Ctrl+P or Cmd+P to save as PDF')
     } catch (error) {
       toast.error('Failed to generate report')
@@ -940,14 +159,14 @@ export default function Reports() {
   }
 
   const handleDownloadDeliveriesReport = async () => {
-    if (!deliveries || deliveries.length === 0) {
+    if (deliveriesCount === 0) {
       toast.error('No deliveries found in the selected date range')
       return
     }
 
     setIsGenerating(true)
     try {
-      await generateDeliveriesPDF(deliveries, { start: startDate, end: endDate })
+      await printReport(['deliveries'], { start: startDate, end: endDate })
       toast.success('Deliveries report generated! Use Ctrl+P or Cmd+P to save as PDF')
     } catch (error) {
       toast.error('Failed to generate report')
@@ -963,9 +182,9 @@ export default function Reports() {
     }
 
     const hasData =
-      (selectedReports.includes('active') && activePatients && activePatients.length > 0) ||
-      (selectedReports.includes('deliveries') && deliveries && deliveries.length > 0) ||
-      (selectedReports.includes('mortality') && mortalityCases && mortalityCases.length > 0)
+      (selectedReports.includes('active') && activeCount > 0) ||
+      (selectedReports.includes('deliveries') && deliveriesCount > 0) ||
+      (selectedReports.includes('mortality') && mortalityCount > 0)
 
     if (!hasData) {
       toast.error('No data available for the selected report types')
@@ -974,12 +193,8 @@ export default function Reports() {
 
     setIsGenerating(true)
     try {
-      await generateComprehensivePDF(selectedReports, {
-        activePatients: activePatients || [],
-        deliveries: deliveries || [],
-        mortalityCases: mortalityCases || [],
-        dateRange: { start: startDate, end: endDate }
-      })
+      const onlyActive = selectedReports.every(type => type === 'active')
+      await printReport(selectedReports, onlyActive ? undefined : { start: startDate, end: endDate })
       toast.success('Report generated! Use Ctrl+P or Cmd+P to save as PDF')
     } catch (error) {
       toast.error('Failed to generate report')
@@ -1000,21 +215,34 @@ export default function Reports() {
     setSelectedReports(['active', 'deliveries', 'mortality'])
   }
 
-  const riskDistribution = activePatients ? {
-    red: activePatients.filter(p => p.currentRiskLevel === 'RED').length,
-    yellow: activePatients.filter(p => p.currentRiskLevel === 'YELLOW').length,
-    green: activePatients.filter(p => p.currentRiskLevel === 'GREEN').length,
-  } : { red: 0, yellow: 0, green: 0 }
+  const countOf = (counts: Record<string, number> | undefined, ...keys: string[]) =>
+    keys.reduce((sum, key) => sum + (counts?.[key] || 0), 0)
+
+  const riskDistribution = {
+    red: countOf(activeReport?.counts, RiskLevel.RED),
+    yellow: countOf(activeReport?.counts, RiskLevel.YELLOW),
+    green: countOf(activeReport?.counts, RiskLevel.GREEN),
+  }
+
+  const motherMortalityCount = countOf(mortalityReport?.counts,
+    DeliveryOutcome.MOTHER_MORTALITY, DeliveryOutcome.BOTH_MORTALITY)
+
+  const babyMortalityCount = countOf(mortalityReport?.counts,
+    DeliveryOutcome.BABY_MORTALITY, DeliveryOutcome.BOTH_MORTALITY)
+
+  const successfulDeliveriesCount = countOf(deliveriesReport?.counts, DeliveryOutcome.SUCCESSFUL)
 
-  const motherMortalityCount = mortalityCases?.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.MOTHER_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  ).length || 0
+  const deliveryMortalityCount = countOf(deliveriesReport?.counts,
+    DeliveryOutcome.MOTHER_MORTALITY, DeliveryOutcome.BABY_MORTALITY, DeliveryOutcome.BOTH_MORTALITY)
 
-  const babyMortalityCount = mortalityCases?.filter(p =>
-    p.deliveryOutcome === DeliveryOutcome.BABY_MORTALITY ||
-    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-  ).length || 0
+  const breakdownSections: { title: string, buckets?: ReportBucket[] }[] = [
+    { title: 'Active Patients by District', buckets: activeReport?.breakdowns.district },
+    { title: 'Active Patients by Mandal', buckets: activeReport?.breakdowns.mandal },
+    { title: 'Deliveries by Month', buckets: deliveriesReport?.breakdowns.month },
+    { title: 'Deliveries by Doctor', buckets: deliveriesReport?.breakdowns.doctor },
+    { title: 'Mortality by District', buckets: mortalityReport?.breakdowns.district },
+    { title: 'Mortality by Month', buckets: mortalityReport?.breakdowns.month },
+  ]
 
   return (
     <div className="space-y-6">
@@ -1092,6 +320,48 @@ export default function Reports() {
         </CardBody>
       </Card>
 
+      {/* Data Export Section */}
+      <Card>
+        <CardHeader
+          title="Export Data"
+          subtitle="Download complete records as Excel or CSV (date range applies to deliveries, mortality and health checks)"
+        />
+        <CardBody>
+          <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-4 gap-4">
+            {([
+              ['patients', 'Active Patients'],
+              ['deliveries', 'Deliveries'],
+              ['mortality', 'Mortality'],
+              ['health-checks', 'Health Checks'],
+            ] as [ExportDataset, string][]).map(([dataset, label]) => (
+              <div key={dataset} className="p-4 rounded-lg border border-gray-200">
+                <p className="text-sm font-medium text-gray-700 mb-3">{label}</p>
+                <div className="flex gap-2">
+                  <Button
+                    variant="secondary"
+                    size="sm"
+                    disabled={isGenerating}
+                    onClick={() => handleExport(dataset, 'XLSX')}
+                  >
+                    <DocumentArrowDownIcon className="h-4 w-4 mr-1" />
+                    Excel
+                  </Button>
+                  <Button
+                    variant="secondary"
+                    size="sm"
+                    disabled={isGenerating}
+                    onClick={() => handleExport(dataset, 'CSV')}
+                  >
+                    <DocumentArrowDownIcon className="h-4 w-4 mr-1" />
+                    CSV
+                  </Button>
+                </div>
+              </div>
+            ))}
+          </div>
+        </CardBody>
+      </Card>
+
       {/* Download Report Section */}
       <Card className="border-2 border-blue-200 bg-blue-50">
         <CardHeader
@@ -1124,7 +394,7 @@ export default function Reports() {
                   />
                   <UsersIcon className="h-4 w-4" />
                   <span className="text-sm font-medium">Active Pregnant Ladies</span>
-                  <Badge variant="info" className="ml-1">{activePatients?.length || 0}</Badge>
+                  <Badge variant="info" className="ml-1">{activeCount}</Badge>
                 </label>
                 <label className={`flex items-center gap-2 px-4 py-2 rounded-lg border-2 cursor-pointer transition-all ${
                   selectedReports.includes('deliveries')
@@ -1139,7 +409,7 @@ export default function Reports() {
                   />
                   <CheckCircleIcon className="h-4 w-4" />
                   <span className="text-sm font-medium">Deliveries</span>
-                  <Badge variant="success" className="ml-1">{deliveries?.length || 0}</Badge>
+                  <Badge variant="success" className="ml-1">{deliveriesCount}</Badge>
                 </label>
                 <label className={`flex items-center gap-2 px-4 py-2 rounded-lg border-2 cursor-pointer transition-all ${
                   selectedReports.includes('mortality')
@@ -1154,7 +424,7 @@ export default function Reports() {
                   />
                   <HeartIcon className="h-4 w-4" />
                   <span className="text-sm font-medium">Mortality</span>
-                  <Badge variant="danger" className="ml-1">{mortalityCases?.length || 0}</Badge>
+                  <Badge variant="danger" className="ml-1">{mortalityCount}</Badge>
                 </label>
               </div>
             </div>
@@ -1265,7 +535,7 @@ export default function Reports() {
             <div className="space-y-2 mb-4">
               <div className="flex justify-between text-sm">
                 <span className="text-gray-500">Total Patients:</span>
-                <span className="font-medium">{activePatients?.length || 0}</span>
+                <span className="font-medium">{activeCount}</span>
               </div>
               <div className="flex justify-between text-sm">
                 <span className="text-gray-500">High Risk:</span>
@@ -1291,7 +561,7 @@ export default function Reports() {
         <Card>
           <CardHeader
             title="Deliveries Report"
-            action={<Badge variant="info">{deliveries?.length || 0} records</Badge>}
+            action={<Badge variant="info">{deliveriesCount} records</Badge>}
           />
           <CardBody>
             <p className="text-sm text-gray-600 mb-4">
@@ -1306,36 +576,28 @@ export default function Reports() {
               </div>
               <div className="flex justify-between text-sm">
                 <span className="text-gray-500">Total Deliveries:</span>
-                <span className="font-medium">{deliveries?.length || 0}</span>
+                <span className="font-medium">{deliveriesCount}</span>
               </div>
               <div className="flex justify-between text-sm">
                 <span className="flex items-center gap-1">
                   <span className="w-2 h-2 bg-green-500 rounded-full"></span>
                   <span className="text-gray-500">Successful:</span>
                 </span>
-                <span className="font-medium text-green-600">
-                  {deliveries?.filter(p => p.deliveryOutcome === DeliveryOutcome.SUCCESSFUL).length || 0}
-                </span>
+                <span className="font-medium text-green-600">{successfulDeliveriesCount}</span>
               </div>
               <div className="flex justify-between text-sm">
                 <span className="flex items-center gap-1">
                   <span className="w-2 h-2 bg-red-500 rounded-full"></span>
                   <span className="text-gray-500">With Mortality:</span>
                 </span>
-                <span className="font-medium text-red-600">
-                  {deliveries?.filter(p =>
-                    p.deliveryOutcome === DeliveryOutcome.MOTHER_MORTALITY ||
-                    p.deliveryOutcome === DeliveryOutcome.BABY_MORTALITY ||
-                    p.deliveryOutcome === DeliveryOutcome.BOTH_MORTALITY
-                  ).length || 0}
-                </span>
+                <span className="font-medium text-red-600">{deliveryMortalityCount}</span>
               </div>
             </div>
             <Button
               onClick={handleDownloadDeliveriesReport}
               loading={isGenerating}
               className="w-full"
-              disabled={!deliveries?.length}
+              disabled={!deliveriesCount}
             >
               <DocumentArrowDownIcon className="h-5 w-5 mr-2" />
               Download Deliveries Report
@@ -1348,7 +610,7 @@ export default function Reports() {
           <CardHeader
             title="Mortality Report"
             subtitle="For Government Bodies"
-            action={<Badge variant="danger">{mortalityCases?.length || 0} cases</Badge>}
+            action={<Badge variant="danger">{mortalityCount} cases</Badge>}
           />
           <CardBody>
             <p className="text-sm text-gray-600 mb-4">
@@ -1375,7 +637,7 @@ export default function Reports() {
               onClick={handleDownloadMortalityReport}
               loading={isGenerating}
               className="w-full"
-              disabled={!mortalityCases?.length}
+              disabled={!mortalityCount}
             >
               <DocumentArrowDownIcon className="h-5 w-5 mr-2" />
               Download Mortality Report
@@ -1399,7 +661,7 @@ export default function Reports() {
               <div className="h-3 bg-gray-200 rounded-full overflow-hidden">
                 <div
                   className="h-full bg-red-500 rounded-full transition-all duration-500"
-                  style={{ width: `${activePatients?.length ? (riskDistribution.red / activePatients.length) * 100 : 0}%` }}
+                  style={{ width: `${activeCount ? (riskDistribution.red / activeCount) * 100 : 0}%` }}
                 />
               </div>
             </div>
@@ -1413,7 +675,7 @@ export default function Reports() {
               <div className="h-3 bg-gray-200 rounded-full overflow-hidden">
                 <div
                   className="h-full bg-yellow-500 rounded-full transition-all duration-500"
-                  style={{ width: `${activePatients?.length ? (riskDistribution.yellow / activePatients.length) * 100 : 0}%` }}
+                  style={{ width: `${activeCount ? (riskDistribution.yellow / activeCount) * 100 : 0}%` }}
                 />
               </div>
             </div>
@@ -1427,7 +689,7 @@ export default function Reports() {
               <div className="h-3 bg-gray-200 rounded-full overflow-hidden">
                 <div
                   className="h-full bg-green-500 rounded-full transition-all duration-500"
-                  style={{ width: `${activePatients?.length ? (riskDistribution.green / activePatients.length) * 100 : 0}%` }}
+                  style={{ width: `${activeCount ? (riskDistribution.green / activeCount) * 100 : 0}%` }}
                 />
               </div>
             </div>
@@ -1435,13 +697,39 @@ export default function Reports() {
         </CardBody>
       </Card>
 
+      {/* Breakdowns */}
+      <Card>
+        <CardHeader title="Breakdowns" subtitle="Counts by area, month and doctor for the selected date range" />
+        <CardBody>
+          <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
+            {breakdownSections.map(section => (
+              <div key={section.title}>
+                <h4 className="text-sm font-semibold text-gray-700 mb-2">{section.title}</h4>
+                {section.buckets?.length ? (
+                  <div className="space-y-1 max-h-60 overflow-y-auto">
+                    {section.buckets.map(bucket => (
+                      <div key={bucket.key} className="flex justify-between text-sm">
+                        <span className="text-gray-500 truncate mr-2">{bucket.label}</span>
+                        <span className="font-medium">{bucket.total}</span>
+                      </div>
+                    ))}
+                  </div>
+                ) : (
+                  <p className="text-sm text-gray-400">No data</p>
+                )}
+              </div>
+            ))}
+          </div>
+        </CardBody>
+      </Card>
+
       {/* High Risk Patients */}
       <Card>
         <CardHeader title="High Risk Patients" subtitle="Patients requiring immediate attention" />
         <CardBody>
-          {activePatients?.filter(p => p.currentRiskLevel === 'RED').length ? (
+          {highRiskPatients?.length ? (
             <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-4">
-              {activePatients.filter(p => p.currentRiskLevel === 'RED').slice(0, 6).map(p => (
+              {highRiskPatients.slice(0, 6).map(p => (
                 <div key={p.id} className="p-4 bg-red-50 border border-red-200 rounded-lg">
                   <div className="flex justify-between items-start mb-2">
                     <div>
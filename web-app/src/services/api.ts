@@ -27,7 +27,13 @@ api.interceptors.request.use(
 
 // Response interceptor for error handling
 api.interceptors.response.use(
-  (response) => response,
+  (response) => {
+    // Capped list endpoints flag responses that left rows out
+    if (response.data?.truncated) {
+      toast(response.data.message || 'Only part of this list is shown', { id: response.config.url, icon: '⚠️' })
+    }
+    return response
+  },
   async (error: AxiosError<{ message?: string }>) => {
     const originalRequest = error.config
 
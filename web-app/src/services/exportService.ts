@@ -0,0 +1,34 @@
+import api from './api'
+
+export type ExportFormat = 'XLSX' | 'CSV'
+
+export type ExportDataset = 'patients' | 'deliveries' | 'mortality' | 'health-checks'
+
+export type ReportSection = 'ACTIVE_PATIENTS' | 'DELIVERIES' | 'MORTALITY'
+
+export interface ExportParams {
+  format: ExportFormat
+  status?: string
+  startDate?: string
+  endDate?: string
+}
+
+export const exportService = {
+  // Rows are streamed by the server; the browser receives the finished file
+  download: async (dataset: ExportDataset, params: ExportParams): Promise<Blob> => {
+    const response = await api.get(`/exports/${dataset}`, {
+      params,
+      responseType: 'blob',
+    })
+    return response.data
+  },
+
+  // Printable HTML document of the chosen sections, rendered from the same streamed rows
+  printReport: async (sections: ReportSection[], startDate?: string, endDate?: string): Promise<string> => {
+    const response = await api.get('/exports/report', {
+      params: { sections: sections.join(','), startDate, endDate },
+      responseType: 'text',
+    })
+    return response.data
+  },
+}
@@ -1,9 +1,11 @@
 export { authService } from './authService'
-export { patientService, type BulkUploadResult } from './patientService'
+export { patientService, type BulkUploadJob, type BulkUploadResult } from './patientService'
 export { healthCheckService } from './healthCheckService'
 export { consultationService } from './consultationService'
 export { followUpService } from './followUpService'
 export { alertService } from './alertService'
 export { dashboardService } from './dashboardService'
 export { userService } from './userService'
+export { reportService } from './reportService'
+export { exportService, type ExportDataset, type ExportFormat, type ReportSection } from './exportService'
 export { default as api } from './api'
@@ -1,5 +1,7 @@
 import api from './api'
-import { ApiResponse, PaginatedResponse, Patient, PatientRegistrationRequest, PatientStatus, RiskLevel, DeliveryCompletionRequest } from '@/types'
+import { ApiResponse, PaginatedResponse, Patient, PatientRegistrationRequest, PatientStatus, PatientTimelineData, RiskLevel, DeliveryCompletionRequest } from '@/types'
+
+const BULK_UPLOAD_POLL_INTERVAL_MS = 2000
 
 export const patientService = {
   register: async (data: PatientRegistrationRequest): Promise<Patient> => {
@@ -12,6 +14,17 @@ export const patientService = {
     return response.data.data
   },
 
+  // The patient is sent once; it is put back on each health check and consultation here
+  getTimeline: async (id: number): Promise<PatientTimelineData> => {
+    const response = await api.get<ApiResponse<PatientTimelineData>>(`/patients/${id}/timeline`)
+    const timeline = response.data.data
+    return {
+      ...timeline,
+      healthChecks: timeline.healthChecks.map((hc) => ({ ...hc, patient: timeline.patient })),
+      consultations: timeline.consultations.map((c) => ({ ...c, patient: timeline.patient })),
+    }
+  },
+
   getByMotherId: async (motherId: string): Promise<Patient> => {
     const response = await api.get<ApiResponse<Patient>>(`/patients/mother-id/${motherId}`)
     return response.data.data
@@ -50,9 +63,14 @@ export const patientService = {
     return response.data.data
   },
 
-  search: async (query: string, page = 0, size = 10): Promise<PaginatedResponse<Patient>> => {
+  search: async (
+    query: string,
+    page = 0,
+    size = 10,
+    mode: 'STANDARD' | 'FUZZY' = 'STANDARD'
+  ): Promise<PaginatedResponse<Patient>> => {
     const response = await api.get<ApiResponse<PaginatedResponse<Patient>>>('/patients/search', {
-      params: { query, page, size },
+      params: { query, page, size, mode },
     })
     return response.data.data
   },
@@ -80,14 +98,30 @@ export const patientService = {
     await api.delete(`/patients/${id}`)
   },
 
-  bulkUpload: async (file: File): Promise<BulkUploadResult> => {
+  // Uploads the file, then polls the background job until it finishes
+  bulkUpload: async (file: File, onProgress?: (job: BulkUploadJob) => void): Promise<BulkUploadResult> => {
     const formData = new FormData()
     formData.append('file', file)
-    const response = await api.post<ApiResponse<BulkUploadResult>>('/patients/bulk-upload', formData, {
+    const response = await api.post<ApiResponse<BulkUploadJob>>('/patients/bulk-upload', formData, {
       headers: {
         'Content-Type': 'multipart/form-data',
       },
     })
+    let job = response.data.data
+    onProgress?.(job)
+    while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+      await new Promise((resolve) => setTimeout(resolve, BULK_UPLOAD_POLL_INTERVAL_MS))
+      job = await patientService.getBulkUploadJob(job.id)
+      onProgress?.(job)
+    }
+    if (job.status === 'FAILED' || !job.result) {
+      throw new Error(job.errorMessage || 'Bulk upload failed')
+    }
+    return job.result
+  },
+
+  getBulkUploadJob: async (jobId: number): Promise<BulkUploadJob> => {
+    const response = await api.get<ApiResponse<BulkUploadJob>>(`/patients/bulk-upload/jobs/${jobId}`)
     return response.data.data
   },
 
@@ -140,11 +174,26 @@ export const patientService = {
   },
 }
 
+export interface BulkUploadJob {
+  id: number
+  fileName: string
+  status: 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED'
+  processedRows: number
+  succeededRows: number
+  failedRows: number
+  errorMessage?: string
+  createdAt: string
+  startedAt?: string
+  completedAt?: string
+  result?: BulkUploadResult
+}
+
 export interface BulkUploadResult {
   totalRecords: number
   successCount: number
   failureCount: number
   successfulRecords: Array<{
+    rowNumber: number
     id: number
     name: string
     motherId: string
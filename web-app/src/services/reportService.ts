@@ -0,0 +1,23 @@
+import api from './api'
+import { ApiResponse, ReportSummary } from '@/types'
+
+export const reportService = {
+  getActivePatients: async (): Promise<ReportSummary> => {
+    const response = await api.get<ApiResponse<ReportSummary>>('/reports/active-patients')
+    return response.data.data
+  },
+
+  getDeliveries: async (startDate: string, endDate: string): Promise<ReportSummary> => {
+    const response = await api.get<ApiResponse<ReportSummary>>('/reports/deliveries', {
+      params: { startDate, endDate },
+    })
+    return response.data.data
+  },
+
+  getMortality: async (startDate: string, endDate: string): Promise<ReportSummary> => {
+    const response = await api.get<ApiResponse<ReportSummary>>('/reports/mortality', {
+      params: { startDate, endDate },
+    })
+    return response.data.data
+  },
+}
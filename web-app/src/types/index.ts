@@ -95,6 +95,7 @@ export interface ApiResponse<T> {
   message?: string;
   data: T;
   timestamp: string;
+  truncated?: boolean;
 }
 
 export interface PaginatedResponse<T> {
@@ -385,8 +386,13 @@ export interface ConsultationRequest {
 // Follow Up
 export interface FollowUp {
   id: number;
-  patient: Patient;
-  assignedTo: User;
+  patientId: number;
+  patientName: string;
+  motherId: string;
+  patientMobile: string;
+  patientRiskLevel: RiskLevel;
+  assignedToId: number;
+  assignedToName: string;
   scheduledDate: string;
   status: FollowUpStatus;
   callAttemptedAt?: string;
@@ -430,8 +436,11 @@ export interface FollowUpUpdateRequest {
 // Risk Alert
 export interface RiskAlert {
   id: number;
-  patient: Patient;
-  healthCheck?: HealthCheck;
+  patientId: number;
+  patientName: string;
+  motherId: string;
+  patientMobile: string;
+  healthCheckId?: number;
   alertType: AlertType;
   severity: RiskLevel;
   title: string;
@@ -439,16 +448,27 @@ export interface RiskAlert {
   riskFactors?: string;
   recommendedAction?: string;
   isAcknowledged: boolean;
-  acknowledgedBy?: User;
+  acknowledgedByName?: string;
   acknowledgedAt?: string;
   acknowledgmentNotes?: string;
   actionTaken?: string;
   isResolved: boolean;
   resolvedAt?: string;
   resolutionNotes?: string;
+  smsSent?: boolean;
+  smsSentAt?: string;
   createdAt: string;
 }
 
+// Patient detail page, loaded in one call
+export interface PatientTimelineData {
+  patient: Patient;
+  healthChecks: HealthCheck[];
+  consultations: Consultation[];
+  followUps: FollowUp[];
+  alerts: RiskAlert[];
+}
+
 // Dashboard
 export interface DashboardStats {
   totalPatients: number;
@@ -473,3 +493,21 @@ export interface DashboardStats {
   activeDoctors: number;
   activeHelpDeskStaff: number;
 }
+
+// Reports
+export interface ReportBucket {
+  key: string;
+  label: string;
+  total: number;
+  counts: Record<string, number>;
+}
+
+export interface ReportSummary {
+  report: string;
+  startDate?: string;
+  endDate?: string;
+  total: number;
+  counts: Record<string, number>;
+  breakdowns: Record<string, ReportBucket[]>;
+  generatedAt: string;
+}